@@ -2,25 +2,27 @@ package core;
 
 import entity.Base;
 import entity.Blockade;
+import entity.Entity;
 import entity.SortableBlockade;
 import graph.Graph;
 import graph.GraphNode;
-import gui.Renderer;
-import javafx.scene.image.Image;
+import gui.GameInterface;
+import javafx.application.Platform;
 import maps.MapChooserInterface;
 import maps.MapEditor;
+import maps.MapFormat;
+import maps.MapGenerator;
+import maps.MapGrid;
 import maps.MapParser;
-import stores.ImageStore;
+import maps.Reachability;
+import sceneElements.ElementsHandler;
+import sorts.logic.SortStepCache;
 
-import java.io.BufferedReader;
 import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
-import java.util.Random;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -43,9 +45,11 @@ public class BaseSpawner {
     // Number of preset maps
     private final int MAP_PRESETS_QTY = 3;
 
-    private Renderer renderer = Renderer.Instance();
     private GameRunTime runTime = GameRunTime.Instance();
     private GraphNode goal;
+    // Map the blockades come from and where units can reach on it, null if it could not be loaded
+    private MapGrid map;
+    private Reachability reachability;
 
     public static boolean placing;
 
@@ -79,24 +83,34 @@ public class BaseSpawner {
      */
     private BaseSpawner() {
         placing = true;
+        loadMap();
+
         runTime.getScene().setOnMouseClicked(e -> {
 
-            this.goal = Blockade.calcGraphNode(e);
+            GraphNode clicked = Blockade.calcGraphNode(e);
 
-            if (goal != null) {
+            // units could never get to a base there, wait for another click
+            if (clicked != null && reachability != null && !reachability.isValidBase(clicked.getX(), clicked.getY())) {
 
-                Base base = new Base(9999, "Base", goal, null);
-                Image image = ImageStore.base;
+                LOG.log(Level.INFO, "Base at " + clicked.getX() + "," + clicked.getY() + " cannot be reached");
+                GameInterface.Instance().showStatus("Units cannot reach there");
+                return;
+            }
 
-                ImageStore.setSpriteProperties(base, image);
-                this.renderer.drawInitialEntity(base);
-                this.goal.setBase(base);
+            if (clicked != null) {
 
-                protectBase(goal);
-                generateBlockades();
+                GameInterface.Instance().showStatus("");
 
+                // the base and blockades are placed by the engine, between two ticks, then drawn here
                 this.runTime.getScene().setOnMouseClicked(null);
-                placing = false;
+
+                CoreEngine.Instance().submit(() -> CoreEngine.Instance().placeBase(map, clicked.getX(), clicked.getY()))
+                        .thenAccept(placed -> Platform.runLater(() -> {
+
+                            ElementsHandler.drawEntities(placed);
+                            this.goal = clicked;
+                            placing = false;
+                        }));
             }
         });
     }
@@ -118,75 +132,99 @@ public class BaseSpawner {
      * @param col index value of column.
      * @return true if the coordinates are on board else false.
      */
-    private boolean isOnGrid(int row, int col) {
+    private static boolean isOnGrid(int row, int col) {
 
         return !((row < 0 || col < 0 ||
                 row >= Graph.HEIGHT || col >= Graph.WIDTH));
     }
 
     /**
-     * Generates initial blockades based on a random preset map.
+     * Loads the chosen map, a generated map or a random preset map, and works out where units can reach on it.
      */
-    private void generateBlockades() {
+    private void loadMap() {
 
-        InputStream in = null;
-        File mapFile = null;
         String chosenMap = MapChooserInterface.Instance().getChosenMap();
+        Long seed = MapChooserInterface.Instance().getGeneratedSeed();
 
-        //assured because map will always end with .map
-        if (chosenMap.endsWith("null")) {
+        try {
+
+            if (seed != null) {
+                map = new MapGenerator(seed).generate(Graph.WIDTH, Graph.HEIGHT);
 
-            Random mapRndGen = new Random();
-            String map = MAP_RESOURCES + mapRndGen.nextInt(MAP_PRESETS_QTY) + ".map";
-            in = MapEditor.class.getResourceAsStream(map);
+            } else if (chosenMap.endsWith("null")) {
 
-        } else {
+                //assured because map will always end with .map
+                String preset = MAP_RESOURCES + GameRandom.maps().nextInt(MAP_PRESETS_QTY) + ".bmap";
 
-            mapFile = new File(chosenMap);
+                try (InputStream in = MapEditor.class.getResourceAsStream(preset)) {
+
+                    map = in == null ? null : MapFormat.read(in);
+                }
 
-            try {
-                in = new FileInputStream(mapFile);
-            } catch (FileNotFoundException e) {
-                LOG.log(Level.SEVERE, e.toString(), e);
+            } else {
+                // saved maps can be large, they are mapped rather than read in and only the part played is read
+                map = MapFormat.load(new File(chosenMap), false);
             }
+
+        } catch (IOException e) {
+            LOG.log(Level.SEVERE, e.toString(), e);
         }
 
-        Reader fReader = null;
-        if (in != null) {
-            fReader = new InputStreamReader(in);
+        if (map != null) {
+
+            reachability = new Reachability(map, Graph.WIDTH, Graph.HEIGHT);
+
+            // an unplayable map should not leave the player unable to start
+            if (reachability.countValidBases() == 0) {
+
+                LOG.log(Level.WARNING, "No base position on " + chosenMap + " can be reached");
+                reachability = null;
+            }
         }
+    }
 
-        BufferedReader reader = null;
-        if (fReader != null) {
-            reader = new BufferedReader(fReader);
+    /**
+     * Places the base on a cell, surrounds it with sortable blockades and places the blockades of the map.
+     * Only the logic of the game is changed, nothing is drawn, so the engine runs it in replays as well.
+     *
+     * @param engine the engine of the game
+     * @param map    the map the blockades come from, null for none
+     * @param x      the column of the base
+     * @param y      the row of the base
+     * @return the base and the blockades placed, empty if the cell is not on the grid
+     */
+    static List<Entity> place(CoreEngine engine, MapGrid map, int x, int y) {
+
+        List<Entity> placed = new ArrayList<>();
+        GraphNode goal = engine.getGraph().nodeAt(x, y);
+
+        if (goal == null) {
+            return placed;
         }
 
-        MapParser parser = new MapParser(reader);
-        parser.generateBlockades();
+        Base base = new Base(9999, "Base", goal, null);
+        goal.setBase(base);
+        placed.add(base);
 
-        // Close streams
-        try {
-            if (in != null) {
-                in.close();
-            }
-            if (fReader != null) {
-                fReader.close();
-            }
-            if (reader != null) {
-                reader.close();
-            }
-        } catch (IOException e) {
-            LOG.log(Level.SEVERE, e.toString(), e);
+        placed.addAll(protectBase(engine, goal));
+
+        if (map != null) {
+            placed.addAll(new MapParser(map).createBlockades());
         }
+
+        return placed;
     }
 
     /**
      * Surrounds the base with sortable blockades.
      *
-     * @param base location of the base.
+     * @param engine the engine of the game
+     * @param base   location of the base.
+     * @return the blockades placed
      */
-    private void protectBase(GraphNode base) {
+    private static List<SortableBlockade> protectBase(CoreEngine engine, GraphNode base) {
 
+        List<SortableBlockade> placed = new ArrayList<>();
         int row = base.getX();
         int col = base.getY();
 
@@ -204,16 +242,19 @@ public class BaseSpawner {
                             null
                     );
 
-                    ImageStore.setSpriteProperties(sortableBlockadeInstance, ImageStore.sortableImage1);
                     SortableBlockade blockade = SortableBlockade.create(sortableBlockadeInstance);
 
                     if (blockade != null) {
-                        renderer.drawInitialEntity(blockade);
-                        blockade.getSprite().setOnMouseClicked(f -> blockade.getSortVisual().display(true));
-                        CoreEngine.Instance().getBlockades().add(blockade);
+
+                        engine.getBlockades().add(blockade);
+                        placed.add(blockade);
+                        // have the sorts ready before a unit reaches it
+                        SortStepCache.prewarm(blockade.getToSortArray());
                     }
                 }
             }
         }
+
+        return placed;
     }
 }
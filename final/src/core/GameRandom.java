@@ -0,0 +1,83 @@
+package core;
+
+import java.util.Random;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          The random numbers of a game, all made from one seed so a game can be played again exactly by a
+ *          Replay. Each part of the game draws from its own generator, so drawing more numbers in one part
+ *          never changes the numbers another part gets.
+ * @date : 19/10/2026
+ */
+public final class GameRandom {
+
+    private static long seed;
+    private static Random spawner;
+    private static Random sorts;
+    private static Random maps;
+
+    static {
+        reset(System.nanoTime());
+    }
+
+    private GameRandom() {
+
+        // To prevent instantiation.
+    }
+
+    /**
+     * Starts the generators again from a seed, called when a game starts
+     *
+     * @param seed the seed of the game
+     */
+    public static synchronized void reset(long seed) {
+
+        GameRandom.seed = seed;
+        GameRandom.spawner = new Random(seed);
+        GameRandom.sorts = new Random(seed * 31 + 1);
+        GameRandom.maps = new Random(seed * 31 * 31 + 2);
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the seed of the game
+     *
+     * @return the seed
+     */
+    public static synchronized long getSeed() {
+
+        return seed;
+    }
+
+    /**
+     * Gets the generator picking the search and sort of each unit
+     *
+     * @return the generator
+     */
+    public static synchronized Random spawner() {
+
+        return spawner;
+    }
+
+    /**
+     * Gets the generator shuffling the arrays of sortable blockades
+     *
+     * @return the generator
+     */
+    public static synchronized Random sorts() {
+
+        return sorts;
+    }
+
+    /**
+     * Gets the generator picking the preset map
+     *
+     * @return the generator
+     */
+    public static synchronized Random maps() {
+
+        return maps;
+    }
+}
@@ -0,0 +1,591 @@
+package core;
+
+import entity.Blockade;
+import entity.SortableBlockade;
+import entity.Unit;
+import graph.Graph;
+import maps.MapData;
+import maps.MapFormat;
+import maps.MapGrid;
+import maps.VarInt;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          A game recorded as its seed, its map and the inputs of the player, each with the tick it was made on.
+ *          Every random choice of the game comes from the seed and every input is applied by the engine
+ *          between two ticks, so playing the inputs again on a headless engine gives the same game, tick for
+ *          tick, as fast as the machine can run it. A hash of the state after every tick is recorded as well,
+ *          so a replay that goes wrong is caught on the first tick it differs.
+ *          <p>
+ *          The file format is binary:
+ *          <pre>
+ *          magic       "BARP"
+ *          version     1 byte, 1
+ *          seed        8 bytes
+ *          map         varint length then the map in the MapFormat, a length of 0 for no map
+ *          inputs      varint count, then for each: varint ticks since the last input, 1 byte type, varint x, varint y
+ *          hashes      varint count, then 4 bytes for the state after each tick
+ *          checksum    4 bytes, CRC32 of everything before it
+ *          </pre>
+ * @date : 19/10/2026
+ */
+public final class Replay {
+
+    public static final int VERSION = 1;
+
+    // Inputs, x and y are the cell clicked, or the spawn limit for SPAWNER
+    public static final byte BASE = 0;
+    public static final byte SPAWNER = 1;
+    public static final byte BLOCKADE = 2;
+    public static final byte SORTABLE = 3;
+    public static final byte PAUSE = 4;
+    public static final byte RESUME = 5;
+
+    private static final byte[] MAGIC = "BARP".getBytes(StandardCharsets.US_ASCII);
+
+    // Bytes read at a time, and hashes room is first made for, so a damaged count cannot allocate more
+    private static final int CHUNK_SIZE = 8192;
+
+    // FNV-1a
+    private static final int HASH_SEED = 0x811C9DC5;
+    private static final int HASH_PRIME = 0x01000193;
+
+    private final long seed;
+    private final MapData map;
+    private final List<Input> inputs;
+    private final int[] hashes;
+
+    /**
+     * Creates a replay
+     *
+     * @param seed   the seed of the game
+     * @param map    the map the blockades came from, null for none
+     * @param inputs the inputs of the player, in the order they were made
+     * @param hashes the hash of the state after each tick
+     */
+    private Replay(long seed, MapData map, List<Input> inputs, int[] hashes) {
+
+        this.seed = seed;
+        this.map = map;
+        this.inputs = inputs;
+        this.hashes = hashes;
+    }
+
+    /**
+     * Gets the file the last game played is saved to
+     *
+     * @return the last replay file in the game's directory
+     */
+    public static File lastReplayFile() {
+
+        return new File(System.getProperty("user.home") + File.separator + "bestRTS" + File.separator +
+                "replays" + File.separator + "last.replay");
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the seed of the game
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+
+        return this.seed;
+    }
+
+    /**
+     * Gets the number of ticks the game ran for
+     *
+     * @return the ticks recorded
+     */
+    public int getTicks() {
+
+        return this.hashes.length;
+    }
+
+    /**
+     * Gets the number of inputs made by the player
+     *
+     * @return the inputs recorded
+     */
+    public int getInputCount() {
+
+        return this.inputs.size();
+    }
+
+    /**
+     * Plays the game again on a new headless engine, which becomes the engine instance. The game stops on
+     * the last tick recorded, once it is over, or on the first tick its state differs from the recording.
+     *
+     * @return how the replay went
+     */
+    public Result play() {
+
+        long start = System.nanoTime();
+
+        GameRandom.reset(seed);
+        CoreEngine engine = new CoreEngine(true);
+        engine.newGame();
+
+        int next = 0;
+        long divergedAt = -1;
+
+        while (true) {
+
+            while (next < inputs.size() && inputs.get(next).tick <= engine.getTick()) {
+                apply(engine, inputs.get(next++));
+            }
+
+            if (engine.getTick() >= hashes.length || engine.isOver()) {
+                break;
+            }
+
+            engine.step();
+
+            if (hash(engine) != hashes[(int) engine.getTick() - 1]) {
+
+                divergedAt = engine.getTick();
+                break;
+            }
+        }
+
+        return new Result(engine.getTick(), divergedAt, System.nanoTime() - start);
+    }
+
+    /**
+     * Makes an input again
+     *
+     * @param engine the engine playing the game
+     * @param input  the input
+     */
+    private void apply(CoreEngine engine, Input input) {
+
+        switch (input.type) {
+
+            case BASE:
+                engine.placeBase(map, input.x, input.y);
+                break;
+
+            case SPAWNER:
+                engine.startSpawner(input.x);
+                break;
+
+            case BLOCKADE:
+            case SORTABLE:
+                engine.placeBlockade(input.x, input.y, input.type == SORTABLE);
+                break;
+
+            default:
+                // ticks only pass while the game is running, so pausing changes nothing to play again
+                break;
+        }
+    }
+
+    /**
+     * Hashes the state of a game, everything a tick can change apart from the tick itself
+     *
+     * @param engine the engine of the game
+     * @return the hash
+     */
+    public static int hash(CoreEngine engine) {
+
+        int hash = HASH_SEED;
+
+        for (Unit unit : engine.getUnits()) {
+
+            hash = mix(hash, unit.getId());
+            hash = mix(hash, unit.getPosition().getX());
+            hash = mix(hash, unit.getPosition().getY());
+            hash = mix(hash, unit.getMoveTicks());
+            hash = mix(hash, unit.getRoute() == null ? -1 : unit.getRoute().size());
+            hash = mix(hash, unit.getSorting() == null ? -1 : unit.getSorting().getId());
+        }
+
+        for (Blockade blockade : engine.getBlockades()) {
+
+            hash = mix(hash, blockade.getId());
+            hash = mix(hash, blockade.getPosition().getX());
+            hash = mix(hash, blockade.getPosition().getY());
+
+            if (blockade instanceof SortableBlockade && ((SortableBlockade) blockade).getProgress() != null) {
+                hash = mix(hash, (int) ((SortableBlockade) blockade).getProgress().getStepsDone());
+            }
+        }
+
+        long score = Double.doubleToLongBits(engine.getScore().getScore());
+
+        hash = mix(hash, (int) score);
+        hash = mix(hash, (int) (score >>> 32));
+        hash = mix(hash, engine.getUnbreakableBlockadesLimit());
+        hash = mix(hash, engine.getBreakableBlockadesLimit());
+
+        if (engine.getSpawner() != null) {
+
+            hash = mix(hash, engine.getSpawner().getSpawnCount());
+            hash = mix(hash, engine.getSpawner().getCooldown());
+        }
+
+        return hash;
+    }
+
+    /**
+     * Mixes an int into a hash, a byte at a time
+     *
+     * @param hash  the hash so far
+     * @param value the value
+     * @return the new hash
+     */
+    private static int mix(int hash, int value) {
+
+        for (int shift = 0; shift < 32; shift += 8) {
+            hash = (hash ^ ((value >>> shift) & 0xFF)) * HASH_PRIME;
+        }
+
+        return hash;
+    }
+
+    /**
+     * Writes the replay
+     *
+     * @param out the stream to write to, it is not closed
+     * @throws IOException if it cannot be written
+     */
+    public void write(OutputStream out) throws IOException {
+
+        BufferedOutputStream buffered = new BufferedOutputStream(out);
+        CheckedOutputStream checked = new CheckedOutputStream(buffered, new CRC32());
+        DataOutputStream data = new DataOutputStream(checked);
+
+        data.write(MAGIC);
+        data.writeByte(VERSION);
+        data.writeLong(seed);
+
+        if (map == null) {
+            VarInt.write(data, 0);
+        } else {
+
+            ByteArrayOutputStream mapBytes = new ByteArrayOutputStream();
+            MapFormat.write(map, mapBytes);
+            VarInt.write(data, mapBytes.size());
+            mapBytes.writeTo(data);
+        }
+
+        VarInt.write(data, inputs.size());
+        long lastTick = 0;
+
+        for (Input input : inputs) {
+
+            VarInt.writeLong(data, input.tick - lastTick);
+            data.writeByte(input.type);
+            VarInt.write(data, input.x);
+            VarInt.write(data, input.y);
+            lastTick = input.tick;
+        }
+
+        VarInt.write(data, hashes.length);
+
+        for (int hash : hashes) {
+            data.writeInt(hash);
+        }
+
+        data.flush();
+        new DataOutputStream(buffered).writeInt((int) checked.getChecksum().getValue());
+        buffered.flush();
+    }
+
+    /**
+     * Reads a replay
+     *
+     * @param in the stream to read from, it is not closed
+     * @return the replay
+     * @throws IOException if it cannot be read, is cut short, fails its checksum or is not a replay
+     */
+    public static Replay read(InputStream in) throws IOException {
+
+        InputStream buffered = new BufferedInputStream(in);
+        CheckedInputStream checked = new CheckedInputStream(buffered, new CRC32());
+        DataInputStream data = new DataInputStream(checked);
+
+        try {
+
+            byte[] magic = new byte[MAGIC.length];
+            data.readFully(magic);
+
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a replay");
+            }
+
+            int version = data.readUnsignedByte();
+
+            if (version != VERSION) {
+                throw new IOException("Unsupported replay version " + version);
+            }
+
+            long seed = data.readLong();
+            int mapLength = VarInt.read(data);
+            MapData map = null;
+
+            if (mapLength > 0) {
+
+                map = MapFormat.read(new ByteArrayInputStream(readBytes(data, mapLength)));
+            }
+
+            int inputCount = VarInt.read(data);
+            List<Input> inputs = new ArrayList<>();
+            long tick = 0;
+
+            for (int i = 0; i < inputCount; i++) {
+
+                tick += VarInt.readLong(data);
+                byte type = data.readByte();
+
+                if (type < BASE || type > RESUME) {
+                    throw new IOException("Unknown input " + type + " in replay");
+                }
+
+                inputs.add(new Input(tick, type, VarInt.read(data), VarInt.read(data)));
+            }
+
+            int hashCount = VarInt.read(data);
+            int[] hashes = new int[Math.min(hashCount, CHUNK_SIZE)];
+
+            for (int i = 0; i < hashCount; i++) {
+
+                if (i == hashes.length) {
+                    hashes = Arrays.copyOf(hashes, (int) Math.min(hashCount, 2L * hashes.length));
+                }
+
+                hashes[i] = data.readInt();
+            }
+
+            int expected = (int) checked.getChecksum().getValue();
+
+            if (new DataInputStream(buffered).readInt() != expected) {
+                throw new IOException("Replay checksum does not match");
+            }
+
+            return new Replay(seed, map, Collections.unmodifiableList(inputs), hashes);
+
+        } catch (EOFException e) {
+            throw new IOException("Replay is cut short", e);
+        }
+    }
+
+    /**
+     * Reads bytes a chunk at a time, so a length larger than the file ends it early rather than allocating
+     *
+     * @param data   the stream
+     * @param length the number of bytes
+     * @return the bytes
+     * @throws EOFException if the stream ends first
+     * @throws IOException  if they cannot be read
+     */
+    private static byte[] readBytes(DataInputStream data, int length) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(Math.min(length, CHUNK_SIZE));
+        byte[] chunk = new byte[Math.min(length, CHUNK_SIZE)];
+
+        while (bytes.size() < length) {
+
+            int n = Math.min(chunk.length, length - bytes.size());
+            data.readFully(chunk, 0, n);
+            bytes.write(chunk, 0, n);
+        }
+
+        return bytes.toByteArray();
+    }
+
+    /**
+     * An input of the player
+     */
+    private static final class Input {
+
+        private final long tick;
+        private final byte type;
+        private final int x;
+        private final int y;
+
+        /**
+         * Creates an input
+         *
+         * @param tick the ticks the engine had run when it was made
+         * @param type the kind of input
+         * @param x    the column, or the spawn limit
+         * @param y    the row
+         */
+        private Input(long tick, byte type, int x, int y) {
+
+            this.tick = tick;
+            this.type = type;
+            this.x = x;
+            this.y = y;
+        }
+    }
+
+    /**
+     * Records a game as it is played. The engine thread records the ticks and inputs, the interface
+     * thread records pauses, so each method holds the lock.
+     */
+    public static final class Recorder {
+
+        private final long seed;
+        private final List<Input> inputs;
+        private MapData map;
+        private int[] hashes;
+        private int ticks;
+
+        /**
+         * Creates a recorder for a game
+         *
+         * @param seed the seed the game was started with
+         */
+        public Recorder(long seed) {
+
+            this.seed = seed;
+            this.inputs = new ArrayList<>();
+            this.hashes = new int[1024];
+        }
+
+        /**
+         * Records the map the blockades come from. Only the part on the grid is kept, the rest of a large
+         * map is never played on.
+         *
+         * @param grid the map, null for none
+         */
+        public synchronized void map(MapGrid grid) {
+
+            if (grid == null) {
+
+                this.map = null;
+                return;
+            }
+
+            int width = Math.min(grid.getWidth(), Graph.WIDTH);
+            int height = Math.min(grid.getHeight(), Graph.HEIGHT);
+            MapData copy = new MapData(width, height);
+
+            for (int y = 0; y < height; y++) {
+                for (int x = 0; x < width; x++) {
+                    copy.set(x, y, grid.get(x, y));
+                }
+            }
+
+            copy.getSpawns().addAll(grid.getSpawns());
+            this.map = copy;
+        }
+
+        /**
+         * Records an input
+         *
+         * @param tick the ticks the engine has run
+         * @param type the kind of input
+         * @param x    the column, or the spawn limit
+         * @param y    the row
+         */
+        public synchronized void input(long tick, byte type, int x, int y) {
+
+            inputs.add(new Input(tick, type, x, y));
+        }
+
+        /**
+         * Records the state after a tick
+         *
+         * @param hash the hash of the state
+         */
+        public synchronized void tick(int hash) {
+
+            if (ticks == hashes.length) {
+                hashes = Arrays.copyOf(hashes, ticks * 2);
+            }
+
+            hashes[ticks++] = hash;
+        }
+
+        /**
+         * Gets the game recorded so far
+         *
+         * @return the replay
+         */
+        public synchronized Replay toReplay() {
+
+            return new Replay(seed, map, Collections.unmodifiableList(new ArrayList<>(inputs)),
+                    Arrays.copyOf(hashes, ticks));
+        }
+    }
+
+    /**
+     * How playing a replay went
+     */
+    public static final class Result {
+
+        private final long ticks;
+        private final long divergedAt;
+        private final long nanos;
+
+        /**
+         * Creates a result
+         *
+         * @param ticks      the ticks played
+         * @param divergedAt the first tick the state differed from the recording, -1 if it never did
+         * @param nanos      the time taken
+         */
+        private Result(long ticks, long divergedAt, long nanos) {
+
+            this.ticks = ticks;
+            this.divergedAt = divergedAt;
+            this.nanos = nanos;
+        }
+
+        /**
+         * Gets the ticks played
+         *
+         * @return the ticks
+         */
+        public long getTicks() {
+
+            return this.ticks;
+        }
+
+        /**
+         * Gets the first tick the state differed from the recording
+         *
+         * @return the tick, -1 if the replay matched
+         */
+        public long getDivergedAt() {
+
+            return this.divergedAt;
+        }
+
+        /**
+         * Gets the time the replay took
+         *
+         * @return the time in nanoseconds
+         */
+        public long getNanos() {
+
+            return this.nanos;
+        }
+    }
+}
@@ -1,8 +1,10 @@
 package entity;
 
 import core.CoreEngine;
+import core.GameRandom;
 import graph.GraphNode;
 import sceneElements.SpriteImage;
+import sorts.logic.SortProgress;
 import sorts.visual.SortVisual;
 
 import java.util.ArrayList;
@@ -28,6 +30,9 @@ public class SortableBlockade extends Blockade {
     // Array to be sorted
     private ArrayList<Integer> toSortArray;
 
+    // Progress of the unit sorting this blockade, null until one starts
+    private SortProgress progress = null;
+
     // Dependencies
     private SortVisual sortVisual = null;
 
@@ -58,6 +63,16 @@ public class SortableBlockade extends Blockade {
         return this.toSortArray;
     }
 
+    /**
+     * Gets the progress of the sort breaking this blockade
+     *
+     * @return the sort progress, or null if no unit has started sorting it
+     */
+    public SortProgress getProgress() {
+
+        return this.progress;
+    }
+
     /**
      * Gets the sort visualisation for this blockade
      *
@@ -70,6 +85,16 @@ public class SortableBlockade extends Blockade {
 
     // SETTER methods.
 
+    /**
+     * Sets the progress of the sort breaking this blockade
+     *
+     * @param progress the sort progress
+     */
+    public void setProgress(SortProgress progress) {
+
+        this.progress = progress;
+    }
+
     /**
      * Sets the sort visualisation for this blockade
      *
@@ -88,12 +113,24 @@ public class SortableBlockade extends Blockade {
      */
     public static SortableBlockade create(SortableBlockade sortableBlockadeInstance) {
 
+        return create(sortableBlockadeInstance, calcId());
+    }
+
+    /**
+     * Creates a sortable blockade with a known id, used when many blockades are placed at once
+     *
+     * @param sortableBlockadeInstance instance of the blockade to be created
+     * @param id                       the id to give the blockade
+     * @return the blockade created else null
+     */
+    public static SortableBlockade create(SortableBlockade sortableBlockadeInstance, int id) {
+
         GraphNode node = CoreEngine.Instance().getGraph().nodeWith(sortableBlockadeInstance.getPosition());
 
         if (node != null && !node.equals(new GraphNode(0, 0))) {
 
             SortableBlockade blockade = new SortableBlockade(
-                    calcId(),
+                    id,
                     sortableBlockadeInstance.getName(),
                     node,
                     sortableBlockadeInstance.getSprite(),
@@ -126,7 +163,7 @@ public class SortableBlockade extends Blockade {
             arrToSort.add(i);
         }
 
-        Collections.shuffle(arrToSort);
+        Collections.shuffle(arrToSort, GameRandom.sorts());
         LOG.log(Level.INFO, arrayToString(arrToSort));
 
         return arrToSort;
@@ -8,18 +8,16 @@ import gui.Renderer;
 import javafx.animation.Animation;
 import javafx.animation.FadeTransition;
 import javafx.animation.SequentialTransition;
-import javafx.animation.TranslateTransition;
-import javafx.application.Platform;
 import javafx.collections.ObservableList;
 import javafx.scene.shape.Line;
 import javafx.scene.shape.Rectangle;
 import javafx.util.Duration;
 import javafx.util.Pair;
-import menus.MenuHandler;
 import sceneElements.SpriteImage;
 import searches.AStar;
 import searches.BreadthFirstSearch;
 import searches.DepthFirstSearch;
+import sorts.logic.SortProgress;
 import sorts.visual.SortVisual;
 import tutorial.Tutorial;
 
@@ -77,14 +75,36 @@ public class Unit extends Entity {
         /**
          * Insert Sort
          */
-        INSERT
+        INSERT,
+
+        /**
+         * Merge Sort
+         */
+        MERGE,
+
+        /**
+         * Quick Sort
+         */
+        QUICK,
+
+        /**
+         * Heap Sort
+         */
+        HEAP,
+
+        /**
+         * Radix Sort
+         */
+        RADIX
     }
 
     // Unit movement speed
     private static final Duration SPEED = Duration.millis(600);
+    // Engine ticks a move from one cell to the next takes
+    public static final int MOVE_TICKS = (int) Math.round(SPEED.toMillis() * CoreEngine.FRAME_RATE / 1000);
 
-    // Dependencies
-    private Renderer renderer = Renderer.Instance();
+    // Dependencies, the renderer is only looked up once it is needed
+    private Renderer renderer;
     private List<GraphNode> route;
     private List<GraphNode> visited;
     private List<Pair<GraphNode, GraphNode>> nodeAssociations;
@@ -97,6 +117,9 @@ public class Unit extends Entity {
     private Sort sort;
 
     private boolean completedMove = true;
+    // Cell the current move started from and how many ticks into it the unit is
+    private GraphNode previousPosition;
+    private int moveTicks = MOVE_TICKS;
 
     private SortableBlockade sorting = null;
 
@@ -185,6 +208,46 @@ public class Unit extends Entity {
         return this.sorting;
     }
 
+    /**
+     * Gets the cell the unit's current (or last) move started from
+     *
+     * @return the previous position, or null if the unit has not moved yet
+     */
+    public GraphNode getPreviousPosition() {
+
+        return this.previousPosition;
+    }
+
+    /**
+     * Gets how far the unit is along its move from the previous position to the current one
+     *
+     * @return the progress, from 0 to 1
+     */
+    public double getMoveProgress() {
+
+        return (double) moveTicks / MOVE_TICKS;
+    }
+
+    /**
+     * Gets how many ticks into its move the unit is
+     *
+     * @return the ticks, MOVE_TICKS once the move is over
+     */
+    public int getMoveTicks() {
+
+        return this.moveTicks;
+    }
+
+    /**
+     * Check if the unit is ready to take the next step of its route
+     *
+     * @return true if it is not part way through a move or waiting on a sort
+     */
+    public boolean isCompletedMove() {
+
+        return this.completedMove;
+    }
+
     /**
      * Gets the list of logical node associations related to this units last search
      *
@@ -241,6 +304,20 @@ public class Unit extends Entity {
         }
     }
 
+    /**
+     * Puts the unit part way through a move, used when a saved game is restored
+     *
+     * @param previousPosition the cell the move started from, null if the unit has not moved yet
+     * @param moveTicks        how many ticks into the move the unit is
+     * @param completedMove    if the unit is ready to take the next step of its route
+     */
+    public void setMove(GraphNode previousPosition, int moveTicks, boolean completedMove) {
+
+        this.previousPosition = previousPosition;
+        this.moveTicks = Math.max(0, Math.min(MOVE_TICKS, moveTicks));
+        this.completedMove = completedMove;
+    }
+
     /**
      * Sets the list of logical node associations related to this units last search
      *
@@ -412,20 +489,23 @@ public class Unit extends Entity {
             position.getUnits().add(this);
             setPosition(position);
 
+            if (!CoreEngine.Instance().isHeadless()) {
+                renderer().entityMoved(this);
+            }
+
             return true;
 
         } else if (blockade instanceof SortableBlockade &&
-                ((SortableBlockade) blockade).getSortVisual() == null &&
+                ((SortableBlockade) blockade).getProgress() == null &&
                 sorting == null) {
 
             sorting = (SortableBlockade) blockade;
-            SortVisual sortVisual = new SortVisual((SortableBlockade) blockade, this);
-
-            ((SortableBlockade) blockade).setSortVisual(sortVisual);
-            sortVisual.getPane().setLayoutX(424 / 2 - 300 / 2 + 20);
-            sortVisual.getPane().setLayoutY(50 + 3 * 30 + 90);
+            sorting.setProgress(new SortProgress(sort, sorting.getToSortArray()));
 
-            Platform.runLater(() -> GameInterface.rightMenuBox.getChildren().add(sortVisual.getPane()));
+            // the sort is only drawn when it is put on display, there is nothing to draw without the interface
+            if (GameInterface.rightMenuBox != null) {
+                SortVisual.highlightBlock(sorting);
+            }
 
             return false;
 
@@ -435,37 +515,48 @@ public class Unit extends Entity {
     }
 
     /**
-     * Updates the unit's position. Whenever the unit is changing it's direction
-     * the sprite also rotates accordingly.
+     * Updates the unit's position. A move to the next node on the route takes MOVE_TICKS updates,
+     * the renderer draws the sprite part way along it from the engine's unit snapshot.
+     * A unit sorting a blockade does one tick of work on the sort first.
      * If the unit reaches the goal point then the scene is set to the End Menu which will
      * display the score.
      */
     public void update() {
 
+        // the blockade being sorted breaks once the sort has run out of steps
+        if (sorting != null && sorting.getProgress().tick()) {
+
+            CoreEngine.Instance().removeEntity(sorting);
+            setSorting(null);
+        }
+
+        // the move in progress advances one tick, the renderer interpolates the sprite along it
+        if (moveTicks < MOVE_TICKS) {
+
+            moveTicks++;
+
+            if (moveTicks == MOVE_TICKS) {
+                this.completedMove = true;
+            }
+        }
+
         if (completedMove) {
 
             if (route.size() > 0) {
 
                 this.completedMove = false;
                 GraphNode nextNode = route.remove(0);
+                GraphNode from = this.position;
 
-                int x = nextNode.getX();
-                int y = nextNode.getY();
-                int xChange = x - this.position.getX();
-                int yChange = y - this.position.getY();
+                int xChange = nextNode.getX() - this.position.getX();
+                int yChange = nextNode.getY() - this.position.getY();
 
                 boolean result = logicalMove(xChange, yChange);
 
                 if (result) {
 
-                    double nextPixelX = x * renderer.getXSpacing();
-                    double nextPixelY = y * renderer.getYSpacing();
-
-                    TranslateTransition transition = new TranslateTransition(SPEED, sprite);
-                    transition.setToX(nextPixelX);
-                    transition.setToY(nextPixelY);
-                    transition.setOnFinished(e -> this.completedMove = true);
-                    transition.play();
+                    this.previousPosition = from;
+                    this.moveTicks = 0;
 
                 } else {
 
@@ -481,17 +572,12 @@ public class Unit extends Entity {
 
             } else if (this.getPosition() == goal) {
 
-                Platform.runLater(() -> {
-
-                    CoreEngine.Instance().setPaused(true);
-                    MenuHandler.switchScene(MenuHandler.END_GAME_MENU);
-                });
+                CoreEngine.Instance().endGame(false);
 
             } else {
 
-                CoreEngine.Instance().setPaused(true);
-                CoreEngine.Instance().getScore().halveScore();
-                Platform.runLater(() -> MenuHandler.switchScene(MenuHandler.END_GAME_MENU));
+                // the unit is stuck, the player blocked every route to the base
+                CoreEngine.Instance().endGame(true);
             }
         }
     }
@@ -507,37 +593,24 @@ public class Unit extends Entity {
     private boolean logicalMove(int xChange, int yChange) {
 
         boolean success;
-        double rotate;
 
         if (xChange == 0) {
 
             if (yChange > 0) {
-
                 success = moveDown();
-                rotate = 0;
-
             } else {
-
                 success = moveUp();
-                rotate = 180;
             }
 
         } else {
 
             if (xChange > 0) {
-
                 success = moveRight();
-                rotate = 270;
-
             } else {
-
                 success = moveLeft();
-                rotate = 90;
             }
         }
 
-        getSprite().setRotate(rotate);
-
         return success;
     }
 
@@ -579,8 +652,8 @@ public class Unit extends Entity {
             // If route is true, produce the route visualisation
             if (route) {
                 // Create a new one
-                SequentialTransition transition = renderer.produceRouteVisual(
-                        renderer.produceRoute(getRoute(), getPosition()
+                SequentialTransition transition = renderer().produceRouteVisual(
+                        renderer().produceRoute(getRoute(), getPosition()
                         )
                 );
 
@@ -593,7 +666,7 @@ public class Unit extends Entity {
             // If route is false, produce the algorithm visualisation
             else {
 
-                setVisualTransition(renderer.produceAlgoRouteVisual(this));
+                setVisualTransition(renderer().produceAlgoRouteVisual(this));
                 getVisualTransition().play();
                 // updates the tutorial
                 Tutorial.visualShown = Tutorial.active;
@@ -631,6 +704,20 @@ public class Unit extends Entity {
         }
     }
 
+    /**
+     * Gets the renderer the unit is drawn in
+     *
+     * @return the renderer
+     */
+    private Renderer renderer() {
+
+        if (renderer == null) {
+            renderer = Renderer.Instance();
+        }
+
+        return renderer;
+    }
+
     /**
      * Deletes the lines and rectangles that were displayed for this unit
      *
@@ -0,0 +1,159 @@
+package graph;
+
+import entity.Entity;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          A uniform grid of buckets over the graph, each bucket holding the entities standing
+ *          on the cells it covers. Answers "which entities are in this rectangle of cells" by
+ *          only looking at the buckets that overlap it instead of every entity in the game.
+ *          Units update it as they move, so it is safe to use from the engine and FX threads.
+ * @date : 19/10/2026
+ */
+public class SpatialIndex {
+
+    // Width and height of a bucket in cells
+    public static final int BUCKET_SIZE = 8;
+
+    private final int columns;
+    private final int rows;
+    private final List<Entity>[] buckets;
+    // Bucket each entity was last put in
+    private final Map<Entity, Integer> locations;
+
+    /**
+     * Builds an empty index for a graph of the given size
+     *
+     * @param width  width of the graph in cells
+     * @param height height of the graph in cells
+     */
+    @SuppressWarnings("unchecked")
+    public SpatialIndex(int width, int height) {
+
+        this.columns = (width + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        this.rows = (height + BUCKET_SIZE - 1) / BUCKET_SIZE;
+        this.buckets = (List<Entity>[]) new List<?>[columns * rows];
+        this.locations = new IdentityHashMap<>();
+
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new ArrayList<>();
+        }
+    }
+
+    /**
+     * Adds an entity at its current position, or moves it there if it is already indexed
+     *
+     * @param entity the entity to add
+     */
+    public synchronized void insert(Entity entity) {
+
+        int bucket = bucketOf(entity.getPosition());
+        Integer old = locations.put(entity, bucket);
+
+        if (old != null) {
+
+            if (old == bucket) {
+                return;
+            }
+
+            buckets[old].remove(entity);
+        }
+
+        buckets[bucket].add(entity);
+    }
+
+    /**
+     * Removes an entity from the index
+     *
+     * @param entity the entity to remove
+     * @return true if the entity was indexed
+     */
+    public synchronized boolean remove(Entity entity) {
+
+        Integer old = locations.remove(entity);
+
+        if (old != null) {
+
+            buckets[old].remove(entity);
+            return true;
+        }
+
+        return false;
+    }
+
+    /**
+     * Checks if an entity is indexed
+     *
+     * @param entity the entity to check
+     * @return true if the entity is in the index
+     */
+    public synchronized boolean contains(Entity entity) {
+
+        return locations.containsKey(entity);
+    }
+
+    /**
+     * Collects all entities standing on the given rectangle of cells (inclusive)
+     *
+     * @param minX left most cell
+     * @param minY top most cell
+     * @param maxX right most cell
+     * @param maxY bottom most cell
+     * @param out  the collection to add the entities to
+     */
+    public synchronized void query(int minX, int minY, int maxX, int maxY, Collection<Entity> out) {
+
+        int minCol = Math.max(0, minX / BUCKET_SIZE);
+        int minRow = Math.max(0, minY / BUCKET_SIZE);
+        int maxCol = Math.min(columns - 1, maxX / BUCKET_SIZE);
+        int maxRow = Math.min(rows - 1, maxY / BUCKET_SIZE);
+
+        for (int row = minRow; row <= maxRow; row++) {
+            for (int col = minCol; col <= maxCol; col++) {
+
+                for (Entity entity : buckets[row * columns + col]) {
+
+                    GraphNode position = entity.getPosition();
+
+                    if (position.getX() >= minX && position.getX() <= maxX &&
+                            position.getY() >= minY && position.getY() <= maxY) {
+                        out.add(entity);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Empties the index
+     */
+    public synchronized void clear() {
+
+        for (List<Entity> bucket : buckets) {
+            bucket.clear();
+        }
+
+        locations.clear();
+    }
+
+    /**
+     * Finds the bucket covering a node
+     *
+     * @param node the node
+     * @return the index of the bucket
+     */
+    private int bucketOf(GraphNode node) {
+
+        int col = Math.max(0, Math.min(columns - 1, node.getX() / BUCKET_SIZE));
+        int row = Math.max(0, Math.min(rows - 1, node.getY() / BUCKET_SIZE));
+
+        return row * columns + col;
+    }
+}
@@ -2,8 +2,10 @@ package gui;
 
 import core.CoreEngine;
 import core.GameRunTime;
+import entity.Unit;
 import javafx.animation.KeyFrame;
 import javafx.animation.Timeline;
+import javafx.application.Platform;
 import javafx.geometry.Pos;
 import javafx.scene.Cursor;
 import javafx.scene.Group;
@@ -27,13 +29,13 @@ import menus.Menu;
 import sceneElements.ButtonProperties;
 import sceneElements.ElementsHandler;
 import sceneElements.LabelProperties;
+import sceneElements.SpriteImage;
 import stores.ImageStore;
+import stores.ImageStore.Picture;
 import stores.LambdaStore;
+import stores.ResourceManager;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * @author : Paul Popa; Contributors - Saif Azmi
@@ -46,9 +48,15 @@ import java.util.logging.Logger;
  */
 public class GameInterface {
 
-    private static final Logger LOG = Logger.getLogger(CoreGUI.class.getName());
+    // Parts of the panel that can change, combined into a bit mask when invalidating
+    public static final int SCORE = 1;
+    public static final int UNBREAKABLE_LIMIT = 1 << 1;
+    public static final int BREAKABLE_LIMIT = 1 << 2;
+    public static final int SELECTED_UNIT = 1 << 3;
+    public static final int ALL = SCORE | UNBREAKABLE_LIMIT | BREAKABLE_LIMIT | SELECTED_UNIT;
 
-    private final String SEPARATOR = "/";
+    // Parts changed since the panel was last updated, an update is queued on the FX thread while this is not 0
+    private static final AtomicInteger dirty = new AtomicInteger();
 
     private Scene scene = GameRunTime.Instance().getScene();
 
@@ -116,23 +124,9 @@ public class GameInterface {
      */
     public void loadFont() {
 
-        try (InputStream fontStream = GameInterface.class.getResourceAsStream(
-                SEPARATOR + "resources" + SEPARATOR + "fonts" + SEPARATOR + "basis33.ttf")) {
-
-            bellotaFont = Font.loadFont(fontStream, 23);
-        } catch (IOException e) {
-            LOG.log(Level.SEVERE, "No font found");
-            LOG.log(Level.SEVERE, e.toString(), e);
-        }
-
-        try (InputStream fontStream = GameInterface.class.getResourceAsStream(
-                SEPARATOR + "resources" + SEPARATOR + "fonts" + SEPARATOR + "basis33.ttf")) {
-
-            bellotaFontBigger = Font.loadFont(fontStream, 50);
-        } catch (IOException e) {
-            LOG.log(Level.SEVERE, "No font found");
-            LOG.log(Level.SEVERE, e.toString(), e);
-        }
+        // preloaded while the main menu was shown, this only waits if loading has not finished yet
+        bellotaFont = ResourceManager.Instance().font(23).join();
+        bellotaFontBigger = ResourceManager.Instance().font(50).join();
     }
 
     /**
@@ -168,8 +162,8 @@ public class GameInterface {
         b = new ButtonProperties();
 
         //Images
-        unsortableImage = ImageStore.unsortableImage2;
-        sortableImage = ImageStore.sortableImage2;
+        unsortableImage = ImageStore.image(Picture.UNSORTABLE_BUTTON);
+        sortableImage = ImageStore.image(Picture.SORTABLE_BUTTON);
     }
 
     /**
@@ -310,7 +304,7 @@ public class GameInterface {
 
         // setting background for the right pane
         BackgroundImage myBI = new BackgroundImage(
-                ImageStore.paneBackground,
+                ImageStore.image(Picture.PANE_BACKGROUND),
                 BackgroundRepeat.REPEAT,
                 BackgroundRepeat.NO_REPEAT,
                 BackgroundPosition.DEFAULT,
@@ -370,20 +364,124 @@ public class GameInterface {
         });
 
         //Initial pane displayed on the top right. It contains the key bindings
-        unitDescriptionLabel.setText("Key Bindings");
-        namePaneLabel.setText("R-Show route");
-        searchPaneLabel.setText("S-Unselect unit");
-        sortPaneLabel.setText("B-Unsortable blockade");
+        showKeyBindings();
+    }
+
+    /**
+     * Shows a message in the status text under the blockade buttons, it is replaced when a button is hovered
+     *
+     * @param text the message, empty to clear it
+     */
+    public void showStatus(String text) {
+
+        sortLabel.setText(text);
+
+        if (!rightMenuBox.getChildren().contains(sortLabel)) {
+            rightMenuBox.getChildren().add(sortLabel);
+        }
+    }
+
+    /**
+     * Marks parts of the panel as changed. Can be called from any thread, changes made before the
+     * queued update runs are shown together in that single update.
+     *
+     * @param parts the changed parts, a combination of SCORE, UNBREAKABLE_LIMIT, BREAKABLE_LIMIT and SELECTED_UNIT
+     */
+    public static void invalidate(int parts) {
+
+        int before = dirty.getAndAccumulate(parts, (current, added) -> current | added);
+
+        if (before == 0) {
+            Platform.runLater(GameInterface::update);
+        }
     }
 
     /**
-     * Updates the current score as well as the limits for the breakable and unbreakable blockades
+     * Updates the parts of the panel that have changed since the last update
      */
     public static void update() {
 
-        scoreLabel.setText("Score: " + String.format("%.2f", CoreEngine.Instance().getScore().getScore()));
-        unsortableLimitLabel.setText(String.valueOf(CoreEngine.Instance().getUnbreakableBlockadesLimit()));
-        sortableLimitLabel.setText(String.valueOf(CoreEngine.Instance().getBreakableBlockadesLimit()));
+        int parts = dirty.getAndSet(0);
+
+        // the labels are created with the current values, nothing to do before that
+        if (scoreLabel == null) {
+            return;
+        }
+
+        CoreEngine engine = CoreEngine.Instance();
+
+        if ((parts & SCORE) != 0 && engine.getScore() != null) {
+            scoreLabel.setText("Score: " + String.format("%.2f", engine.getScore().getScore()));
+        }
+
+        if ((parts & UNBREAKABLE_LIMIT) != 0) {
+            unsortableLimitLabel.setText(String.valueOf(engine.getUnbreakableBlockadesLimit()));
+        }
+
+        if ((parts & BREAKABLE_LIMIT) != 0) {
+            sortableLimitLabel.setText(String.valueOf(engine.getBreakableBlockadesLimit()));
+        }
+
+        if ((parts & SELECTED_UNIT) != 0) {
+            showSelectedUnit(GameRunTime.Instance().getLastClicked());
+        }
+    }
+
+    /**
+     * Fills the unit description pane with the selected unit, or the key bindings if there is none
+     *
+     * @param sprite the sprite of the selected unit
+     */
+    private static void showSelectedUnit(SpriteImage sprite) {
+
+        if (sprite == null || !(sprite.getEntity() instanceof Unit)) {
+
+            showKeyBindings();
+
+            // Deletes the image from the unit description pane
+            unitTextPane.getChildren().get(3).setVisible(false);
+            return;
+        }
+
+        Unit unit = (Unit) sprite.getEntity();
+
+        for (int i = 0; i < 4; i++) {
+            unitTextPane.getChildren().get(i).setVisible(true);
+        }
+
+        unitDescriptionLabel.setText("Unit Description");
+        unitDescriptionLabel.setLayoutX(rightPaneWidth / 2 - 175 / 2);
+        namePaneLabel.setText("Name: " + unit.getName());
+        searchPaneLabel.setText("Search: " + unit.getSearch().name());
+        sortPaneLabel.setText("Sort: " + unit.getSort().name());
+
+        // the portrait matches the unit's search
+        Image portrait;
+
+        if (unit.getSearch() == Unit.Search.BFS) {
+            portrait = ImageStore.image(Picture.DEMON_PORTRAIT);
+        } else if (unit.getSearch() == Unit.Search.A_STAR) {
+            portrait = ImageStore.image(Picture.DEATH_KNIGHT_PORTRAIT);
+        } else {
+            portrait = ImageStore.image(Picture.BANSHEE_PORTRAIT);
+        }
+
+        ImageView portraitView = new ImageView(portrait);
+        portraitView.setFitHeight(80);
+        portraitView.setFitWidth(80);
+        unitImage.setGraphic(portraitView);
+    }
+
+    /**
+     * Shows the key bindings in the unit description pane
+     */
+    private static void showKeyBindings() {
+
+        unitDescriptionLabel.setText("Key Bindings");
+        unitDescriptionLabel.setLayoutX(rightPaneWidth / 2 - 131.25 / 2);
+        namePaneLabel.setText("R-Show route");
+        searchPaneLabel.setText("S-Unselect unit");
+        sortPaneLabel.setText("B-Unsortable blockade");
     }
 
     /**
@@ -5,9 +5,12 @@ import entity.Entity;
 import entity.Unit;
 import graph.Graph;
 import graph.GraphNode;
+import graph.SpatialIndex;
 import javafx.animation.FadeTransition;
 import javafx.animation.SequentialTransition;
 import javafx.animation.Transition;
+import javafx.application.Platform;
+import javafx.geometry.Bounds;
 import javafx.scene.Group;
 import javafx.scene.Node;
 import javafx.scene.Scene;
@@ -17,9 +20,14 @@ import javafx.scene.shape.Rectangle;
 import javafx.util.Duration;
 import javafx.util.Pair;
 import sceneElements.SpriteImage;
+import stores.ImageStore;
+import stores.TextureAtlas;
 
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -37,6 +45,9 @@ public class Renderer extends Group {
 
     private static final Logger LOG = Logger.getLogger(Renderer.class.getName());
 
+    // Smallest size of a grid cell on screen, larger maps scroll instead of shrinking below it
+    public static final double MIN_TILE_SIZE = 24;
+
     // Dependencies
     private Scene scene = GameRunTime.Instance().getScene();
     private List<Entity> entitiesToDraw;
@@ -44,6 +55,15 @@ public class Renderer extends Group {
     private double ySpacing;
     private ArrayList<Double> spacingOutput;
 
+    // Viewport
+    private Camera camera;
+    private SpatialIndex index;
+    private Set<Entity> visibleEntities;
+    private AtomicBoolean cullPending;
+
+    // Sprites scaled to the size a cell currently takes on screen
+    private TextureAtlas atlas;
+
     // Instance for singleton.
     private static Renderer instance = null;
 
@@ -68,6 +88,12 @@ public class Renderer extends Group {
 
         super();
         this.entitiesToDraw = new ArrayList<>();
+        this.camera = new Camera();
+        this.index = new SpatialIndex(Graph.WIDTH, Graph.HEIGHT);
+        this.visibleEntities = new HashSet<>();
+        this.cullPending = new AtomicBoolean(false);
+
+        camera.attach(this);
     }
 
     /**
@@ -100,6 +126,42 @@ public class Renderer extends Group {
         return this.ySpacing;
     }
 
+    /**
+     * Gets the camera the renderer is viewed through
+     *
+     * @return the camera
+     */
+    public Camera getCamera() {
+
+        return this.camera;
+    }
+
+    /**
+     * Converts a screen position into the graph node drawn there
+     *
+     * @param screenX x position on the screen
+     * @param screenY y position on the screen
+     * @param graph   the graph to get the node from
+     * @return the node at that position, or null if the position is off the grid
+     */
+    public GraphNode nodeAt(double screenX, double screenY, Graph graph) {
+
+        if (!camera.containsScreen(screenX, screenY)) {
+            return null;
+        }
+
+        double logicalX = Math.floor(camera.toWorldX(screenX) / xSpacing);
+        double logicalY = Math.floor(camera.toWorldY(screenY) / ySpacing);
+
+        if (logicalX >= 0 && logicalX < Graph.WIDTH &&
+                logicalY >= 0 && logicalY < Graph.HEIGHT) {
+
+            return graph.nodeWith(new GraphNode((int) logicalX, (int) logicalY));
+        }
+
+        return null;
+    }
+
     /**
      * Function to perform the initial draw of the screen.
      * This includes calculating the xSpacing, ySpacing, and the grid lines
@@ -136,6 +198,21 @@ public class Renderer extends Group {
      */
     public Node remove(Node node) {
 
+        if (node instanceof SpriteImage && ((SpriteImage) node).getEntity() != null) {
+
+            Entity entity = ((SpriteImage) node).getEntity();
+
+            // only forget the entity if this is the sprite it is drawn with
+            if (entity.getSprite() == node) {
+
+                index.remove(entity);
+
+                synchronized (visibleEntities) {
+                    visibleEntities.remove(entity);
+                }
+            }
+        }
+
         if (getChildren().contains(node)) {
 
             LOG.log(Level.INFO, "Deleted " + node.toString());
@@ -148,6 +225,38 @@ public class Renderer extends Group {
         }
     }
 
+    /**
+     * Removes many nodes from the renderer in one change to the scene
+     *
+     * @param nodes the nodes to be removed
+     */
+    public void removeAll(List<? extends Node> nodes) {
+
+        Set<Entity> forgotten = new HashSet<>();
+
+        for (Node node : nodes) {
+
+            if (node instanceof SpriteImage && ((SpriteImage) node).getEntity() != null) {
+
+                Entity entity = ((SpriteImage) node).getEntity();
+
+                // only forget the entity if this is the sprite it is drawn with
+                if (entity.getSprite() == node) {
+
+                    index.remove(entity);
+                    forgotten.add(entity);
+                }
+            }
+        }
+
+        synchronized (visibleEntities) {
+            visibleEntities.removeAll(forgotten);
+        }
+
+        entitiesToDraw.removeAll(forgotten);
+        getChildren().removeAll(new HashSet<>(nodes));
+    }
+
     /**
      * Creates the grid lines and adds them to the renderer.
      *
@@ -187,19 +296,25 @@ public class Renderer extends Group {
      * height          Number of GraphNodes on the height
      * xSpacing        Pixel width of each grid quadrilateral
      * ySpacing        Pixel height of each grid quadrilateral
-     * pixelWidth      Pane width in pixels
-     * pixelHeight     Pane height in pixels
+     * pixelWidth      Grid width in pixels
+     * pixelHeight     Grid height in pixels
      */
     public void calculateSpacing() {
 
         ArrayList<Double> returnList = new ArrayList<>();
 
-        double pixelWidth = scene.getWidth() - GameInterface.rightPaneWidth;
-        double pixelHeight = scene.getHeight() - GameInterface.bottomPaneHeight;
+        double viewWidth = scene.getWidth() - GameInterface.rightPaneWidth;
+        double viewHeight = scene.getHeight() - GameInterface.bottomPaneHeight;
         int width = Graph.WIDTH;
         int height = Graph.HEIGHT;
-        this.xSpacing = pixelWidth / (width);
-        this.ySpacing = pixelHeight / (height);
+        this.xSpacing = spacingFor(viewWidth, width);
+        this.ySpacing = spacingFor(viewHeight, height);
+
+        // the grid only fills the viewport for small maps, bigger ones are panned around with the camera
+        double pixelWidth = xSpacing * width;
+        double pixelHeight = ySpacing * height;
+        camera.setBounds(viewWidth, viewHeight, pixelWidth, pixelHeight);
+        updateAtlas();
 
         returnList.add((double) width);
         returnList.add((double) height);
@@ -211,6 +326,18 @@ public class Renderer extends Group {
         this.spacingOutput = returnList;
     }
 
+    /**
+     * Gets the size of a grid cell along one axis
+     *
+     * @param viewSize pixels available for the grid along that axis
+     * @param cells    number of cells along that axis
+     * @return the cell size in pixels
+     */
+    public static double spacingFor(double viewSize, int cells) {
+
+        return Math.max(MIN_TILE_SIZE, viewSize / cells);
+    }
+
     /**
      * Draws an entity before it starts to move.
      *
@@ -225,16 +352,206 @@ public class Renderer extends Group {
             this.entitiesToDraw.add(entity);
         }
 
+        success = getChildren().add(placeSprite(entity));
+
+        return success;
+    }
+
+    /**
+     * Draws many new entities at once, such as the blockades of a map.
+     * Their sprites are added to the scene in one change instead of one each.
+     *
+     * @param entities the entities to be drawn, none of them drawn before
+     * @return success boolean representing the success of the operation
+     */
+    public boolean drawInitialEntities(List<? extends Entity> entities) {
+
+        List<SpriteImage> sprites = new ArrayList<>(entities.size());
+
+        for (Entity entity : entities) {
+            sprites.add(placeSprite(entity));
+        }
+
+        this.entitiesToDraw.addAll(entities);
+
+        return getChildren().addAll(sprites);
+    }
+
+    /**
+     * Sizes and places the sprite of an entity at its node and decides if it is on screen
+     *
+     * @param entity the entity being drawn
+     * @return the sprite of the entity
+     */
+    private SpriteImage placeSprite(Entity entity) {
+
         GraphNode node = entity.getPosition();
         SpriteImage sprite = entity.getSprite();
+        sprite.useAtlas(atlas());
         sprite.setFitWidth(xSpacing);
         sprite.setFitHeight(ySpacing);
         sprite.setX(node.getX() * xSpacing);
         sprite.setY(node.getY() * ySpacing);
 
-        success = getChildren().add(sprite);
+        index.insert(entity);
+        boolean visible = isOnScreen(node);
+        sprite.setVisible(visible);
 
-        return success;
+        synchronized (visibleEntities) {
+
+            if (visible) {
+                visibleEntities.add(entity);
+            } else {
+                visibleEntities.remove(entity);
+            }
+        }
+
+        return sprite;
+    }
+
+    /**
+     * Tells the renderer that an entity has moved to a different graph node,
+     * so it can be shown or hidden if it crossed the edge of the viewport
+     *
+     * @param entity the entity that moved
+     */
+    public void entityMoved(Entity entity) {
+
+        if (index.contains(entity)) {
+
+            index.insert(entity);
+            requestCull();
+        }
+    }
+
+    /**
+     * Schedules a cull on the FX thread, at most one is waiting at a time
+     */
+    public void requestCull() {
+
+        if (cullPending.compareAndSet(false, true)) {
+
+            Platform.runLater(() -> {
+
+                cullPending.set(false);
+                cull();
+            });
+        }
+    }
+
+    /**
+     * Shows only what intersects the viewport.
+     * Entities are found through the spatial index, overlay elements (grid and route lines, search
+     * rectangles) are checked against their bounds.
+     */
+    public void cull() {
+
+        int minX = (int) Math.floor(camera.getOffsetX() / xSpacing);
+        int minY = (int) Math.floor(camera.getOffsetY() / ySpacing);
+        int maxX = (int) Math.floor((camera.getOffsetX() + camera.getVisibleWidth()) / xSpacing);
+        int maxY = (int) Math.floor((camera.getOffsetY() + camera.getVisibleHeight()) / ySpacing);
+
+        Set<Entity> nowVisible = new HashSet<>();
+        index.query(minX, minY, maxX, maxY, nowVisible);
+
+        synchronized (visibleEntities) {
+
+            for (Entity entity : visibleEntities) {
+
+                if (!nowVisible.contains(entity) && entity.getSprite() != null) {
+                    entity.getSprite().setVisible(false);
+                }
+            }
+
+            TextureAtlas current = atlas();
+
+            for (Entity entity : nowVisible) {
+
+                if (entity.getSprite() != null) {
+
+                    // hidden sprites keep their old atlas until they come back into view
+                    entity.getSprite().useAtlas(current);
+                    entity.getSprite().setVisible(true);
+                }
+            }
+
+            visibleEntities.clear();
+            visibleEntities.addAll(nowVisible);
+        }
+
+        for (Node node : getChildren()) {
+
+            if (!(node instanceof SpriteImage)) {
+
+                Bounds bounds = node.getBoundsInParent();
+                node.setVisible(camera.intersects(bounds.getMinX(), bounds.getMinY(), bounds.getWidth(), bounds.getHeight()));
+            }
+        }
+    }
+
+    /**
+     * Pans the camera and updates what is shown
+     *
+     * @param dx screen pixels to move along x
+     * @param dy screen pixels to move along y
+     */
+    public void pan(double dx, double dy) {
+
+        camera.pan(dx, dy);
+        cull();
+    }
+
+    /**
+     * Zooms the camera around a screen position and updates what is shown
+     *
+     * @param factor  the zoom factor
+     * @param screenX x screen position to zoom around
+     * @param screenY y screen position to zoom around
+     */
+    public void zoom(double factor, double screenX, double screenY) {
+
+        camera.zoomAt(factor, screenX, screenY);
+        updateAtlas();
+        cull();
+    }
+
+    /**
+     * Gets the atlas matching the current cell size on screen
+     *
+     * @return the texture atlas
+     */
+    private TextureAtlas atlas() {
+
+        if (atlas == null) {
+            updateAtlas();
+        }
+
+        return atlas;
+    }
+
+    /**
+     * Picks the atlas for the size a cell takes on screen at the current zoom,
+     * so sprites are drawn from textures that do not need scaling
+     */
+    private void updateAtlas() {
+
+        int tileWidth = (int) Math.ceil(xSpacing * camera.getZoom());
+        int tileHeight = (int) Math.ceil(ySpacing * camera.getZoom());
+
+        if (atlas == null || atlas.getTileWidth() != tileWidth || atlas.getTileHeight() != tileHeight) {
+            atlas = ImageStore.atlas(tileWidth, tileHeight);
+        }
+    }
+
+    /**
+     * Checks if the cell of a graph node is inside the viewport
+     *
+     * @param node the node to check
+     * @return true if any part of the cell is visible
+     */
+    private boolean isOnScreen(GraphNode node) {
+
+        return camera.intersects(node.getX() * xSpacing, node.getY() * ySpacing, xSpacing, ySpacing);
     }
 
     /**
@@ -0,0 +1,104 @@
+package gui;
+
+import core.CoreEngine;
+import core.UnitSnapshot;
+import entity.Unit;
+import javafx.animation.AnimationTimer;
+import sceneElements.SpriteImage;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Places unit sprites on every frame by interpolating between the cells in the engine's latest
+ *          unit snapshot. The engine only moves units logically, so no animation objects are created per
+ *          move and the screen is drawn at the display's frame rate whatever the engine tick rate is.
+ * @date : 19/10/2026
+ */
+public class UnitInterpolator extends AnimationTimer {
+
+    private static final double NANOS_PER_TICK = 1e9 / CoreEngine.FRAME_RATE;
+
+    private final CoreEngine engine;
+    private final Renderer renderer;
+
+    /**
+     * Creates an interpolator, it does nothing until started
+     *
+     * @param engine   the engine publishing the snapshots
+     * @param renderer the renderer the sprites are drawn in
+     */
+    public UnitInterpolator(CoreEngine engine, Renderer renderer) {
+
+        this.engine = engine;
+        this.renderer = renderer;
+    }
+
+    /**
+     * Places the sprites for this frame
+     *
+     * @param now the time of the frame in nanoseconds
+     */
+    @Override
+    public void handle(long now) {
+
+        UnitSnapshot snapshot = engine.getSnapshot();
+
+        if (snapshot == null) {
+            return;
+        }
+
+        // the part of a tick that has passed since the snapshot, never more than one tick ahead
+        double ticksAhead = 0;
+
+        if (!engine.isPaused()) {
+            ticksAhead = Math.max(0, Math.min(1, (now - snapshot.getTime()) / NANOS_PER_TICK));
+        }
+
+        double xSpacing = renderer.getXSpacing();
+        double ySpacing = renderer.getYSpacing();
+
+        for (int i = 0; i < snapshot.size(); i++) {
+
+            SpriteImage sprite = snapshot.getUnit(i).getSprite();
+
+            // culled sprites are placed again once they come back into view
+            if (sprite == null || !sprite.isVisible()) {
+                continue;
+            }
+
+            int fromX = snapshot.getFromX(i);
+            int fromY = snapshot.getFromY(i);
+            int toX = snapshot.getToX(i);
+            int toY = snapshot.getToY(i);
+
+            double progress = snapshot.getProgress(i);
+
+            if (progress < 1) {
+                progress = Math.min(1, progress + ticksAhead / Unit.MOVE_TICKS);
+            }
+
+            sprite.setX((fromX + (toX - fromX) * progress) * xSpacing);
+            sprite.setY((fromY + (toY - fromY) * progress) * ySpacing);
+
+            if (fromX != toX || fromY != toY) {
+                sprite.setRotate(rotation(toX - fromX, toY - fromY));
+            }
+        }
+    }
+
+    /**
+     * Gets the rotation of a sprite facing along a move
+     *
+     * @param xChange cells moved along x
+     * @param yChange cells moved along y
+     * @return the rotation in degrees
+     */
+    private double rotation(int xChange, int yChange) {
+
+        if (xChange == 0) {
+            return yChange > 0 ? 0 : 180;
+        }
+
+        return xChange > 0 ? 270 : 90;
+    }
+}
@@ -0,0 +1,69 @@
+package maps;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Writes files so that they are either fully replaced or left as they were. The content is written to a
+ *          temporary file next to the destination, flushed to disk, then moved over the destination in one step,
+ *          so a crash part way through a save never leaves a truncated map behind.
+ * @date : 19/10/2026
+ */
+public final class AtomicFile {
+
+    private AtomicFile() {
+
+        // To prevent instantiation.
+    }
+
+    /**
+     * Writes the content of a file
+     */
+    public interface Content {
+
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Replaces a file with new content
+     *
+     * @param target  the file to write
+     * @param content writes the new content
+     * @throws IOException if the content cannot be written, the target is then unchanged
+     */
+    public static void write(File target, Content content) throws IOException {
+
+        File dir = target.getAbsoluteFile().getParentFile();
+        File temp = File.createTempFile("." + target.getName() + "-", ".tmp", dir);
+
+        try {
+
+            try (FileOutputStream file = new FileOutputStream(temp)) {
+
+                OutputStream out = new BufferedOutputStream(file);
+                content.writeTo(out);
+                out.flush();
+                file.getFD().sync();
+            }
+
+            try {
+                Files.move(temp.toPath(), target.toPath(),
+                        StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                // the file system cannot swap files in one step, replacing is the best it can do
+                Files.move(temp.toPath(), target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+
+        } finally {
+            Files.deleteIfExists(temp.toPath());
+        }
+    }
+}
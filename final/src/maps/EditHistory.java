@@ -0,0 +1,182 @@
+package maps;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          The undo and redo stacks of the map editor. Each edit is stored as the cells it changed, every
+ *          change packed into one int: the index of the cell, the type it had and the type it was given.
+ *          A brush stroke over a thousand cells costs four kilobytes, never a copy of the whole map.
+ * @date : 19/10/2026
+ */
+public class EditHistory {
+
+    // Edits kept before the oldest are forgotten
+    public static final int MAX_EDITS = 256;
+
+    private static final int TYPE_BITS = 2;
+    private static final int TYPE_MASK = (1 << TYPE_BITS) - 1;
+
+    private final Deque<int[]> undo;
+    private final Deque<int[]> redo;
+
+    /**
+     * Creates an empty history
+     */
+    public EditHistory() {
+
+        this.undo = new ArrayDeque<>();
+        this.redo = new ArrayDeque<>();
+    }
+
+    /**
+     * Packs the change of one cell
+     *
+     * @param cell   the index of the cell, y * width + x
+     * @param before the type the cell had
+     * @param after  the type it was given
+     * @return the packed change
+     */
+    public static int change(int cell, byte before, byte after) {
+
+        return (cell << (2 * TYPE_BITS)) | (before << TYPE_BITS) | after;
+    }
+
+    /**
+     * Gets the cell of a change
+     *
+     * @param change the packed change
+     * @return the index of the cell
+     */
+    public static int cell(int change) {
+
+        return change >>> (2 * TYPE_BITS);
+    }
+
+    /**
+     * Gets the type a cell had before a change
+     *
+     * @param change the packed change
+     * @return the old type
+     */
+    public static byte before(int change) {
+
+        return (byte) ((change >>> TYPE_BITS) & TYPE_MASK);
+    }
+
+    /**
+     * Gets the type a cell was given by a change
+     *
+     * @param change the packed change
+     * @return the new type
+     */
+    public static byte after(int change) {
+
+        return (byte) (change & TYPE_MASK);
+    }
+
+    /**
+     * Turns an edit around, so applying it takes the cells back to how they were
+     *
+     * @param edit the packed changes
+     * @return the changes undoing them, in reverse order
+     */
+    public static int[] reverse(int[] edit) {
+
+        int[] reversed = new int[edit.length];
+
+        for (int i = 0; i < edit.length; i++) {
+
+            int change = edit[edit.length - 1 - i];
+            reversed[i] = change(cell(change), after(change), before(change));
+        }
+
+        return reversed;
+    }
+
+    /**
+     * Records an edit that has just been applied, anything that could be redone is forgotten
+     *
+     * @param edit the packed changes, an edit with none is ignored
+     */
+    public void record(int[] edit) {
+
+        if (edit.length == 0) {
+            return;
+        }
+
+        undo.push(edit);
+        redo.clear();
+
+        if (undo.size() > MAX_EDITS) {
+            undo.removeLast();
+        }
+    }
+
+    /**
+     * Takes back the last edit
+     *
+     * @return the changes to apply to undo it, or null if there is nothing to undo
+     */
+    public int[] undo() {
+
+        int[] edit = undo.poll();
+
+        if (edit == null) {
+            return null;
+        }
+
+        redo.push(edit);
+
+        return reverse(edit);
+    }
+
+    /**
+     * Applies the last undone edit again
+     *
+     * @return the changes to apply to redo it, or null if there is nothing to redo
+     */
+    public int[] redo() {
+
+        int[] edit = redo.poll();
+
+        if (edit != null) {
+            undo.push(edit);
+        }
+
+        return edit;
+    }
+
+    // GETTER methods
+
+    /**
+     * Checks if there is an edit to undo
+     *
+     * @return true if undo would change the map
+     */
+    public boolean canUndo() {
+
+        return !undo.isEmpty();
+    }
+
+    /**
+     * Checks if there is an edit to redo
+     *
+     * @return true if redo would change the map
+     */
+    public boolean canRedo() {
+
+        return !redo.isEmpty();
+    }
+
+    /**
+     * Forgets every edit
+     */
+    public void clear() {
+
+        undo.clear();
+        redo.clear();
+    }
+}
@@ -1,30 +1,45 @@
 package maps;
 
+import entity.Blockade;
+import entity.SortableBlockade;
 import graph.Graph;
 import graph.GraphNode;
+import javafx.application.Platform;
 import javafx.embed.swing.SwingFXUtils;
 import javafx.scene.SnapshotParameters;
 import javafx.scene.image.WritableImage;
+import stores.ThumbnailCache;
 
 import javax.imageio.ImageIO;
-import java.io.BufferedWriter;
+import java.awt.image.BufferedImage;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * @author : Hung Hoang; Contributors - Saif Azmi
- * @version : 23/03/2016;
+ * @version : 19/10/2026;
  *          <p>
- *          This class handles saving of maps created via the map editor
+ *          This class handles saving of maps created via the map editor, without blocking the FX thread
  * @date : 28/01/16
  */
 public class EditorParser {
 
     private static final Logger LOG = Logger.getLogger(EditorParser.class.getName());
 
+    // Encodes and writes saves one after the other, off the FX thread
+    private static final Executor saver = Executors.newSingleThreadExecutor(runnable -> {
+
+        Thread thread = new Thread(runnable, "Map saver");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private MapEditor editor;
     private String SAVE_DIRECTORY;
     private String IMAGE_DIRECTORY;
@@ -33,7 +48,7 @@ public class EditorParser {
 
     /**
      * The constructor creates a new directory for the application to store its files
-     * The files stored include both a .map file (our own extension but should be readable by any text editor)
+     * The files stored include both a .map file (version 2 of our own format, see MapFormat)
      * and a .png file
      *
      * @param mapEditor The Map Editing manager which this class can get information from (about the graph etc.)
@@ -59,24 +74,25 @@ public class EditorParser {
      * Called when the 'saved' button is clicked
      * Gets the name of the map and ensures it isn't empty
      * Creates a new directory if necessary, i.e. a directory for the application doesn't exist yet
-     * Goes through the map, obtained from the Map Editor instance, and for each node with a blockade,
-     * place a 1 in the saved file, else place a 0
-     * Saves the map in the form <name>.map and a .png image
+     * Goes through the map, obtained from the Map Editor instance, and records the type of blockade
+     * in each node, if any, checks units can reach a base somewhere on it and takes a snapshot of it.
+     * The map in the form <name>.map and a .png image are then encoded and saved on a background thread,
+     * the status box is updated when they are done
+     *
+     * @return a future that completes when the save has finished, or null if nothing is saved
      */
-    public void saveToUserFile() {
+    public CompletableFuture<Void> saveToUserFile() {
 
         String fileName = editor.getInterface().getFileName() + ".map";
         String imageName = editor.getInterface().getFileName() + ".png";
 
-        Graph graph = editor.getGraph();
-
         if (fileName.equals("")) {
             editor.getInterface().getSaveStatusBox().setText("The map must have a name, please enter a name above");
 
         } else {
 
             if (invalidName(editor.getInterface().getFileName())) {
-                return;
+                return null;
             }
 
             LOG.log(Level.INFO, "Attempting to save now");
@@ -118,65 +134,106 @@ public class EditorParser {
                 }
 
                 if (!overwrite) {
-                    return;
+                    return null;
                 }
 
-                // Begin writing data
-                FileWriter fileWriter = new FileWriter(savedFile);
+                // Capture the map and its image, the rest is done off the FX thread
+                MapData map = capture(editor.getGraph());
+                int validBases = new Reachability(map).countValidBases();
+
+                if (validBases == 0) {
 
-                BufferedWriter writer = new BufferedWriter(fileWriter);
+                    editor.getInterface().getSaveStatusBox().setText(
+                            "Map not saved: units could not reach a base anywhere, clear a path from the top left corner"
+                    );
 
-                for (int y = 0; y < 20; y++) {
-                    for (int x = 0; x < 20; x++) {
+                    return null;
+                }
 
-                        if (x < 19) {
+                WritableImage mapImage = editor.getRenderer().snapshot(new SnapshotParameters(), null);
 
-                            if (graph.nodeWith(new GraphNode(x, y)).getBlockade() != null) {
-                                writer.write("1 ");
-                            } else {
-                                writer.write("0 ");
-                            }
+                String saved = (newDirectory ?
+                        "New directory created at " + SAVE_DIRECTORY + ", map saved: " + fileName :
+                        "map saved: " + SAVE_DIRECTORY + fileName) +
+                        " (" + validBases + " places for the base)";
 
-                        } else {
+                editor.getInterface().getSaveStatusBox().setText("Saving " + fileName + "...");
 
-                            if (graph.nodeWith(new GraphNode(x, y)).getBlockade() != null) {
-                                writer.write("1");
-                            } else {
-                                writer.write("0");
+                return CompletableFuture.runAsync(() -> write(map, savedFile, mapImage, imageFile), saver)
+                        .whenComplete((result, error) -> {
+
+                            if (error != null) {
+                                LOG.log(Level.SEVERE, error.toString(), error);
                             }
-                        }
-                    }
-                    writer.newLine();
-                }
 
-                // Save Image
-                WritableImage mapImage = editor.getRenderer().snapshot(new SnapshotParameters(), null);
+                            Platform.runLater(() -> editor.getInterface().getSaveStatusBox().setText(
+                                    error == null ? saved : "Save failed, game error"
+                            ));
+                        });
 
-                try {
-                    ImageIO.write(SwingFXUtils.fromFXImage(mapImage, null), "png", imageFile);
-                } catch (IOException e) {
-                    LOG.log(Level.SEVERE, e.toString(), e);
-                }
+            } finally {
+                overwrite = true;
+            }
+        }
 
+        return null;
+    }
 
-                if (newDirectory) {
-                    editor.getInterface().getSaveStatusBox().setText(
-                            "New directory created at " + SAVE_DIRECTORY + ", map saved: " + fileName
-                    );
+    /**
+     * Records the type of blockade in each node of the editor's graph
+     *
+     * @param graph the graph of the map editor
+     * @return the map, with units spawning at 0,0
+     */
+    static MapData capture(Graph graph) {
+
+        MapData map = new MapData(Graph.WIDTH, Graph.HEIGHT);
+
+        for (int y = 0; y < Graph.HEIGHT; y++) {
+            for (int x = 0; x < Graph.WIDTH; x++) {
+
+                GraphNode node = graph.nodeAt(x, y);
+                Blockade blockade = node == null ? null : node.getBlockade();
+
+                if (blockade instanceof SortableBlockade) {
+                    map.set(x, y, MapData.SORTABLE_BLOCKADE);
+                } else if (blockade != null) {
+                    map.set(x, y, MapData.BLOCKADE);
                 }
+            }
+        }
 
-                editor.getInterface().getSaveStatusBox().setText("map saved: " + SAVE_DIRECTORY + fileName);
+        map.getSpawns().add(new GraphNode(0, 0));
 
-                writer.close();
+        return map;
+    }
 
-            } catch (IOException e) {
+    /**
+     * Saves a map and its image, each replacing the old file in one step. Runs on the saving thread.
+     * A failed image is only logged, the map is what matters.
+     *
+     * @param map       the map to save
+     * @param savedFile the map file
+     * @param mapImage  the snapshot of the map
+     * @param imageFile the image file
+     */
+    private static void write(MapData map, File savedFile, WritableImage mapImage, File imageFile) {
 
-                editor.getInterface().getSaveStatusBox().setText("Save failed, game error");
-                LOG.log(Level.SEVERE, e.toString(), e);
+        try {
+            AtomicFile.write(savedFile, out -> MapFormat.write(map, out));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
 
-            } finally {
-                overwrite = true;
-            }
+        MapCatalog.Instance().update(savedFile);
+
+        try {
+            BufferedImage image = SwingFXUtils.fromFXImage(mapImage, null);
+            AtomicFile.write(imageFile, out -> ImageIO.write(image, "png", out));
+            // make the chooser's thumbnail now rather than when it is first shown
+            ThumbnailCache.Instance().thumbnail(imageFile);
+        } catch (IOException e) {
+            LOG.log(Level.SEVERE, e.toString(), e);
         }
     }
 
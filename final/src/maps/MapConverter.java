@@ -0,0 +1,95 @@
+package maps;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Converts legacy text .map files to the binary version 2 format, written next to them as .bmap.
+ *          Usage: java maps.MapConverter &lt;file or directory&gt;...
+ *          A directory converts every .map file in it. With no arguments the preset maps in resources/maps
+ *          are converted, their text sources are kept there so they can be edited and converted again.
+ * @date : 19/10/2026
+ */
+public final class MapConverter {
+
+    private static final Logger LOG = Logger.getLogger(MapConverter.class.getName());
+
+    private static final String LEGACY_EXTENSION = ".map";
+    private static final String EXTENSION = ".bmap";
+
+    // The preset maps, and the editor's template among them that is not a preset
+    private static final String PRESETS = "src" + File.separator + "resources" + File.separator + "maps";
+    private static final String TEMPLATE = "template.map";
+
+    private MapConverter() {
+
+        // To prevent instantiation.
+    }
+
+    /**
+     * Converts the given files and directories
+     *
+     * @param args the paths to convert
+     */
+    public static void main(String[] args) {
+
+        String[] paths = args.length > 0 ? args : new String[]{PRESETS};
+
+        for (String path : paths) {
+
+            File file = new File(path);
+            File[] files = file.isDirectory() ? file.listFiles((dir, name) -> name.endsWith(LEGACY_EXTENSION) &&
+                    !(path.equals(PRESETS) && name.equals(TEMPLATE))) : new File[]{file};
+
+            if (files == null) {
+                LOG.log(Level.SEVERE, "Cannot list " + path);
+                continue;
+            }
+
+            for (File legacy : files) {
+
+                String name = legacy.getName();
+                File converted = new File(legacy.getParentFile(),
+                        name.substring(0, name.length() - LEGACY_EXTENSION.length()) + EXTENSION);
+
+                try {
+
+                    convert(legacy, converted);
+                    System.out.println(legacy + " (" + legacy.length() + " bytes) -> "
+                            + converted + " (" + converted.length() + " bytes)");
+
+                } catch (IOException e) {
+                    LOG.log(Level.SEVERE, legacy + ": " + e.toString(), e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Converts one map
+     *
+     * @param legacy    the text map to read
+     * @param converted the binary map to write
+     * @throws IOException if either file cannot be used
+     */
+    public static void convert(File legacy, File converted) throws IOException {
+
+        MapData map;
+
+        try (InputStream in = new FileInputStream(legacy)) {
+            map = MapFormat.read(in);
+        }
+
+        try (OutputStream out = new FileOutputStream(converted)) {
+            MapFormat.write(map, out);
+        }
+    }
+}
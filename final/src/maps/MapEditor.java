@@ -1,6 +1,7 @@
 package maps;
 
 import entity.Blockade;
+import entity.SortableBlockade;
 import graph.Graph;
 import graph.GraphNode;
 import gui.CoreGUI;
@@ -8,6 +9,7 @@ import gui.Renderer;
 import javafx.event.EventHandler;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.layout.Background;
 import javafx.scene.layout.BackgroundImage;
@@ -17,9 +19,13 @@ import javafx.scene.layout.BackgroundSize;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.Pane;
 import menus.Menu;
+import sceneElements.ElementsHandler;
+import sceneElements.SpriteImage;
 import stores.ImageStore;
+import stores.ResourceManager;
 
-import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 /**
@@ -39,6 +45,16 @@ public class MapEditor implements Menu {
 
     private MapEditorInterface mapEditorInterface;
 
+    // The cell types of the editor's map, kept in step with the blockades on the graph
+    private MapData cells;
+    private EditHistory history;
+    private Brush brush = Brush.PENCIL;
+    private byte paintType = MapData.BLOCKADE;
+
+    // The cell a drag started on, and the changes a pencil stroke has made so far
+    private GraphNode dragStart;
+    private int[] stroke = new int[0];
+
     // Instance for singleton.
     private static MapEditor instance = null;
 
@@ -73,14 +89,15 @@ public class MapEditor implements Menu {
 
         createGraph();
 
+        cells = new MapData(Graph.WIDTH, Graph.HEIGHT);
+        cells.getSpawns().add(new GraphNode(0, 0));
+        history = new EditHistory();
+
         mapEditorRenderer = new Renderer();
         mapEditorRenderer.calculateSpacing();
 
         // creating the background from resources
-        final String SEPARATOR = File.separator;
-        final String SPRITE_RESOURCES = SEPARATOR + "resources" + SEPARATOR + "sprites" + SEPARATOR;
-        final String BACKGROUNDS = "backgrounds" + SEPARATOR;
-        Image sandBackground = new Image(SPRITE_RESOURCES + BACKGROUNDS + "SandBackground.png");
+        Image sandBackground = ResourceManager.Instance().image(ResourceManager.SAND_BACKGROUND).join();
 
         BackgroundImage myBIF = new BackgroundImage(
                 sandBackground,
@@ -104,8 +121,27 @@ public class MapEditor implements Menu {
         // Create the interface for the scene
         mapEditorInterface = new MapEditorInterface(mapEditorScene, this);
 
-        // define the mouse click event handler
-        mapEditorScene.setOnMouseClicked(sceneClickPlaceBlockade);
+        // define the mouse event handlers, a drag is one edit whatever the brush
+        mapEditorScene.setOnMousePressed(scenePressStartEdit);
+        mapEditorScene.setOnMouseDragged(sceneDragPaint);
+        mapEditorScene.setOnMouseReleased(sceneReleaseFinishEdit);
+
+        mapEditorScene.setOnKeyPressed(e -> {
+
+            if (e.isShortcutDown() && e.getCode() == KeyCode.Z) {
+                undo();
+            } else if (e.isShortcutDown() && e.getCode() == KeyCode.Y) {
+                redo();
+            }
+        });
+
+        // scrolling zooms the editor's camera around the mouse
+        mapEditorScene.setOnScroll(e -> {
+
+            if (e.getDeltaY() != 0) {
+                mapEditorRenderer.zoom(e.getDeltaY() > 0 ? ElementsHandler.ZOOM_STEP : 1 / ElementsHandler.ZOOM_STEP, e.getX(), e.getY());
+            }
+        });
     }
 
     // GETTER methods
@@ -171,36 +207,206 @@ public class MapEditor implements Menu {
     }
 
     /**
-     * Mouse click handling event.
-     * Create a new blockade and place in appropriate node, logically and graphically
+     * Gets the brush used by the mouse
+     *
+     * @return the brush
      */
-    private final EventHandler<MouseEvent> sceneClickPlaceBlockade = e -> {
+    public Brush getBrush() {
 
-        Blockade blockadeInstance = new Blockade(0, "Blockade", new GraphNode(0, 0), null);
-        ImageStore.setSpriteProperties(blockadeInstance, ImageStore.unsortableImage1);
-        Blockade blockade = Blockade.mapBlockade(e, blockadeInstance, mapEditorRenderer, mapEditorGraph);
+        return this.brush;
+    }
 
-        if (blockade != null) {
-            mapEditorRenderer.drawInitialEntity(blockade);
+    /**
+     * Gets the edit history of the map editor
+     *
+     * @return the undo and redo stacks
+     */
+    public EditHistory getHistory() {
+
+        return this.history;
+    }
+
+    // SETTER methods
+
+    /**
+     * Sets the brush used by the mouse
+     *
+     * @param brush the brush
+     */
+    public void setBrush(Brush brush) {
+
+        this.brush = brush;
+    }
+
+    /**
+     * Sets the cell type the brush paints
+     *
+     * @param paintType MapData.EMPTY to erase, MapData.BLOCKADE or MapData.SORTABLE_BLOCKADE
+     */
+    public void setPaintType(byte paintType) {
+
+        this.paintType = paintType;
+    }
+
+    /**
+     * Mouse press handling event.
+     * Starts an edit on the node pressed, the pencil paints it straight away
+     */
+    private final EventHandler<MouseEvent> scenePressStartEdit = e -> {
+
+        dragStart = mapEditorRenderer.nodeAt(e.getX(), e.getY(), mapEditorGraph);
+        stroke = new int[0];
+
+        if (dragStart != null && brush == Brush.PENCIL) {
+            paintStroke(dragStart);
         }
     };
 
     /**
-     * Clears all the nodes on the graph of blockades, this will remove them logically then tells the renderer to remove them graphically
+     * Mouse drag handling event.
+     * The pencil paints every node it passes over, the other brushes wait for the mouse to be released
      */
-    public void clearNodes() {
+    private final EventHandler<MouseEvent> sceneDragPaint = e -> {
+
+        GraphNode node = mapEditorRenderer.nodeAt(e.getX(), e.getY(), mapEditorGraph);
+
+        if (dragStart != null && node != null && brush == Brush.PENCIL) {
+            paintStroke(node);
+        }
+    };
+
+    /**
+     * Mouse release handling event.
+     * Paints the line, rectangle or fill from the node pressed to the node released as one edit,
+     * or records the pencil stroke as one edit
+     */
+    private final EventHandler<MouseEvent> sceneReleaseFinishEdit = e -> {
+
+        GraphNode node = mapEditorRenderer.nodeAt(e.getX(), e.getY(), mapEditorGraph);
+
+        if (dragStart != null && brush != Brush.PENCIL) {
+
+            // a drag that ends off the grid ends on the node it started on
+            GraphNode end = node == null ? dragStart : node;
+            int[] edit = brush.paint(cells, dragStart.getX(), dragStart.getY(), end.getX(), end.getY(), paintType);
+
+            apply(edit);
+            history.record(edit);
+        } else {
+            history.record(stroke);
+        }
+
+        dragStart = null;
+        stroke = new int[0];
+    };
 
-        List<GraphNode> graph = mapEditorGraph.getNodes();
+    /**
+     * Paints one node of a pencil stroke, adding the change to the stroke
+     *
+     * @param node the node under the mouse
+     */
+    private void paintStroke(GraphNode node) {
+
+        int[] edit = Brush.PENCIL.paint(cells, node.getX(), node.getY(), node.getX(), node.getY(), paintType);
 
-        for (GraphNode aGraph : graph) {
+        if (edit.length > 0) {
 
-            Blockade blockade = aGraph.getBlockade();
+            apply(edit);
+
+            stroke = Arrays.copyOf(stroke, stroke.length + edit.length);
+            System.arraycopy(edit, 0, stroke, stroke.length - edit.length, edit.length);
+        }
+    }
+
+    /**
+     * Takes back the last edit
+     */
+    public void undo() {
+
+        int[] edit = history.undo();
+
+        if (edit != null) {
+            apply(edit);
+        }
+    }
+
+    /**
+     * Applies the last undone edit again
+     */
+    public void redo() {
+
+        int[] edit = history.redo();
+
+        if (edit != null) {
+            apply(edit);
+        }
+    }
+
+    /**
+     * Applies packed changes to the graph, the renderer is changed once for all the blockades removed
+     * and once for all the blockades added, however many cells the edit covers
+     *
+     * @param edit the packed changes, see EditHistory
+     */
+    private void apply(int[] edit) {
 
-            if (blockade != null) {
+        List<SpriteImage> removed = new ArrayList<>();
+        List<Blockade> added = new ArrayList<>();
 
-                mapEditorRenderer.remove(blockade.getSprite());
-                aGraph.setBlockade(null);
+        for (int change : edit) {
+
+            int x = EditHistory.cell(change) % Graph.WIDTH;
+            int y = EditHistory.cell(change) / Graph.WIDTH;
+            byte type = EditHistory.after(change);
+            GraphNode node = mapEditorGraph.nodeAt(x, y);
+
+            if (node == null) {
+                continue;
+            }
+
+            if (node.getBlockade() != null) {
+
+                removed.add(node.getBlockade().getSprite());
+                node.setBlockade(null);
+            }
+
+            if (type != MapData.EMPTY) {
+
+                Blockade blockade = type == MapData.SORTABLE_BLOCKADE ?
+                        new SortableBlockade(0, "SortableBlockade", node, null, new ArrayList<>()) :
+                        new Blockade(0, "Blockade", node, null);
+
+                ImageStore.setSpriteProperties(blockade, type == MapData.SORTABLE_BLOCKADE ?
+                        ImageStore.Sprite.SORTABLE_BLOCKADE : ImageStore.Sprite.UNSORTABLE_BLOCKADE);
+
+                node.setBlockade(blockade);
+                added.add(blockade);
             }
+
+            cells.set(x, y, type);
         }
+
+        mapEditorRenderer.removeAll(removed);
+        mapEditorRenderer.drawInitialEntities(added);
+    }
+
+    /**
+     * Clears all the nodes on the graph of blockades as one edit that can be undone
+     */
+    public void clearNodes() {
+
+        int[] edit = Brush.RECTANGLE.paint(cells, 0, 0, Graph.WIDTH - 1, Graph.HEIGHT - 1, MapData.EMPTY);
+
+        apply(edit);
+        history.record(edit);
+    }
+
+    /**
+     * Clears the map and forgets its edits, used when leaving the map editor
+     */
+    public void reset() {
+
+        clearNodes();
+        history.clear();
     }
 }
@@ -0,0 +1,63 @@
+package maps;
+
+import java.io.IOException;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Thrown when a map file is not valid. For text maps the line and column of the problem are given.
+ * @date : 19/10/2026
+ */
+public class MapFormatException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int line;
+    private final int column;
+
+    /**
+     * Creates an exception for a problem with no position, such as a bad checksum
+     *
+     * @param message what is wrong with the map
+     */
+    public MapFormatException(String message) {
+
+        this(message, 0, 0);
+    }
+
+    /**
+     * Creates an exception for a problem at a position in a text map
+     *
+     * @param message what is wrong with the map
+     * @param line    the line, from 1
+     * @param column  the column, from 1
+     */
+    public MapFormatException(String message, int line, int column) {
+
+        super(line > 0 ? message + " (line " + line + ", column " + column + ")" : message);
+        this.line = line;
+        this.column = column;
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the line of the problem
+     *
+     * @return the line, from 1, or 0 if the problem has no position
+     */
+    public int getLine() {
+
+        return this.line;
+    }
+
+    /**
+     * Gets the column of the problem
+     *
+     * @return the column, from 1, or 0 if the problem has no position
+     */
+    public int getColumn() {
+
+        return this.column;
+    }
+}
@@ -2,134 +2,125 @@ package maps;
 
 import core.CoreEngine;
 import entity.Blockade;
+import entity.SortableBlockade;
+import graph.Graph;
 import graph.GraphNode;
-import gui.Renderer;
-import javafx.scene.image.Image;
-import sceneElements.SpriteImage;
-import stores.ImageStore;
+import sorts.logic.SortStepCache;
 
-import java.io.BufferedReader;
-import java.io.IOException;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author : Hung Hoang;
- * @version : 23/03/2016;
+ * @version : 19/10/2026;
  *          <p>
- *          This class will parse a .map file and generate blockades for the game runtime instance
- *          to match the data in the map
+ *          This class will take a map read by MapFormat and generate blockades for the core engine
+ *          to match the data in the map. Only the cells on the game's grid are read, so a mapped map is never
+ *          copied in full
  * @date : 28/01/16
  */
 
 public class MapParser {
 
-    private static final Logger LOG = Logger.getLogger(MapParser.class.getName());
-
-    private BufferedReader reader;
-    private String row;
+    private MapGrid map;
 
     /**
      * Initialises the map parser
      *
-     * @param reader stream containing the map file
+     * @param map the map read from a file
      */
-    public MapParser(BufferedReader reader) {
+    public MapParser(MapGrid map) {
 
-        this.reader = reader;
+        this.map = map;
     }
 
     /**
-     * Goes through the lines in the file and get the next integer,
-     * if the integer is 1, create a blockade and
-     * add it to the list of entities for the game run-time's renderer and core engine
-     * otherwise don't do anything
+     * Goes through the cells of the map,
+     * if a cell holds a blockade, create one of that type and add all of them to the core engine in one batch.
+     * Nothing is drawn, the blockades are given sprites by whoever draws them.
+     * Cells off the game's grid are ignored.
+     *
+     * @return the blockades created, in the order they were added to the core engine
      */
-    public void generateBlockades() {
-
-        int x = 0, y = 0;
-
-        try {
+    public List<Blockade> createBlockades() {
 
-            while ((row = reader.readLine()) != null) {
-                while (row.length() > 0) {
+        int width = Math.min(map.getWidth(), Graph.WIDTH);
+        int height = Math.min(map.getHeight(), Graph.HEIGHT);
 
-                    int blockPresent = getNextInt();
+        List<Blockade> blockades = new ArrayList<>();
+        int id = Blockade.calcId();
 
-                    if (blockPresent == 1) {
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
 
-                        Blockade blockadeInstance = new Blockade(
-                                1,
-                                "Blockade",
-                                new GraphNode(x, y),
-                                null
-                        );
+                byte cell = map.get(x, y);
+                Blockade blockade = null;
 
-                        Image image1 = ImageStore.unsortableImage1;
+                if (cell == MapData.BLOCKADE) {
+                    blockade = createBlockade(x, y, id);
+                } else if (cell == MapData.SORTABLE_BLOCKADE) {
 
-                        SpriteImage spriteImage1 = new SpriteImage(image1, blockadeInstance);
-                        spriteImage1.setFitWidth(Renderer.Instance().getXSpacing());
-                        spriteImage1.setFitHeight(Renderer.Instance().getYSpacing());
-                        spriteImage1.setPreserveRatio(false);
-                        spriteImage1.setSmooth(true);
+                    SortableBlockade sortable = createSortableBlockade(x, y, id);
 
-                        blockadeInstance.setSprite(spriteImage1);
-                        Blockade blockade = Blockade.randomBlockade(blockadeInstance);
-
-                        if (blockade != null) {
-
-                            Renderer.Instance().drawInitialEntity(blockade);
-                            CoreEngine.Instance().getBlockades().add(blockade);
-                        }
+                    if (sortable != null) {
+                        // have the sorts ready before a unit reaches it
+                        SortStepCache.prewarm(sortable.getToSortArray());
                     }
 
-                    //sanity check
-                    if (x < 20) {
-                        x++;
-                    }
+                    blockade = sortable;
                 }
 
-                x = 0;
+                if (blockade != null) {
 
-                if (y < 20) {
-                    y++;
-                } else {
-                    break;
+                    blockades.add(blockade);
+                    id++;
                 }
             }
-
-        } catch (IOException e) {
-            LOG.log(Level.SEVERE, e.toString(), e);
         }
+
+        CoreEngine.Instance().getBlockades().addAll(blockades);
+
+        return blockades;
     }
 
     /**
-     * Get the next integer by getting the character parse it as an integer.
+     * Creates an unsortable blockade
      *
-     * @return the next integer in the file
+     * @param x  the column
+     * @param y  the row
+     * @param id the id to give it
+     * @return the blockade, or null if the cell is taken
      */
-    private int getNextInt() {
+    private Blockade createBlockade(int x, int y, int id) {
 
-        int i = 0;
+        Blockade blockadeInstance = new Blockade(
+                1,
+                "Blockade",
+                new GraphNode(x, y),
+                null
+        );
 
-        while (isSpace(row.charAt(i))) {
-            row = row.substring(1);
-        }
-
-        int nextInt = Integer.parseInt(String.valueOf(row.charAt(i)));
-        row = row.substring(1);
-
-        return nextInt;
+        return Blockade.randomBlockade(blockadeInstance, id);
     }
 
     /**
-     * Checks if character is a space
+     * Creates a sortable blockade
      *
-     * @param c the character
-     * @return whether the character passed is a space
+     * @param x  the column
+     * @param y  the row
+     * @param id the id to give it
+     * @return the blockade, or null if the cell is taken
      */
-    private boolean isSpace(char c) {
+    private SortableBlockade createSortableBlockade(int x, int y, int id) {
+
+        SortableBlockade sortableBlockadeInstance = new SortableBlockade(
+                0,
+                "Sortable Blockade",
+                new GraphNode(x, y),
+                null,
+                null
+        );
 
-        return c == ' ';
+        return SortableBlockade.create(sortableBlockadeInstance, id);
     }
 }
@@ -0,0 +1,417 @@
+package maps;
+
+import graph.GraphNode;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          A read-only view of a version 2 map file mapped into memory with FileChannel.map. The cells are
+ *          not copied onto the heap: packed cells are read straight from the mapped file, run length encoded
+ *          cells through an index of where each run ends. The operating system pages in only the parts of the
+ *          file that are read, so very large maps cost little until their cells are looked at. Checking the
+ *          file's checksum and cell types reads all of it, so it is only done when asked for.
+ * @date : 19/10/2026
+ */
+public final class MappedMap implements MapGrid {
+
+    private static final int CELL_MASK = (1 << MapFormat.BITS_PER_CELL) - 1;
+
+    private final int width;
+    private final int height;
+    private final List<GraphNode> spawns;
+    private final List<GraphNode> baseCandidates;
+
+    // Packed cells, null if the file is run length encoded
+    private final ByteBuffer packed;
+    // Number of cell types the packed cells may hold, any other is read as a blockade
+    private final int types;
+    // Run length encoded cells: the cell after the end of each run and its type
+    private final int[] runEnds;
+    private final byte[] runTypes;
+
+    /**
+     * Creates a view of packed cells
+     *
+     * @param width          the number of columns
+     * @param height         the number of rows
+     * @param spawns         the cells units spawn on
+     * @param baseCandidates the cells the base may be placed on
+     * @param packed         the packed cells
+     * @param types          the number of cell types the file may use
+     */
+    private MappedMap(int width, int height, List<GraphNode> spawns, List<GraphNode> baseCandidates, ByteBuffer packed,
+                      int types) {
+
+        this.width = width;
+        this.height = height;
+        this.spawns = Collections.unmodifiableList(spawns);
+        this.baseCandidates = Collections.unmodifiableList(baseCandidates);
+        this.packed = packed;
+        this.types = Math.min(types, MapData.CELL_TYPES);
+        this.runEnds = null;
+        this.runTypes = null;
+    }
+
+    /**
+     * Creates a view of run length encoded cells
+     *
+     * @param width          the number of columns
+     * @param height         the number of rows
+     * @param spawns         the cells units spawn on
+     * @param baseCandidates the cells the base may be placed on
+     * @param runEnds        the cell after the end of each run
+     * @param runTypes       the type of each run
+     */
+    private MappedMap(int width, int height, List<GraphNode> spawns, List<GraphNode> baseCandidates,
+                      int[] runEnds, byte[] runTypes) {
+
+        this.width = width;
+        this.height = height;
+        this.spawns = Collections.unmodifiableList(spawns);
+        this.baseCandidates = Collections.unmodifiableList(baseCandidates);
+        this.packed = null;
+        this.types = MapData.CELL_TYPES;
+        this.runEnds = runEnds;
+        this.runTypes = runTypes;
+    }
+
+    /**
+     * Maps a version 2 map file. Only the header and the index of the cells are read unless the file is
+     * verified: then its checksum and every cell type are checked, which reads the whole file.
+     * The cells of a damaged file that is not verified may read as blockades.
+     *
+     * @param file   the map file
+     * @param verify whether to check the checksum and the cell types
+     * @return the view of the map
+     * @throws IOException if the file cannot be read or is not a valid version 2 map
+     */
+    public static MappedMap open(File file, boolean verify) throws IOException {
+
+        MappedByteBuffer buffer;
+
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new MapFormatException("Map file too large to map: " + channel.size() + " bytes");
+            }
+
+            // the mapping stays valid after the channel is closed
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        try {
+            return parse(buffer, verify);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | EOFException e) {
+            MapFormatException ended = new MapFormatException("Map file ends early");
+            ended.initCause(e);
+            throw ended;
+        } catch (StreamCorruptedException e) {
+            MapFormatException malformed = new MapFormatException(e.getMessage() + " in map");
+            malformed.initCause(e);
+            throw malformed;
+        }
+    }
+
+    /**
+     * Reads the header of a mapped file and builds the view of its cells
+     *
+     * @param buffer the whole file
+     * @param verify whether to check the checksum and the cell types
+     * @return the view of the map
+     * @throws IOException if the file is not a valid version 2 map
+     */
+    private static MappedMap parse(ByteBuffer buffer, boolean verify) throws IOException {
+
+        if (buffer.limit() < MapFormat.MAGIC.length + MapFormat.CHECKSUM_SIZE) {
+            throw new MapFormatException("Map file ends early");
+        }
+
+        int end = buffer.limit() - MapFormat.CHECKSUM_SIZE;
+
+        if (verify) {
+
+            ByteBuffer checked = buffer.duplicate();
+            checked.limit(end);
+
+            CRC32 crc = new CRC32();
+            crc.update(checked);
+
+            if (crc.getValue() != (buffer.getInt(end) & 0xFFFFFFFFL)) {
+                throw new MapFormatException("Map checksum mismatch");
+            }
+        }
+
+        ByteBuffer data = buffer.duplicate();
+        data.limit(end);
+
+        byte[] magic = new byte[MapFormat.MAGIC.length];
+        data.get(magic);
+
+        if (!Arrays.equals(magic, MapFormat.MAGIC)) {
+            throw new MapFormatException("Not a version 2 map file");
+        }
+
+        int version = data.get() & 0xFF;
+
+        if (version != MapFormat.VERSION) {
+            throw new MapFormatException("Unsupported map version " + version);
+        }
+
+        int width = VarInt.read(data);
+        int height = VarInt.read(data);
+        int types = VarInt.read(data);
+
+        if ((long) width * height > Integer.MAX_VALUE) {
+            throw new MapFormatException("Map too large: " + width + "x" + height);
+        }
+
+        List<GraphNode> spawns = readNodes(data, width, height);
+        List<GraphNode> baseCandidates = readNodes(data, width, height);
+        int cells = width * height;
+        int encoding = data.get() & 0xFF;
+
+        if (encoding == MapFormat.PACKED) {
+
+            int size = (cells + MapFormat.CELLS_PER_BYTE - 1) / MapFormat.CELLS_PER_BYTE;
+
+            if (data.remaining() != size) {
+                throw new MapFormatException("Expected " + size + " bytes of cells, found " + data.remaining());
+            }
+
+            ByteBuffer packed = data.slice();
+
+            if (verify) {
+                checkPacked(packed, cells, types);
+            }
+
+            return new MappedMap(width, height, spawns, baseCandidates, packed, types);
+        }
+
+        if (encoding != MapFormat.RUN_LENGTH) {
+            throw new MapFormatException("Unknown cell encoding " + encoding);
+        }
+
+        return readRuns(data, width, height, types, spawns, baseCandidates);
+    }
+
+    /**
+     * Indexes run length encoded cells
+     *
+     * @param data           the file, positioned at the first run
+     * @param width          the number of columns
+     * @param height         the number of rows
+     * @param types          the number of cell types the file may use
+     * @param spawns         the cells units spawn on
+     * @param baseCandidates the cells the base may be placed on
+     * @return the view of the map
+     * @throws IOException if a run is too long or holds an unknown type
+     */
+    private static MappedMap readRuns(ByteBuffer data, int width, int height, int types,
+                                      List<GraphNode> spawns, List<GraphNode> baseCandidates) throws IOException {
+
+        int cells = width * height;
+        int[] ends = new int[16];
+        byte[] runTypes = new byte[16];
+        int runs = 0;
+        int filled = 0;
+
+        while (filled < cells) {
+
+            int length = VarInt.read(data);
+            int type = data.get() & 0xFF;
+
+            if (length == 0 || length > cells - filled) {
+                throw new MapFormatException("Bad cell run of " + length + " at cell " + filled);
+            }
+
+            MapFormat.checkType(type, types, filled);
+
+            if (runs == ends.length) {
+
+                ends = Arrays.copyOf(ends, runs * 2);
+                runTypes = Arrays.copyOf(runTypes, runs * 2);
+            }
+
+            filled += length;
+            ends[runs] = filled;
+            runTypes[runs] = (byte) type;
+            runs++;
+        }
+
+        if (data.hasRemaining()) {
+            throw new MapFormatException(data.remaining() + " bytes after the last cell run");
+        }
+
+        return new MappedMap(width, height, spawns, baseCandidates,
+                Arrays.copyOf(ends, runs), Arrays.copyOf(runTypes, runs));
+    }
+
+    /**
+     * Checks every packed cell holds a known type
+     *
+     * @param packed the packed cells
+     * @param cells  the number of cells
+     * @param types  the number of cell types the file may use
+     * @throws IOException if a cell holds an unknown type
+     */
+    private static void checkPacked(ByteBuffer packed, int cells, int types) throws IOException {
+
+        for (int i = 0; i < cells; i++) {
+            MapFormat.checkType(packedCell(packed, i), types, i);
+        }
+    }
+
+    /**
+     * Reads a packed cell
+     *
+     * @param packed the packed cells
+     * @param i      the index of the cell
+     * @return the cell type
+     */
+    private static int packedCell(ByteBuffer packed, int i) {
+
+        int b = packed.get(i / MapFormat.CELLS_PER_BYTE);
+
+        return (b >>> ((i % MapFormat.CELLS_PER_BYTE) * MapFormat.BITS_PER_CELL)) & CELL_MASK;
+    }
+
+    /**
+     * Reads a list of cells
+     *
+     * @param data   the file
+     * @param width  the width of the map, cells must be on it
+     * @param height the height of the map
+     * @return the cells
+     * @throws IOException if a cell is off the map
+     */
+    private static List<GraphNode> readNodes(ByteBuffer data, int width, int height) throws IOException {
+
+        int count = VarInt.read(data);
+        List<GraphNode> nodes = new ArrayList<>();
+
+        for (int i = 0; i < count; i++) {
+
+            int x = VarInt.read(data);
+            int y = VarInt.read(data);
+
+            if (x >= width || y >= height) {
+                throw new MapFormatException("Cell " + x + "," + y + " is off the map");
+            }
+
+            nodes.add(new GraphNode(x, y));
+        }
+
+        return nodes;
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the number of columns
+     *
+     * @return the width of the map
+     */
+    @Override
+    public int getWidth() {
+
+        return this.width;
+    }
+
+    /**
+     * Gets the number of rows
+     *
+     * @return the height of the map
+     */
+    @Override
+    public int getHeight() {
+
+        return this.height;
+    }
+
+    /**
+     * Gets the type of a cell, read from the mapped file
+     *
+     * @param x the column
+     * @param y the row
+     * @return the cell type, EMPTY, BLOCKADE or SORTABLE_BLOCKADE
+     */
+    @Override
+    public byte get(int x, int y) {
+
+        if (x < 0 || y < 0 || x >= width || y >= height) {
+            throw new IndexOutOfBoundsException("Cell " + x + "," + y + " is off the map");
+        }
+
+        int i = y * width + x;
+
+        if (packed != null) {
+
+            int type = packedCell(packed, i);
+
+            return type < types ? (byte) type : MapData.BLOCKADE;
+        }
+
+        int run = Arrays.binarySearch(runEnds, i);
+
+        // an exact match is the first cell after that run, otherwise the insertion point is the run holding it
+        return runTypes[run >= 0 ? run + 1 : -run - 1];
+    }
+
+    /**
+     * Gets the cells units spawn on
+     *
+     * @return the spawn points, cannot be changed
+     */
+    @Override
+    public List<GraphNode> getSpawns() {
+
+        return this.spawns;
+    }
+
+    /**
+     * Gets the cells the base may be placed on, empty if it can go on any free cell
+     *
+     * @return the base candidates, cannot be changed
+     */
+    @Override
+    public List<GraphNode> getBaseCandidates() {
+
+        return this.baseCandidates;
+    }
+
+    /**
+     * Copies the map onto the heap, for editing
+     *
+     * @return a map with the same cells
+     */
+    public MapData toMapData() {
+
+        MapData map = new MapData(width, height);
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                map.set(x, y, get(x, y));
+            }
+        }
+
+        map.getSpawns().addAll(spawns);
+        map.getBaseCandidates().addAll(baseCandidates);
+
+        return map;
+    }
+}
@@ -0,0 +1,136 @@
+package maps;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          The variable length numbers of the game's binary files: maps, snapshots and replays. A number is
+ *          stored 7 bits per byte, low bits first, with the top bit set on every byte but the last, so small
+ *          numbers take a single byte. Only numbers that are not negative can be stored.
+ * @date : 19/10/2026
+ */
+public final class VarInt {
+
+    private VarInt() {
+
+        // To prevent instantiation.
+    }
+
+    /**
+     * Reads an int
+     *
+     * @param in the stream
+     * @return the value
+     * @throws StreamCorruptedException if the number is malformed or too large for an int
+     * @throws IOException              if it cannot be read
+     */
+    public static int read(DataInput in) throws IOException {
+
+        long value = readLong(in);
+
+        if (value > Integer.MAX_VALUE) {
+            throw new StreamCorruptedException("Number too large: " + value);
+        }
+
+        return (int) value;
+    }
+
+    /**
+     * Reads a long
+     *
+     * @param in the stream
+     * @return the value
+     * @throws StreamCorruptedException if the number is malformed
+     * @throws IOException              if it cannot be read
+     */
+    public static long readLong(DataInput in) throws IOException {
+
+        long value = 0;
+
+        for (int shift = 0; shift < 63; shift += 7) {
+
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+
+        throw new StreamCorruptedException("Malformed number");
+    }
+
+    /**
+     * Reads an int from a buffer, such as a memory mapped file
+     *
+     * @param buffer the buffer, positioned at the number
+     * @return the value
+     * @throws EOFException             if the buffer ends inside the number
+     * @throws StreamCorruptedException if the number is malformed or too large for an int
+     */
+    public static int read(ByteBuffer buffer) throws IOException {
+
+        long value = 0;
+
+        for (int shift = 0; shift < 35; shift += 7) {
+
+            if (!buffer.hasRemaining()) {
+                throw new EOFException("Number cut short");
+            }
+
+            int b = buffer.get() & 0xFF;
+            value |= (long) (b & 0x7F) << shift;
+
+            if ((b & 0x80) == 0) {
+
+                if (value > Integer.MAX_VALUE) {
+                    throw new StreamCorruptedException("Number too large: " + value);
+                }
+
+                return (int) value;
+            }
+        }
+
+        throw new StreamCorruptedException("Malformed number");
+    }
+
+    /**
+     * Writes an int
+     *
+     * @param out   the stream
+     * @param value the value, not negative
+     * @throws IOException if it cannot be written or is negative
+     */
+    public static void write(DataOutput out, int value) throws IOException {
+
+        writeLong(out, value);
+    }
+
+    /**
+     * Writes a long
+     *
+     * @param out   the stream
+     * @param value the value, not negative
+     * @throws IOException if it cannot be written or is negative
+     */
+    public static void writeLong(DataOutput out, long value) throws IOException {
+
+        if (value < 0) {
+            throw new IOException("Negative number " + value + " cannot be stored");
+        }
+
+        while ((value & ~0x7FL) != 0) {
+
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        out.writeByte((int) value);
+    }
+}
@@ -13,16 +13,12 @@ import javafx.scene.layout.BackgroundRepeat;
 import javafx.scene.layout.BackgroundSize;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
 import sceneElements.ButtonProperties;
 import sceneElements.ElementsHandler;
 import sceneElements.LabelProperties;
 import stores.ImageStore;
-
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import stores.ImageStore.Picture;
+import stores.ResourceManager;
 
 /**
  * @author : Anh Pham; Contributors - Paul Popa
@@ -34,11 +30,8 @@ import java.util.logging.Logger;
  */
 public class EndGameMenu implements Menu {
 
-    private static final Logger LOG = Logger.getLogger(EndGameMenu.class.getName());
-
     public static Button backMainButton;
     public static Label scoreLabel;
-    private final String SEPARATOR = "/";
 
     private Pane endGameMenuPane = null;
     private Scene endGameMenuScene = null;
@@ -67,8 +60,8 @@ public class EndGameMenu implements Menu {
         scoreLabel = new Label();
         l = new LabelProperties();
         //Images
-        backMainImage = ImageStore.backMainImage;
-        backMainImageHovered = ImageStore.backMainImageHovered;
+        backMainImage = ImageStore.image(Picture.QUIT);
+        backMainImageHovered = ImageStore.image(Picture.QUIT_HOVERED);
     }
 
     /**
@@ -86,16 +79,8 @@ public class EndGameMenu implements Menu {
         );
 
         // Loading font
-        try (InputStream fontStream = EndGameMenu.class.getResourceAsStream(
-                SEPARATOR + "resources" + SEPARATOR + "fonts" + SEPARATOR + "basis33.ttf")) {
-
-            scoreLabel.setFont(Font.loadFont(fontStream, 100));
-            scoreLabel.setTextFill(Color.web("#FFE130"));
-
-        } catch (IOException e) {
-            LOG.log(Level.SEVERE, "No font found");
-            LOG.log(Level.SEVERE, e.toString(), e);
-        }
+        scoreLabel.setFont(ResourceManager.Instance().font(100).join());
+        scoreLabel.setTextFill(Color.web("#FFE130"));
 
         int spaceBetweenImgH = 70;
 
@@ -119,7 +104,7 @@ public class EndGameMenu implements Menu {
         endGameMenuPane.setPrefSize(Menu.WIDTH, Menu.HEIGHT);
 
         BackgroundImage myBI = new BackgroundImage(
-                ImageStore.pauseMenu,
+                ImageStore.image(Picture.PAUSE_MENU_BACKGROUND),
                 BackgroundRepeat.REPEAT,
                 BackgroundRepeat.NO_REPEAT,
                 BackgroundPosition.DEFAULT,
@@ -1,9 +1,11 @@
 package menus;
 
 import javafx.animation.FadeTransition;
+import javafx.application.Platform;
 import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.ProgressBar;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.Background;
@@ -16,6 +18,8 @@ import javafx.util.Duration;
 import sceneElements.ButtonProperties;
 import sceneElements.ElementsHandler;
 import stores.ImageStore;
+import stores.ImageStore.Picture;
+import stores.ResourceManager;
 
 /**
  * @author : Paul Popa; Contributors - Evgeniy Kim
@@ -33,6 +37,7 @@ public class MainMenu implements Menu {
     private Pane fadingPane = null;
     private Scene mainMenuScene = null;
     private ButtonProperties b = null;
+    private ProgressBar loadingBar = null;
     private Image newGameImage, newGameImageHovered, optionsImage, optionsImageHovered, exitImage,
             exitImageHovered, mapEditorImage, mapEditorHovered, customGameImage, customGameImageHovered;
 
@@ -61,17 +66,20 @@ public class MainMenu implements Menu {
         customGameButton = new Button();
         b = new ButtonProperties();
 
+        //Resource loading progress
+        loadingBar = new ProgressBar();
+
         //Images
-        newGameImage = ImageStore.newGameImage;
-        newGameImageHovered = ImageStore.newGameImageHovered;
-        optionsImage = ImageStore.optionsImage;
-        optionsImageHovered = ImageStore.optionsImageHovered;
-        exitImage = ImageStore.exitImage;
-        exitImageHovered = ImageStore.exitImageHovered;
-        mapEditorImage = ImageStore.mapEditorImage;
-        mapEditorHovered = ImageStore.mapEditorImageHovered;
-        customGameImage = ImageStore.customGameImage;
-        customGameImageHovered = ImageStore.customGameImageHover;
+        newGameImage = ImageStore.image(Picture.NEW_GAME);
+        newGameImageHovered = ImageStore.image(Picture.NEW_GAME_HOVERED);
+        optionsImage = ImageStore.image(Picture.OPTIONS);
+        optionsImageHovered = ImageStore.image(Picture.OPTIONS_HOVERED);
+        exitImage = ImageStore.image(Picture.EXIT);
+        exitImageHovered = ImageStore.image(Picture.EXIT_HOVERED);
+        mapEditorImage = ImageStore.image(Picture.MAP_EDITOR);
+        mapEditorHovered = ImageStore.image(Picture.MAP_EDITOR_HOVERED);
+        customGameImage = ImageStore.image(Picture.CUSTOM_GAME);
+        customGameImageHovered = ImageStore.image(Picture.CUSTOM_GAME_HOVERED);
     }
 
     /**
@@ -168,7 +176,7 @@ public class MainMenu implements Menu {
 
         // ADD ALL BUTTONS TO THE PANE
         BackgroundImage myBIF = new BackgroundImage(
-                ImageStore.backgroundMainMenuGlow,
+                ImageStore.image(Picture.MAIN_MENU_GLOW),
                 BackgroundRepeat.REPEAT,
                 BackgroundRepeat.NO_REPEAT,
                 BackgroundPosition.DEFAULT,
@@ -190,19 +198,31 @@ public class MainMenu implements Menu {
         ft.play();
         ft.setOnFinished(e -> ft.play());
 
+        // Shows how far the background loading of resources is, removed once it is done
+        loadingBar.setPrefWidth(Menu.WIDTH / 5);
+        loadingBar.setLayoutX(Menu.WIDTH / 5 - loadingBar.getPrefWidth() / 2);
+        loadingBar.setLayoutY(Menu.HEIGHT / 3 + spaceBetweenImgH * 5);
+        loadingBar.progressProperty().bind(ResourceManager.Instance().progressProperty());
+        ResourceManager.Instance().preload().whenComplete((v, error) -> Platform.runLater(() -> {
+
+            loadingBar.progressProperty().unbind();
+            mainMenuPane.getChildren().remove(loadingBar);
+        }));
+
         mainMenuPane.getChildren().addAll(
                 fadingPane,
                 newGameButton,
                 optionsButton,
                 exitButton,
                 mapEditorButton,
-                customGameButton
+                customGameButton,
+                loadingBar
         );
 
         Group mainMenuGroup = new Group(mainMenuPane);
 
         BackgroundImage myBI = new BackgroundImage(
-                ImageStore.backgroundMainMenu,
+                ImageStore.image(Picture.MAIN_MENU_BACKGROUND),
                 BackgroundRepeat.REPEAT,
                 BackgroundRepeat.NO_REPEAT,
                 BackgroundPosition.DEFAULT,
@@ -17,6 +17,7 @@ import sceneElements.ButtonProperties;
 import sceneElements.ElementsHandler;
 import sceneElements.LabelProperties;
 import stores.ImageStore;
+import stores.ImageStore.Picture;
 
 /**
  * @author : Paul Popa
@@ -79,16 +80,16 @@ public class OptionsMenu implements Menu {
         b = new ButtonProperties();
 
         //Images
-        onImage = ImageStore.onImage;
-        onImageHovered = ImageStore.onImageHovered;
-        offImage = ImageStore.offImage;
-        offImageHovered = ImageStore.offImageHovered;
-        showSearchImage = ImageStore.showSearchImage;
-        soundImage = ImageStore.soundImage;
-        tutorialImage = ImageStore.tutorialImage;
-        blockadeImage = ImageStore.blockadeImage;
-        backImage = ImageStore.backImage;
-        backImageHovered = ImageStore.backImageHovered;
+        onImage = ImageStore.image(Picture.ON);
+        onImageHovered = ImageStore.image(Picture.ON_HOVERED);
+        offImage = ImageStore.image(Picture.OFF);
+        offImageHovered = ImageStore.image(Picture.OFF_HOVERED);
+        showSearchImage = ImageStore.image(Picture.SHOW_SEARCH);
+        soundImage = ImageStore.image(Picture.SOUND);
+        tutorialImage = ImageStore.image(Picture.TUTORIAL);
+        blockadeImage = ImageStore.image(Picture.BLOCKADE);
+        backImage = ImageStore.image(Picture.BACK);
+        backImageHovered = ImageStore.image(Picture.BACK_HOVERED);
     }
 
     /**
@@ -225,7 +226,7 @@ public class OptionsMenu implements Menu {
         );
 
         BackgroundImage myBI = new BackgroundImage(
-                ImageStore.backgroundOptionsMenu,
+                ImageStore.image(Picture.OPTIONS_MENU_BACKGROUND),
                 BackgroundRepeat.REPEAT,
                 BackgroundRepeat.NO_REPEAT,
                 BackgroundPosition.DEFAULT,
@@ -14,6 +14,7 @@ import javafx.scene.layout.Pane;
 import sceneElements.ButtonProperties;
 import sceneElements.ElementsHandler;
 import stores.ImageStore;
+import stores.ImageStore.Picture;
 
 /**
  * @author : Paul Popa
@@ -57,12 +58,12 @@ public class PauseMenu implements Menu {
         b = new ButtonProperties();
 
         //Images
-        backGameImage = ImageStore.backGameImage;
-        backGameImageHovered = ImageStore.backGameImageHovered;
-        optionsImage = ImageStore.optionsImage;
-        optionsImageHovered = ImageStore.optionsImageHovered;
-        backMainImage = ImageStore.backMainImage;
-        backMainImageHovered = ImageStore.backMainImageHovered;
+        backGameImage = ImageStore.image(Picture.RESUME_GAME);
+        backGameImageHovered = ImageStore.image(Picture.RESUME_GAME_HOVERED);
+        optionsImage = ImageStore.image(Picture.OPTIONS);
+        optionsImageHovered = ImageStore.image(Picture.OPTIONS_HOVERED);
+        backMainImage = ImageStore.image(Picture.QUIT);
+        backMainImageHovered = ImageStore.image(Picture.QUIT_HOVERED);
     }
 
     /**
@@ -127,7 +128,7 @@ public class PauseMenu implements Menu {
         pauseMenuPane.setPrefSize(Menu.WIDTH, Menu.HEIGHT);
 
         BackgroundImage myBI = new BackgroundImage(
-                ImageStore.pauseMenu,
+                ImageStore.image(Picture.PAUSE_MENU_BACKGROUND),
                 BackgroundRepeat.REPEAT,
                 BackgroundRepeat.NO_REPEAT,
                 BackgroundPosition.DEFAULT,
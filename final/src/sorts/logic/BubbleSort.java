@@ -1,6 +1,8 @@
 package sorts.logic;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
 
 /**
  * @author : Evgeniy Kim
@@ -21,41 +23,97 @@ public class BubbleSort {
      */
     public static ArrayList<SortableComponent> sort(ArrayList<Integer> state) {
 
-        // return list
-        ArrayList<SortableComponent> allStates = new ArrayList<>();
+        return SortStep.states(state, steps(state));
+    }
 
-        boolean swap = true;
-        Integer temp;
+    /**
+     * Bubble sort, one step at a time. Every adjacent pair compared gives a step,
+     * followed by a swap step if they are out of order.
+     *
+     * @param state the list to sort, it is not changed
+     * @return the steps of the sort, generated as they are read
+     */
+    public static PrimitiveIterator.OfLong steps(List<Integer> state) {
 
-        while (swap) { //while a swap occurs in an iteration
+        return generator(SortStep.toArray(state));
+    }
 
-            swap = false;
+    /**
+     * Steps of the sort over a primitive array, no values are boxed.
+     *
+     * @param values the values to sort, they are not changed
+     * @return the steps of the sort, generated as they are read
+     */
+    public static PrimitiveIterator.OfLong steps(int[] values) {
 
-            //compare all with adjacent
-            for (int x = 0; x < state.size() - 1; x++) {
+        return generator(values.clone());
+    }
 
-                // consider order, should show comparison first, then swap, so 2 states per swap,
-                // 1 state per comparison and no swap
-                SortableComponent s = new SortableComponent(getByValue(state), x, x + 1, swap);
+    /**
+     * Sorts an array in place, recording every step in the log
+     *
+     * @param values the values to sort
+     * @param log    the log the steps are appended to
+     */
+    public static void sort(int[] values, SortEventLog log) {
 
-                // if swap needs to occur, start swapping
-                if (state.get(x) > state.get(x + 1)) {
+        log.record(generator(values));
+    }
 
-                    allStates.add(s);
-                    temp = state.get(x);
-                    state.set(x, state.get(x + 1));
-                    state.set(x + 1, temp);
-                    swap = true;
-                    SortableComponent sc = new SortableComponent(getByValue(state), x, x + 1, swap);
-                    allStates.add(sc);
+    /**
+     * Creates the step generator, it sorts the given array in place as it is read
+     *
+     * @param values the values to sort
+     * @return the generator
+     */
+    private static SortSteps generator(int[] values) {
+
+        return new SortSteps(values) {
+
+            // index of the pair being looked at, and the end of the unsorted part
+            private int x = 0;
+            private int end = this.state.length - 1;
+            private boolean swapped = false;
+            private boolean pendingSwap = false;
+
+            @Override
+            protected long advance() {
+
+                if (pendingSwap) {
+
+                    long step = SortStep.swap(x, x + 1);
+
+                    pendingSwap = false;
+                    swapped = true;
+                    swap(x, x + 1);
+                    x++;
+
+                    return step;
                 }
 
+                // end of a pass, the largest element is now in place
+                while (x >= end) {
 
-            }
-        }
+                    if (!swapped) {
+                        return SortStep.NONE;
+                    }
+
+                    swapped = false;
+                    end--;
+                    x = 0;
+                }
 
-        return allStates;
+                long step = SortStep.compare(x, x + 1);
 
+                if (this.state[x] > this.state[x + 1]) {
+                    pendingSwap = true;
+                } else {
+                    x++;
+                }
+
+                return step;
+            }
+        };
     }
 
     /**
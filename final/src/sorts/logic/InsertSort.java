@@ -1,6 +1,8 @@
 package sorts.logic;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
 
 /**
  * @author : Evgeniy Kim
@@ -20,32 +22,92 @@ public class InsertSort {
      */
     public static ArrayList<SortableComponent> sort(ArrayList<Integer> state) {
 
-        ArrayList<SortableComponent> allStates = new ArrayList<>();
+        return SortStep.states(state, steps(state));
+    }
 
-        for (int x = 1; x < state.size(); x++) {
+    /**
+     * Insertion sort, one step at a time. Each element is compared with the one before it
+     * and swapped back until it is in place.
+     *
+     * @param state the list to sort, it is not changed
+     * @return the steps of the sort, generated as they are read
+     */
+    public static PrimitiveIterator.OfLong steps(List<Integer> state) {
 
-            int y = x;
+        return generator(SortStep.toArray(state));
+    }
 
-            while (y > 0 && (state.get(y - 1) > state.get(y))) {
+    /**
+     * Steps of the sort over a primitive array, no values are boxed.
+     *
+     * @param values the values to sort, they are not changed
+     * @return the steps of the sort, generated as they are read
+     */
+    public static PrimitiveIterator.OfLong steps(int[] values) {
 
-                SortableComponent s = new SortableComponent(getByValue(state), y - 1, y, false);
+        return generator(values.clone());
+    }
 
-                //save state prior to a swap
-                allStates.add(s);
+    /**
+     * Sorts an array in place, recording every step in the log
+     *
+     * @param values the values to sort
+     * @param log    the log the steps are appended to
+     */
+    public static void sort(int[] values, SortEventLog log) {
 
-                //swap y and y-1
-                int temp = state.get(y - 1);
-                state.set(y - 1, state.get(y));
-                state.set(y, temp);
-                SortableComponent sw = new SortableComponent(getByValue(state), y - 1, y, true);
+        log.record(generator(values));
+    }
 
-                //save swap state
-                allStates.add(sw);
-                y = y - 1;
-            }
-        }
+    /**
+     * Creates the step generator, it sorts the given array in place as it is read
+     *
+     * @param values the values to sort
+     * @return the generator
+     */
+    private static SortSteps generator(int[] values) {
+
+        return new SortSteps(values) {
+
+            // element being inserted and its current position
+            private int x = 1;
+            private int y = 1;
+            private boolean pendingSwap = false;
+
+            @Override
+            protected long advance() {
+
+                if (pendingSwap) {
+
+                    //swap y and y-1
+                    pendingSwap = false;
+                    swap(y - 1, y);
+                    y--;
+
+                    return SortStep.swap(y, y + 1);
+                }
 
-        return allStates;
+                while (x < this.state.length) {
+
+                    if (y > 0) {
+
+                        long step = SortStep.compare(y - 1, y);
+
+                        if (this.state[y - 1] > this.state[y]) {
+                            pendingSwap = true;
+                        } else {
+                            y = ++x;
+                        }
+
+                        return step;
+                    }
+
+                    y = ++x;
+                }
+
+                return SortStep.NONE;
+            }
+        };
     }
 
     /**
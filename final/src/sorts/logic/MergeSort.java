@@ -0,0 +1,114 @@
+package sorts.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Bottom-up MergeSort. Each merge compares the two halves, then moves the elements into
+ *          place with swaps so it can be shown by SortVisual like the other sorts.
+ * @date : 19/10/2026
+ */
+public class MergeSort {
+
+    /**
+     * Merge sort, keeping every state for animating
+     *
+     * @param state input list to sort
+     * @return allStates relevant states used for swapping
+     */
+    public static ArrayList<SortableComponent> sort(ArrayList<Integer> state) {
+
+        return SortStep.states(state, steps(state));
+    }
+
+    /**
+     * Merge sort, one step at a time. Runs of width 1, 2, 4... are merged in pairs until
+     * the whole list is one run.
+     *
+     * @param state the list to sort, it is not changed
+     * @return the steps of the sort
+     */
+    public static PrimitiveIterator.OfLong steps(List<Integer> state) {
+
+        return generator(SortStep.toArray(state));
+    }
+
+    /**
+     * Steps of the sort over a primitive array, no values are boxed.
+     *
+     * @param values the values to sort, they are not changed
+     * @return the steps of the sort
+     */
+    public static PrimitiveIterator.OfLong steps(int[] values) {
+
+        return generator(values.clone());
+    }
+
+    /**
+     * Sorts an array in place, recording every step in the log
+     *
+     * @param values the values to sort
+     * @param log    the log the steps are appended to
+     */
+    public static void sort(int[] values, SortEventLog log) {
+
+        log.record(generator(values));
+    }
+
+    /**
+     * Creates the step generator, it sorts the given array in place as it is read
+     *
+     * @param values the values to sort
+     * @return the generator
+     */
+    private static SortSteps generator(int[] values) {
+
+        return new RecordedSortSteps(values) {
+
+            @Override
+            protected void run() {
+
+                int length = this.state.length;
+
+                for (int width = 1; width < length; width *= 2) {
+
+                    for (int from = 0; from + width < length; from += width * 2) {
+                        merge(from, from + width, Math.min(from + width * 2, length));
+                    }
+                }
+            }
+
+            /**
+             * Merges two sorted runs next to each other
+             *
+             * @param from   start of the first run
+             * @param middle start of the second run
+             * @param to     end of the second run, exclusive
+             */
+            private void merge(int from, int middle, int to) {
+
+                int[] order = new int[to - from];
+                int left = from;
+                int right = middle;
+                int i = 0;
+
+                while (left < middle && right < to) {
+                    order[i++] = compare(left, right) <= 0 ? left++ : right++;
+                }
+
+                while (left < middle) {
+                    order[i++] = left++;
+                }
+
+                while (right < to) {
+                    order[i++] = right++;
+                }
+
+                permute(from, order);
+            }
+        };
+    }
+}
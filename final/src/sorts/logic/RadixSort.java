@@ -0,0 +1,131 @@
+package sorts.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Least significant digit RadixSort in base 16. It never compares elements: each pass works out the
+ *          stable order by one digit and moves the elements into it with swaps.
+ * @date : 19/10/2026
+ */
+public class RadixSort {
+
+    // Bits per digit, base 16
+    private static final int DIGIT_BITS = 4;
+    private static final int BUCKETS = 1 << DIGIT_BITS;
+
+    /**
+     * Radix sort, keeping every state for animating
+     *
+     * @param state input list to sort
+     * @return allStates relevant states used for swapping
+     */
+    public static ArrayList<SortableComponent> sort(ArrayList<Integer> state) {
+
+        return SortStep.states(state, steps(state));
+    }
+
+    /**
+     * Radix sort, one step at a time. Only swap steps are produced.
+     *
+     * @param state the list to sort, it is not changed
+     * @return the steps of the sort
+     */
+    public static PrimitiveIterator.OfLong steps(List<Integer> state) {
+
+        return generator(SortStep.toArray(state));
+    }
+
+    /**
+     * Steps of the sort over a primitive array, no values are boxed.
+     *
+     * @param values the values to sort, they are not changed
+     * @return the steps of the sort
+     */
+    public static PrimitiveIterator.OfLong steps(int[] values) {
+
+        return generator(values.clone());
+    }
+
+    /**
+     * Sorts an array in place, recording every step in the log
+     *
+     * @param values the values to sort
+     * @param log    the log the steps are appended to
+     */
+    public static void sort(int[] values, SortEventLog log) {
+
+        log.record(generator(values));
+    }
+
+    /**
+     * Creates the step generator, it sorts the given array in place as it is read
+     *
+     * @param values the values to sort
+     * @return the generator
+     */
+    private static SortSteps generator(int[] values) {
+
+        return new RecordedSortSteps(values) {
+
+            @Override
+            protected void run() {
+
+                int length = this.state.length;
+
+                if (length < 2) {
+                    return;
+                }
+
+                // digits are taken from the distance to the minimum, so negative values sort too
+                int min = this.state[0];
+                int max = this.state[0];
+
+                for (int value : this.state) {
+
+                    min = Math.min(min, value);
+                    max = Math.max(max, value);
+                }
+
+                long range = (long) max - min;
+
+                for (int shift = 0; shift < Long.SIZE && (range >>> shift) > 0; shift += DIGIT_BITS) {
+
+                    int[] start = new int[BUCKETS + 1];
+
+                    for (int value : this.state) {
+                        start[digit(value, min, shift) + 1]++;
+                    }
+
+                    for (int b = 0; b < BUCKETS; b++) {
+                        start[b + 1] += start[b];
+                    }
+
+                    int[] order = new int[length];
+
+                    for (int i = 0; i < length; i++) {
+                        order[start[digit(this.state[i], min, shift)]++] = i;
+                    }
+
+                    permute(0, order);
+                }
+            }
+
+            /**
+             * Gets one digit of a value
+             *
+             * @param value the value
+             * @param min   the smallest value being sorted
+             * @param shift the bit the digit starts at
+             * @return the digit
+             */
+            private int digit(int value, int min, int shift) {
+
+                return (int) ((((long) value - min) >>> shift) & (BUCKETS - 1));
+            }
+        };
+    }
+}
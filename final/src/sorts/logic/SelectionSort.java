@@ -1,6 +1,8 @@
 package sorts.logic;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
 
 /**
  * @author : Evgeniy Kim
@@ -20,40 +22,95 @@ public class SelectionSort {
      */
     public static ArrayList<SortableComponent> sort(ArrayList<Integer> state) {
 
-        ArrayList<SortableComponent> allStates = new ArrayList<>();
-        int size = state.size();
-        int x;
-        int y;
+        return SortStep.states(state, steps(state));
+    }
 
-        for (y = 0; y < size - 1; y++) {
+    /**
+     * Selection sort, one step at a time. Every comparison against the current minimum gives a step,
+     * placing the minimum at the front of the unsorted half gives a swap step.
+     *
+     * @param state the list to sort, it is not changed
+     * @return the steps of the sort, generated as they are read
+     */
+    public static PrimitiveIterator.OfLong steps(List<Integer> state) {
 
-            int minimum = y;
+        return generator(SortStep.toArray(state));
+    }
 
-            for (x = y + 1; x < size; x++) {
+    /**
+     * Steps of the sort over a primitive array, no values are boxed.
+     *
+     * @param values the values to sort, they are not changed
+     * @return the steps of the sort, generated as they are read
+     */
+    public static PrimitiveIterator.OfLong steps(int[] values) {
 
-                SortableComponent s = new SortableComponent(getByValue(state), minimum, x, false);
-                allStates.add(s);
+        return generator(values.clone());
+    }
 
-                if (state.get(x) < state.get(minimum)) {
+    /**
+     * Sorts an array in place, recording every step in the log
+     *
+     * @param values the values to sort
+     * @param log    the log the steps are appended to
+     */
+    public static void sort(int[] values, SortEventLog log) {
 
-                    minimum = x;
-                    SortableComponent c = new SortableComponent(getByValue(state), y, x, true);
-                    allStates.add(c);
-                }
-            }
+        log.record(generator(values));
+    }
+
+    /**
+     * Creates the step generator, it sorts the given array in place as it is read
+     *
+     * @param values the values to sort
+     * @return the generator
+     */
+    private static SortSteps generator(int[] values) {
 
-            //swapping
-            if (minimum != y) {
+        return new SortSteps(values) {
 
-                Integer temp = state.get(y);
-                state.set(y, state.get(minimum));
-                state.set(minimum, temp);
-                SortableComponent s = new SortableComponent(getByValue(state), minimum, y, true);
-                allStates.add(s);
-            }
-        }
+            // start of the unsorted half, the index compared and the smallest found so far
+            private int y = 0;
+            private int x = 1;
+            private int minimum = 0;
+
+            @Override
+            protected long advance() {
+
+                while (y < this.state.length - 1) {
+
+                    if (x < this.state.length) {
+
+                        long step = SortStep.compare(minimum, x);
+
+                        if (this.state[x] < this.state[minimum]) {
+                            minimum = x;
+                        }
+
+                        x++;
 
-        return allStates;
+                        return step;
+                    }
+
+                    int front = y;
+                    int smallest = minimum;
+
+                    y++;
+                    x = y + 1;
+                    minimum = y;
+
+                    //swapping
+                    if (smallest != front) {
+
+                        swap(front, smallest);
+
+                        return SortStep.swap(front, smallest);
+                    }
+                }
+
+                return SortStep.NONE;
+            }
+        };
     }
 
     /**
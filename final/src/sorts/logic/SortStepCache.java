@@ -0,0 +1,179 @@
+package sorts.logic;
+
+import entity.Unit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PrimitiveIterator;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Keeps the steps of recently run sorts, keyed by the sort and the list it sorted. Blockades only
+ *          ever hold a shuffle of 0..9, so the same sequences come up again and again. Steps can be worked
+ *          out on a background thread as soon as a blockade is placed, so a unit reaching it never waits.
+ * @date : 19/10/2026
+ */
+public final class SortStepCache {
+
+    // Longest list whose steps are cached, the steps of longer ones are generated as they are read
+    public static final int MAX_CACHED_LENGTH = 64;
+
+    // Number of step sequences kept, least recently used ones are dropped first
+    private static final int MAX_CACHED_SORTS = 256;
+
+    private static final Map<Key, long[]> cache = new LinkedHashMap<Key, long[]>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Key, long[]> eldest) {
+
+            return size() > MAX_CACHED_SORTS;
+        }
+    };
+
+    // Works the steps out away from the engine and FX threads
+    private static final Executor prewarmer = Executors.newSingleThreadExecutor(runnable -> {
+
+        Thread thread = new Thread(runnable, "Sort prewarmer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private SortStepCache() {
+
+        // To prevent instantiation.
+    }
+
+    /**
+     * Gets the steps of a sort, running it if they are not cached
+     *
+     * @param sort  the sort to run
+     * @param input the list to sort, it is not changed
+     * @return the packed steps, this array is shared and must not be changed
+     */
+    public static long[] steps(Unit.Sort sort, List<Integer> input) {
+
+        Key key = new Key(sort, SortStep.toArray(input));
+        long[] steps;
+
+        synchronized (cache) {
+            steps = cache.get(key);
+        }
+
+        if (steps == null) {
+
+            // run outside the lock, two threads may both run it but get the same steps
+            SortEventLog log = new SortEventLog();
+            log.record(SortProgress.generate(sort, key.values));
+            steps = log.toArray();
+
+            synchronized (cache) {
+                cache.put(key, steps);
+            }
+        }
+
+        return steps;
+    }
+
+    /**
+     * Reads cached steps one at a time
+     *
+     * @param sort  the sort to run
+     * @param input the list to sort, it is not changed
+     * @return the steps of the sort
+     */
+    public static PrimitiveIterator.OfLong iterator(Unit.Sort sort, List<Integer> input) {
+
+        return Arrays.stream(steps(sort, input)).iterator();
+    }
+
+    /**
+     * Works out the steps of every sort for a list on a background thread
+     *
+     * @param input the list the units will sort, copied straight away
+     * @return a future that completes once all of them are cached, straight away if the list is too long
+     */
+    public static CompletableFuture<Void> prewarm(List<Integer> input) {
+
+        if (input.size() > MAX_CACHED_LENGTH) {
+            return CompletableFuture.completedFuture(null);
+        }
+
+        List<Integer> copy = new ArrayList<>(input);
+
+        return CompletableFuture.runAsync(() -> {
+
+            for (Unit.Sort sort : Unit.Sort.values()) {
+                steps(sort, copy);
+            }
+        }, prewarmer);
+    }
+
+    /**
+     * Empties the cache
+     */
+    public static void clear() {
+
+        synchronized (cache) {
+            cache.clear();
+        }
+    }
+
+    /**
+     * Gets the number of cached step sequences
+     *
+     * @return the amount cached
+     */
+    public static int size() {
+
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * A sort together with the exact list it sorted
+     */
+    private static final class Key {
+
+        private final Unit.Sort sort;
+        private final int[] values;
+        private final int hash;
+
+        /**
+         * Creates a key
+         *
+         * @param sort   the sort
+         * @param values the list sorted
+         */
+        private Key(Unit.Sort sort, int[] values) {
+
+            this.sort = sort;
+            this.values = values;
+            this.hash = 31 * sort.hashCode() + Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            Key that = (Key) o;
+
+            return sort == that.sort && Arrays.equals(values, that.values);
+        }
+
+        @Override
+        public int hashCode() {
+
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package sorts.logic;
+
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Base for the step generators of the sorts. Each sort is written as a state machine that works on
+ *          a primitive array and produces the next step only when asked for it.
+ * @date : 19/10/2026
+ */
+abstract class SortSteps implements PrimitiveIterator.OfLong {
+
+    // Array being sorted
+    protected final int[] state;
+
+    private long next;
+    private boolean fetched = false;
+
+    /**
+     * Sorts the given array in place as the steps are read
+     *
+     * @param state the array to sort
+     */
+    SortSteps(int[] state) {
+
+        this.state = state;
+    }
+
+    /**
+     * Runs the sort up to its next step
+     *
+     * @return the packed step, or SortStep.NONE when sorted
+     */
+    protected abstract long advance();
+
+    @Override
+    public boolean hasNext() {
+
+        if (!fetched) {
+
+            next = advance();
+            fetched = true;
+        }
+
+        return next != SortStep.NONE;
+    }
+
+    @Override
+    public long nextLong() {
+
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        fetched = false;
+
+        return next;
+    }
+
+    /**
+     * Swaps two elements of the array being sorted
+     *
+     * @param first  one index
+     * @param second the other index
+     */
+    protected void swap(int first, int second) {
+
+        int temp = state[first];
+        state[first] = state[second];
+        state[second] = temp;
+    }
+}
@@ -0,0 +1,121 @@
+package sorts.visual;
+
+import javafx.scene.layout.Pane;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.scene.text.FontWeight;
+import javafx.scene.text.Text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          The pane a sort visualisation is drawn on: 11 bars, one of them invisible, and the TEMP sign.
+ *          Panes are kept by SortVisualPool and rearranged for each sort they show, so their nodes are
+ *          only created once.
+ * @date : 19/10/2026
+ */
+public class SortVisualPane extends Pane {
+
+    public static final int HEIGHT = 260;
+    public static final int WIDTH = 280;
+
+    // Colour of a bar that is not being swapped
+    static final Color BAR = Color.web("#7092BE");
+
+    // all the bars, indexed by their value + 1
+    private final ArrayList<SortVisualBar> bars;
+
+    /**
+     * Creates a hidden pane with its bars
+     */
+    SortVisualPane() {
+
+        setStyle("-fx-background-color: #838b83;");
+        setOpacity(0.0);
+        setPrefSize(WIDTH, HEIGHT);
+        setLayoutX(424 / 2 - 300 / 2 + 20);
+        setLayoutY(50 + 3 * 30 + 90);
+
+        bars = new ArrayList<>();
+
+        for (double x = 0; x < 11; x++) {
+
+            SortVisualBar bar = new SortVisualBar(
+                    15.0,
+                    (x * 15.0),
+                    BAR,
+                    (int) x - 1 //-1 because extra invis block, so 1 holds 0...etc
+            );
+
+            if (x == 0) bar.setStroke(null);
+
+            bar.setOpacity(0.0);
+            //add to pane
+            getChildren().add(bar);
+            bars.add(bar);
+        }
+
+        //SIMPLE TEXT ON THE LEFT
+        Text tempSign = new Text("TEMP");
+        tempSign.setFill(Color.AQUA);
+        tempSign.setFont(Font.font("Verdana", FontWeight.BOLD, 18));
+        tempSign.setRotate(-90);
+        getChildren().add(tempSign);
+        tempSign.relocate(-WIDTH / 15, HEIGHT - 45);
+    }
+
+    /**
+     * Puts the bars back in the given order, undoing anything a previous sort left on them.
+     * The bars are returned in the same order in a list, the invisible bar first,
+     * so they can be swapped logically AND visually simultaneously.
+     *
+     * @param order the values of the bars from left to right
+     * @return the bars, in the order they are drawn
+     */
+    ArrayList<SortVisualBar> arrange(List<Integer> order) {
+
+        ArrayList<SortVisualBar> arranged = new ArrayList<>();
+        arranged.add(bars.get(0));
+
+        for (int x = 0; x < order.size(); x++) {
+            arranged.add(bars.get(order.get(x) + 1));
+        }
+
+        for (int pos = 0; pos < arranged.size(); pos++) {
+
+            SortVisualBar bar = arranged.get(pos);
+            int x = bar.getValue() + 1;
+            // if 0th block, then hard set it to nearly the edge, invis block
+            int loc = pos == 0 ? 10 : 40 + (20 * (pos - 1));
+
+            bar.setFill(BAR);
+            bar.setTranslateX(0);
+            bar.setTranslateY(0);
+            //place in location calculated
+            bar.relocate(loc, HEIGHT - (x * 15) - 5);
+            //set custom variable needed for animation
+            bar.setUpdateX(bar.getLayoutX());
+        }
+
+        return arranged;
+    }
+
+    /**
+     * Shows or hides the pane and its bars
+     *
+     * @param shown whether to show the pane
+     */
+    void show(boolean shown) {
+
+        double opacity = shown ? 1.0 : 0.0;
+
+        for (SortVisualBar bar : bars) {
+            bar.setOpacity(opacity);
+        }
+
+        setOpacity(opacity);
+    }
+}
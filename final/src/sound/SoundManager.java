@@ -3,8 +3,10 @@ package sound;
 import javafx.scene.media.Media;
 import javafx.scene.media.MediaPlayer;
 import javafx.util.Duration;
+import stores.ResourceManager;
 
-import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author : Hung Hoang
@@ -16,9 +18,6 @@ import java.net.URL;
  */
 public class SoundManager {
 
-    private final String SEPARATOR = "/";
-    private final String AUDIO_RESOURES = SEPARATOR + "resources" + SEPARATOR + "audio" + SEPARATOR;
-
     private CircularBufferNode<MediaPlayer> soundtracks[];
 
     // Instance for singleton.
@@ -53,25 +52,30 @@ public class SoundManager {
      */
     private SoundManager() {
 
-        URL soundPaths[] = {
-                getClass().getResource(AUDIO_RESOURES + "Spell.mp3"),
-                getClass().getResource(AUDIO_RESOURES + "a_ninja_among_culturachippers.mp3")
-        };
+        // Media is created by the resource manager while the main menu is shown, missing tracks are skipped
+        List<MediaPlayer> players = new ArrayList<>();
+
+        for (String soundtrack : ResourceManager.SOUNDTRACKS) {
+
+            Media media = ResourceManager.Instance().media(soundtrack).join();
+
+            if (media != null) {
+                players.add(new MediaPlayer(media));
+            }
+        }
 
-        soundtracks = new CircularBufferNode[2];
+        soundtracks = new CircularBufferNode[players.size()];
 
-        // Wrap each url around a Circular Buffer Node
+        // Wrap each player around a Circular Buffer Node
         for (int i = 0; i < soundtracks.length; i++) {
-            soundtracks[i] = new CircularBufferNode<>(new MediaPlayer(new Media(soundPaths[i].toString())));
+            soundtracks[i] = new CircularBufferNode<>(players.get(i));
         }
 
         // Sets each node's next node, the last node is set to the first
-        for (int i = 0; i < soundtracks.length - 1; i++) {
-            soundtracks[i].setNext(soundtracks[i + 1]);
+        for (int i = 0; i < soundtracks.length; i++) {
+            soundtracks[i].setNext(soundtracks[(i + 1) % soundtracks.length]);
         }
 
-        soundtracks[soundtracks.length - 1].setNext(soundtracks[0]);
-
         // Sets the action when the media ends, to go to the next node and play
         for (int i = 0; i < soundtracks.length; i++) {
 
@@ -92,7 +96,9 @@ public class SoundManager {
      */
     public void startSoundtrack() {
 
-        this.soundtracks[0].getValue().play();
+        if (soundtracks.length > 0) {
+            this.soundtracks[0].getValue().play();
+        }
     }
 
     /**
@@ -100,6 +106,8 @@ public class SoundManager {
      */
     public void pauseSoundtrack() {
 
-        this.soundtracks[0].getValue().pause();
+        if (soundtracks.length > 0) {
+            this.soundtracks[0].getValue().pause();
+        }
     }
 }
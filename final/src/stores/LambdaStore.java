@@ -8,17 +8,16 @@ import entity.Entity;
 import entity.SortableBlockade;
 import entity.Unit;
 import graph.GraphNode;
-import gui.GameInterface;
-import gui.Renderer;
+import javafx.application.Platform;
 import javafx.event.EventHandler;
 import javafx.scene.Scene;
-import javafx.scene.image.ImageView;
 import javafx.scene.input.MouseEvent;
 import sceneElements.ElementsHandler;
 import sceneElements.SpriteImage;
 import sorts.visual.SortVisual;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -34,7 +33,6 @@ public final class LambdaStore {
 
     private static final Logger LOG = Logger.getLogger(LambdaStore.class.getName());
 
-    private Renderer renderer = Renderer.Instance();
     private Scene scene = GameRunTime.Instance().getScene();
 
     // Instance for singleton.
@@ -112,59 +110,37 @@ public final class LambdaStore {
     /**
      * Places an unsortable blockade on the grid where the mouse is clicked
      */
-    private final EventHandler<MouseEvent> sceneClickPlaceUnbreakableBlockade = e -> {
-
-        if (CoreEngine.Instance().unbreakableBlockadesLeft()) {
-
-            Blockade blockadeInstance = new Blockade(
-                    1,
-                    "Blockade",
-                    new GraphNode(0, 0),
-                    null
-            );
-
-            LOG.log(Level.INFO, "Blockade instance made");
-
-            ImageStore.setSpriteProperties(blockadeInstance, ImageStore.unsortableImage1);
-            Blockade blockade = Blockade.createBlockade(e, blockadeInstance);
-
-            if (blockade != null) {
-
-                LOG.log(Level.INFO, "Blockade rendered");
-                renderer.drawInitialEntity(blockade);
-                CoreEngine.Instance().getBlockades().add(blockade);
-                CoreEngine.Instance().unbreakableBlockadesPlaced();
-            }
-        }
-    };
+    private final EventHandler<MouseEvent> sceneClickPlaceUnbreakableBlockade = e -> placeBlockade(e, false);
 
     /**
      * Places a sortable blockade on the grid where the mouse is clicked
      */
-    private final EventHandler<MouseEvent> sceneClickPlaceBreakableBlockade = e -> {
+    private final EventHandler<MouseEvent> sceneClickPlaceBreakableBlockade = e -> placeBlockade(e, true);
 
-        if (CoreEngine.Instance().breakableBlockadesLeft()) {
+    /**
+     * Has the engine place a blockade where the mouse is clicked, between two ticks, then draws it
+     *
+     * @param e        the mouse event
+     * @param sortable true for a sortable blockade
+     */
+    private void placeBlockade(MouseEvent e, boolean sortable) {
 
-            SortableBlockade sortableBlockadeInstance = new SortableBlockade(
-                    0,
-                    "Sortable Blockade",
-                    Blockade.calcGraphNode(e),
-                    null,
-                    null
-            );
+        GraphNode node = Blockade.calcGraphNode(e);
+        CoreEngine engine = CoreEngine.Instance();
 
-            ImageStore.setSpriteProperties(sortableBlockadeInstance, ImageStore.sortableImage1);
-            SortableBlockade blockade = SortableBlockade.create(sortableBlockadeInstance);
+        if (node == null) {
+            return;
+        }
+
+        engine.submit(() -> engine.placeBlockade(node.getX(), node.getY(), sortable)).thenAccept(blockade -> {
 
             if (blockade != null) {
 
-                renderer.drawInitialEntity(blockade);
-                blockade.getSprite().setOnMouseClicked(getShowSort());
-                CoreEngine.Instance().getBlockades().add(blockade);
-                CoreEngine.Instance().breakableBlockadesPlaced();
+                LOG.log(Level.INFO, "Blockade placed at " + node.getX() + "," + node.getY());
+                Platform.runLater(() -> ElementsHandler.drawEntities(Collections.singletonList(blockade)));
             }
-        }
-    };
+        });
+    }
 
     /**
      * displays the sort associated to a blockade
@@ -178,9 +154,7 @@ public final class LambdaStore {
         SpriteImage sprite = (SpriteImage) e.getSource();
         SortableBlockade blockade = (SortableBlockade) sprite.getEntity();
 
-        if (blockade.getSortVisual() != null) {
-            blockade.getSortVisual().display(true);
-        }
+        SortVisual.show(blockade);
     };
 
     /**
@@ -192,21 +166,20 @@ public final class LambdaStore {
         Unit unit = (Unit) sprite.getEntity();
         sprite.requestFocus();
 
-        for (int i = 0; i < 4; i++) {
-            GameInterface.unitTextPane.getChildren().get(i).setVisible(true);
-        }
-
         if (SortVisual.rendered != null) {
             SortVisual.rendered.display(false);
         }
 
-        if (unit.getSorting() != null) {
-            unit.getSorting().getSortVisual().display(true);
+        // read once, the engine clears it when the blockade breaks
+        SortableBlockade sorting = unit.getSorting();
+
+        if (sorting != null) {
+            SortVisual.show(sorting);
         }
 
         Unit.Search search = unit.getSearch();
-        Unit.Sort sort = unit.getSort();
 
+        // the unit description pane follows the selection
         GameRunTime.Instance().setLastClicked(sprite);
         ArrayList<Unit> units = CoreEngine.Instance().getUnits();
 
@@ -215,34 +188,12 @@ public final class LambdaStore {
             if (sprite.getEntity() == unit1) {
 
                 // sets the image pressed for each unit accordingly to the search
-                GameInterface.unitDescriptionLabel.setText("Unit Description");
-                GameInterface.unitDescriptionLabel.setLayoutX(GameInterface.rightPaneWidth / 2 - 175 / 2);
-                GameInterface.namePaneLabel.setText("Name: " + sprite.getEntity().getName());
-                GameInterface.searchPaneLabel.setText("Search: " + search.name());
-                GameInterface.sortPaneLabel.setText("Sort: " + sort.name());
                 if (search == Unit.Search.BFS) {
-
-                    sprite.setImage(ImageStore.imagePressedDemon);
-                    ImageView demon = new ImageView(ImageStore.imageDemon);
-                    demon.setFitHeight(80);
-                    demon.setFitWidth(80);
-                    GameInterface.unitImage.setGraphic(demon);
-
+                    sprite.setSpriteKey(ImageStore.Sprite.DEMON_SELECTED);
                 } else if (search == Unit.Search.A_STAR) {
-
-                    sprite.setImage(ImageStore.imagePressedDk);
-                    ImageView dk = new ImageView(ImageStore.imageDk);
-                    dk.setFitHeight(80);
-                    dk.setFitWidth(80);
-                    GameInterface.unitImage.setGraphic(dk);
-
+                    sprite.setSpriteKey(ImageStore.Sprite.DEATH_KNIGHT_SELECTED);
                 } else {
-
-                    sprite.setImage(ImageStore.imagePressedBanshee);
-                    ImageView banshee = new ImageView(ImageStore.imageBanshee);
-                    banshee.setFitHeight(80);
-                    banshee.setFitWidth(80);
-                    GameInterface.unitImage.setGraphic(banshee);
+                    sprite.setSpriteKey(ImageStore.Sprite.BANSHEE_SELECTED);
                 }
 
             } else {
@@ -0,0 +1,308 @@
+package stores;
+
+import graph.Graph;
+import gui.CoreGUI;
+import gui.GameInterface;
+import gui.Renderer;
+import javafx.application.Platform;
+import javafx.beans.property.ReadOnlyDoubleProperty;
+import javafx.beans.property.ReadOnlyDoubleWrapper;
+import javafx.scene.image.Image;
+import javafx.scene.media.Media;
+import javafx.scene.text.Font;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Loads the game's resources (sprites, menu pictures, backgrounds, fonts and audio) on a pool of
+ *          background threads while the main menu is shown. Every resource is handed out as a future, so
+ *          callers only wait if it has not finished loading yet, and the overall progress can be shown.
+ * @date : 19/10/2026
+ */
+public final class ResourceManager {
+
+    private static final Logger LOG = Logger.getLogger(ResourceManager.class.getName());
+
+    // Resource locations
+    private static final String SEPARATOR = "/";
+    private static final String RESOURCES = SEPARATOR + "resources" + SEPARATOR;
+    public static final String FONT = RESOURCES + "fonts" + SEPARATOR + "basis33.ttf";
+    public static final String SAND_BACKGROUND = RESOURCES + "sprites" + SEPARATOR + "backgrounds" + SEPARATOR + "SandBackground.png";
+    public static final String[] SOUNDTRACKS = {
+            RESOURCES + "audio" + SEPARATOR + "Spell.mp3",
+            RESOURCES + "audio" + SEPARATOR + "a_ninja_among_culturachippers.mp3"
+    };
+
+    // Font sizes used by the menus and the game interface
+    private static final double[] FONT_SIZES = {17, 18, 23, 28, 50, 100};
+
+    // Height the map chooser shows thumbnails at, see ThumbnailCache
+    public static final double THUMBNAIL_HEIGHT = 600;
+
+    private final ExecutorService executor;
+    private final Map<String, CompletableFuture<Image>> images;
+    private final Map<Double, CompletableFuture<Font>> fonts;
+    private final Map<String, CompletableFuture<Media>> media;
+
+    // Progress of the preload
+    private final AtomicInteger submitted;
+    private final AtomicInteger completed;
+    private final ReadOnlyDoubleWrapper progress;
+    private CompletableFuture<Void> preloaded;
+
+    // Instance for singleton.
+    private static ResourceManager instance = null;
+
+    /**
+     * Implements Singleton for this class (Only one can exist).
+     *
+     * @return the resource manager instance
+     */
+    public static synchronized ResourceManager Instance() {
+
+        if (instance == null) {
+            instance = new ResourceManager();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Delete the existing instance of this class
+     */
+    public static synchronized void delete() {
+
+        if (instance != null) {
+            instance.executor.shutdownNow();
+        }
+
+        instance = null;
+    }
+
+    /**
+     * Creates the loading threads, they are daemons so they never keep the game open
+     */
+    private ResourceManager() {
+
+        int threads = Math.max(2, Runtime.getRuntime().availableProcessors() - 1);
+
+        this.executor = Executors.newFixedThreadPool(threads, runnable -> {
+
+            Thread thread = new Thread(runnable, "Resource loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.images = new ConcurrentHashMap<>();
+        this.fonts = new ConcurrentHashMap<>();
+        this.media = new ConcurrentHashMap<>();
+        this.submitted = new AtomicInteger();
+        this.completed = new AtomicInteger();
+        this.progress = new ReadOnlyDoubleWrapper(0);
+    }
+
+    /**
+     * Starts loading everything the game needs, does nothing if it has already been started
+     *
+     * @return a future that completes when everything has loaded
+     */
+    public synchronized CompletableFuture<Void> preload() {
+
+        if (preloaded != null) {
+            return preloaded;
+        }
+
+        List<CompletableFuture<?>> tasks = new ArrayList<>();
+
+        // menu and interface pictures first, the main menu is waiting on its own
+        for (ImageStore.Picture picture : ImageStore.Picture.values()) {
+            tasks.add(ImageStore.load(picture));
+        }
+
+        // encoded sprites, then the atlas for the default cell size of the game grid
+        List<CompletableFuture<?>> sprites = new ArrayList<>();
+
+        for (ImageStore.Sprite sprite : ImageStore.Sprite.values()) {
+            sprites.add(track(() -> ImageStore.spriteData(sprite)));
+        }
+
+        tasks.addAll(sprites);
+        tasks.add(CompletableFuture.allOf(sprites.toArray(new CompletableFuture<?>[0]))
+                .thenCompose(v -> track(this::defaultAtlas)));
+
+        tasks.add(image(SAND_BACKGROUND));
+
+        for (double size : FONT_SIZES) {
+            tasks.add(font(size));
+        }
+
+        for (String soundtrack : SOUNDTRACKS) {
+            tasks.add(media(soundtrack));
+        }
+
+        preloaded = CompletableFuture.allOf(tasks.toArray(new CompletableFuture<?>[0]));
+
+        return preloaded;
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the fraction of the submitted resources that have finished loading.
+     * Only updated on the FX thread, so it can be bound to the interface.
+     *
+     * @return the progress, from 0 to 1
+     */
+    public ReadOnlyDoubleProperty progressProperty() {
+
+        return this.progress.getReadOnlyProperty();
+    }
+
+    /**
+     * Gets an image from the class path
+     *
+     * @param path the resource path of the image
+     * @return a future for the loaded image
+     */
+    public CompletableFuture<Image> image(String path) {
+
+        return image(path, 0, 0, false, false);
+    }
+
+    /**
+     * Gets an image from the class path, scaled while it is loaded
+     *
+     * @param path          the resource path of the image
+     * @param width         the width to scale to, 0 to keep the width of the file
+     * @param height        the height to scale to, 0 to keep the height of the file
+     * @param preserveRatio whether to keep the aspect ratio when scaling
+     * @param smooth        whether to use a better quality filter when scaling
+     * @return a future for the loaded image
+     */
+    public CompletableFuture<Image> image(String path, double width, double height, boolean preserveRatio, boolean smooth) {
+
+        String key = path + SEPARATOR + width + "x" + height + (preserveRatio ? "r" : "") + (smooth ? "s" : "");
+
+        return images.computeIfAbsent(key, k -> track(() -> new Image(path, width, height, preserveRatio, smooth)));
+    }
+
+    /**
+     * Gets the game font at the given size
+     *
+     * @param size the point size of the font
+     * @return a future for the font, holding null if it could not be loaded
+     */
+    public CompletableFuture<Font> font(double size) {
+
+        return fonts.computeIfAbsent(size, s -> track(() -> {
+
+            try (InputStream fontStream = ResourceManager.class.getResourceAsStream(FONT)) {
+
+                return Font.loadFont(fontStream, s);
+            } catch (IOException e) {
+                LOG.log(Level.SEVERE, "No font found");
+                LOG.log(Level.SEVERE, e.toString(), e);
+                return null;
+            }
+        }));
+    }
+
+    /**
+     * Gets an audio file from the class path
+     *
+     * @param path the resource path of the audio file
+     * @return a future for the media, holding null if the file does not exist
+     */
+    public CompletableFuture<Media> media(String path) {
+
+        return media.computeIfAbsent(path, p -> track(() -> {
+
+            URL url = ResourceManager.class.getResource(p);
+
+            if (url == null) {
+                LOG.log(Level.WARNING, "No audio found at " + p);
+                return null;
+            }
+
+            return new Media(url.toString());
+        }));
+    }
+
+    /**
+     * Runs a loading task on the pool and counts it towards the progress
+     *
+     * @param task the task that loads the resource
+     * @param <T>  the type of the resource
+     * @return a future for the result of the task
+     */
+    private <T> CompletableFuture<T> track(Supplier<T> task) {
+
+        submitted.incrementAndGet();
+        publishProgress();
+
+        CompletableFuture<T> future = CompletableFuture.supplyAsync(task, executor);
+
+        future.whenComplete((result, error) -> {
+
+            if (error != null) {
+                LOG.log(Level.SEVERE, error.toString(), error);
+            }
+
+            completed.incrementAndGet();
+            publishProgress();
+        });
+
+        return future;
+    }
+
+    /**
+     * Pushes the current progress to the FX thread
+     */
+    private void publishProgress() {
+
+        double done = (double) completed.get() / Math.max(1, submitted.get());
+
+        if (Platform.isFxApplicationThread()) {
+            progress.set(done);
+        } else {
+
+            try {
+                Platform.runLater(() -> progress.set((double) completed.get() / Math.max(1, submitted.get())));
+            } catch (IllegalStateException e) {
+                // no FX toolkit (headless use), nobody is watching the progress
+                LOG.log(Level.FINE, e.toString(), e);
+            }
+        }
+    }
+
+    /**
+     * Builds the sprite atlas for the size a grid cell has when the game starts
+     *
+     * @return the atlas
+     */
+    private TextureAtlas defaultAtlas() {
+
+        double viewWidth = CoreGUI.WIDTH - GameInterface.rightPaneWidth;
+        double viewHeight = CoreGUI.HEIGHT - GameInterface.bottomPaneHeight;
+
+        return ImageStore.atlas(
+                (int) Math.ceil(Renderer.spacingFor(viewWidth, Graph.WIDTH)),
+                (int) Math.ceil(Renderer.spacingFor(viewHeight, Graph.HEIGHT))
+        );
+    }
+}
@@ -8,14 +8,10 @@ import javafx.scene.Node;
 import javafx.scene.control.Label;
 import javafx.scene.input.KeyCode;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
+import stores.ResourceManager;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Level;
-import java.util.logging.Logger;
 import java.util.stream.Collectors;
 
 /**
@@ -27,8 +23,6 @@ import java.util.stream.Collectors;
  */
 public class Tutorial {
 
-    private static final Logger LOG = Logger.getLogger(BaseSpawner.class.getName());
-
     private static Label tutorial = new Label();
     public static boolean active = false;
     private static int step = 0;
@@ -42,8 +36,6 @@ public class Tutorial {
      */
     public static void setup() {
 
-        String SEPARATOR = "/";
-
         active = true;
         oldKids.addAll(GameInterface.sortVisualisationPane.getChildren().stream().collect(Collectors.toList()));
         GameInterface.sortVisualisationPane.getChildren().clear();
@@ -51,16 +43,7 @@ public class Tutorial {
         GameInterface.sortVisualisationLabel.setText("Tutorial");
         GameInterface.sortVisualisationLabel.setLayoutX(212 - 87.5 / 2);
 
-        try (InputStream fontStream = GameInterface.class.getResourceAsStream(
-                SEPARATOR + "resources" + SEPARATOR + "fonts" + SEPARATOR + "basis33.ttf")) {
-
-            tutorial.setFont(Font.loadFont(fontStream, 17));
-
-        } catch (IOException e) {
-
-            LOG.log(Level.INFO, "No font found");
-            LOG.log(Level.SEVERE, e.toString(), e);
-        }
+        tutorial.setFont(ResourceManager.Instance().font(17).join());
 
         tutorial.setPrefSize(270, 260);
         tutorial.setLayoutX(15);
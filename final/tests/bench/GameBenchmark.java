@@ -0,0 +1,244 @@
+import core.CoreEngine;
+import core.GameRandom;
+import core.UnitSpawner;
+import graph.Graph;
+import graph.GraphNode;
+import maps.MapData;
+import maps.MapFormat;
+import maps.Reachability;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.ThreadMXBean;
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Plays whole games on a headless engine as fast as it can go: a preset map is loaded, the base is
+ *          placed as far from the spawn as units can still reach, waves of units with every search and sort
+ *          are spawned and a script places blockades while they walk, so they sort and search again. Reports
+ *          the ticks per second, the 50th and 99th percentile time of a tick, the rate memory is allocated at
+ *          and the peak heap, for 10 up to 100,000 units. A game runs for TICKS ticks or TIME_LIMIT seconds,
+ *          whichever comes first. Give the largest game more heap with -Xmx if it runs out.
+ *          Run with ./run_benchmarks after compiling.
+ * @date : 19/10/2026
+ */
+public class GameBenchmark {
+
+    private static final int[] UNITS = {10, 100, 1000, 10000, 100000};
+    private static final int TICKS = 3000;
+    private static final long TIME_LIMIT = 60;
+
+    // All the units of a game are spawned in this many waves, this many ticks apart
+    private static final int WAVES = 10;
+    private static final int WAVE_INTERVAL = 60;
+    // The script places a blockade every this many ticks, sortable and unsortable in turn
+    private static final int BLOCKADE_INTERVAL = 100;
+
+    private static final String PRESET = "/resources/maps/0.bmap";
+
+    public static void main(String[] args) throws Exception {
+
+        Bench bench = new Bench("GameBenchmark");
+
+        // a game nobody measures, so the engine is compiled before the first that counts
+        play(100);
+
+        System.out.printf("%8s %8s %10s %10s %10s %10s %12s %12s%n",
+                "Units", "Ticks", "Setup (ms)", "Ticks/s", "p50 (ms)", "p99 (ms)", "Alloc (MB/s)", "Heap (MB)");
+
+        for (int units : UNITS) {
+
+            Game game = play(units);
+
+            System.out.printf("%8d %8d %10.1f %10.1f %10.3f %10.3f %12.1f %12.1f%n",
+                    units, game.ticks, game.setupMs, game.ticksPerSecond(), game.percentile(50), game.percentile(99),
+                    game.allocatedMbPerSecond(), game.peakHeapMb);
+
+            bench.keep("Game", Bench.params("units", units, "map", PRESET),
+                    Bench.params("ticks", game.ticks, "setupMs", game.setupMs, "ticksPerSecond", game.ticksPerSecond(),
+                            "p50Ms", game.percentile(50), "p99Ms", game.percentile(99),
+                            "allocatedMbPerSecond", game.allocatedMbPerSecond(), "peakHeapMb", game.peakHeapMb));
+        }
+
+        bench.write(args);
+    }
+
+    /**
+     * Plays one game
+     *
+     * @param units the number of units to spawn
+     * @return what was measured
+     * @throws IOException if the map cannot be read
+     */
+    private static Game play(int units) throws IOException {
+
+        System.gc();
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+
+        long allocatedBefore = allocated();
+        long setupStart = System.nanoTime();
+
+        GameRandom.reset(42);
+        CoreEngine engine = new CoreEngine(true);
+        engine.newGame();
+
+        MapData map;
+
+        try (InputStream in = GameBenchmark.class.getResourceAsStream(PRESET)) {
+
+            if (in == null) {
+                throw new IOException(PRESET + " is not on the classpath");
+            }
+
+            map = MapFormat.read(in);
+        }
+
+        GraphNode base = farthestBase(map);
+        engine.placeBase(map, base.getX(), base.getY());
+        engine.setSpawner(new UnitSpawner(units, engine.getGoal(), WAVE_INTERVAL, (units + WAVES - 1) / WAVES));
+
+        Game game = new Game();
+        game.setupMs = (System.nanoTime() - setupStart) / 1e6;
+
+        Random script = new Random(7);
+        long deadline = System.nanoTime() + TIME_LIMIT * 1_000_000_000L;
+        long start = System.nanoTime();
+
+        // the game carries on after a unit reaches the base, so every game runs the same ticks
+        while (game.ticks < TICKS && System.nanoTime() < deadline) {
+
+            if (game.ticks % BLOCKADE_INTERVAL == BLOCKADE_INTERVAL / 2) {
+
+                boolean sortable = (game.ticks / BLOCKADE_INTERVAL) % 2 == 0;
+                engine.placeBlockade(script.nextInt(Graph.WIDTH), script.nextInt(Graph.HEIGHT), sortable);
+            }
+
+            long tickStart = System.nanoTime();
+            engine.step();
+            game.tickNanos[game.ticks++] = System.nanoTime() - tickStart;
+        }
+
+        game.nanos = System.nanoTime() - start;
+        game.allocatedBytes = allocated() - allocatedBefore;
+
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+
+            if (pool.getType() == MemoryType.HEAP) {
+                game.peakHeapMb += pool.getPeakUsage().getUsed() / (1024.0 * 1024.0);
+            }
+        }
+
+        UnitSpawner.delete();
+        CoreEngine.delete();
+
+        return game;
+    }
+
+    /**
+     * Finds the cell of a map where units take the longest to reach a base, so they cross the whole map
+     *
+     * @param map the map
+     * @return the cell of the base
+     */
+    private static GraphNode farthestBase(MapData map) {
+
+        Reachability reachability = new Reachability(map, Graph.WIDTH, Graph.HEIGHT);
+        GraphNode farthest = null;
+        int longest = -1;
+
+        for (int y = 0; y < Graph.HEIGHT; y++) {
+            for (int x = 0; x < Graph.WIDTH; x++) {
+
+                int distance = reachability.getBaseDistance(x, y);
+
+                if (distance > longest) {
+
+                    longest = distance;
+                    farthest = new GraphNode(x, y);
+                }
+            }
+        }
+
+        if (farthest == null) {
+            throw new IllegalStateException("No cell of " + PRESET + " can hold the base");
+        }
+
+        return farthest;
+    }
+
+    /**
+     * Gets the bytes allocated by this thread so far, where the JVM can count them
+     *
+     * @return the bytes, or 0 if they are not counted
+     */
+    private static long allocated() {
+
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+
+        if (threads instanceof com.sun.management.ThreadMXBean) {
+            return ((com.sun.management.ThreadMXBean) threads).getThreadAllocatedBytes(Thread.currentThread().getId());
+        }
+
+        return 0;
+    }
+
+    /**
+     * What was measured of a game
+     */
+    private static final class Game {
+
+        private final long[] tickNanos = new long[TICKS];
+        private int ticks;
+        private long nanos;
+        private long allocatedBytes;
+        private double setupMs;
+        private double peakHeapMb;
+
+        /**
+         * Gets the ticks run per second
+         *
+         * @return the rate
+         */
+        private double ticksPerSecond() {
+
+            return nanos == 0 ? 0 : ticks / (nanos / 1e9);
+        }
+
+        /**
+         * Gets the time a given share of the ticks took at most
+         *
+         * @param percent the percentile
+         * @return the time in milliseconds
+         */
+        private double percentile(int percent) {
+
+            if (ticks == 0) {
+                return 0;
+            }
+
+            long[] sorted = Arrays.copyOf(tickNanos, ticks);
+            Arrays.sort(sorted);
+
+            return sorted[Math.min(ticks - 1, (int) Math.ceil(ticks * percent / 100.0) - 1)] / 1e6;
+        }
+
+        /**
+         * Gets the rate memory was allocated at while the game was set up and played
+         *
+         * @return the rate in megabytes per second
+         */
+        private double allocatedMbPerSecond() {
+
+            return nanos == 0 ? 0 : allocatedBytes / (1024.0 * 1024.0) / (nanos / 1e9);
+        }
+    }
+}
@@ -0,0 +1,145 @@
+import core.CoreEngine;
+import entity.Blockade;
+import entity.Unit;
+import graph.Graph;
+import graph.GraphNode;
+import maps.MapData;
+import maps.MapParser;
+import searches.AStar;
+import searches.BreadthFirstSearch;
+import searches.DepthFirstSearch;
+
+import java.util.Random;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Times the searches of the units from one corner of a grid to the other, over grid sizes and
+ *          densities of blockades, along with building the grid, finding its nodes, setting up the engine
+ *          and placing the blockades of a map. Grids larger than the game's 20x20 keep their extra nodes in
+ *          the graph's list, as they would be if Graph.WIDTH and Graph.HEIGHT were raised.
+ *          Run with ./run_benchmarks after compiling.
+ * @date : 19/10/2026
+ */
+public class SearchBenchmark {
+
+    private static final int[] SIZES = {20, 40, 80};
+    // Percentage of cells with a blockade
+    private static final int[] DENSITIES = {0, 10, 25};
+
+    public static void main(String[] args) throws Exception {
+
+        Bench bench = new Bench("SearchBenchmark");
+
+        for (int size : SIZES) {
+
+            bench.time("Graph build", Bench.params("size", size), () -> build(size));
+
+            Graph graph = build(size);
+            bench.time("Graph.nodeWith", Bench.params("size", size), () -> {
+
+                for (int y = 0; y < size; y++) {
+                    for (int x = 0; x < size; x++) {
+                        graph.nodeWith(new GraphNode(x, y));
+                    }
+                }
+            });
+
+            GraphNode start = graph.nodeWith(new GraphNode(0, 0));
+            GraphNode goal = graph.nodeWith(new GraphNode(size - 1, size - 1));
+
+            for (int density : DENSITIES) {
+
+                block(graph, density, start, goal);
+
+                Unit unit = new Unit(0, "Demon", start, null, Unit.Search.A_STAR, Unit.Sort.BUBBLE, graph, goal);
+
+                bench.time("AStar.search", Bench.params("size", size, "density", density),
+                        () -> AStar.search(unit, goal));
+                bench.time("BFS.findPathFrom", Bench.params("size", size, "density", density),
+                        () -> BreadthFirstSearch.findPathFrom(unit, goal));
+                bench.time("DFS.findPathFrom", Bench.params("size", size, "density", density),
+                        () -> DepthFirstSearch.findPathFrom(unit, goal));
+            }
+        }
+
+        bench.time("CoreEngine grid", Bench.params("size", Graph.WIDTH), () -> new CoreEngine(true));
+
+        for (int density : DENSITIES) {
+
+            MapData map = map(density);
+            bench.time("MapParser", Bench.params("size", Graph.WIDTH, "density", density),
+                    () -> new CoreEngine(true), engine -> new MapParser(map).createBlockades());
+        }
+
+        CoreEngine.delete();
+        bench.write(args);
+    }
+
+    /**
+     * Builds a square grid the way the engine builds its own
+     *
+     * @param size the number of rows and columns
+     * @return the graph
+     */
+    private static Graph build(int size) {
+
+        Graph graph = new Graph();
+
+        for (int x = 0; x < size; x++) {
+            for (int y = 0; y < size; y++) {
+                graph.nodeWith(new GraphNode(x, y));
+            }
+        }
+
+        for (GraphNode node : graph.getNodes()) {
+            node.addNeighbours(graph);
+        }
+
+        return graph;
+    }
+
+    /**
+     * Places unsortable blockades on a share of the nodes, the same ones for every run
+     *
+     * @param graph   the graph
+     * @param density the percentage of nodes to block
+     * @param start   the node the units start on, kept clear
+     * @param goal    the node the units go to, kept clear
+     */
+    private static void block(Graph graph, int density, GraphNode start, GraphNode goal) {
+
+        Random random = new Random(42);
+
+        for (GraphNode node : graph.getNodes()) {
+
+            boolean blocked = node != start && node != goal && random.nextInt(100) < density;
+            node.setBlockade(blocked ? new Blockade(1, "Blockade", node, null) : null);
+        }
+    }
+
+    /**
+     * Creates a map of the game's size with a share of blockades, one in four of them sortable
+     *
+     * @param density the percentage of cells with a blockade
+     * @return the map
+     */
+    private static MapData map(int density) {
+
+        Random random = new Random(42);
+        MapData map = new MapData(Graph.WIDTH, Graph.HEIGHT);
+
+        for (int y = 0; y < Graph.HEIGHT; y++) {
+            for (int x = 0; x < Graph.WIDTH; x++) {
+
+                if (random.nextInt(100) < density) {
+                    map.set(x, y, random.nextInt(4) == 0 ? MapData.SORTABLE_BLOCKADE : MapData.BLOCKADE);
+                }
+            }
+        }
+
+        map.getSpawns().add(new GraphNode(0, 0));
+
+        return map;
+    }
+}
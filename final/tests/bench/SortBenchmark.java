@@ -0,0 +1,111 @@
+import sorts.logic.BubbleSort;
+import sorts.logic.HeapSort;
+import sorts.logic.InsertSort;
+import sorts.logic.MergeSort;
+import sorts.logic.QuickSort;
+import sorts.logic.RadixSort;
+import sorts.logic.SelectionSort;
+import sorts.logic.SortEventLog;
+
+import java.util.Random;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Compares the sorts a unit can carry: the number of steps and swaps each produces (the swaps
+ *          are what SortVisual animates) and the time taken to generate them, over growing array sizes.
+ *          Run with ./run_benchmarks after compiling.
+ * @date : 19/10/2026
+ */
+public class SortBenchmark {
+
+    private static final int[] SIZES = {10, 100, 1000, 5000};
+
+    private static final String[] NAMES = {"Bubble", "Selection", "Insert", "Merge", "Quick", "Heap", "Radix"};
+
+    public static void main(String[] args) throws Exception {
+
+        Bench bench = new Bench("SortBenchmark");
+        Random random = new Random(42);
+        SortEventLog log = new SortEventLog();
+
+        for (int size : SIZES) {
+
+            int[] input = shuffled(size, random);
+
+            for (int sort = 0; sort < NAMES.length; sort++) {
+
+                int index = sort;
+
+                // the steps and swaps are the same every run, they show how much SortVisual has to animate
+                run(index, input.clone(), log);
+                bench.time(NAMES[sort] + " sort", Bench.params("size", size, "steps", log.size(), "swaps", log.swaps()),
+                        input::clone, values -> run(index, values, log));
+            }
+        }
+
+        bench.write(args);
+    }
+
+    /**
+     * Runs one of the sorts into an emptied log
+     *
+     * @param sort   the index of the sort in NAMES
+     * @param values the values to sort
+     * @param log    the log to record into
+     */
+    private static void run(int sort, int[] values, SortEventLog log) {
+
+        log.clear();
+
+        switch (sort) {
+            case 0:
+                BubbleSort.sort(values, log);
+                break;
+            case 1:
+                SelectionSort.sort(values, log);
+                break;
+            case 2:
+                InsertSort.sort(values, log);
+                break;
+            case 3:
+                MergeSort.sort(values, log);
+                break;
+            case 4:
+                QuickSort.sort(values, log);
+                break;
+            case 5:
+                HeapSort.sort(values, log);
+                break;
+            default:
+                RadixSort.sort(values, log);
+                break;
+        }
+    }
+
+    /**
+     * Creates a shuffled array of 0 to size - 1, the same kind of input the blockades use
+     *
+     * @param size   the length of the array
+     * @param random the random source
+     * @return the shuffled array
+     */
+    private static int[] shuffled(int size, Random random) {
+
+        int[] values = new int[size];
+
+        for (int i = 0; i < size; i++) {
+            values[i] = i;
+        }
+
+        for (int i = size - 1; i > 0; i--) {
+
+            int j = random.nextInt(i + 1);
+            int temp = values[i];
+            values[i] = values[j];
+            values[j] = temp;
+        }
+
+        return values;
+    }
+}
@@ -2,17 +2,25 @@ package core;
 
 import entity.Blockade;
 import entity.Entity;
+import entity.SortableBlockade;
 import entity.Unit;
 import graph.Graph;
 import graph.GraphNode;
 import gui.GameInterface;
 import gui.Renderer;
-import javafx.animation.SequentialTransition;
 import javafx.application.Platform;
+import maps.MapGrid;
+import menus.MenuHandler;
 import sceneElements.Score;
-import sorts.visual.SortVisual;
+import sorts.logic.SortStepCache;
+import sorts.visual.SortVisualPlayer;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -28,17 +36,30 @@ public class CoreEngine {
 
     private static final Logger LOG = Logger.getLogger(CoreEngine.class.getName());
 
-    private final int FRAME_RATE = 60;
+    public static final int FRAME_RATE = 60;
+    // Ticks between the score being shown on the panel, 4 times a second
+    private static final int SCORE_INTERVAL = FRAME_RATE / 4;
 
-    // Engine states
-    private boolean running;
-    private boolean paused = false;
+    // Engine states, polled by the engine thread and set from the FX thread
+    private volatile boolean running;
+    private volatile boolean paused = false;
+    // The thread running the tick loop, null until startGame is called
+    private volatile Thread engineThread;
     private long startTime;
     private boolean slept = false;
+    private volatile long tick = 0;
+    private boolean over = false;
+    // A headless engine has no interface, it is stepped by a Replay as fast as it can go
+    private final boolean headless;
+
+    // Positions of the units after the last tick, read by the renderer
+    private volatile UnitSnapshot snapshot;
 
     // Game score
     private Score score;
     private boolean scoreHalved;
+    // Score as last shown on the panel, in hundredths
+    private long shownScore;
 
     // Block limit
     private int unbreakableBlockadesLimit;
@@ -49,6 +70,13 @@ public class CoreEngine {
     private ArrayList<Unit> units;
     private ArrayList<Blockade> blockades;
     private UnitSpawner spawner;
+    private GraphNode goal;
+
+    // Records the inputs and state of the game so it can be played again, null if it is not recorded
+    private Replay.Recorder recorder;
+
+    // Work handed to the engine thread, run between ticks so it never sees a tick half done
+    private final Queue<Runnable> tasks = new ConcurrentLinkedQueue<>();
 
     // Instance for singleton.
     private static CoreEngine instance = null;
@@ -81,7 +109,18 @@ public class CoreEngine {
      */
     public CoreEngine() {
 
+        this(false);
+    }
+
+    /**
+     * Creates an engine, a headless one never touches the interface
+     *
+     * @param headless true if there is no interface
+     */
+    public CoreEngine(boolean headless) {
+
         instance = this;
+        this.headless = headless;
         this.graph = new Graph();
         this.units = new ArrayList<>();
         this.blockades = new ArrayList<>();
@@ -111,6 +150,76 @@ public class CoreEngine {
         return this.graph;
     }
 
+    /**
+     * Gets the positions of the units after the latest tick
+     *
+     * @return the snapshot, or null before the first tick
+     */
+    public UnitSnapshot getSnapshot() {
+
+        return this.snapshot;
+    }
+
+    /**
+     * Gets the number of ticks the game has run for
+     *
+     * @return the tick count
+     */
+    public long getTick() {
+
+        return this.tick;
+    }
+
+    /**
+     * Check if the engine has no interface
+     *
+     * @return true if it is headless
+     */
+    public boolean isHeadless() {
+
+        return this.headless;
+    }
+
+    /**
+     * Check if the game has ended
+     *
+     * @return true once a unit has reached the base or got stuck
+     */
+    public boolean isOver() {
+
+        return this.over;
+    }
+
+    /**
+     * Gets the node of the base
+     *
+     * @return the goal of the units, null before the base has been placed
+     */
+    public GraphNode getGoal() {
+
+        return this.goal;
+    }
+
+    /**
+     * Gets the recorder of the game
+     *
+     * @return the recorder, null if the game is not recorded
+     */
+    public Replay.Recorder getRecorder() {
+
+        return this.recorder;
+    }
+
+    /**
+     * Gets the spawner the engine updates
+     *
+     * @return the spawner, or null before the base has been placed
+     */
+    public UnitSpawner getSpawner() {
+
+        return this.spawner;
+    }
+
     /**
      * Check if the engine is paused
      *
@@ -193,6 +302,16 @@ public class CoreEngine {
         this.spawner = spawner;
     }
 
+    /**
+     * Sets the recorder of the game, done before the game starts so every input is recorded
+     *
+     * @param recorder the recorder, null to stop recording
+     */
+    public void setRecorder(Replay.Recorder recorder) {
+
+        this.recorder = recorder;
+    }
+
     /**
      * Sets the running state of the engine
      *
@@ -211,12 +330,201 @@ public class CoreEngine {
     public void setPaused(boolean paused) {
 
         LOG.log(Level.INFO, "Paused set:" + paused);
+
+        if (recorder != null && this.paused != paused) {
+            recorder.input(tick, paused ? Replay.PAUSE : Replay.RESUME, 0, 0);
+        }
+
+        // the sort visualisations run on the engine's ticks, so they stop with it
         this.paused = paused;
+    }
 
-        if (paused) {
-            SortVisual.seq.forEach(SequentialTransition::pause);
+    /**
+     * Puts the engine's own state back to where a saved game left it, the entities are restored by GameSnapshot
+     *
+     * @param tick                      the number of ticks the game had run for
+     * @param score                     the score
+     * @param unbreakableBlockadesLimit the amount of unbreakable blockades left
+     * @param breakableBlockadesLimit   the amount of breakable blockades left
+     * @param goal                      the node of the base
+     */
+    void restore(long tick, Score score, int unbreakableBlockadesLimit, int breakableBlockadesLimit, GraphNode goal) {
+
+        this.tick = tick;
+        this.goal = goal;
+        // the inputs before the load are not part of this game, it can no longer be replayed from its seed
+        this.recorder = null;
+        this.score = score;
+        this.unbreakableBlockadesLimit = unbreakableBlockadesLimit;
+        this.breakableBlockadesLimit = breakableBlockadesLimit;
+        this.shownScore = -1;
+        this.snapshot = new UnitSnapshot(units, tick, System.nanoTime());
+    }
+
+    /**
+     * Runs a task on the engine thread between two ticks, paused or not. Tasks handed over before the
+     * tick loop starts wait for it. Only a headless engine no thread is driving, or the engine thread
+     * itself, runs the task straight away on the calling thread.
+     *
+     * @param task the task
+     * @param <T>  the type of its result
+     * @return the result of the task, once it has run
+     */
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        Runnable run = () -> {
+
+            try {
+                result.complete(task.get());
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        };
+
+        Thread driver = engineThread;
+
+        if ((headless && driver == null) || Thread.currentThread() == driver) {
+            run.run();
         } else {
-            SortVisual.seq.forEach(SequentialTransition::play);
+            tasks.add(run);
+        }
+
+        return result;
+    }
+
+    /**
+     * Runs the tasks handed to the engine thread
+     */
+    private void runTasks() {
+
+        Runnable task;
+
+        while ((task = tasks.poll()) != null) {
+            task.run();
+        }
+    }
+
+    // Player inputs, run on the engine thread between ticks and recorded so a Replay can make them again
+
+    /**
+     * Places the base, the sortable blockades around it and the blockades of the map
+     *
+     * @param map the map the blockades come from, null for none
+     * @param x   the column of the base
+     * @param y   the row of the base
+     * @return the base and blockades placed, they have no sprites yet
+     */
+    public List<Entity> placeBase(MapGrid map, int x, int y) {
+
+        if (recorder != null) {
+
+            recorder.map(map);
+            recorder.input(tick, Replay.BASE, x, y);
+        }
+
+        List<Entity> placed = BaseSpawner.place(this, map, x, y);
+
+        if (!placed.isEmpty()) {
+            this.goal = placed.get(0).getPosition();
+        }
+
+        return placed;
+    }
+
+    /**
+     * Starts spawning units towards the base
+     *
+     * @param spawnLimit the number of units to spawn
+     * @return the spawner, or null if the base has not been placed
+     */
+    public UnitSpawner startSpawner(int spawnLimit) {
+
+        if (recorder != null) {
+            recorder.input(tick, Replay.SPAWNER, spawnLimit, 0);
+        }
+
+        if (goal != null) {
+            this.spawner = new UnitSpawner(spawnLimit, goal);
+        }
+
+        return this.spawner;
+    }
+
+    /**
+     * Places a blockade the player has clicked for, if there are any of that kind left
+     *
+     * @param x        the column
+     * @param y        the row
+     * @param sortable true for a sortable blockade
+     * @return the blockade placed without a sprite, or null if none could be placed there
+     */
+    public Blockade placeBlockade(int x, int y, boolean sortable) {
+
+        if (recorder != null) {
+            recorder.input(tick, sortable ? Replay.SORTABLE : Replay.BLOCKADE, x, y);
+        }
+
+        GraphNode node = graph.nodeAt(x, y);
+        Blockade blockade = null;
+
+        if (node == null) {
+            return null;
+        }
+
+        if (sortable && breakableBlockadesLeft()) {
+
+            SortableBlockade sortableBlockade = SortableBlockade.create(
+                    new SortableBlockade(0, "Sortable Blockade", node, null, null)
+            );
+
+            if (sortableBlockade != null) {
+
+                breakableBlockadesPlaced();
+                // have the sorts ready before a unit reaches it
+                SortStepCache.prewarm(sortableBlockade.getToSortArray());
+            }
+
+            blockade = sortableBlockade;
+
+        } else if (!sortable && unbreakableBlockadesLeft()) {
+
+            blockade = Blockade.randomBlockade(new Blockade(1, "Blockade", node, null));
+
+            if (blockade != null) {
+                unbreakableBlockadesPlaced();
+            }
+        }
+
+        if (blockade != null) {
+            blockades.add(blockade);
+        }
+
+        return blockade;
+    }
+
+    /**
+     * Ends the game, a unit has reached the base or can no longer get to it.
+     * The engine stops at once and the end menu is shown.
+     *
+     * @param halveScore true if the score is halved, when the units are stuck
+     */
+    public void endGame(boolean halveScore) {
+
+        if (over) {
+            return;
+        }
+
+        this.over = true;
+        this.paused = true;
+
+        if (halveScore) {
+            score.halveScore();
+        }
+
+        if (!headless) {
+            Platform.runLater(() -> MenuHandler.switchScene(MenuHandler.END_GAME_MENU));
         }
     }
 
@@ -238,6 +546,7 @@ public class CoreEngine {
     public void breakableBlockadesPlaced() {
 
         this.breakableBlockadesLimit--;
+        invalidate(GameInterface.BREAKABLE_LIMIT);
     }
 
     /**
@@ -256,6 +565,7 @@ public class CoreEngine {
     public void unbreakableBlockadesPlaced() {
 
         this.unbreakableBlockadesLimit--;
+        invalidate(GameInterface.UNBREAKABLE_LIMIT);
     }
 
     /**
@@ -266,16 +576,21 @@ public class CoreEngine {
      */
     public void startGame() {
 
+        engineThread = Thread.currentThread();
         running = true;
-        score = new Score();
-        unbreakableBlockadesLimit = 20;
-        breakableBlockadesLimit = 20;
-        scoreHalved = false;
+        newGame();
         startTime = System.nanoTime();
 
+        invalidate(GameInterface.SCORE | GameInterface.UNBREAKABLE_LIMIT | GameInterface.BREAKABLE_LIMIT);
+
         while (running) {
+
+            runTasks();
+
             while (paused) {
 
+                runTasks();
+
                 try {
                     Thread.sleep(1);
                 } catch (InterruptedException e) {
@@ -296,6 +611,39 @@ public class CoreEngine {
         }
     }
 
+    /**
+     * Sets up the score and blockade limits of a new game
+     */
+    public void newGame() {
+
+        score = new Score();
+        unbreakableBlockadesLimit = 20;
+        breakableBlockadesLimit = 20;
+        scoreHalved = false;
+        shownScore = 0;
+        over = false;
+    }
+
+    /**
+     * Runs one tick straight away, used to play a game back as fast as it can go
+     */
+    public void step() {
+
+        updateGameState();
+    }
+
+    /**
+     * Tells the interface parts of the panel have changed, a headless engine has no panel
+     *
+     * @param parts the parts that have changed
+     */
+    private void invalidate(int parts) {
+
+        if (!headless) {
+            GameInterface.invalidate(parts);
+        }
+    }
+
     /**
      * Checks if its time to update,
      * this is done by checking if the change in time since the last update is larger than or equals to
@@ -337,8 +685,16 @@ public class CoreEngine {
      */
     private void updateGameState() {
 
+        tick++;
+
         if (units != null) {
+
             units.forEach(Unit::update);
+            snapshot = new UnitSnapshot(units, tick, System.nanoTime());
+        }
+
+        if (!headless) {
+            SortVisualPlayer.Instance().tick();
         }
 
         if (spawner != null) {
@@ -346,7 +702,18 @@ public class CoreEngine {
             spawner.update();
             score.update((double) 1 / (double) FRAME_RATE);
 
-            Platform.runLater(GameInterface::update);
+            // the score rises every tick, so the panel is only told about it a few times a second
+            long newScore = Math.round(score.getScore() * 100);
+
+            if (tick % SCORE_INTERVAL == 0 && newScore != shownScore) {
+
+                shownScore = newScore;
+                invalidate(GameInterface.SCORE);
+            }
+        }
+
+        if (recorder != null) {
+            recorder.tick(Replay.hash(this));
         }
     }
 
@@ -371,10 +738,14 @@ public class CoreEngine {
         }
 
         // check if the entity was logically removed
-        if (removed) {
+        if (removed && entity.getSprite() != null) {
 
-            // remove the sprite of the entity from renderer
-            Renderer.Instance().remove(entity.getSprite());
+            // remove the sprite of the entity from renderer, on the FX thread
+            if (Platform.isFxApplicationThread()) {
+                Renderer.Instance().remove(entity.getSprite());
+            } else {
+                Platform.runLater(() -> Renderer.Instance().remove(entity.getSprite()));
+            }
         }
 
         return removed;
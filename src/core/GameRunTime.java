@@ -3,6 +3,7 @@ package core;
 import gui.CoreGUI;
 import gui.GameInterface;
 import gui.Renderer;
+import gui.UnitInterpolator;
 import javafx.scene.Group;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
@@ -14,6 +15,9 @@ import javafx.scene.layout.BackgroundSize;
 import javafx.scene.layout.BorderPane;
 import sceneElements.ElementsHandler;
 import sceneElements.SpriteImage;
+import sorts.visual.SortVisualPlayer;
+import sorts.visual.SortVisualPool;
+import stores.ResourceManager;
 
 import java.io.File;
 import java.util.logging.Level;
@@ -35,10 +39,8 @@ public class GameRunTime {
 
     // Dependencies
     private CoreEngine engine;
+    private UnitInterpolator interpolator;
     private static Scene mainGameScene = null;
-    private final String SEPARATOR = File.separator;
-    private final String SPRITE_RESOURCES = SEPARATOR + "resources" + SEPARATOR + "sprites" + SEPARATOR;
-    private final String BACKGROUNDS = "backgrounds" + SEPARATOR;
 
     // Instance for singleton.
     private static GameRunTime instance = null;
@@ -62,6 +64,13 @@ public class GameRunTime {
      */
     public static void delete() {
 
+        if (instance != null && instance.interpolator != null) {
+            instance.interpolator.stop();
+        }
+
+        SortVisualPlayer.delete();
+        SortVisualPool.delete();
+
         instance = null;
     }
 
@@ -101,7 +110,7 @@ public class GameRunTime {
         mainGameScene = new Scene(mainGame, CoreGUI.WIDTH, CoreGUI.HEIGHT);
 
         // The image which will be displayed on the grid
-        Image sandBackground = new Image(SPRITE_RESOURCES + BACKGROUNDS + "SandBackground.png");
+        Image sandBackground = ResourceManager.Instance().image(ResourceManager.SAND_BACKGROUND).join();
         BackgroundImage myBIF = new BackgroundImage(
                 sandBackground,
                 BackgroundRepeat.REPEAT,
@@ -113,10 +122,18 @@ public class GameRunTime {
         // Setting the image on the pane
         mainGamePane.setBackground(new Background(myBIF));
         mainGameScene.setOnKeyPressed(ElementsHandler::handleKeys);
+        mainGameScene.setOnScroll(ElementsHandler::handleScroll);
 
         Renderer.Instance();
         // Setting the renderer on the pane which will be on top of the background
         mainGamePane.setCenter(Renderer.Instance());
+
+        // Units are drawn between the cells of the engine's latest snapshot on every frame
+        interpolator = new UnitInterpolator(engine, Renderer.Instance());
+        interpolator.start();
+
+        // Sort visualisations are played from one clock moved on by the engine
+        SortVisualPlayer.Instance().start();
     }
 
     // GETTER methods
@@ -150,6 +167,10 @@ public class GameRunTime {
      */
     public void setLastClicked(SpriteImage lastClicked) {
 
-        this.lastClicked = lastClicked;
+        if (this.lastClicked != lastClicked) {
+
+            this.lastClicked = lastClicked;
+            GameInterface.invalidate(GameInterface.SELECTED_UNIT);
+        }
     }
 }
\ No newline at end of file
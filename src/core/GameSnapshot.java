@@ -0,0 +1,780 @@
+package core;
+
+import entity.Base;
+import entity.Blockade;
+import entity.SortableBlockade;
+import entity.Unit;
+import graph.Graph;
+import graph.GraphNode;
+import maps.VarInt;
+import sceneElements.Score;
+import sorts.logic.SortProgress;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          The state of a game in progress, as the engine holds it between two ticks: the units with their
+ *          routes and moves, the blockades with their sort arrays and sort progress, the base, the score,
+ *          the blockade limits and the spawner. Capturing and restoring only touch the logic, the sprites
+ *          are made again by whoever restores it. Sorts are stored as the steps done, and are replayed
+ *          from the sort array when the game is restored.
+ *          <p>
+ *          The file format is binary:
+ *          <pre>
+ *          magic       "BAGS"
+ *          version     1 byte, 1
+ *          grid        varint width, varint height
+ *          engine      8 bytes tick, 8 bytes score, 1 byte halved, varint unbreakable and breakable limits left
+ *          base        varint cell
+ *          spawner     1 byte present, then varint limit, count and cooldown
+ *          names       varint count, then each name in modified UTF-8
+ *          blockades   varint count, then for each: varint id, varint name, varint cell, 1 byte flags,
+ *                      the sort array (varint length, varint values) and the progress
+ *                      (1 byte sort, varint steps done, varint swap work left) if the flags say so
+ *          units       varint count, then for each: varint id, varint name, 1 byte search, 1 byte sort,
+ *                      varint cell, varint previous cell, varint move ticks, 1 byte move completed,
+ *                      varint blockade being sorted, varint route length then a varint cell per step
+ *          checksum    4 bytes, CRC32 of everything before it
+ *          </pre>
+ *          Cells are stored as y * width + x + 1, with 0 for no cell. Blockades being sorted are stored
+ *          as their place in the blockade list plus one, 0 for none.
+ * @date : 19/10/2026
+ */
+public final class GameSnapshot {
+
+    public static final int VERSION = 1;
+
+    private static final byte[] MAGIC = "BAGS".getBytes(StandardCharsets.US_ASCII);
+
+    // Blockade flags
+    private static final int SORTABLE = 1;
+    private static final int HAS_ARRAY = 2;
+    private static final int HAS_PROGRESS = 4;
+
+    // Numbers of a blockade's array room is first made for, so a damaged length cannot allocate more
+    private static final int ARRAY_CHUNK = 1024;
+
+    private final int width;
+    private final int height;
+
+    private final long tick;
+    private final double score;
+    private final boolean halved;
+    private final int unbreakableLimit;
+    private final int breakableLimit;
+
+    private final int goal;
+
+    private final boolean hasSpawner;
+    private final int spawnLimit;
+    private final int spawnCount;
+    private final int cooldown;
+
+    private final List<String> names;
+    private final List<BlockadeState> blockades;
+    private final List<UnitState> units;
+
+    private GameSnapshot(int width, int height, long tick, double score, boolean halved,
+                         int unbreakableLimit, int breakableLimit, int goal,
+                         boolean hasSpawner, int spawnLimit, int spawnCount, int cooldown,
+                         List<String> names, List<BlockadeState> blockades, List<UnitState> units) {
+
+        this.width = width;
+        this.height = height;
+        this.tick = tick;
+        this.score = score;
+        this.halved = halved;
+        this.unbreakableLimit = unbreakableLimit;
+        this.breakableLimit = breakableLimit;
+        this.goal = goal;
+        this.hasSpawner = hasSpawner;
+        this.spawnLimit = spawnLimit;
+        this.spawnCount = spawnCount;
+        this.cooldown = cooldown;
+        this.names = names;
+        this.blockades = blockades;
+        this.units = units;
+    }
+
+    /**
+     * Gets the file F5 saves the game to and F9 loads it from
+     *
+     * @return the quick save file in the game's directory
+     */
+    public static File quickSaveFile() {
+
+        return new File(System.getProperty("user.home") + File.separator + "bestRTS" + File.separator + "quicksave.snap");
+    }
+
+    /**
+     * Captures the state of a game. It must be called on the engine thread, or while the engine is not running.
+     *
+     * @param engine the engine of the game
+     * @return the snapshot
+     */
+    public static GameSnapshot capture(CoreEngine engine) {
+
+        Map<String, Integer> nameIds = new HashMap<>();
+        List<String> names = new ArrayList<>();
+
+        int goal = 0;
+
+        for (GraphNode node : engine.getGraph().getNodes()) {
+
+            if (node.getBase() != null) {
+                goal = cell(node);
+            }
+        }
+
+        List<Blockade> engineBlockades = engine.getBlockades();
+        // entities hash on their sprites, which a restored game does not have yet
+        Map<Blockade, Integer> blockadeIndex = new IdentityHashMap<>();
+        List<BlockadeState> blockades = new ArrayList<>(engineBlockades.size());
+
+        for (Blockade blockade : engineBlockades) {
+
+            BlockadeState state = new BlockadeState();
+            state.id = blockade.getId();
+            state.name = nameId(blockade.getName(), names, nameIds);
+            state.cell = cell(blockade.getPosition());
+
+            if (blockade instanceof SortableBlockade) {
+
+                SortableBlockade sortable = (SortableBlockade) blockade;
+                SortProgress progress = sortable.getProgress();
+
+                state.sortable = true;
+                state.array = sortable.getToSortArray() == null ? null : toArray(sortable.getToSortArray());
+
+                if (progress != null) {
+
+                    state.progressSort = progress.getSort().ordinal();
+                    state.stepsDone = progress.getStepsDone();
+                    state.swapWorkLeft = progress.getSwapWorkLeft();
+                }
+            }
+
+            blockadeIndex.put(blockade, blockades.size() + 1);
+            blockades.add(state);
+        }
+
+        List<UnitState> units = new ArrayList<>(engine.getUnits().size());
+
+        for (Unit unit : engine.getUnits()) {
+
+            UnitState state = new UnitState();
+            state.id = unit.getId();
+            state.name = nameId(unit.getName(), names, nameIds);
+            state.search = unit.getSearch().ordinal();
+            state.sort = unit.getSort().ordinal();
+            state.cell = cell(unit.getPosition());
+            state.previous = cell(unit.getPreviousPosition());
+            state.moveTicks = unit.getMoveTicks();
+            state.completedMove = unit.isCompletedMove();
+
+            Integer sorting = unit.getSorting() == null ? null : blockadeIndex.get(unit.getSorting());
+            state.sorting = sorting == null ? 0 : sorting;
+
+            List<GraphNode> route = unit.getRoute() == null ? new ArrayList<>() : unit.getRoute();
+            state.route = new int[route.size()];
+
+            for (int i = 0; i < route.size(); i++) {
+                state.route[i] = cell(route.get(i));
+            }
+
+            units.add(state);
+        }
+
+        Score score = engine.getScore();
+        UnitSpawner spawner = engine.getSpawner();
+
+        return new GameSnapshot(
+                Graph.WIDTH,
+                Graph.HEIGHT,
+                engine.getTick(),
+                score == null ? 0 : score.getScore(),
+                score != null && score.isHalved(),
+                engine.getUnbreakableBlockadesLimit(),
+                engine.getBreakableBlockadesLimit(),
+                goal,
+                spawner != null,
+                spawner == null ? 0 : spawner.getSpawnLimit(),
+                spawner == null ? 0 : spawner.getSpawnCount(),
+                spawner == null ? 0 : spawner.getCooldown(),
+                names,
+                blockades,
+                units
+        );
+    }
+
+    /**
+     * Replaces the state of a game with this snapshot. Every unit, blockade and base on the engine's graph is
+     * removed first. The new entities have no sprites. It must be called on the engine thread, or while the
+     * engine is not running.
+     *
+     * @param engine the engine of the game
+     * @throws IOException if the snapshot was taken on a grid of a different size
+     */
+    public void restore(CoreEngine engine) throws IOException {
+
+        if (width != Graph.WIDTH || height != Graph.HEIGHT) {
+            throw new IOException("Snapshot is of a " + width + "x" + height + " grid, the game is " +
+                    Graph.WIDTH + "x" + Graph.HEIGHT);
+        }
+
+        Graph graph = engine.getGraph();
+
+        for (GraphNode node : graph.getNodes()) {
+
+            node.setBlockade(null);
+            node.setBase(null);
+            node.getUnits().clear();
+        }
+
+        engine.getBlockades().clear();
+        engine.getUnits().clear();
+
+        GraphNode goalNode = node(graph, goal);
+
+        if (goalNode != null) {
+            goalNode.setBase(new Base(9999, "Base", goalNode, null));
+        }
+
+        List<Blockade> restored = new ArrayList<>(blockades.size());
+
+        for (BlockadeState state : blockades) {
+
+            GraphNode node = node(graph, state.cell);
+            Blockade blockade;
+
+            if (state.sortable) {
+
+                SortableBlockade sortable = new SortableBlockade(state.id, names.get(state.name), node, null,
+                        state.array == null ? null : toList(state.array));
+
+                if (state.progressSort >= 0 && sortable.getToSortArray() != null) {
+
+                    SortProgress progress = new SortProgress(Unit.Sort.values()[state.progressSort], sortable.getToSortArray());
+                    progress.skip(state.stepsDone, state.swapWorkLeft);
+                    sortable.setProgress(progress);
+                }
+
+                blockade = sortable;
+
+            } else {
+                blockade = new Blockade(state.id, names.get(state.name), node, null);
+            }
+
+            node.setBlockade(blockade);
+            restored.add(blockade);
+        }
+
+        engine.getBlockades().addAll(restored);
+
+        int nextId = 0;
+
+        for (UnitState state : units) {
+
+            GraphNode node = node(graph, state.cell);
+
+            Unit unit = new Unit(
+                    state.id,
+                    names.get(state.name),
+                    node,
+                    null,
+                    Unit.Search.values()[state.search],
+                    Unit.Sort.values()[state.sort],
+                    graph,
+                    goalNode
+            );
+
+            List<GraphNode> route = new ArrayList<>(state.route.length);
+
+            for (int cell : state.route) {
+                route.add(node(graph, cell));
+            }
+
+            unit.setRoute(route);
+            unit.setSorting(state.sorting == 0 ? null : (SortableBlockade) restored.get(state.sorting - 1));
+            unit.setMove(node(graph, state.previous), state.moveTicks, state.completedMove);
+
+            node.getUnits().add(unit);
+            engine.getUnits().add(unit);
+
+            nextId = Math.max(nextId, state.id + 1);
+        }
+
+        engine.restore(tick, new Score(score, halved), unbreakableLimit, breakableLimit, goalNode);
+
+        if (hasSpawner && engine.getSpawner() != null) {
+            engine.getSpawner().resume(spawnCount, spawnLimit, cooldown, goalNode, nextId);
+        }
+    }
+
+    /**
+     * Writes the snapshot
+     *
+     * @param out the stream to write to, it is not closed
+     * @throws IOException if it cannot be written
+     */
+    public void write(OutputStream out) throws IOException {
+
+        BufferedOutputStream buffered = new BufferedOutputStream(out);
+        CheckedOutputStream checked = new CheckedOutputStream(buffered, new CRC32());
+        DataOutputStream data = new DataOutputStream(checked);
+
+        data.write(MAGIC);
+        data.writeByte(VERSION);
+        VarInt.write(data, width);
+        VarInt.write(data, height);
+
+        data.writeLong(tick);
+        data.writeDouble(score);
+        data.writeBoolean(halved);
+        VarInt.write(data, unbreakableLimit);
+        VarInt.write(data, breakableLimit);
+
+        VarInt.write(data, goal);
+
+        data.writeBoolean(hasSpawner);
+
+        if (hasSpawner) {
+
+            VarInt.write(data, spawnLimit);
+            VarInt.write(data, spawnCount);
+            VarInt.write(data, cooldown);
+        }
+
+        VarInt.write(data, names.size());
+
+        for (String name : names) {
+            data.writeUTF(name);
+        }
+
+        VarInt.write(data, blockades.size());
+
+        for (BlockadeState state : blockades) {
+
+            int flags = (state.sortable ? SORTABLE : 0) |
+                    (state.array != null ? HAS_ARRAY : 0) |
+                    (state.progressSort >= 0 ? HAS_PROGRESS : 0);
+
+            VarInt.write(data, state.id);
+            VarInt.write(data, state.name);
+            VarInt.write(data, state.cell);
+            data.writeByte(flags);
+
+            if (state.array != null) {
+
+                VarInt.write(data, state.array.length);
+
+                for (int value : state.array) {
+                    VarInt.write(data, value);
+                }
+            }
+
+            if (state.progressSort >= 0) {
+
+                data.writeByte(state.progressSort);
+                VarInt.writeLong(data, state.stepsDone);
+                VarInt.write(data, state.swapWorkLeft);
+            }
+        }
+
+        VarInt.write(data, units.size());
+
+        for (UnitState state : units) {
+
+            VarInt.write(data, state.id);
+            VarInt.write(data, state.name);
+            data.writeByte(state.search);
+            data.writeByte(state.sort);
+            VarInt.write(data, state.cell);
+            VarInt.write(data, state.previous);
+            VarInt.write(data, state.moveTicks);
+            data.writeBoolean(state.completedMove);
+            VarInt.write(data, state.sorting);
+            VarInt.write(data, state.route.length);
+
+            for (int cell : state.route) {
+                VarInt.write(data, cell);
+            }
+        }
+
+        data.flush();
+        new DataOutputStream(buffered).writeInt((int) checked.getChecksum().getValue());
+        buffered.flush();
+    }
+
+    /**
+     * Reads a snapshot
+     *
+     * @param in the stream to read from, it is not closed
+     * @return the snapshot
+     * @throws IOException if it cannot be read, is cut short, fails its checksum or is not a snapshot
+     */
+    public static GameSnapshot read(InputStream in) throws IOException {
+
+        InputStream buffered = new BufferedInputStream(in);
+        CheckedInputStream checked = new CheckedInputStream(buffered, new CRC32());
+        DataInputStream data = new DataInputStream(checked);
+
+        try {
+
+            byte[] magic = new byte[MAGIC.length];
+            data.readFully(magic);
+
+            if (!Arrays.equals(magic, MAGIC)) {
+                throw new IOException("Not a game snapshot");
+            }
+
+            int version = data.readUnsignedByte();
+
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version);
+            }
+
+            int width = VarInt.read(data);
+            int height = VarInt.read(data);
+
+            if ((long) width * height > Integer.MAX_VALUE) {
+                throw new IOException("Snapshot grid too large: " + width + "x" + height);
+            }
+
+            int cells = width * height;
+
+            long tick = data.readLong();
+            double score = data.readDouble();
+            boolean halved = data.readBoolean();
+            int unbreakableLimit = VarInt.read(data);
+            int breakableLimit = VarInt.read(data);
+
+            int goal = readCell(data, cells);
+
+            boolean hasSpawner = data.readBoolean();
+            int spawnLimit = hasSpawner ? VarInt.read(data) : 0;
+            int spawnCount = hasSpawner ? VarInt.read(data) : 0;
+            int cooldown = hasSpawner ? VarInt.read(data) : 0;
+
+            int nameCount = VarInt.read(data);
+            List<String> names = new ArrayList<>();
+
+            for (int i = 0; i < nameCount; i++) {
+                names.add(data.readUTF());
+            }
+
+            int blockadeCount = VarInt.read(data);
+            List<BlockadeState> blockades = new ArrayList<>();
+
+            for (int i = 0; i < blockadeCount; i++) {
+
+                BlockadeState state = new BlockadeState();
+                state.id = VarInt.read(data);
+                state.name = readIndex(data, names.size(), "name");
+                state.cell = readCell(data, cells);
+
+                int flags = data.readUnsignedByte();
+                state.sortable = (flags & SORTABLE) != 0;
+
+                if (state.cell == 0) {
+                    throw new IOException("Blockade " + state.id + " is not on the grid");
+                }
+
+                if ((flags & HAS_ARRAY) != 0) {
+
+                    int length = VarInt.read(data);
+                    state.array = new int[Math.min(length, ARRAY_CHUNK)];
+
+                    for (int j = 0; j < length; j++) {
+
+                        if (j == state.array.length) {
+                            state.array = Arrays.copyOf(state.array, (int) Math.min(length, 2L * j));
+                        }
+
+                        state.array[j] = VarInt.read(data);
+                    }
+                }
+
+                if ((flags & HAS_PROGRESS) != 0) {
+
+                    state.progressSort = readIndex(data.readUnsignedByte(), Unit.Sort.values().length, "sort");
+                    state.stepsDone = VarInt.readLong(data);
+                    state.swapWorkLeft = VarInt.read(data);
+                }
+
+                blockades.add(state);
+            }
+
+            int unitCount = VarInt.read(data);
+            List<UnitState> units = new ArrayList<>();
+
+            if (unitCount > 0 && goal == 0) {
+                throw new IOException("Snapshot has units but no base");
+            }
+
+            for (int i = 0; i < unitCount; i++) {
+
+                UnitState state = new UnitState();
+                state.id = VarInt.read(data);
+                state.name = readIndex(data, names.size(), "name");
+                state.search = readIndex(data.readUnsignedByte(), Unit.Search.values().length, "search");
+                state.sort = readIndex(data.readUnsignedByte(), Unit.Sort.values().length, "sort");
+                state.cell = readCell(data, cells);
+                state.previous = readCell(data, cells);
+                state.moveTicks = VarInt.read(data);
+                state.completedMove = data.readBoolean();
+                state.sorting = readIndex(data, blockades.size() + 1, "blockade");
+
+                if (state.cell == 0) {
+                    throw new IOException("Unit " + state.id + " is not on the grid");
+                }
+
+                if (state.sorting != 0 && !blockades.get(state.sorting - 1).sortable) {
+                    throw new IOException("Unit " + state.id + " is sorting an unsortable blockade");
+                }
+
+                int routeLength = VarInt.read(data);
+
+                if (routeLength > cells) {
+                    throw new IOException("Route of unit " + state.id + " is longer than the grid");
+                }
+
+                state.route = new int[routeLength];
+
+                for (int j = 0; j < state.route.length; j++) {
+
+                    state.route[j] = readCell(data, cells);
+
+                    if (state.route[j] == 0) {
+                        throw new IOException("Route of unit " + state.id + " leaves the grid");
+                    }
+                }
+
+                units.add(state);
+            }
+
+            long expected = checked.getChecksum().getValue();
+            long stored = new DataInputStream(buffered).readInt() & 0xFFFFFFFFL;
+
+            if (expected != stored) {
+                throw new IOException("Snapshot checksum mismatch");
+            }
+
+            return new GameSnapshot(width, height, tick, score, halved, unbreakableLimit, breakableLimit, goal,
+                    hasSpawner, spawnLimit, spawnCount, cooldown, names, blockades, units);
+
+        } catch (EOFException e) {
+            throw new IOException("Snapshot ends early", e);
+        }
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the number of ticks the game had run for
+     *
+     * @return the tick count
+     */
+    public long getTick() {
+
+        return this.tick;
+    }
+
+    /**
+     * Gets the number of units in the game
+     *
+     * @return the unit count
+     */
+    public int getUnitCount() {
+
+        return this.units.size();
+    }
+
+    /**
+     * Gets the number of blockades in the game
+     *
+     * @return the blockade count
+     */
+    public int getBlockadeCount() {
+
+        return this.blockades.size();
+    }
+
+    /**
+     * Gets the number a node is stored as
+     *
+     * @param node the node, may be null
+     * @return y * width + x + 1, or 0 for null
+     */
+    private static int cell(GraphNode node) {
+
+        return node == null ? 0 : node.getY() * Graph.WIDTH + node.getX() + 1;
+    }
+
+    /**
+     * Gets the node a stored number stands for
+     *
+     * @param graph the graph of the game
+     * @param cell  the stored number
+     * @return the node, or null for 0
+     */
+    private static GraphNode node(Graph graph, int cell) {
+
+        return cell == 0 ? null : graph.nodeAt((cell - 1) % Graph.WIDTH, (cell - 1) / Graph.WIDTH);
+    }
+
+    /**
+     * Gets the place of a name in the name table, adding it if it is not there yet
+     *
+     * @param name    the name
+     * @param names   the name table
+     * @param nameIds the place of each name in the table
+     * @return the place of the name
+     */
+    private static int nameId(String name, List<String> names, Map<String, Integer> nameIds) {
+
+        String key = name == null ? "" : name;
+        Integer id = nameIds.get(key);
+
+        if (id == null) {
+
+            id = names.size();
+            names.add(key);
+            nameIds.put(key, id);
+        }
+
+        return id;
+    }
+
+    /**
+     * Copies a list of integers
+     *
+     * @param list the list
+     * @return the values in an array
+     */
+    private static int[] toArray(List<Integer> list) {
+
+        int[] array = new int[list.size()];
+
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+
+        return array;
+    }
+
+    /**
+     * Copies an array of integers
+     *
+     * @param array the array
+     * @return the values in a list
+     */
+    private static ArrayList<Integer> toList(int[] array) {
+
+        ArrayList<Integer> list = new ArrayList<>(array.length);
+
+        for (int value : array) {
+            list.add(value);
+        }
+
+        return list;
+    }
+
+    /**
+     * Reads a stored node number
+     *
+     * @param data  the stream
+     * @param cells the number of cells of the grid
+     * @return the stored number, 0 to cells
+     * @throws IOException if it cannot be read or is off the grid
+     */
+    private static int readCell(DataInputStream data, int cells) throws IOException {
+
+        return readIndex(data, cells + 1, "cell");
+    }
+
+    /**
+     * Reads a varint that must be below a limit
+     *
+     * @param data  the stream
+     * @param limit the first value not allowed
+     * @param what  what the value is, for the error message
+     * @return the value
+     * @throws IOException if it cannot be read or is too large
+     */
+    private static int readIndex(DataInputStream data, int limit, String what) throws IOException {
+
+        return readIndex(VarInt.read(data), limit, what);
+    }
+
+    /**
+     * Checks a value read is below a limit
+     *
+     * @param value the value
+     * @param limit the first value not allowed
+     * @param what  what the value is, for the error message
+     * @return the value
+     * @throws IOException if it is too large
+     */
+    private static int readIndex(int value, int limit, String what) throws IOException {
+
+        if (value >= limit) {
+            throw new IOException("Bad " + what + " " + value + " in snapshot");
+        }
+
+        return value;
+    }
+
+    /**
+     * A blockade as it is stored
+     */
+    private static final class BlockadeState {
+
+        private int id;
+        private int name;
+        private int cell;
+        private boolean sortable;
+        private int[] array;
+        // the sort of the progress, -1 if no unit has started sorting it
+        private int progressSort = -1;
+        private long stepsDone;
+        private int swapWorkLeft;
+    }
+
+    /**
+     * A unit as it is stored
+     */
+    private static final class UnitState {
+
+        private int id;
+        private int name;
+        private int search;
+        private int sort;
+        private int cell;
+        private int previous;
+        private int moveTicks;
+        private boolean completedMove;
+        private int sorting;
+        private int[] route;
+    }
+}
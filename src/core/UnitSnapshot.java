@@ -0,0 +1,157 @@
+package core;
+
+import entity.Unit;
+import graph.GraphNode;
+
+import java.util.List;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          An immutable picture of where every unit is after an engine tick: the cell it is moving from,
+ *          the cell it is moving to and how far along that move it is. The engine publishes one per tick
+ *          and the renderer reads the latest one on each frame, so neither waits for the other.
+ * @date : 19/10/2026
+ */
+public final class UnitSnapshot {
+
+    // Values stored per unit in the cells array
+    private static final int STRIDE = 4;
+
+    private final long tick;
+    private final long time;
+    private final Unit[] units;
+    // fromX, fromY, toX, toY of each unit one after the other
+    private final int[] cells;
+    private final float[] progress;
+
+    /**
+     * Takes a snapshot of the given units
+     *
+     * @param units the units to record
+     * @param tick  the engine tick the snapshot was taken on
+     * @param time  the System.nanoTime() the snapshot was taken at
+     */
+    UnitSnapshot(List<Unit> units, long tick, long time) {
+
+        int size = units.size();
+
+        this.tick = tick;
+        this.time = time;
+        this.units = new Unit[size];
+        this.cells = new int[size * STRIDE];
+        this.progress = new float[size];
+
+        for (int i = 0; i < size; i++) {
+
+            Unit unit = units.get(i);
+            GraphNode to = unit.getPosition();
+            GraphNode from = unit.getPreviousPosition() == null ? to : unit.getPreviousPosition();
+
+            this.units[i] = unit;
+            this.cells[i * STRIDE] = from.getX();
+            this.cells[i * STRIDE + 1] = from.getY();
+            this.cells[i * STRIDE + 2] = to.getX();
+            this.cells[i * STRIDE + 3] = to.getY();
+            this.progress[i] = (float) unit.getMoveProgress();
+        }
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the engine tick this snapshot was taken on
+     *
+     * @return the tick number
+     */
+    public long getTick() {
+
+        return this.tick;
+    }
+
+    /**
+     * Gets the time this snapshot was taken at
+     *
+     * @return the System.nanoTime() of the snapshot
+     */
+    public long getTime() {
+
+        return this.time;
+    }
+
+    /**
+     * Gets the number of units in this snapshot
+     *
+     * @return the amount of units
+     */
+    public int size() {
+
+        return this.units.length;
+    }
+
+    /**
+     * Gets a unit in this snapshot
+     *
+     * @param i the index of the unit
+     * @return the unit
+     */
+    public Unit getUnit(int i) {
+
+        return this.units[i];
+    }
+
+    /**
+     * Gets the x coordinate of the cell a unit is moving from
+     *
+     * @param i the index of the unit
+     * @return the x coordinate
+     */
+    public int getFromX(int i) {
+
+        return this.cells[i * STRIDE];
+    }
+
+    /**
+     * Gets the y coordinate of the cell a unit is moving from
+     *
+     * @param i the index of the unit
+     * @return the y coordinate
+     */
+    public int getFromY(int i) {
+
+        return this.cells[i * STRIDE + 1];
+    }
+
+    /**
+     * Gets the x coordinate of the cell a unit is moving to
+     *
+     * @param i the index of the unit
+     * @return the x coordinate
+     */
+    public int getToX(int i) {
+
+        return this.cells[i * STRIDE + 2];
+    }
+
+    /**
+     * Gets the y coordinate of the cell a unit is moving to
+     *
+     * @param i the index of the unit
+     * @return the y coordinate
+     */
+    public int getToY(int i) {
+
+        return this.cells[i * STRIDE + 3];
+    }
+
+    /**
+     * Gets how far a unit is along its move
+     *
+     * @param i the index of the unit
+     * @return the progress, from 0 (at the from cell) to 1 (at the to cell)
+     */
+    public float getProgress(int i) {
+
+        return this.progress[i];
+    }
+}
@@ -5,7 +5,6 @@ import graph.Graph;
 import graph.GraphNode;
 import gui.Renderer;
 import javafx.application.Platform;
-import javafx.scene.image.Image;
 import sceneElements.ElementsHandler;
 import sceneElements.SpriteImage;
 import stores.ImageStore;
@@ -23,6 +22,11 @@ import java.util.Random;
  */
 public class UnitSpawner {
 
+    // Units spawned in a game
+    public static final int SPAWN_LIMIT = 3;
+    // Ticks between two units in a game
+    public static final int SPAWN_INTERVAL = 300;
+
     //A pool of units instantiated at start-time, prevents lagging from Garbage Collection
     private ArrayList<Unit> unitPool;
     private int unitPoolCount;
@@ -33,6 +37,8 @@ public class UnitSpawner {
     private GraphNode goal;
     private int spawnlimit;
     private Random rndSearchGen;
+    private final int interval;
+    private final int waveSize;
 
     // Properties
     private String[] names;
@@ -41,7 +47,6 @@ public class UnitSpawner {
     // Dependencies.
     private CoreEngine engine = CoreEngine.Instance();
     private Graph graph = engine.getGraph();
-    private Renderer renderer = Renderer.Instance();
 
     // Instance for singleton.
     private static UnitSpawner instance = null;
@@ -65,13 +70,31 @@ public class UnitSpawner {
     }
 
     /**
-     * Creates enemy unit for a game.
+     * Creates the spawner of a game, one unit every SPAWN_INTERVAL ticks
+     *
+     * @param spawnlimit the number of units to spawn
+     * @param goal       the goal of the units
+     */
+    public UnitSpawner(int spawnlimit, GraphNode goal) {
+
+        this(spawnlimit, goal, SPAWN_INTERVAL, 1);
+    }
+
+    /**
+     * Creates enemy unit for a game, sent in waves.
      * Instantiates here the list of names and description for units.
      * Calls the CreateUnit method for a certain amount specified by programmer.
+     *
+     * @param spawnlimit the number of units to spawn
+     * @param goal       the goal of the units
+     * @param interval   the ticks between two waves
+     * @param waveSize   the units in a wave
      */
-    public UnitSpawner(int spawnlimit, GraphNode goal) {
+    public UnitSpawner(int spawnlimit, GraphNode goal, int interval, int waveSize) {
 
         instance = this;
+        this.interval = interval;
+        this.waveSize = waveSize;
 
         // The names of our units that will be spawned on the map
         this.names = new String[]{
@@ -80,7 +103,8 @@ public class UnitSpawner {
                 "Death knight"
         };
 
-        this.rndSearchGen = new Random(System.currentTimeMillis());
+        // seeded with the game, so a replay spawns the same units
+        this.rndSearchGen = GameRandom.spawner();
         this.unitPool = new ArrayList<>();
         this.goal = goal;
         this.spawnlimit = spawnlimit;
@@ -91,6 +115,78 @@ public class UnitSpawner {
         }
     }
 
+    // GETTER methods
+
+    /**
+     * Gets the number of units spawned so far
+     *
+     * @return the spawn count
+     */
+    public int getSpawnCount() {
+
+        return this.spawnCount;
+    }
+
+    /**
+     * Gets the number of units that will be spawned in the game
+     *
+     * @return the spawn limit
+     */
+    public int getSpawnLimit() {
+
+        return this.spawnlimit;
+    }
+
+    /**
+     * Gets the ticks left before the next unit can be spawned
+     *
+     * @return the cooldown
+     */
+    public int getCooldown() {
+
+        return this.cooldown;
+    }
+
+    /**
+     * Gets the image of the units using a search
+     * BFS - demon, A_STAR - death knight, DFS - banshee
+     *
+     * @param search the search of the unit
+     * @return the sprite to draw it with
+     */
+    public static ImageStore.Sprite spriteOf(Unit.Search search) {
+
+        if (search == Unit.Search.BFS) {
+            return ImageStore.Sprite.DEMON;
+        } else if (search == Unit.Search.A_STAR) {
+            return ImageStore.Sprite.DEATH_KNIGHT;
+        } else {
+            return ImageStore.Sprite.BANSHEE;
+        }
+    }
+
+    // SETTER methods
+
+    /**
+     * Carries on spawning from where a saved game left off. The pooled units were made for the old goal,
+     * so they are dropped and new ones are created as they are needed.
+     *
+     * @param spawnCount the number of units already spawned
+     * @param spawnLimit the number of units to spawn in the game
+     * @param cooldown   the ticks left before the next unit
+     * @param goal       the goal of the units
+     * @param nextId     the id to give the next unit created
+     */
+    void resume(int spawnCount, int spawnLimit, int cooldown, GraphNode goal, int nextId) {
+
+        this.spawnCount = spawnCount;
+        this.spawnlimit = spawnLimit;
+        this.cooldown = cooldown;
+        this.goal = goal;
+        this.unitPool.clear();
+        this.unitPoolCount = nextId;
+    }
+
     /**
      * Creates a SpriteImage and set up its appropriate listeners for Mouse Click.
      * Create a new Unit with the appropriate search and sort algorithm indicator 'attached'.
@@ -105,19 +201,10 @@ public class UnitSpawner {
 
         // doing random for now, could return sequence of numbers representing units wanted
         int index = rndSearchGen.nextInt(3);
-        Image image;
-
-        // Setting the images appropriately for different searches
-        // BFS - demon, A_STAR - death knight, DFS - banshee
-        if (Unit.Search.values()[index] == Unit.Search.BFS) {
-            image = ImageStore.imageDemon;
-        } else if (Unit.Search.values()[index] == Unit.Search.A_STAR) {
-            image = ImageStore.imageDk;
-        } else {
-            image = ImageStore.imageBanshee;
-        }
-
-        SpriteImage sprite = new SpriteImage(image, null);
+        // the sort is picked on its own, any unit can carry any sort
+        Unit.Sort sort = Unit.Sort.values()[rndSearchGen.nextInt(Unit.Sort.values().length)];
+        // a headless engine never draws its units
+        SpriteImage sprite = engine.isHeadless() ? null : ImageStore.createSprite(spriteOf(Unit.Search.values()[index]), null);
 
         Unit unit = new Unit(
                 unitPoolCount,
@@ -125,16 +212,19 @@ public class UnitSpawner {
                 graph.nodeWith(new GraphNode(0, 0)),
                 sprite,
                 Unit.Search.values()[index],
-                Unit.Sort.values()[index],
+                sort,
                 graph,
                 goal
         );
 
-        sprite.setEntity(unit);
+        if (sprite != null) {
+
+            sprite.setEntity(unit);
 
-        // focus sprite and displays text when clicked on it
-        if (ElementsHandler.options.getShowPath()) {
-            sprite.setOnMouseClicked(LambdaStore.Instance().getUnitClickEvent());
+            // focus sprite and displays text when clicked on it
+            if (ElementsHandler.options.getShowPath()) {
+                sprite.setOnMouseClicked(LambdaStore.Instance().getUnitClickEvent());
+            }
         }
 
         // adds the units into an array list
@@ -155,17 +245,21 @@ public class UnitSpawner {
         if (unitPool.size() > 0) {
             newUnit = unitPool.remove(0);
         } else {
+
             newUnit = create(this.graph, this.goal);
+            unitPoolCount++;
         }
 
         spawnCount++;
         engine.getUnits().add(newUnit);
 
-        Platform.runLater(() -> renderer.drawInitialEntity(newUnit));
+        if (!engine.isHeadless()) {
+            Platform.runLater(() -> Renderer.Instance().drawInitialEntity(newUnit));
+        }
     }
 
     /**
-     * Updates the spawner itself, If the number of Units in game is less than the set limit, spawn a new one
+     * Updates the spawner itself, If the number of Units in game is less than the set limit, spawn a new wave
      */
     public void update() {
 
@@ -174,8 +268,11 @@ public class UnitSpawner {
 
         } else if (spawnCount < spawnlimit) {
 
-            this.cooldown = 300;
-            spawnUnit();
+            this.cooldown = interval;
+
+            for (int i = 0; i < waveSize && spawnCount < spawnlimit; i++) {
+                spawnUnit();
+            }
         }
     }
 }
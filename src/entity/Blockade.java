@@ -70,39 +70,19 @@ public class Blockade extends Entity {
 
         GraphNode node = calcGraphNode(e);
 
-        return create(blockadeInstance, node);
+        return create(blockadeInstance, node, calcId());
     }
 
     /**
-     * Calculates the graph node representation of a mouse click
+     * Calculates the graph node representation of a mouse click,
+     * the click is mapped through the renderer's camera so panning and zooming are respected
      *
      * @param e the mouse event to be used
      * @return the GraphNode created
      */
     public static GraphNode calcGraphNode(MouseEvent e) {
 
-        Renderer renderer = Renderer.Instance();
-
-        double xSpacing = renderer.getXSpacing();
-        double ySpacing = renderer.getYSpacing();
-        double x = e.getX();
-        double y = e.getY();
-        double logicalX = Math.floor(x / xSpacing);
-        double logicalY = Math.floor(y / ySpacing);
-
-        if (logicalX >= 0 && logicalX < Graph.WIDTH &&
-                logicalY >= 0 && logicalY <= Graph.HEIGHT) {
-
-            return CoreEngine.Instance().getGraph().nodeWith(
-
-                    new GraphNode(
-                            (int) logicalX,
-                            (int) logicalY
-                    )
-            );
-        }
-
-        return null;
+        return Renderer.Instance().nodeAt(e.getX(), e.getY(), CoreEngine.Instance().getGraph());
     }
 
     /**
@@ -113,9 +93,22 @@ public class Blockade extends Entity {
      */
     public static Blockade randomBlockade(Blockade blockadeInstance) {
 
+        return randomBlockade(blockadeInstance, calcId());
+    }
+
+    /**
+     * Method for creating blockade in random GraphNode with a known id, used when many blockades
+     * are placed at once so the existing ones are not searched for every new one
+     *
+     * @param blockadeInstance instance of the blockade to be created
+     * @param id               the id to give the blockade
+     * @return the blockade created
+     */
+    public static Blockade randomBlockade(Blockade blockadeInstance, int id) {
+
         GraphNode node = CoreEngine.Instance().getGraph().nodeWith(blockadeInstance.getPosition());
 
-        return create(blockadeInstance, node);
+        return create(blockadeInstance, node, id);
     }
 
     /**
@@ -123,7 +116,7 @@ public class Blockade extends Entity {
      *
      * @return the id to use for the new blockade
      */
-    protected static int calcId() {
+    public static int calcId() {
 
         ArrayList<Blockade> blockades = CoreEngine.Instance().getBlockades();
         int max = 0;
@@ -143,14 +136,15 @@ public class Blockade extends Entity {
      *
      * @param blockadeInstance blockade properties to use
      * @param node             GraphNode to create the blockade at
+     * @param id               the id to give the blockade
      * @return the blockade created
      */
-    private static Blockade create(Blockade blockadeInstance, GraphNode node) {
+    private static Blockade create(Blockade blockadeInstance, GraphNode node, int id) {
 
         if (node != null && !node.equals(new GraphNode(0, 0))) {
 
             Blockade blockade = new Blockade(
-                    calcId(),
+                    id,
                     blockadeInstance.getName(),
                     node,
                     blockadeInstance.getSprite()
@@ -182,7 +176,7 @@ public class Blockade extends Entity {
 
         GraphNode node = calcMapGraphNode(e, renderer, graph);
 
-        return create(blockadeInstance, node);
+        return create(blockadeInstance, node, calcId());
     }
 
     /**
@@ -195,25 +189,6 @@ public class Blockade extends Entity {
      */
     private static GraphNode calcMapGraphNode(MouseEvent e, Renderer renderer, Graph graph) {
 
-        double xSpacing = renderer.getXSpacing();
-        double ySpacing = renderer.getYSpacing();
-        double x = e.getX();
-        double y = e.getY();
-        double logicalX = Math.floor(x / xSpacing);
-        double logicalY = Math.floor(y / ySpacing);
-
-        if (logicalX >= 0 && logicalX < Graph.WIDTH &&
-                logicalY >= 0 && logicalY <= Graph.HEIGHT) {
-
-            return graph.nodeWith(
-
-                    new GraphNode(
-                            (int) logicalX,
-                            (int) logicalY
-                    )
-            );
-        }
-
-        return null;
+        return renderer.nodeAt(e.getX(), e.getY(), graph);
     }
 }
@@ -121,7 +121,8 @@ public abstract class Entity extends Observable {
 
         if (!position.equals(entity.position)) return false;
 
-        return sprite.equals(entity.sprite);
+        // entities of a headless engine have no sprite
+        return sprite != null ? sprite.equals(entity.sprite) : entity.sprite == null;
     }
 
     @Override
@@ -130,7 +131,7 @@ public abstract class Entity extends Observable {
         int result = id;
         result = 31 * result + (name != null ? name.hashCode() : 0);
         result = 31 * result + position.hashCode();
-        result = 31 * result + sprite.hashCode();
+        result = 31 * result + (sprite != null ? sprite.hashCode() : 0);
 
         return result;
     }
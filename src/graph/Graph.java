@@ -19,6 +19,8 @@ public class Graph {
 
     // List of nodes making up the logical graph
     private List<GraphNode> nodes;
+    // Nodes on the grid by y * WIDTH + x, so they are found without searching the list
+    private GraphNode[] grid;
 
     /**
      * Builds a new graph
@@ -26,6 +28,7 @@ public class Graph {
     public Graph() {
 
         this.nodes = new ArrayList<>();
+        this.grid = new GraphNode[WIDTH * HEIGHT];
     }
 
     /**
@@ -36,6 +39,19 @@ public class Graph {
      */
     public GraphNode nodeWith(GraphNode node) {
 
+        if (onGrid(node.getX(), node.getY())) {
+
+            int i = node.getY() * WIDTH + node.getX();
+
+            if (grid[i] == null) {
+
+                grid[i] = node;
+                this.nodes.add(node);
+            }
+
+            return grid[i];
+        }
+
         for (GraphNode aNode : nodes) {
             if (aNode.equals(node)) {
                 return aNode;
@@ -46,6 +62,30 @@ public class Graph {
         return node;
     }
 
+    /**
+     * Gets the node at a cell of the grid without adding one
+     *
+     * @param x the column
+     * @param y the row
+     * @return the node, or null if there is none at that cell
+     */
+    public GraphNode nodeAt(int x, int y) {
+
+        return onGrid(x, y) ? grid[y * WIDTH + x] : null;
+    }
+
+    /**
+     * Checks if a cell is on the grid
+     *
+     * @param x the column
+     * @param y the row
+     * @return true if the cell is inside WIDTH and HEIGHT
+     */
+    private boolean onGrid(int x, int y) {
+
+        return x >= 0 && y >= 0 && x < WIDTH && y < HEIGHT;
+    }
+
     /**
      * Gets a list of nodes in the graph
      *
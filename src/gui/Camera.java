@@ -0,0 +1,236 @@
+package gui;
+
+import javafx.scene.Node;
+import javafx.scene.shape.Rectangle;
+import javafx.scene.transform.Scale;
+import javafx.scene.transform.Translate;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          A pan and zoom camera for the renderer. The renderer keeps drawing everything in world
+ *          coordinates (grid cell * spacing), the camera transforms that world onto the viewport
+ *          and clips anything outside of it. It also converts screen coordinates (mouse clicks)
+ *          back into world coordinates.
+ * @date : 19/10/2026
+ */
+public class Camera {
+
+    // Zoom limits
+    public static final double MIN_ZOOM = 1.0;
+    public static final double MAX_ZOOM = 4.0;
+
+    // Transforms applied to the node being viewed
+    private final Scale scale = new Scale(1.0, 1.0, 0, 0);
+    private final Translate translate = new Translate(0, 0);
+    private final Rectangle clip = new Rectangle();
+
+    private double zoom = 1.0;
+    // World position of the top left corner of the viewport
+    private double offsetX = 0;
+    private double offsetY = 0;
+
+    // Size of the viewport on screen and of the world in pixels
+    private double viewWidth;
+    private double viewHeight;
+    private double worldWidth;
+    private double worldHeight;
+
+    /**
+     * Attaches the camera to a node, the node will be drawn through this camera from now on
+     *
+     * @param node the node to view
+     */
+    public void attach(Node node) {
+
+        node.getTransforms().addAll(scale, translate);
+        node.setClip(clip);
+        apply();
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the current zoom level
+     *
+     * @return the zoom level, 1.0 being the default
+     */
+    public double getZoom() {
+
+        return this.zoom;
+    }
+
+    /**
+     * Gets the world x coordinate of the left edge of the viewport
+     *
+     * @return the x offset in world pixels
+     */
+    public double getOffsetX() {
+
+        return this.offsetX;
+    }
+
+    /**
+     * Gets the world y coordinate of the top edge of the viewport
+     *
+     * @return the y offset in world pixels
+     */
+    public double getOffsetY() {
+
+        return this.offsetY;
+    }
+
+    /**
+     * Gets the width of the visible part of the world
+     *
+     * @return width in world pixels
+     */
+    public double getVisibleWidth() {
+
+        return this.viewWidth / this.zoom;
+    }
+
+    /**
+     * Gets the height of the visible part of the world
+     *
+     * @return height in world pixels
+     */
+    public double getVisibleHeight() {
+
+        return this.viewHeight / this.zoom;
+    }
+
+    // SETTER methods
+
+    /**
+     * Sets the size of the viewport and of the world that is viewed through it
+     *
+     * @param viewWidth   viewport width in screen pixels
+     * @param viewHeight  viewport height in screen pixels
+     * @param worldWidth  world width in world pixels
+     * @param worldHeight world height in world pixels
+     */
+    public void setBounds(double viewWidth, double viewHeight, double worldWidth, double worldHeight) {
+
+        this.viewWidth = viewWidth;
+        this.viewHeight = viewHeight;
+        this.worldWidth = worldWidth;
+        this.worldHeight = worldHeight;
+
+        clamp();
+        apply();
+    }
+
+    /**
+     * Moves the camera by the given amount of screen pixels
+     *
+     * @param dx pixels to move in the x direction
+     * @param dy pixels to move in the y direction
+     */
+    public void pan(double dx, double dy) {
+
+        this.offsetX += dx / zoom;
+        this.offsetY += dy / zoom;
+
+        clamp();
+        apply();
+    }
+
+    /**
+     * Zooms by the given factor, keeping the world point under the given screen position in place
+     *
+     * @param factor  the amount to multiply the zoom by
+     * @param screenX x screen position to zoom around
+     * @param screenY y screen position to zoom around
+     */
+    public void zoomAt(double factor, double screenX, double screenY) {
+
+        double worldX = toWorldX(screenX);
+        double worldY = toWorldY(screenY);
+
+        this.zoom = Math.max(MIN_ZOOM, Math.min(MAX_ZOOM, zoom * factor));
+        this.offsetX = worldX - screenX / zoom;
+        this.offsetY = worldY - screenY / zoom;
+
+        clamp();
+        apply();
+    }
+
+    /**
+     * Checks if a screen position is inside the viewport
+     *
+     * @param screenX x screen position
+     * @param screenY y screen position
+     * @return true if the position is on the viewport
+     */
+    public boolean containsScreen(double screenX, double screenY) {
+
+        return screenX >= 0 && screenX < viewWidth && screenY >= 0 && screenY < viewHeight;
+    }
+
+    /**
+     * Converts a screen x coordinate into a world x coordinate
+     *
+     * @param screenX the screen coordinate
+     * @return the world coordinate
+     */
+    public double toWorldX(double screenX) {
+
+        return screenX / zoom + offsetX;
+    }
+
+    /**
+     * Converts a screen y coordinate into a world y coordinate
+     *
+     * @param screenY the screen coordinate
+     * @return the world coordinate
+     */
+    public double toWorldY(double screenY) {
+
+        return screenY / zoom + offsetY;
+    }
+
+    /**
+     * Checks if a rectangle in world coordinates is at least partly in the viewport
+     *
+     * @param x      left edge of the rectangle
+     * @param y      top edge of the rectangle
+     * @param width  width of the rectangle
+     * @param height height of the rectangle
+     * @return true if the rectangle can be seen
+     */
+    public boolean intersects(double x, double y, double width, double height) {
+
+        return x + width >= offsetX && x <= offsetX + getVisibleWidth() &&
+                y + height >= offsetY && y <= offsetY + getVisibleHeight();
+    }
+
+    /**
+     * Keeps the viewport inside the world
+     */
+    private void clamp() {
+
+        double maxX = Math.max(0, worldWidth - getVisibleWidth());
+        double maxY = Math.max(0, worldHeight - getVisibleHeight());
+
+        this.offsetX = Math.max(0, Math.min(maxX, offsetX));
+        this.offsetY = Math.max(0, Math.min(maxY, offsetY));
+    }
+
+    /**
+     * Pushes the current state into the transforms and the clip
+     */
+    private void apply() {
+
+        scale.setX(zoom);
+        scale.setY(zoom);
+        translate.setX(-offsetX);
+        translate.setY(-offsetY);
+
+        // the clip lives in the viewed node's coordinates, so it is the visible world rectangle
+        clip.setX(offsetX);
+        clip.setY(offsetY);
+        clip.setWidth(getVisibleWidth());
+        clip.setHeight(getVisibleHeight());
+    }
+}
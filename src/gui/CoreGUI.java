@@ -4,6 +4,7 @@ import core.CoreEngine;
 import javafx.application.Application;
 import javafx.stage.Stage;
 import menus.MenuHandler;
+import stores.ResourceManager;
 
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -37,6 +38,9 @@ public class CoreGUI extends Application {
     @Override
     public void start(Stage primaryStage) {
 
+        // everything the game needs is loaded in the background while the main menu is up
+        ResourceManager.Instance().preload();
+
         new MenuHandler(primaryStage);
         MenuHandler.switchScene(MenuHandler.MAIN_MENU);
 
@@ -49,6 +53,7 @@ public class CoreGUI extends Application {
             }
 
             LOG.log(Level.INFO, "Exiting...");
+            ResourceManager.delete();
             System.exit(0);
         });
         primaryStage.setResizable(false);
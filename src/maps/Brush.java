@@ -0,0 +1,190 @@
+package maps;
+
+import graph.GraphNode;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          The tools of the map editor. A brush picks the cells a drag from one cell to another covers,
+ *          and painting turns them into one edit of packed changes for EditHistory, however many cells it is.
+ * @date : 19/10/2026
+ */
+public enum Brush {
+
+    // The cell under the mouse, dragging paints each cell passed over
+    PENCIL {
+        @Override
+        int[] cells(MapGrid map, int x0, int y0, int x1, int y1) {
+
+            return new int[]{y1 * map.getWidth() + x1};
+        }
+    },
+
+    // A straight line from where the drag started to where it ended
+    LINE {
+        @Override
+        int[] cells(MapGrid map, int x0, int y0, int x1, int y1) {
+
+            int dx = Math.abs(x1 - x0);
+            int dy = -Math.abs(y1 - y0);
+            int sx = x0 < x1 ? 1 : -1;
+            int sy = y0 < y1 ? 1 : -1;
+            int error = dx + dy;
+            int[] cells = new int[Math.max(dx, -dy) + 1];
+            int count = 0;
+
+            // Bresenham's line, one cell per step along the longer axis
+            while (true) {
+
+                cells[count++] = y0 * map.getWidth() + x0;
+
+                if (x0 == x1 && y0 == y1) {
+                    break;
+                }
+
+                int doubled = 2 * error;
+
+                if (doubled >= dy) {
+                    error += dy;
+                    x0 += sx;
+                }
+
+                if (doubled <= dx) {
+                    error += dx;
+                    y0 += sy;
+                }
+            }
+
+            return Arrays.copyOf(cells, count);
+        }
+    },
+
+    // Every cell of the rectangle with the start and end of the drag as corners
+    RECTANGLE {
+        @Override
+        int[] cells(MapGrid map, int x0, int y0, int x1, int y1) {
+
+            int left = Math.min(x0, x1);
+            int top = Math.min(y0, y1);
+            int columns = Math.abs(x1 - x0) + 1;
+            int rows = Math.abs(y1 - y0) + 1;
+            int[] cells = new int[columns * rows];
+
+            for (int y = 0; y < rows; y++) {
+                for (int x = 0; x < columns; x++) {
+                    cells[y * columns + x] = (top + y) * map.getWidth() + left + x;
+                }
+            }
+
+            return cells;
+        }
+    },
+
+    // The area of cells of the same type joined to the cell clicked, up, down, left and right
+    FILL {
+        @Override
+        int[] cells(MapGrid map, int x0, int y0, int x1, int y1) {
+
+            int width = map.getWidth();
+            int height = map.getHeight();
+            byte type = map.get(x1, y1);
+            BitSet filled = new BitSet(width * height);
+            int[] queue = new int[16];
+            int tail = 0;
+
+            filled.set(y1 * width + x1);
+            queue[tail++] = y1 * width + x1;
+
+            for (int head = 0; head < tail; head++) {
+
+                int x = queue[head] % width;
+                int y = queue[head] / width;
+
+                for (int direction = 0; direction < 4; direction++) {
+
+                    int nx = x + (direction == 0 ? 1 : direction == 1 ? -1 : 0);
+                    int ny = y + (direction == 2 ? 1 : direction == 3 ? -1 : 0);
+                    int next = ny * width + nx;
+
+                    if (nx >= 0 && ny >= 0 && nx < width && ny < height && !filled.get(next) && map.get(nx, ny) == type) {
+
+                        if (tail == queue.length) {
+                            queue = Arrays.copyOf(queue, tail * 2);
+                        }
+
+                        filled.set(next);
+                        queue[tail++] = next;
+                    }
+                }
+            }
+
+            return Arrays.copyOf(queue, tail);
+        }
+    };
+
+    /**
+     * Gets the cells a drag covers, both ends must be on the map
+     *
+     * @param map the map being edited
+     * @param x0  the column the drag started on
+     * @param y0  the row the drag started on
+     * @param x1  the column the drag ended on
+     * @param y1  the row the drag ended on
+     * @return the indexes of the cells, y * width + x
+     */
+    abstract int[] cells(MapGrid map, int x0, int y0, int x1, int y1);
+
+    /**
+     * Works out the edit of painting a type over the cells a drag covers. Cells that already have the type
+     * are left out, as are the spawn points, which the game always keeps clear.
+     *
+     * @param map  the map being edited, it is not changed
+     * @param x0   the column the drag started on
+     * @param y0   the row the drag started on
+     * @param x1   the column the drag ended on
+     * @param y1   the row the drag ended on
+     * @param type the cell type to paint
+     * @return the packed changes, see EditHistory
+     */
+    public int[] paint(MapGrid map, int x0, int y0, int x1, int y1, byte type) {
+
+        int[] cells = cells(map, x0, y0, x1, y1);
+        int[] edit = new int[cells.length];
+        int count = 0;
+        int width = map.getWidth();
+
+        for (int cell : cells) {
+
+            byte before = map.get(cell % width, cell / width);
+
+            if (before != type && (type == MapData.EMPTY || !isSpawn(map, cell % width, cell / width))) {
+                edit[count++] = EditHistory.change(cell, before, type);
+            }
+        }
+
+        return Arrays.copyOf(edit, count);
+    }
+
+    /**
+     * Checks if a cell is a spawn point of a map
+     *
+     * @param map the map
+     * @param x   the column
+     * @param y   the row
+     * @return true if units spawn on it
+     */
+    private static boolean isSpawn(MapGrid map, int x, int y) {
+
+        for (GraphNode spawn : map.getSpawns()) {
+
+            if (spawn.getX() == x && spawn.getY() == y) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+}
@@ -0,0 +1,130 @@
+package maps;
+
+import graph.GraphNode;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.List;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Works out the stats of a map in one pass over its cells, taking the cells units can reach
+ *          from the flood fill of Reachability rather than graph nodes so maps of any size can be analysed.
+ * @date : 19/10/2026
+ */
+public final class MapAnalyser {
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    private MapAnalyser() {
+
+        // To prevent instantiation.
+    }
+
+    /**
+     * Analyses a map
+     *
+     * @param map the map
+     * @return its stats
+     */
+    public static MapStats analyse(MapGrid map) {
+
+        int width = map.getWidth();
+        int height = map.getHeight();
+        int blockades = 0;
+        int sortableBlockades = 0;
+
+        MessageDigest digest = sha256();
+        ByteBuffer header = ByteBuffer.allocate(8);
+        header.putInt(width).putInt(height);
+        digest.update(header.array());
+
+        byte[] row = new byte[width];
+
+        for (int y = 0; y < height; y++) {
+
+            for (int x = 0; x < width; x++) {
+
+                row[x] = map.get(x, y);
+
+                if (row[x] == MapData.BLOCKADE) {
+                    blockades++;
+                } else if (row[x] == MapData.SORTABLE_BLOCKADE) {
+                    sortableBlockades++;
+                }
+            }
+
+            digest.update(row);
+        }
+
+        update(digest, map.getSpawns());
+        update(digest, map.getBaseCandidates());
+
+        int reachableBySorting = new Reachability(map).countReachable();
+        // with nothing to sort both floods would reach the same cells
+        int reachable = sortableBlockades == 0 ? reachableBySorting : new Reachability(map, false).countReachable();
+
+        return new MapStats(
+                width,
+                height,
+                blockades,
+                sortableBlockades,
+                reachable,
+                reachableBySorting,
+                hex(digest.digest())
+        );
+    }
+
+    /**
+     * Adds a list of cells to a hash
+     *
+     * @param digest the hash
+     * @param nodes  the cells
+     */
+    private static void update(MessageDigest digest, List<GraphNode> nodes) {
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 + nodes.size() * 8);
+        buffer.putInt(nodes.size());
+
+        for (GraphNode node : nodes) {
+            buffer.putInt(node.getX()).putInt(node.getY());
+        }
+
+        digest.update(buffer.array());
+    }
+
+    /**
+     * Gets a SHA-256 digest, every Java platform has one
+     *
+     * @return the digest
+     */
+    private static MessageDigest sha256() {
+
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Writes bytes in hex
+     *
+     * @param bytes the bytes
+     * @return the hex string
+     */
+    private static String hex(byte[] bytes) {
+
+        char[] chars = new char[bytes.length * 2];
+
+        for (int i = 0; i < bytes.length; i++) {
+
+            chars[i * 2] = HEX[(bytes[i] >> 4) & 0xF];
+            chars[i * 2 + 1] = HEX[bytes[i] & 0xF];
+        }
+
+        return new String(chars);
+    }
+}
@@ -0,0 +1,327 @@
+package maps;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          An index of the saved maps, kept in a file so the stats of thousands of maps can be listed, filtered
+ *          and sorted without opening any of them. Each entry records the size and last modified time of its
+ *          map file, so only maps that have changed are analysed again when the catalog is refreshed.
+ *          The catalog is a tab separated text file, one map per line.
+ * @date : 19/10/2026
+ */
+public final class MapCatalog {
+
+    private static final Logger LOG = Logger.getLogger(MapCatalog.class.getName());
+
+    private static final String HEADER = "# BlockAge map catalog 1";
+    private static final String EXTENSION = ".map";
+    private static final int FIELDS = 10;
+
+    private final File mapDirectory;
+    private final File catalogFile;
+    // Entries by map file name, in name order
+    private final Map<String, Entry> entries;
+
+    // Instance for singleton.
+    private static MapCatalog instance = null;
+
+    /**
+     * Implements Singleton for this class (Only one can exist).
+     *
+     * @return the catalog of the maps saved by the map editor
+     */
+    public static synchronized MapCatalog Instance() {
+
+        if (instance == null) {
+
+            String dir = System.getProperty("user.home") + File.separator + "bestRTS" + File.separator;
+            instance = new MapCatalog(new File(dir + "data"), new File(dir + "catalog.tsv"));
+        }
+
+        return instance;
+    }
+
+    /**
+     * Delete the existing instance of this class
+     */
+    public static synchronized void delete() {
+
+        instance = null;
+    }
+
+    /**
+     * Opens a catalog, reading the entries already in its file
+     *
+     * @param mapDirectory the directory of the maps it indexes
+     * @param catalogFile  the file it is kept in, does not need to exist yet
+     */
+    public MapCatalog(File mapDirectory, File catalogFile) {
+
+        this.mapDirectory = mapDirectory;
+        this.catalogFile = catalogFile;
+        this.entries = new TreeMap<>();
+
+        if (catalogFile.exists()) {
+            load();
+        }
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets every entry, the catalog is not refreshed first
+     *
+     * @return a copy of the entries, in name order
+     */
+    public synchronized List<Entry> getEntries() {
+
+        return new ArrayList<>(entries.values());
+    }
+
+    /**
+     * Gets the entry of a map
+     *
+     * @param name the map file name, such as "castle.map"
+     * @return the entry, or null if the map is not in the catalog
+     */
+    public synchronized Entry find(String name) {
+
+        return entries.get(name);
+    }
+
+    /**
+     * Brings the catalog up to date with the map directory: new and changed maps are analysed,
+     * deleted maps are dropped and the file is written if anything changed
+     *
+     * @return true if anything changed
+     */
+    public synchronized boolean refresh() {
+
+        File[] files = mapDirectory.listFiles();
+        Set<String> found = new HashSet<>();
+        boolean changed = false;
+
+        if (files != null) {
+
+            for (File file : files) {
+
+                if (!file.isFile() || !file.getName().endsWith(EXTENSION)) {
+                    continue;
+                }
+
+                found.add(file.getName());
+                Entry entry = entries.get(file.getName());
+
+                if (entry == null || entry.modified != file.lastModified() || entry.length != file.length()) {
+                    changed |= index(file);
+                }
+            }
+        }
+
+        changed |= entries.keySet().retainAll(found);
+
+        if (changed) {
+            save();
+        }
+
+        return changed;
+    }
+
+    /**
+     * Analyses one map again and writes the catalog, called once the map has been saved
+     *
+     * @param mapFile the map file
+     * @return the new entry, or null if the map could not be read
+     */
+    public synchronized Entry update(File mapFile) {
+
+        if (!index(mapFile)) {
+            return null;
+        }
+
+        save();
+
+        return entries.get(mapFile.getName());
+    }
+
+    /**
+     * Analyses a map and records it, a map that cannot be read is dropped from the catalog
+     *
+     * @param mapFile the map file
+     * @return true if the map was recorded
+     */
+    private boolean index(File mapFile) {
+
+        long modified = mapFile.lastModified();
+        long length = mapFile.length();
+
+        try {
+
+            MapStats stats = MapAnalyser.analyse(MapFormat.load(mapFile));
+            entries.put(mapFile.getName(), new Entry(mapFile.getName(), modified, length, stats));
+
+            return true;
+
+        } catch (IOException e) {
+
+            LOG.log(Level.WARNING, "Could not index map " + mapFile + ": " + e.getMessage());
+            entries.remove(mapFile.getName());
+
+            return false;
+        }
+    }
+
+    /**
+     * Reads the entries in the catalog file, lines that cannot be read are skipped
+     */
+    private void load() {
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(catalogFile), StandardCharsets.UTF_8))) {
+
+            String line = reader.readLine();
+
+            if (!HEADER.equals(line)) {
+
+                LOG.log(Level.WARNING, "Unknown map catalog format, it will be rebuilt");
+                return;
+            }
+
+            while ((line = reader.readLine()) != null) {
+
+                String[] fields = line.split("\t");
+
+                if (fields.length != FIELDS) {
+                    LOG.log(Level.WARNING, "Skipping map catalog line: " + line);
+                    continue;
+                }
+
+                try {
+
+                    MapStats stats = new MapStats(
+                            Integer.parseInt(fields[3]),
+                            Integer.parseInt(fields[4]),
+                            Integer.parseInt(fields[5]),
+                            Integer.parseInt(fields[6]),
+                            Integer.parseInt(fields[7]),
+                            Integer.parseInt(fields[8]),
+                            fields[9]
+                    );
+
+                    entries.put(fields[0], new Entry(fields[0], Long.parseLong(fields[1]), Long.parseLong(fields[2]), stats));
+
+                } catch (NumberFormatException e) {
+                    LOG.log(Level.WARNING, "Skipping map catalog line: " + line);
+                }
+            }
+
+        } catch (IOException e) {
+            LOG.log(Level.SEVERE, e.toString(), e);
+        }
+    }
+
+    /**
+     * Writes every entry to the catalog file, replacing it in one step
+     */
+    private void save() {
+
+        File dir = catalogFile.getAbsoluteFile().getParentFile();
+
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+
+            LOG.log(Level.SEVERE, "Could not create " + dir);
+            return;
+        }
+
+        try {
+
+            AtomicFile.write(catalogFile, out -> {
+
+                Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+                writer.write(HEADER);
+                writer.write('\n');
+
+                for (Entry entry : entries.values()) {
+
+                    MapStats stats = entry.stats;
+                    writer.write(entry.name + '\t' + entry.modified + '\t' + entry.length + '\t' +
+                            stats.getWidth() + '\t' + stats.getHeight() + '\t' +
+                            stats.getBlockades() + '\t' + stats.getSortableBlockades() + '\t' +
+                            stats.getReachable() + '\t' + stats.getReachableBySorting() + '\t' +
+                            stats.getHash() + '\n');
+                }
+
+                writer.flush();
+            });
+
+        } catch (IOException e) {
+            LOG.log(Level.SEVERE, e.toString(), e);
+        }
+    }
+
+    /**
+     * A map in the catalog: its file, the version of the file that was analysed and its stats
+     */
+    public static final class Entry {
+
+        private final String name;
+        private final long modified;
+        private final long length;
+        private final MapStats stats;
+
+        private Entry(String name, long modified, long length, MapStats stats) {
+
+            this.name = name;
+            this.modified = modified;
+            this.length = length;
+            this.stats = stats;
+        }
+
+        /**
+         * Gets the file name of the map
+         *
+         * @return the name, such as "castle.map"
+         */
+        public String getName() {
+
+            return this.name;
+        }
+
+        /**
+         * Gets the last modified time of the map file when it was analysed
+         *
+         * @return the time in milliseconds
+         */
+        public long getModified() {
+
+            return this.modified;
+        }
+
+        /**
+         * Gets the stats of the map
+         *
+         * @return the stats
+         */
+        public MapStats getStats() {
+
+            return this.stats;
+        }
+    }
+}
@@ -1,11 +1,12 @@
 package maps;
 
+import javafx.application.Platform;
+import javafx.geometry.Bounds;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.control.ScrollPane;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.VBox;
@@ -15,16 +16,20 @@ import menus.MenuHandler;
 import menus.Options;
 import sceneElements.ButtonProperties;
 import sceneElements.ElementsHandler;
+import stores.ResourceManager;
+import stores.ThumbnailCache;
 
 import java.io.File;
 import java.util.ArrayList;
+import java.util.Random;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 
 /**
  * @author : Hung Hoang; Contributors - Paul Popa and Saif Azmi
- * @version : 23/03/2016;
+ * @version : 19/10/2026;
  *          <p>
  *          The class that builds and handles the interface and inputs for the map editor
  * @date : 28/01/16
@@ -39,11 +44,21 @@ public class MapChooserInterface {
     private final String IMAGE_DIRECTORY;
 
     private static String chosenMap;
+    // Seed of the generated map chosen instead of a saved one, null if none
+    private static Long generatedSeed;
     private static Stage mapChooseStage;
     private Scene mapChooseScene;
     private HBox images;
+    private ScrollPane scroller;
     private ArrayList<VBox> mapImages;
     private ArrayList<String> mapNames;
+    private ArrayList<Label> mapNameLabels;
+    // Image views of the maps and the images whose thumbnails they are still waiting to ask for
+    private ArrayList<ImageView> mapImageViews;
+    private ArrayList<File> pendingThumbnails;
+
+    // Distance outside the visible part of the scroll pane that thumbnails are loaded in
+    private static final double PRELOAD_MARGIN = ResourceManager.THUMBNAIL_HEIGHT;
 
     // Instance for singleton.
     private static MapChooserInterface instance;
@@ -85,16 +100,20 @@ public class MapChooserInterface {
         USER_MAP_DIRECTORY = dir + SEPERATOR + "bestRTS" + SEPERATOR + "data" + SEPERATOR;
         IMAGE_DIRECTORY = dir + SEPERATOR + "bestRTS" + SEPERATOR + "image" + SEPERATOR;
 
+        scroller = new ScrollPane(images);
+        scroller.setVbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
+        scroller.setPrefSize(820, 650);
+
+        // thumbnails are only loaded once the maps scroll into view
+        scroller.hvalueProperty().addListener(e -> loadVisibleThumbnails());
+        scroller.viewportBoundsProperty().addListener(e -> loadVisibleThumbnails());
+
         File userMapDir = new File(USER_MAP_DIRECTORY);
 
         if (userMapDir.exists()) {
             setUpMapImages();
         }
 
-        ScrollPane scroller = new ScrollPane(images);
-        scroller.setVbarPolicy(ScrollPane.ScrollBarPolicy.NEVER);
-        scroller.setPrefSize(820, 650);
-
         mapChooseScene = new Scene(scroller);
         mapChooseStage.setScene(mapChooseScene);
         mapChooseStage.initModality(Modality.APPLICATION_MODAL);
@@ -114,14 +133,28 @@ public class MapChooserInterface {
         return USER_MAP_DIRECTORY + chosenMap;
     }
 
+    /**
+     * Gets the seed of the generated map if the user chose one rather than a saved map
+     *
+     * @return the seed for MapGenerator, or null if a saved or preset map is used
+     */
+    public Long getGeneratedSeed() {
+
+        return generatedSeed;
+    }
+
     /**
      * Creates a new button for each map that is found in the application directory
-     * Each button will have an image, which is a saved .png version of the map
+     * Each button will have an image, which is a thumbnail of the saved .png version of the map,
+     * filled in once the button scrolls into view
      */
     private void getMapImages() {
 
         mapImages = new ArrayList<>();
         mapNames = new ArrayList<>();
+        mapNameLabels = new ArrayList<>();
+        mapImageViews = new ArrayList<>();
+        pendingThumbnails = new ArrayList<>();
 
         ButtonProperties b = new ButtonProperties();
 
@@ -133,20 +166,29 @@ public class MapChooserInterface {
             if (mapFiles != null) {
                 for (File mapFile : mapFiles) {
 
-                    // Gets the images and maps
-                    Image mapImage = new Image(mapFile.toURI().toString());
+                    if (!mapFile.getName().endsWith(".png")) {
+                        continue;
+                    }
+
+                    // Gets the maps, their images are loaded later
                     String mapName = getDataOf(mapFile);
                     mapNames.add(mapName);
 
                     // Create an image view
-                    ImageView mapImageView = new ImageView(mapImage);
+                    ImageView mapImageView = new ImageView();
                     mapImageView.setPreserveRatio(true);
-                    mapImageView.setFitHeight(600);
+                    mapImageView.setFitHeight(ResourceManager.THUMBNAIL_HEIGHT);
+                    mapImageViews.add(mapImageView);
+                    pendingThumbnails.add(mapFile);
 
 
-                    Label mapNameLabel = new Label(mapName);
+                    Label mapNameLabel = new Label(describe(mapName));
+                    mapNameLabels.add(mapNameLabel);
                     VBox container = new VBox();
                     container.setAlignment(Pos.CENTER);
+                    // keeps the space of the thumbnail until it has loaded
+                    container.setMinWidth(ResourceManager.THUMBNAIL_HEIGHT);
+                    container.boundsInParentProperty().addListener(e -> loadVisibleThumbnails());
 
                     // Creates the button for choosing the map
                     Button newMap = new Button();
@@ -180,6 +222,7 @@ public class MapChooserInterface {
     private void setUpMapImages() {
 
         images.getChildren().clear();
+        images.getChildren().add(generatorButton());
 
         getMapImages();
 
@@ -188,6 +231,92 @@ public class MapChooserInterface {
         }
 
         images.setSpacing(50);
+        loadVisibleThumbnails();
+    }
+
+    /**
+     * Creates the button that starts a game on a newly generated map
+     *
+     * @return the container of the button
+     */
+    private VBox generatorButton() {
+
+        Label generateLabel = new Label("Random cave");
+        Button generate = new Button("Generate");
+        generate.setOnAction(e -> chooseGenerated());
+
+        VBox container = new VBox(generateLabel, generate);
+        container.setAlignment(Pos.CENTER);
+
+        return container;
+    }
+
+    /**
+     * Updates the text above every map from the catalog
+     */
+    private void relabel() {
+
+        for (int i = 0; i < mapNameLabels.size(); i++) {
+            mapNameLabels.get(i).setText(describe(mapNames.get(i)));
+        }
+    }
+
+    /**
+     * Gets the text shown above a map: its name and, once it is in the map catalog, its size and blockades
+     *
+     * @param mapName the map file name
+     * @return the label text
+     */
+    private String describe(String mapName) {
+
+        MapCatalog.Entry entry = MapCatalog.Instance().find(mapName);
+        String name = mapName.replace(".map", "");
+
+        if (entry == null) {
+            return name;
+        }
+
+        MapStats stats = entry.getStats();
+
+        return name + " (" + stats.getWidth() + "x" + stats.getHeight() + ", " +
+                (stats.getBlockades() + stats.getSortableBlockades()) + " blockades)";
+    }
+
+    /**
+     * Asks for the thumbnails of the maps in or near the visible part of the scroll pane,
+     * each is shown once it has loaded
+     */
+    private void loadVisibleThumbnails() {
+
+        if (mapImages == null) {
+            return;
+        }
+
+        Bounds viewport = scroller.getViewportBounds();
+        double hiddenWidth = Math.max(0, images.getWidth() - viewport.getWidth());
+        double left = scroller.getHvalue() * hiddenWidth - PRELOAD_MARGIN;
+        double right = left + viewport.getWidth() + 2 * PRELOAD_MARGIN;
+
+        for (int i = 0; i < mapImages.size(); i++) {
+
+            File mapFile = pendingThumbnails.get(i);
+            Bounds bounds = mapImages.get(i).getBoundsInParent();
+
+            // maps not laid out yet are checked again once they are
+            if (mapFile == null || bounds.getWidth() == 0 || bounds.getMaxX() < left || bounds.getMinX() > right) {
+                continue;
+            }
+
+            pendingThumbnails.set(i, null);
+            ImageView mapImageView = mapImageViews.get(i);
+
+            ThumbnailCache.Instance().thumbnail(mapFile).thenAccept(mapImage -> {
+
+                if (mapImage != null) {
+                    Platform.runLater(() -> mapImageView.setImage(mapImage));
+                }
+            });
+        }
     }
 
     /**
@@ -196,6 +325,7 @@ public class MapChooserInterface {
     public void resetChosenMap() {
 
         chosenMap = "null";
+        generatedSeed = null;
     }
 
     /**
@@ -204,6 +334,15 @@ public class MapChooserInterface {
     public void showChooser() {
 
         setUpMapImages();
+
+        // index maps saved since the catalog was last written, then label them
+        CompletableFuture.supplyAsync(MapCatalog.Instance()::refresh).thenAccept(changed -> {
+
+            if (changed) {
+                Platform.runLater(this::relabel);
+            }
+        });
+
         mapChooseStage.showAndWait();
     }
 
@@ -233,6 +372,20 @@ public class MapChooserInterface {
 
         int buttonIndex = mapImages.indexOf(e);
         chosenMap = mapNames.get(buttonIndex);
+        generatedSeed = null;
+        Options.Instance().setTutorial(false);
+        ElementsHandler.startGame();
+        mapChooseStage.hide();
+    }
+
+    /**
+     * Function is called when the 'generate' button is pressed.
+     * A new game will start on a map generated from a new random seed
+     */
+    private void chooseGenerated() {
+
+        generatedSeed = new Random().nextLong();
+        LOG.log(Level.INFO, "Generating map from seed " + generatedSeed);
         Options.Instance().setTutorial(false);
         ElementsHandler.startGame();
         mapChooseStage.hide();
@@ -0,0 +1,159 @@
+package maps;
+
+import graph.GraphNode;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          The contents of a map file: a grid of cells, each empty or holding a type of blockade,
+ *          with the cells units spawn on and the cells the base may be placed on.
+ * @date : 19/10/2026
+ */
+public class MapData implements MapGrid {
+
+    // Cell types, also the codes used in map files
+    public static final byte EMPTY = 0;
+    public static final byte BLOCKADE = 1;
+    public static final byte SORTABLE_BLOCKADE = 2;
+    // Number of cell types this version knows about
+    public static final int CELL_TYPES = 3;
+
+    private final int width;
+    private final int height;
+    // row after row, width * height cells
+    private final byte[] cells;
+    private final List<GraphNode> spawns;
+    private final List<GraphNode> baseCandidates;
+
+    /**
+     * Creates an empty map
+     *
+     * @param width  the number of columns
+     * @param height the number of rows
+     */
+    public MapData(int width, int height) {
+
+        if (width < 0 || height < 0) {
+            throw new IllegalArgumentException("Map size must not be negative: " + width + "x" + height);
+        }
+
+        this.width = width;
+        this.height = height;
+        this.cells = new byte[width * height];
+        this.spawns = new ArrayList<>();
+        this.baseCandidates = new ArrayList<>();
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the number of columns
+     *
+     * @return the width of the map
+     */
+    @Override
+    public int getWidth() {
+
+        return this.width;
+    }
+
+    /**
+     * Gets the number of rows
+     *
+     * @return the height of the map
+     */
+    @Override
+    public int getHeight() {
+
+        return this.height;
+    }
+
+    /**
+     * Gets the type of a cell
+     *
+     * @param x the column
+     * @param y the row
+     * @return the cell type, EMPTY, BLOCKADE or SORTABLE_BLOCKADE
+     */
+    @Override
+    public byte get(int x, int y) {
+
+        return this.cells[y * width + x];
+    }
+
+    /**
+     * Gets the cells units spawn on
+     *
+     * @return the spawn points, can be changed
+     */
+    @Override
+    public List<GraphNode> getSpawns() {
+
+        return this.spawns;
+    }
+
+    /**
+     * Gets the cells the base may be placed on, empty if it can go on any free cell
+     *
+     * @return the base candidates, can be changed
+     */
+    @Override
+    public List<GraphNode> getBaseCandidates() {
+
+        return this.baseCandidates;
+    }
+
+    /**
+     * Gets the cells, row after row. The array is the map's own.
+     *
+     * @return the cell types
+     */
+    byte[] cells() {
+
+        return this.cells;
+    }
+
+    // SETTER methods
+
+    /**
+     * Sets the type of a cell
+     *
+     * @param x    the column
+     * @param y    the row
+     * @param type the cell type
+     */
+    public void set(int x, int y, byte type) {
+
+        this.cells[y * width + x] = type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        MapData that = (MapData) o;
+
+        return width == that.width && height == that.height &&
+                Arrays.equals(cells, that.cells) &&
+                spawns.equals(that.spawns) &&
+                baseCandidates.equals(that.baseCandidates);
+    }
+
+    @Override
+    public int hashCode() {
+
+        int result = width;
+        result = 31 * result + height;
+        result = 31 * result + Arrays.hashCode(cells);
+        result = 31 * result + spawns.hashCode();
+        result = 31 * result + baseCandidates.hashCode();
+
+        return result;
+    }
+}
@@ -5,6 +5,7 @@ import javafx.event.ActionEvent;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
+import javafx.scene.control.ChoiceBox;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
 import javafx.scene.image.Image;
@@ -27,11 +28,8 @@ import menus.Menu;
 import menus.MenuHandler;
 import sceneElements.ButtonProperties;
 import stores.ImageStore;
-
-import java.io.IOException;
-import java.io.InputStream;
-import java.util.logging.Level;
-import java.util.logging.Logger;
+import stores.ImageStore.Picture;
+import stores.ResourceManager;
 
 /**
  * @author : Hung Hoang; Contributors - Paul Popa and Saif Azmi
@@ -42,10 +40,6 @@ import java.util.logging.Logger;
  */
 public class MapEditorInterface {
 
-    private static final Logger LOG = Logger.getLogger(MapEditorInterface.class.getName());
-
-    private final String SEPARATOR = "/";
-
     // For popup Scene
     private static Stage popUpStage;
     private Image yesImage, noImage, yesImageHover, noImageHover;
@@ -68,6 +62,13 @@ public class MapEditorInterface {
 
     // text related things
     private TextArea instructions, fileNameBox, saveStatus;
+
+    // editing tools
+    private static final String[] PAINT_NAMES = {"Erase", "Blockade", "Sortable"};
+    public static Button undoButton, redoButton;
+    private ChoiceBox<Brush> brushBox;
+    private ChoiceBox<String> paintBox;
+    private HBox toolBox;
     private Label instructionLabel, instructionTextLabel, saveStatusLabel, fileNameLabel;
     private Font bellotaFont, bellotaFontSmaller;
 
@@ -162,7 +163,7 @@ public class MapEditorInterface {
         Pane messagePanel = new Pane();
 
         BackgroundImage myBI = new BackgroundImage(
-                ImageStore.yesNoBackground,
+                ImageStore.image(Picture.YES_NO_BACKGROUND),
                 BackgroundRepeat.REPEAT,
                 BackgroundRepeat.NO_REPEAT,
                 BackgroundPosition.DEFAULT,
@@ -236,24 +237,8 @@ public class MapEditorInterface {
      */
     private void loadFont() {
 
-        try (InputStream fontStream = MapEditorInterface.class.getResourceAsStream(
-                SEPARATOR + "resources" + SEPARATOR + "fonts" + SEPARATOR + "basis33.ttf")) {
-
-            bellotaFont = Font.loadFont(fontStream, 28);
-        } catch (IOException e) {
-            LOG.log(Level.SEVERE, "No font found");
-            LOG.log(Level.SEVERE, e.toString(), e);
-        }
-
-        try (InputStream fontStream = MapEditorInterface.class.getResourceAsStream(
-                SEPARATOR + "resources" + SEPARATOR + "fonts" + SEPARATOR + "basis33.ttf")) {
-
-            bellotaFontSmaller = Font.loadFont(fontStream, 18);
-        } catch (IOException e) {
-            LOG.log(Level.SEVERE, "No font found");
-            LOG.log(Level.SEVERE, e.toString(), e);
-        }
-
+        bellotaFont = ResourceManager.Instance().font(28).join();
+        bellotaFontSmaller = ResourceManager.Instance().font(18).join();
     }
 
     /**
@@ -269,16 +254,16 @@ public class MapEditorInterface {
         rightMenuBox = new Pane();
 
         // Images
-        saveButtonImage = ImageStore.saveMapImage;
-        saveButtonImageHover = ImageStore.saveMapImageHovered;
-        backButtonImage = ImageStore.backFromEditor;
-        backButtonImageHover = ImageStore.backFromEditorHovered;
-        clearButtonImage = ImageStore.clear;
-        clearButtonImageHover = ImageStore.clearHovered;
-        yesImage = ImageStore.overwriteYes;
-        noImage = ImageStore.overwriteNo;
-        yesImageHover = ImageStore.overwriteYesHovered;
-        noImageHover = ImageStore.overwriteNoHovered;
+        saveButtonImage = ImageStore.image(Picture.SAVE_MAP);
+        saveButtonImageHover = ImageStore.image(Picture.SAVE_MAP_HOVERED);
+        backButtonImage = ImageStore.image(Picture.BACK_FROM_EDITOR);
+        backButtonImageHover = ImageStore.image(Picture.BACK_FROM_EDITOR_HOVERED);
+        clearButtonImage = ImageStore.image(Picture.CLEAR);
+        clearButtonImageHover = ImageStore.image(Picture.CLEAR_HOVERED);
+        yesImage = ImageStore.image(Picture.OVERWRITE_YES);
+        noImage = ImageStore.image(Picture.OVERWRITE_NO);
+        yesImageHover = ImageStore.image(Picture.OVERWRITE_YES_HOVERED);
+        noImageHover = ImageStore.image(Picture.OVERWRITE_NO_HOVERED);
 
         //Buttons
         saveButton = new Button();
@@ -286,6 +271,13 @@ public class MapEditorInterface {
         clearButton = new Button();
         yes = new Button();
         no = new Button();
+        undoButton = new Button("Undo");
+        redoButton = new Button("Redo");
+
+        // Tools
+        brushBox = new ChoiceBox<>();
+        paintBox = new ChoiceBox<>();
+        toolBox = new HBox(6);
 
         //Text areas
         instructions = new TextArea();
@@ -364,7 +356,7 @@ public class MapEditorInterface {
         );
 
         BackgroundImage myBI = new BackgroundImage(
-                ImageStore.paneBackground,
+                ImageStore.image(Picture.PANE_BACKGROUND),
                 BackgroundRepeat.REPEAT,
                 BackgroundRepeat.NO_REPEAT,
                 BackgroundPosition.DEFAULT,
@@ -377,7 +369,8 @@ public class MapEditorInterface {
 
         instructionTextLabel.setFont(bellotaFont);
         instructionTextLabel.setText(
-                "Click on rectangle node to create blockades. " +
+                "Pick a brush and what it paints, then click or drag over the nodes. " +
+                        "Ctrl+Z undoes and Ctrl+Y redoes an edit. " +
                         "Enter the map's name and press save to save your current configuration or back to cancel."
         );
 
@@ -419,6 +412,24 @@ public class MapEditorInterface {
         saveStatus.setLayoutX(rightPaneWidth / 2 - 300 / 2);
         saveStatus.setLayoutY(initialPositionY + 8 * heightSpacing + 230);
 
+        // brush, paint type and undo/redo set up, all in one row above the clear button
+        brushBox.getItems().addAll(Brush.values());
+        brushBox.setValue(mapEditor.getBrush());
+        brushBox.setOnAction(e -> mapEditor.setBrush(brushBox.getValue()));
+
+        paintBox.getItems().addAll(PAINT_NAMES);
+        paintBox.setValue(PAINT_NAMES[MapData.BLOCKADE]);
+        paintBox.setOnAction(e -> mapEditor.setPaintType((byte) paintBox.getItems().indexOf(paintBox.getValue())));
+
+        undoButton.setOnAction(MapEditorInterface::handle);
+        redoButton.setOnAction(MapEditorInterface::handle);
+
+        toolBox.getChildren().addAll(brushBox, paintBox, undoButton, redoButton);
+        toolBox.setAlignment(Pos.CENTER);
+        toolBox.setPrefWidth(300);
+        toolBox.setLayoutX(rightPaneWidth / 2 - 300 / 2);
+        toolBox.setLayoutY(initialPositionY + 8 * heightSpacing + 290);
+
         // add all buttons, labels and text area to the right pane
         rightMenuBox.getChildren().addAll(
                 saveButton,
@@ -428,7 +439,8 @@ public class MapEditorInterface {
                 fileNameLabel,
                 fileNameBox,
                 saveStatusLabel,
-                saveStatus
+                saveStatus,
+                toolBox
         );
 
         rightMenuPane.getChildren().add(rightMenuBox);
@@ -453,10 +465,18 @@ public class MapEditorInterface {
             mapEditor.clearNodes();
         }
 
+        if (event.getSource() == MapEditorInterface.undoButton) {
+            mapEditor.undo();
+        }
+
+        if (event.getSource() == MapEditorInterface.redoButton) {
+            mapEditor.redo();
+        }
+
         if (event.getSource() == MapEditorInterface.backButton) {
 
             MenuHandler.switchScene(MenuHandler.MAIN_MENU);
-            mapEditor.clearNodes();
+            mapEditor.reset();
         }
 
         if (event.getSource() == MapEditorInterface.no) {
@@ -0,0 +1,512 @@
+package maps;
+
+import graph.GraphNode;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.StreamCorruptedException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Reads and writes map files. Version 2 is binary:
+ *          <pre>
+ *          magic       "BAMP"
+ *          version     1 byte, 2
+ *          width       varint
+ *          height      varint
+ *          cell types  varint, the number of cell type codes the file may use
+ *          spawns      varint count, then x and y varints for each
+ *          bases       varint count, then x and y varints for each
+ *          encoding    1 byte, RUN_LENGTH or PACKED, whichever is smaller for this map
+ *          cells       row after row, either runs of (varint length, 1 byte type)
+ *                      or 2 bits per cell, the first cell in the lowest bits of each byte
+ *          checksum    4 bytes, CRC32 of everything before it
+ *          </pre>
+ *          Version 1 (legacy) is a text grid of space separated 0s and 1s, one row per line. Both are read,
+ *          only version 2 is written. Invalid files throw MapFormatException.
+ * @date : 19/10/2026
+ */
+public final class MapFormat {
+
+    public static final int VERSION = 2;
+
+    static final byte[] MAGIC = "BAMP".getBytes(StandardCharsets.US_ASCII);
+
+    // Ways the cells can be stored
+    static final int RUN_LENGTH = 0;
+    static final int PACKED = 1;
+    static final int BITS_PER_CELL = 2;
+    static final int CELLS_PER_BYTE = 8 / BITS_PER_CELL;
+    // Bytes in the checksum at the end of the file
+    static final int CHECKSUM_SIZE = 4;
+
+    // Bytes read from a map file at a time
+    private static final int BUFFER_SIZE = 8192;
+
+    private MapFormat() {
+
+        // To prevent instantiation.
+    }
+
+    /**
+     * Reads a map in either version, told apart by the magic at the start
+     *
+     * @param in the map file, not closed
+     * @return the map
+     * @throws IOException if the file cannot be read or is not a valid map
+     */
+    public static MapData read(InputStream in) throws IOException {
+
+        BufferedInputStream buffered = new BufferedInputStream(in);
+        buffered.mark(MAGIC.length);
+
+        byte[] start = new byte[MAGIC.length];
+        int read = 0;
+
+        while (read < start.length) {
+
+            int n = buffered.read(start, read, start.length - read);
+
+            if (n < 0) {
+                break;
+            }
+
+            read += n;
+        }
+
+        buffered.reset();
+
+        if (read == MAGIC.length && Arrays.equals(start, MAGIC)) {
+            return readBinary(buffered);
+        }
+
+        return readLegacy(buffered);
+    }
+
+    /**
+     * Loads a map file in either version, checking all of it
+     *
+     * @param file the map file
+     * @return the map
+     * @throws IOException if the file cannot be read or is not a valid map
+     */
+    public static MapGrid load(File file) throws IOException {
+
+        return load(file, true);
+    }
+
+    /**
+     * Loads a map file in either version. Version 2 files are memory mapped rather than read onto the heap,
+     * so unless they are verified their cells are only paged in when they are looked at.
+     *
+     * @param file   the map file
+     * @param verify whether to check the checksum and cell types of a version 2 file, which reads all of it
+     * @return the map
+     * @throws IOException if the file cannot be read or is not a valid map
+     */
+    public static MapGrid load(File file, boolean verify) throws IOException {
+
+        byte[] start = new byte[MAGIC.length];
+        boolean binary;
+
+        try (DataInputStream in = new DataInputStream(new FileInputStream(file))) {
+
+            in.readFully(start);
+            binary = Arrays.equals(start, MAGIC);
+        } catch (EOFException e) {
+            binary = false;
+        }
+
+        if (binary) {
+            return MappedMap.open(file, verify);
+        }
+
+        try (InputStream in = new FileInputStream(file)) {
+            return readLegacy(in);
+        }
+    }
+
+    /**
+     * Reads a version 2 map. The whole file is read and its checksum checked before anything it says is
+     * trusted, so a damaged header cannot make it allocate a map of any size.
+     *
+     * @param in the map file, positioned at the magic
+     * @return the map
+     * @throws IOException if the file cannot be read, is cut short or fails its checksum
+     */
+    private static MapData readBinary(InputStream in) throws IOException {
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int n;
+
+        while ((n = in.read(buffer)) > 0) {
+            bytes.write(buffer, 0, n);
+        }
+
+        byte[] file = bytes.toByteArray();
+
+        if (file.length < MAGIC.length + CHECKSUM_SIZE) {
+            throw new MapFormatException("Map file ends early");
+        }
+
+        int end = file.length - CHECKSUM_SIZE;
+        CRC32 crc = new CRC32();
+        crc.update(file, 0, end);
+
+        if (crc.getValue() != (ByteBuffer.wrap(file).getInt(end) & 0xFFFFFFFFL)) {
+            throw new MapFormatException("Map checksum mismatch");
+        }
+
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(file, MAGIC.length, end - MAGIC.length));
+
+        try {
+
+            int version = data.readUnsignedByte();
+
+            if (version != VERSION) {
+                throw new MapFormatException("Unsupported map version " + version);
+            }
+
+            int width = VarInt.read(data);
+            int height = VarInt.read(data);
+            int types = VarInt.read(data);
+
+            if ((long) width * height > Integer.MAX_VALUE) {
+                throw new MapFormatException("Map too large: " + width + "x" + height);
+            }
+
+            MapData map = new MapData(width, height);
+
+            readNodes(data, map.getSpawns(), width, height);
+            readNodes(data, map.getBaseCandidates(), width, height);
+
+            int encoding = data.readUnsignedByte();
+
+            if (encoding == RUN_LENGTH) {
+                readRuns(data, map.cells(), types);
+            } else if (encoding == PACKED) {
+                readPacked(data, map.cells(), types);
+            } else {
+                throw new MapFormatException("Unknown cell encoding " + encoding);
+            }
+
+            return map;
+
+        } catch (EOFException e) {
+            MapFormatException ended = new MapFormatException("Map file ends early");
+            ended.initCause(e);
+            throw ended;
+        } catch (StreamCorruptedException e) {
+            MapFormatException malformed = new MapFormatException(e.getMessage() + " in map");
+            malformed.initCause(e);
+            throw malformed;
+        }
+    }
+
+    /**
+     * Reads a version 1 map, a text grid of space separated 0s and 1s.
+     * The file is scanned once in blocks of bytes, straight into the cell array.
+     *
+     * @param in the map file
+     * @return the map, with units spawning at 0,0 and the base allowed anywhere
+     * @throws MapFormatException if it holds anything other than 0, 1 and whitespace or its rows differ in length
+     * @throws IOException        if the file cannot be read
+     */
+    static MapData readLegacy(InputStream in) throws IOException {
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        byte[] cells = new byte[BUFFER_SIZE];
+        int count = 0;
+        int width = -1;
+        int height = 0;
+        int rowWidth = 0;
+        int line = 1;
+        int column = 0;
+        int n;
+
+        while ((n = in.read(buffer)) > 0) {
+
+            for (int i = 0; i < n; i++) {
+
+                byte c = buffer[i];
+                column++;
+
+                if (c == '0' || c == '1') {
+
+                    if (width >= 0 && rowWidth == width) {
+                        throw new MapFormatException("Row has more than " + width + " cells", line, column);
+                    }
+
+                    if (count == cells.length) {
+                        cells = Arrays.copyOf(cells, cells.length * 2);
+                    }
+
+                    cells[count++] = c == '1' ? MapData.BLOCKADE : MapData.EMPTY;
+                    rowWidth++;
+
+                } else if (c == '\n') {
+
+                    if (rowWidth > 0) {
+
+                        width = endRow(width, rowWidth, line, column);
+                        height++;
+                    }
+
+                    rowWidth = 0;
+                    line++;
+                    column = 0;
+
+                } else if (c != ' ' && c != '\r' && c != '\t') {
+                    throw new MapFormatException("Unexpected character '" + (char) c + "'", line, column);
+                }
+            }
+        }
+
+        if (rowWidth > 0) {
+
+            width = endRow(width, rowWidth, line, column + 1);
+            height++;
+        }
+
+        if (height == 0) {
+            throw new MapFormatException("Map is empty");
+        }
+
+        MapData map = new MapData(width, height);
+        System.arraycopy(cells, 0, map.cells(), 0, count);
+        map.getSpawns().add(new GraphNode(0, 0));
+
+        return map;
+    }
+
+    /**
+     * Checks a finished row is as wide as the ones before it
+     *
+     * @param width    the width of the rows so far, -1 for the first row
+     * @param rowWidth the width of this row
+     * @param line     the line of the row
+     * @param column   the column the row ends at
+     * @return the width of the map
+     * @throws MapFormatException if the row is shorter
+     */
+    private static int endRow(int width, int rowWidth, int line, int column) throws MapFormatException {
+
+        if (width >= 0 && rowWidth != width) {
+            throw new MapFormatException("Row has " + rowWidth + " cells, expected " + width, line, column);
+        }
+
+        return rowWidth;
+    }
+
+    /**
+     * Writes a map in version 2
+     *
+     * @param map the map to write
+     * @param out where to write it, flushed but not closed
+     * @throws IOException if the map cannot be written
+     */
+    public static void write(MapData map, OutputStream out) throws IOException {
+
+        BufferedOutputStream buffered = new BufferedOutputStream(out);
+        CheckedOutputStream checked = new CheckedOutputStream(buffered, new CRC32());
+        DataOutputStream data = new DataOutputStream(checked);
+
+        data.write(MAGIC);
+        data.writeByte(VERSION);
+        VarInt.write(data, map.getWidth());
+        VarInt.write(data, map.getHeight());
+        VarInt.write(data, MapData.CELL_TYPES);
+        writeNodes(data, map.getSpawns());
+        writeNodes(data, map.getBaseCandidates());
+
+        ByteArrayOutputStream runs = new ByteArrayOutputStream();
+        writeRuns(new DataOutputStream(runs), map.cells());
+
+        int packedSize = (map.cells().length + CELLS_PER_BYTE - 1) / CELLS_PER_BYTE;
+
+        if (runs.size() <= packedSize) {
+
+            data.writeByte(RUN_LENGTH);
+            runs.writeTo(data);
+        } else {
+
+            data.writeByte(PACKED);
+            writePacked(data, map.cells());
+        }
+
+        data.flush();
+
+        // the checksum itself is written past the checked stream
+        new DataOutputStream(buffered).writeInt((int) checked.getChecksum().getValue());
+        buffered.flush();
+    }
+
+    /**
+     * Reads run length encoded cells
+     *
+     * @param data  the stream
+     * @param cells the cells to fill
+     * @param types the number of cell types the file may use
+     * @throws IOException if a run is too long or holds an unknown type
+     */
+    private static void readRuns(DataInputStream data, byte[] cells, int types) throws IOException {
+
+        int filled = 0;
+
+        while (filled < cells.length) {
+
+            int length = VarInt.read(data);
+            int type = data.readUnsignedByte();
+
+            if (length == 0 || length > cells.length - filled) {
+                throw new MapFormatException("Bad cell run of " + length + " at cell " + filled);
+            }
+
+            checkType(type, types, filled);
+            Arrays.fill(cells, filled, filled + length, (byte) type);
+            filled += length;
+        }
+    }
+
+    /**
+     * Writes cells as runs of the same type
+     *
+     * @param data  the stream
+     * @param cells the cells
+     * @throws IOException if they cannot be written
+     */
+    private static void writeRuns(DataOutputStream data, byte[] cells) throws IOException {
+
+        int i = 0;
+
+        while (i < cells.length) {
+
+            int run = i + 1;
+
+            while (run < cells.length && cells[run] == cells[i]) {
+                run++;
+            }
+
+            VarInt.write(data, run - i);
+            data.writeByte(cells[i]);
+            i = run;
+        }
+    }
+
+    /**
+     * Reads cells packed BITS_PER_CELL to a cell
+     *
+     * @param data  the stream
+     * @param cells the cells to fill
+     * @param types the number of cell types the file may use
+     * @throws IOException if a cell holds an unknown type
+     */
+    private static void readPacked(DataInputStream data, byte[] cells, int types) throws IOException {
+
+        byte[] packed = new byte[(cells.length + CELLS_PER_BYTE - 1) / CELLS_PER_BYTE];
+        data.readFully(packed);
+
+        for (int i = 0; i < cells.length; i++) {
+
+            int type = (packed[i / CELLS_PER_BYTE] >>> ((i % CELLS_PER_BYTE) * BITS_PER_CELL)) & ((1 << BITS_PER_CELL) - 1);
+
+            checkType(type, types, i);
+            cells[i] = (byte) type;
+        }
+    }
+
+    /**
+     * Writes cells packed BITS_PER_CELL to a cell
+     *
+     * @param data  the stream
+     * @param cells the cells
+     * @throws IOException if they cannot be written
+     */
+    private static void writePacked(DataOutputStream data, byte[] cells) throws IOException {
+
+        byte[] packed = new byte[(cells.length + CELLS_PER_BYTE - 1) / CELLS_PER_BYTE];
+
+        for (int i = 0; i < cells.length; i++) {
+            packed[i / CELLS_PER_BYTE] |= cells[i] << ((i % CELLS_PER_BYTE) * BITS_PER_CELL);
+        }
+
+        data.write(packed);
+    }
+
+    /**
+     * Checks a cell type is one this version and the file know about
+     *
+     * @param type  the type read
+     * @param types the number of cell types the file may use
+     * @param cell  the index of the cell, for the error
+     * @throws IOException if the type is unknown
+     */
+    static void checkType(int type, int types, int cell) throws IOException {
+
+        if (type >= types || type >= MapData.CELL_TYPES) {
+            throw new MapFormatException("Unknown cell type " + type + " at cell " + cell);
+        }
+    }
+
+    /**
+     * Reads a list of cells
+     *
+     * @param data   the stream
+     * @param nodes  the list to add them to
+     * @param width  the width of the map, cells must be on it
+     * @param height the height of the map
+     * @throws IOException if a cell is off the map
+     */
+    private static void readNodes(DataInputStream data, List<GraphNode> nodes, int width, int height) throws IOException {
+
+        int count = VarInt.read(data);
+
+        for (int i = 0; i < count; i++) {
+
+            int x = VarInt.read(data);
+            int y = VarInt.read(data);
+
+            if (x >= width || y >= height) {
+                throw new MapFormatException("Cell " + x + "," + y + " is off the map");
+            }
+
+            nodes.add(new GraphNode(x, y));
+        }
+    }
+
+    /**
+     * Writes a list of cells
+     *
+     * @param data  the stream
+     * @param nodes the cells
+     * @throws IOException if they cannot be written
+     */
+    private static void writeNodes(DataOutputStream data, List<GraphNode> nodes) throws IOException {
+
+        VarInt.write(data, nodes.size());
+
+        for (GraphNode node : nodes) {
+
+            VarInt.write(data, node.getX());
+            VarInt.write(data, node.getY());
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package maps;
+
+import graph.GraphNode;
+
+import java.util.SplittableRandom;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Generates cave-like maps of any size with a cellular automaton. The same seed and size always give
+ *          the same map. Every empty cell can be reached from the spawn point at 0,0: caves cut off from the
+ *          rest are joined to it by tunnels, and pockets too small to be worth a tunnel are filled in.
+ *          Each step is a pass over the grid, so a 1024x1024 map takes a few tens of milliseconds.
+ * @date : 19/10/2026
+ */
+public final class MapGenerator {
+
+    // Percentage of cells that start as walls, to within 1/128
+    private static final int DENSITY = 42;
+    // Smoothing passes of the automaton
+    private static final int SMOOTHING = 4;
+    // Walls in a 3x3 square (including the cell) needed for the cell to become a wall
+    private static final int WALL_THRESHOLD = 5;
+    // Caves smaller than this are filled in rather than joined to the rest
+    private static final int MIN_CAVE = 4;
+    // Percentage of walls beside a cave that become sortable blockades
+    private static final int SORTABLE_CHANCE = 8;
+
+    private static final byte OPEN = 0;
+    private static final byte WALL = 1;
+
+    private final long seed;
+
+    /**
+     * Creates a generator
+     *
+     * @param seed the seed all its maps are made from
+     */
+    public MapGenerator(long seed) {
+
+        this.seed = seed;
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the seed of this generator
+     *
+     * @return the seed
+     */
+    public long getSeed() {
+
+        return this.seed;
+    }
+
+    /**
+     * Generates a map
+     *
+     * @param width  the number of columns, at least 1
+     * @param height the number of rows, at least 1
+     * @return the map, with units spawning at 0,0
+     */
+    public MapData generate(int width, int height) {
+
+        if (width < 1 || height < 1) {
+            throw new IllegalArgumentException("Map size must be positive: " + width + "x" + height);
+        }
+
+        SplittableRandom random = new SplittableRandom(seed ^ ((long) width << 32 | height));
+        byte[] walls = new byte[width * height];
+
+        // seven random bits per cell, nine cells from each random long
+        int threshold = DENSITY * 128 / 100;
+        long bits = 0;
+
+        for (int i = 0; i < walls.length; i++) {
+
+            if (i % 9 == 0) {
+                bits = random.nextLong();
+            }
+
+            walls[i] = (bits & 0x7F) < threshold ? WALL : OPEN;
+            bits >>>= 7;
+        }
+
+        byte[] next = new byte[walls.length];
+
+        for (int pass = 0; pass < SMOOTHING; pass++) {
+
+            smooth(walls, next, width, height);
+
+            byte[] swap = walls;
+            walls = next;
+            next = swap;
+        }
+
+        // the spawn point and the cells around it are always open
+        for (int y = 0; y < Math.min(2, height); y++) {
+            for (int x = 0; x < Math.min(2, width); x++) {
+                walls[y * width + x] = OPEN;
+            }
+        }
+
+        connect(walls, width);
+
+        MapData map = new MapData(width, height);
+        byte[] cells = map.cells();
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+
+                int i = y * width + x;
+
+                if (walls[i] == WALL) {
+                    cells[i] = besideOpen(walls, width, height, x, y) && random.nextInt(100) < SORTABLE_CHANCE ?
+                            MapData.SORTABLE_BLOCKADE : MapData.BLOCKADE;
+                }
+            }
+        }
+
+        map.getSpawns().add(new GraphNode(0, 0));
+
+        return map;
+    }
+
+    /**
+     * Runs one pass of the automaton, cells off the map count as walls
+     *
+     * @param walls  the current cells
+     * @param next   the cells after the pass
+     * @param width  the number of columns
+     * @param height the number of rows
+     */
+    private static void smooth(byte[] walls, byte[] next, int width, int height) {
+
+        for (int y = 0; y < height; y++) {
+
+            int row = y * width;
+
+            if (y == 0 || y == height - 1 || width < 3) {
+
+                for (int x = 0; x < width; x++) {
+                    next[row + x] = edge(walls, width, height, x, y);
+                }
+
+                continue;
+            }
+
+            next[row] = edge(walls, width, height, 0, y);
+
+            // inside cells have all eight neighbours, so need no bounds checks
+            for (int i = row + 1; i < row + width - 1; i++) {
+
+                int count = walls[i - width - 1] + walls[i - width] + walls[i - width + 1] +
+                        walls[i - 1] + walls[i] + walls[i + 1] +
+                        walls[i + width - 1] + walls[i + width] + walls[i + width + 1];
+
+                next[i] = count >= WALL_THRESHOLD ? WALL : OPEN;
+            }
+
+            next[row + width - 1] = edge(walls, width, height, width - 1, y);
+        }
+    }
+
+    /**
+     * Runs the automaton on a cell at the edge of the map
+     *
+     * @param walls  the current cells
+     * @param width  the number of columns
+     * @param height the number of rows
+     * @param x      the column
+     * @param y      the row
+     * @return the cell after the pass
+     */
+    private static byte edge(byte[] walls, int width, int height, int x, int y) {
+
+        int count = 0;
+
+        for (int dy = -1; dy <= 1; dy++) {
+            for (int dx = -1; dx <= 1; dx++) {
+
+                int nx = x + dx;
+                int ny = y + dy;
+
+                count += nx < 0 || ny < 0 || nx >= width || ny >= height ? WALL : walls[ny * width + nx];
+            }
+        }
+
+        return count >= WALL_THRESHOLD ? WALL : OPEN;
+    }
+
+    /**
+     * Makes every open cell reachable from the spawn point. Caves are found in scan order, each large
+     * cave is joined by a tunnel to the cave found before it, so all of them end up joined to the first
+     * cave, the one holding the spawn point. Small caves are filled in.
+     *
+     * @param walls the cells
+     * @param width the number of columns
+     */
+    private static void connect(byte[] walls, int width) {
+
+        // cave number of every open cell, 0 until it is found
+        int[] caves = new int[walls.length];
+        int[] queue = new int[walls.length];
+        int cave = 0;
+        int previous = -1;
+
+        for (int start = 0; start < walls.length; start++) {
+
+            if (walls[start] != OPEN || caves[start] != 0) {
+                continue;
+            }
+
+            cave++;
+            caves[start] = cave;
+            queue[0] = start;
+            int tail = 1;
+
+            for (int head = 0; head < tail; head++) {
+
+                int i = queue[head];
+                int x = i % width;
+
+                if (x > 0 && walls[i - 1] == OPEN && caves[i - 1] == 0) {
+                    caves[i - 1] = cave;
+                    queue[tail++] = i - 1;
+                }
+
+                if (x < width - 1 && walls[i + 1] == OPEN && caves[i + 1] == 0) {
+                    caves[i + 1] = cave;
+                    queue[tail++] = i + 1;
+                }
+
+                if (i >= width && walls[i - width] == OPEN && caves[i - width] == 0) {
+                    caves[i - width] = cave;
+                    queue[tail++] = i - width;
+                }
+
+                if (i + width < walls.length && walls[i + width] == OPEN && caves[i + width] == 0) {
+                    caves[i + width] = cave;
+                    queue[tail++] = i + width;
+                }
+            }
+
+            // the spawn cave is always kept
+            if (tail < MIN_CAVE && previous >= 0) {
+
+                for (int j = 0; j < tail; j++) {
+                    walls[queue[j]] = WALL;
+                }
+
+                continue;
+            }
+
+            if (previous >= 0) {
+                tunnel(walls, caves, cave, width, previous, start);
+            }
+
+            previous = start;
+        }
+    }
+
+    /**
+     * Opens an L shaped tunnel between two cells, along the row of the first then the column of the second.
+     * The tunnel becomes part of the cave it leads to, so it is never mistaken for a small cave later.
+     *
+     * @param walls the cells
+     * @param caves the cave number of every open cell
+     * @param cave  the number of the cave the tunnel leads to
+     * @param width the number of columns
+     * @param from  the index of the first cell
+     * @param to    the index of the second cell
+     */
+    private static void tunnel(byte[] walls, int[] caves, int cave, int width, int from, int to) {
+
+        int y = from / width;
+        int fromX = from % width;
+        int toX = to % width;
+        int toY = to / width;
+
+        for (int x = Math.min(fromX, toX); x <= Math.max(fromX, toX); x++) {
+            open(walls, caves, cave, y * width + x);
+        }
+
+        for (int ty = Math.min(y, toY); ty <= Math.max(y, toY); ty++) {
+            open(walls, caves, cave, ty * width + toX);
+        }
+    }
+
+    /**
+     * Opens a cell of a tunnel
+     *
+     * @param walls the cells
+     * @param caves the cave number of every open cell
+     * @param cave  the number of the cave the tunnel leads to
+     * @param i     the index of the cell
+     */
+    private static void open(byte[] walls, int[] caves, int cave, int i) {
+
+        if (walls[i] == WALL || caves[i] == 0) {
+
+            walls[i] = OPEN;
+            caves[i] = cave;
+        }
+    }
+
+    /**
+     * Checks if a wall is beside an open cell
+     *
+     * @param walls  the cells
+     * @param width  the number of columns
+     * @param height the number of rows
+     * @param x      the column
+     * @param y      the row
+     * @return true if an open cell is above, below, left or right of it
+     */
+    private static boolean besideOpen(byte[] walls, int width, int height, int x, int y) {
+
+        int i = y * width + x;
+
+        return (x > 0 && walls[i - 1] == OPEN) ||
+                (x < width - 1 && walls[i + 1] == OPEN) ||
+                (y > 0 && walls[i - width] == OPEN) ||
+                (y < height - 1 && walls[i + width] == OPEN);
+    }
+}
@@ -0,0 +1,51 @@
+package maps;
+
+import graph.GraphNode;
+
+import java.util.List;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Interface for reading the cells of a map, whether they are held in memory or read from a mapped file.
+ * @date : 19/10/2026
+ */
+public interface MapGrid {
+
+    /**
+     * Gets the number of columns
+     *
+     * @return the width of the map
+     */
+    int getWidth();
+
+    /**
+     * Gets the number of rows
+     *
+     * @return the height of the map
+     */
+    int getHeight();
+
+    /**
+     * Gets the type of a cell
+     *
+     * @param x the column
+     * @param y the row
+     * @return the cell type, EMPTY, BLOCKADE or SORTABLE_BLOCKADE
+     */
+    byte get(int x, int y);
+
+    /**
+     * Gets the cells units spawn on
+     *
+     * @return the spawn points
+     */
+    List<GraphNode> getSpawns();
+
+    /**
+     * Gets the cells the base may be placed on, empty if it can go on any free cell
+     *
+     * @return the base candidates
+     */
+    List<GraphNode> getBaseCandidates();
+}
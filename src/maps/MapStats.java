@@ -0,0 +1,155 @@
+package maps;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          What MapAnalyser found out about a map: its size, its blockades, how much of it units can reach
+ *          from their spawn points and a hash of its contents, so maps can be compared without reading them.
+ * @date : 19/10/2026
+ */
+public final class MapStats {
+
+    private final int width;
+    private final int height;
+    private final int blockades;
+    private final int sortableBlockades;
+    private final int reachable;
+    private final int reachableBySorting;
+    private final String hash;
+
+    /**
+     * Creates the stats of a map
+     *
+     * @param width              the number of columns
+     * @param height             the number of rows
+     * @param blockades          the number of unsortable blockades
+     * @param sortableBlockades  the number of sortable blockades
+     * @param reachable          the empty cells units can walk to from a spawn point
+     * @param reachableBySorting the empty cells units can reach if they sort the sortable blockades in the way
+     * @param hash               the hash of the map's contents, in hex
+     */
+    public MapStats(int width, int height, int blockades, int sortableBlockades,
+                    int reachable, int reachableBySorting, String hash) {
+
+        this.width = width;
+        this.height = height;
+        this.blockades = blockades;
+        this.sortableBlockades = sortableBlockades;
+        this.reachable = reachable;
+        this.reachableBySorting = reachableBySorting;
+        this.hash = hash;
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the number of columns
+     *
+     * @return the width of the map
+     */
+    public int getWidth() {
+
+        return this.width;
+    }
+
+    /**
+     * Gets the number of rows
+     *
+     * @return the height of the map
+     */
+    public int getHeight() {
+
+        return this.height;
+    }
+
+    /**
+     * Gets the number of unsortable blockades
+     *
+     * @return the blockade count
+     */
+    public int getBlockades() {
+
+        return this.blockades;
+    }
+
+    /**
+     * Gets the number of sortable blockades
+     *
+     * @return the sortable blockade count
+     */
+    public int getSortableBlockades() {
+
+        return this.sortableBlockades;
+    }
+
+    /**
+     * Gets the number of cells without a blockade
+     *
+     * @return the empty cell count
+     */
+    public int getEmpty() {
+
+        return this.width * this.height - this.blockades - this.sortableBlockades;
+    }
+
+    /**
+     * Gets the empty cells units can walk to from a spawn point without sorting anything.
+     * The base can be reached wherever it is put among them.
+     *
+     * @return the reachable cell count
+     */
+    public int getReachable() {
+
+        return this.reachable;
+    }
+
+    /**
+     * Gets the empty cells units can reach if they sort the sortable blockades in the way
+     *
+     * @return the reachable cell count
+     */
+    public int getReachableBySorting() {
+
+        return this.reachableBySorting;
+    }
+
+    /**
+     * Checks if every empty cell can be reached, so the base is reachable wherever it is put
+     *
+     * @return true if no empty cell is cut off, even after sorting
+     */
+    public boolean isFullyReachable() {
+
+        return this.reachableBySorting == getEmpty();
+    }
+
+    /**
+     * Gets the hash of the map's size, cells, spawn points and base candidates
+     *
+     * @return the SHA-256 hash in hex
+     */
+    public String getHash() {
+
+        return this.hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        MapStats that = (MapStats) o;
+
+        return width == that.width && height == that.height &&
+                blockades == that.blockades && sortableBlockades == that.sortableBlockades &&
+                reachable == that.reachable && reachableBySorting == that.reachableBySorting &&
+                hash.equals(that.hash);
+    }
+
+    @Override
+    public int hashCode() {
+
+        return hash.hashCode();
+    }
+}
@@ -0,0 +1,296 @@
+package maps;
+
+import graph.GraphNode;
+
+import java.util.Arrays;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Works out where the base of a map can be put so units can reach it, with one breadth first flood fill
+ *          from the spawn points. Units move up, down, left and right through empty cells and sortable blockades.
+ *          When the base is placed BaseSpawner surrounds it with sortable blockades, which opens up any wall
+ *          next to it, so a cell is a valid base if units can reach any cell of the ring around it.
+ *          Everything costs O(cells).
+ * @date : 19/10/2026
+ */
+public final class Reachability {
+
+    private static final int UNREACHABLE = -1;
+
+    private final MapGrid map;
+    private final int width;
+    private final int height;
+    // Whether units may pass through sortable blockades
+    private final boolean sorting;
+    // Steps from the nearest spawn point to each cell, UNREACHABLE if units cannot get there
+    private final int[] distance;
+
+    /**
+     * Analyses the whole of a map
+     *
+     * @param map the map
+     */
+    public Reachability(MapGrid map) {
+
+        this(map, map.getWidth(), map.getHeight());
+    }
+
+    /**
+     * Analyses the top left part of a map, the part that is played on a grid of the given size
+     *
+     * @param map    the map
+     * @param width  the number of columns played on
+     * @param height the number of rows played on
+     */
+    public Reachability(MapGrid map, int width, int height) {
+
+        this(map, width, height, true);
+    }
+
+    /**
+     * Analyses the whole of a map, for units that may or may not sort the blockades in their way
+     *
+     * @param map     the map
+     * @param sorting whether units may pass through sortable blockades
+     */
+    Reachability(MapGrid map, boolean sorting) {
+
+        this(map, map.getWidth(), map.getHeight(), sorting);
+    }
+
+    /**
+     * Analyses the top left part of a map
+     *
+     * @param map     the map
+     * @param width   the number of columns played on
+     * @param height  the number of rows played on
+     * @param sorting whether units may pass through sortable blockades
+     */
+    private Reachability(MapGrid map, int width, int height, boolean sorting) {
+
+        this.map = map;
+        this.sorting = sorting;
+        this.width = Math.min(width, map.getWidth());
+        this.height = Math.min(height, map.getHeight());
+        this.distance = new int[this.width * this.height];
+
+        Arrays.fill(distance, UNREACHABLE);
+        flood();
+    }
+
+    /**
+     * Fills in the distance of every cell units can reach
+     */
+    private void flood() {
+
+        int[] queue = new int[distance.length];
+        int head = 0;
+        int tail = 0;
+
+        for (GraphNode spawn : map.getSpawns()) {
+
+            // the game never places a blockade on a spawn point, so units always start there
+            if (onMap(spawn.getX(), spawn.getY())) {
+
+                int i = spawn.getY() * width + spawn.getX();
+
+                if (distance[i] == UNREACHABLE) {
+
+                    distance[i] = 0;
+                    queue[tail++] = i;
+                }
+            }
+        }
+
+        while (head < tail) {
+
+            int i = queue[head++];
+            int x = i % width;
+            int y = i / width;
+
+            for (int direction = 0; direction < 4; direction++) {
+
+                int nx = x + (direction == 0 ? 1 : direction == 1 ? -1 : 0);
+                int ny = y + (direction == 2 ? 1 : direction == 3 ? -1 : 0);
+
+                if (onMap(nx, ny) && passable(nx, ny) && distance[ny * width + nx] == UNREACHABLE) {
+
+                    distance[ny * width + nx] = distance[i] + 1;
+                    queue[tail++] = ny * width + nx;
+                }
+            }
+        }
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the number of steps units take from the nearest spawn point to a cell
+     *
+     * @param x the column
+     * @param y the row
+     * @return the steps, or -1 if units cannot reach it
+     */
+    public int getDistance(int x, int y) {
+
+        return onMap(x, y) ? distance[y * width + x] : UNREACHABLE;
+    }
+
+    /**
+     * Gets the number of steps units take to a base put on a cell, once it has been surrounded by sortable
+     * blockades. Any cell of the ring is passable then, so the path is the shortest way to a ring cell
+     * (or next to one) and then across the ring to the base.
+     *
+     * @param x the column of the base
+     * @param y the row of the base
+     * @return the steps, or -1 if units cannot reach a base there
+     */
+    public int getBaseDistance(int x, int y) {
+
+        if (!onMap(x, y)) {
+            return UNREACHABLE;
+        }
+
+        if (distance[y * width + x] == 0) {
+            return 0;
+        }
+
+        int best = UNREACHABLE;
+
+        for (int ry = y - 1; ry <= y + 1; ry++) {
+            for (int rx = x - 1; rx <= x + 1; rx++) {
+
+                if ((rx == x && ry == y) || !onMap(rx, ry)) {
+                    continue;
+                }
+
+                int toRing = ringDistance(rx, ry);
+
+                if (toRing != UNREACHABLE) {
+
+                    // a ring cell beside the base is one step from it, a corner is two
+                    int steps = toRing + (rx == x || ry == y ? 1 : 2);
+
+                    if (best == UNREACHABLE || steps < best) {
+                        best = steps;
+                    }
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Checks if units could reach a base put on a cell
+     *
+     * @param x the column of the base
+     * @param y the row of the base
+     * @return true if the base can go there
+     */
+    public boolean isValidBase(int x, int y) {
+
+        return getBaseDistance(x, y) != UNREACHABLE;
+    }
+
+    /**
+     * Counts the empty cells units can walk to
+     *
+     * @return the number of empty cells reached
+     */
+    public int countReachable() {
+
+        int count = 0;
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+
+                if (distance[y * width + x] != UNREACHABLE && map.get(x, y) == MapData.EMPTY) {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Counts the cells a base can go on
+     *
+     * @return the number of valid base cells
+     */
+    public int countValidBases() {
+
+        int count = 0;
+
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+
+                if (isValidBase(x, y)) {
+                    count++;
+                }
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Gets the steps to a cell that becomes passable once it is part of the ring around a base
+     *
+     * @param x the column of the ring cell
+     * @param y the row of the ring cell
+     * @return the steps, or -1 if neither it nor any cell beside it can be reached
+     */
+    private int ringDistance(int x, int y) {
+
+        int own = distance[y * width + x];
+
+        if (own != UNREACHABLE) {
+            return own;
+        }
+
+        int best = UNREACHABLE;
+
+        for (int direction = 0; direction < 4; direction++) {
+
+            int nx = x + (direction == 0 ? 1 : direction == 1 ? -1 : 0);
+            int ny = y + (direction == 2 ? 1 : direction == 3 ? -1 : 0);
+
+            if (onMap(nx, ny) && distance[ny * width + nx] != UNREACHABLE &&
+                    (best == UNREACHABLE || distance[ny * width + nx] + 1 < best)) {
+
+                best = distance[ny * width + nx] + 1;
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Checks if units can walk through a cell, sortable blockades are sorted on the way if they may
+     *
+     * @param x the column
+     * @param y the row
+     * @return true if they can
+     */
+    private boolean passable(int x, int y) {
+
+        byte cell = map.get(x, y);
+
+        return cell == MapData.EMPTY || (sorting && cell == MapData.SORTABLE_BLOCKADE);
+    }
+
+    /**
+     * Checks if a cell is in the part of the map analysed
+     *
+     * @param x the column
+     * @param y the row
+     * @return true if it is
+     */
+    private boolean onMap(int x, int y) {
+
+        return x >= 0 && y >= 0 && x < width && y < height;
+    }
+}
@@ -2,17 +2,29 @@ package sceneElements;
 
 import core.BaseSpawner;
 import core.CoreEngine;
+import core.GameRandom;
 import core.GameRunTime;
+import core.GameSnapshot;
+import core.Replay;
 import core.UnitSpawner;
+import entity.Base;
+import entity.Blockade;
+import entity.Entity;
+import entity.SortableBlockade;
 import entity.Unit;
 import graph.GraphNode;
+import gui.CoreGUI;
 import gui.GameInterface;
 import gui.Renderer;
+import javafx.application.Platform;
 import javafx.event.Event;
-import javafx.scene.image.Image;
+import javafx.scene.Node;
 import javafx.scene.image.ImageView;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
+import javafx.scene.input.ScrollEvent;
+import maps.AtomicFile;
+import maps.MapCatalog;
 import maps.MapChooserInterface;
 import maps.MapEditor;
 import maps.MapEditorInterface;
@@ -27,9 +39,20 @@ import sorts.visual.SortVisual;
 import sound.SoundManager;
 import stores.ImageStore;
 import stores.LambdaStore;
+import stores.ResourceManager;
+import stores.ThumbnailCache;
 import tutorial.Tutorial;
 
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -44,6 +67,17 @@ public class ElementsHandler {
 
     private static final Logger LOG = Logger.getLogger(ElementsHandler.class.getName());
 
+    // Zoom factor of a single key press or scroll notch
+    public static final double ZOOM_STEP = 1.25;
+
+    // Reads and writes quick saves one after the other, off the FX and engine threads
+    private static final Executor snapshotFiles = Executors.newSingleThreadExecutor(runnable -> {
+
+        Thread thread = new Thread(runnable, "Game snapshots");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     private static ButtonProperties b = new ButtonProperties();
     public static Options options = Options.Instance();
 
@@ -89,6 +123,7 @@ public class ElementsHandler {
         }
         // Exits the game if the exit button is pressed
         else if (event.getSource() == MainMenu.exitButton) {
+            ResourceManager.delete();
             System.exit(0);
         }
         // End of elements from Main Menu scene
@@ -458,7 +493,7 @@ public class ElementsHandler {
                 }
             }
             // if the R key is pressed then show the route from the selected unit
-            else if (k == KeyCode.R && options.getShowPath()) {
+            else if (k == KeyCode.R && options.getShowPath() && GameRunTime.Instance().getLastClicked() != null) {
                 ((Unit) GameRunTime.Instance().getLastClicked().getEntity()).showTransition(
                         !event.isShiftDown(), true
                 );
@@ -466,12 +501,8 @@ public class ElementsHandler {
             // if the S key is pressed then unselect the currently selected unit
             else if (k == KeyCode.S) {
 
-                // Change the Unit description pane to be the Key bindings one
-                GameInterface.unitDescriptionLabel.setText("Key Bindings");
-                GameInterface.unitDescriptionLabel.setLayoutX(GameInterface.rightPaneWidth / 2 - 131.25 / 2);
-                GameInterface.namePaneLabel.setText("R-Show route");
-                GameInterface.searchPaneLabel.setText("S-Unselect unit");
-                GameInterface.sortPaneLabel.setText("B-Unsortable blockade");
+                // Nothing selected, the Unit description pane changes to be the Key bindings one
+                GameRunTime.Instance().setLastClicked(null);
 
                 ArrayList<Unit> units = engine.getUnits();
 
@@ -489,17 +520,285 @@ public class ElementsHandler {
                     SortVisual.rendered.display(false);
                 }
 
-                // Deletes the image from the unit description pane
                 GameInterface.unitDescriptionText.clear();
-                GameInterface.unitTextPane.getChildren().get(3).setVisible(false);
                 Tutorial.routeShown = false;
                 Tutorial.visualShown = false;
             }
+            // F5 saves the game and F9 loads the last game saved
+            else if (k == KeyCode.F5) {
+                quickSave();
+            } else if (k == KeyCode.F9 && !Tutorial.active) {
+                quickLoad();
+            }
             // If the ENTER key is pressed then continue with the active tutorial
             else if (k == KeyCode.ENTER && Tutorial.active) {
                 Tutorial.inc();
             }
+            // the arrow keys pan the camera by one grid cell
+            else if (k == KeyCode.LEFT || k == KeyCode.RIGHT || k == KeyCode.UP || k == KeyCode.DOWN) {
+
+                Renderer renderer = Renderer.Instance();
+                double zoom = renderer.getCamera().getZoom();
+                double dx = (k == KeyCode.LEFT ? -1 : k == KeyCode.RIGHT ? 1 : 0) * renderer.getXSpacing() * zoom;
+                double dy = (k == KeyCode.UP ? -1 : k == KeyCode.DOWN ? 1 : 0) * renderer.getYSpacing() * zoom;
+
+                renderer.pan(dx, dy);
+            }
+            // + and - zoom the camera around the centre of the view
+            else if (k == KeyCode.EQUALS || k == KeyCode.PLUS || k == KeyCode.ADD ||
+                    k == KeyCode.MINUS || k == KeyCode.SUBTRACT) {
+
+                double factor = (k == KeyCode.MINUS || k == KeyCode.SUBTRACT) ? 1 / ZOOM_STEP : ZOOM_STEP;
+                double centreX = (CoreGUI.WIDTH - GameInterface.rightPaneWidth) / 2.0;
+                double centreY = (CoreGUI.HEIGHT - GameInterface.bottomPaneHeight) / 2.0;
+
+                Renderer.Instance().zoom(factor, centreX, centreY);
+            }
+        }
+    }
+
+    /**
+     * Handles scrolling on the game grid, scrolling up zooms in around the mouse and down zooms out
+     *
+     * @param event the scroll event
+     */
+    public static void handleScroll(ScrollEvent event) {
+
+        if (event.getDeltaY() == 0) {
+            return;
+        }
+
+        double factor = event.getDeltaY() > 0 ? ZOOM_STEP : 1 / ZOOM_STEP;
+        Renderer.Instance().zoom(factor, event.getX(), event.getY());
+    }
+
+    /**
+     * Saves the game to the quick save file. The snapshot is taken on the engine thread between two ticks
+     * and written on the snapshot thread, so the game does not stop.
+     */
+    private static void quickSave() {
+
+        CoreEngine engine = CoreEngine.Instance();
+        File file = GameSnapshot.quickSaveFile();
+
+        engine.submit(() -> GameSnapshot.capture(engine))
+                .thenAcceptAsync(snapshot -> {
+
+                    File dir = file.getParentFile();
+
+                    try {
+
+                        if (!dir.isDirectory() && !dir.mkdirs()) {
+                            throw new IOException("Could not create " + dir);
+                        }
+
+                        AtomicFile.write(file, snapshot::write);
+
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+
+                    LOG.log(Level.INFO, "Game saved at tick " + snapshot.getTick() + " to " + file);
+
+                }, snapshotFiles)
+                .whenComplete((result, error) -> {
+
+                    if (error != null) {
+                        LOG.log(Level.SEVERE, error.toString(), error);
+                    }
+                });
+    }
+
+    /**
+     * Loads the game in the quick save file, replacing the game being played. The game is paused while
+     * the snapshot is restored on the engine thread and stays paused once it has been drawn.
+     * A game can only be loaded once the base has been placed and units are being spawned.
+     */
+    private static void quickLoad() {
+
+        CoreEngine engine = CoreEngine.Instance();
+        File file = GameSnapshot.quickSaveFile();
+
+        if (engine.getSpawner() == null || !file.isFile()) {
+
+            LOG.log(Level.INFO, "No game to load, or the base has not been placed yet");
+            return;
+        }
+
+        engine.setPaused(true);
+
+        CompletableFuture.supplyAsync(() -> {
+
+            try (InputStream in = new FileInputStream(file)) {
+                return GameSnapshot.read(in);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+        }, snapshotFiles).thenCompose(snapshot -> engine.submit(() -> {
+
+            List<Node> oldSprites = sprites(engine);
+
+            try {
+                snapshot.restore(engine);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            return oldSprites;
+
+        })).whenComplete((oldSprites, error) -> {
+
+            if (error != null) {
+                LOG.log(Level.SEVERE, error.toString(), error);
+            } else {
+                Platform.runLater(() -> drawRestored(engine, oldSprites));
+            }
+        });
+    }
+
+    /**
+     * Saves the replay of the game that has just been played to the last replay file, on the snapshot thread
+     *
+     * @param engine the engine of the game
+     */
+    private static void saveReplay(CoreEngine engine) {
+
+        Replay.Recorder recorder = engine == null ? null : engine.getRecorder();
+
+        if (recorder == null) {
+            return;
+        }
+
+        Replay replay = recorder.toReplay();
+        File file = Replay.lastReplayFile();
+
+        CompletableFuture.runAsync(() -> {
+
+            File dir = file.getParentFile();
+
+            try {
+
+                if (!dir.isDirectory() && !dir.mkdirs()) {
+                    throw new IOException("Could not create " + dir);
+                }
+
+                AtomicFile.write(file, replay::write);
+
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+
+            LOG.log(Level.INFO, "Replay of " + replay.getTicks() + " ticks saved to " + file);
+
+        }, snapshotFiles).whenComplete((result, error) -> {
+
+            if (error != null) {
+                LOG.log(Level.SEVERE, error.toString(), error);
+            }
+        });
+    }
+
+    /**
+     * Gets the sprites of the base, blockades and units of a game
+     *
+     * @param engine the engine of the game
+     * @return the sprites, entities without one are left out
+     */
+    private static List<Node> sprites(CoreEngine engine) {
+
+        List<Node> sprites = new ArrayList<>();
+
+        for (GraphNode node : engine.getGraph().getNodes()) {
+
+            if (node.getBase() != null && node.getBase().getSprite() != null) {
+                sprites.add(node.getBase().getSprite());
+            }
+        }
+
+        for (Blockade blockade : engine.getBlockades()) {
+
+            if (blockade.getSprite() != null) {
+                sprites.add(blockade.getSprite());
+            }
+        }
+
+        for (Unit unit : engine.getUnits()) {
+
+            if (unit.getSprite() != null) {
+                sprites.add(unit.getSprite());
+            }
+        }
+
+        return sprites;
+    }
+
+    /**
+     * Draws a game that has just been restored, in place of the sprites of the game it replaced
+     *
+     * @param engine     the engine of the game
+     * @param oldSprites the sprites of the game that was replaced
+     */
+    private static void drawRestored(CoreEngine engine, List<Node> oldSprites) {
+
+        List<Entity> entities = new ArrayList<>();
+
+        GameRunTime.Instance().setLastClicked(null);
+
+        if (SortVisual.rendered != null) {
+            SortVisual.rendered.display(false);
+        }
+
+        Renderer.Instance().removeAll(oldSprites);
+
+        for (GraphNode node : engine.getGraph().getNodes()) {
+
+            if (node.getBase() != null) {
+                entities.add(node.getBase());
+            }
+        }
+
+        entities.addAll(engine.getBlockades());
+        entities.addAll(engine.getUnits());
+        drawEntities(entities);
+
+        GameInterface.invalidate(GameInterface.SCORE | GameInterface.UNBREAKABLE_LIMIT | GameInterface.BREAKABLE_LIMIT);
+        LOG.log(Level.INFO, "Game loaded at tick " + engine.getTick());
+    }
+
+    /**
+     * Gives entities the engine has placed their sprites and click handlers, then draws them all at once
+     *
+     * @param entities the base, blockades and units to draw
+     */
+    public static void drawEntities(List<? extends Entity> entities) {
+
+        for (Entity entity : entities) {
+
+            if (entity instanceof Base) {
+                ImageStore.setSpriteProperties(entity, ImageStore.Sprite.BASE);
+
+            } else if (entity instanceof SortableBlockade) {
+
+                boolean sorting = ((SortableBlockade) entity).getProgress() != null;
+                ImageStore.setSpriteProperties(entity, sorting ?
+                        ImageStore.Sprite.SORTABLE_BLOCKADE_SORTING : ImageStore.Sprite.SORTABLE_BLOCKADE);
+                entity.getSprite().setOnMouseClicked(LambdaStore.Instance().getShowSort());
+
+            } else if (entity instanceof Blockade) {
+                ImageStore.setSpriteProperties(entity, ImageStore.Sprite.UNSORTABLE_BLOCKADE);
+
+            } else if (entity instanceof Unit) {
+
+                ImageStore.setSpriteProperties(entity, UnitSpawner.spriteOf(((Unit) entity).getSearch()));
+
+                if (options.getShowPath()) {
+                    entity.getSprite().setOnMouseClicked(LambdaStore.Instance().getUnitClickEvent());
+                }
+            }
         }
+
+        Renderer.Instance().drawInitialEntities(entities);
     }
 
     /**
@@ -509,26 +808,26 @@ public class ElementsHandler {
      */
     public static void pressedToNotPressed(SpriteImage sprite) {
 
-        Image image = sprite.getImage();
+        ImageStore.Sprite spriteKey = sprite.getSpriteKey();
 
-        if (image.equals(ImageStore.imagePressedDemon)) {
+        if (spriteKey == ImageStore.Sprite.DEMON_SELECTED) {
 
             // sets back to demon image
-            sprite.setImage(ImageStore.imageDemon);
+            sprite.setSpriteKey(ImageStore.Sprite.DEMON);
             ((Unit) sprite.getEntity()).showTransition(false, false);
             sprite.setOnMouseClicked(LambdaStore.Instance().getUnitClickEvent());
 
-        } else if (image.equals(ImageStore.imagePressedDk)) {
+        } else if (spriteKey == ImageStore.Sprite.DEATH_KNIGHT_SELECTED) {
 
             // sets back to death knight image
-            sprite.setImage(ImageStore.imageDk);
+            sprite.setSpriteKey(ImageStore.Sprite.DEATH_KNIGHT);
             ((Unit) sprite.getEntity()).showTransition(false, false);
             sprite.setOnMouseClicked(LambdaStore.Instance().getUnitClickEvent());
 
-        } else if (image.equals(ImageStore.imagePressedBanshee)) {
+        } else if (spriteKey == ImageStore.Sprite.BANSHEE_SELECTED) {
 
             // sets back to banshee image
-            sprite.setImage(ImageStore.imageBanshee);
+            sprite.setSpriteKey(ImageStore.Sprite.BANSHEE);
             ((Unit) sprite.getEntity()).showTransition(false, false);
             sprite.setOnMouseClicked(LambdaStore.Instance().getUnitClickEvent());
         }
@@ -544,6 +843,10 @@ public class ElementsHandler {
         new GameRunTime();
         CoreEngine engine = CoreEngine.Instance();
         engine.setPaused(true);
+
+        // every random choice of the game comes from one seed, recorded with the inputs so it can be replayed
+        GameRandom.reset(System.nanoTime());
+        engine.setRecorder(new Replay.Recorder(GameRandom.getSeed()));
         Renderer.Instance().calculateSpacing();
         BaseSpawner.Instance();
         MenuHandler.setMainGameScene();
@@ -571,8 +874,7 @@ public class ElementsHandler {
 
             LOG.log(Level.INFO, "GOAL found!!!");
 
-            UnitSpawner spawner = new UnitSpawner(3, goal);
-            CoreEngine.Instance().setSpawner(spawner);
+            engine.submit(() -> engine.startSpawner(UnitSpawner.SPAWN_LIMIT)).join();
 
             engine.setPaused(!Tutorial.active);
 
@@ -593,6 +895,8 @@ public class ElementsHandler {
      */
     private static void quitGame() {
 
+        saveReplay(CoreEngine.Instance());
+
         CoreEngine.delete();
         GameRunTime.delete();
         UnitSpawner.delete();
@@ -601,6 +905,8 @@ public class ElementsHandler {
         MapChooserInterface.delete();
         MapEditorInterface.delete();
         MapEditor.delete();
+        MapCatalog.delete();
+        ThumbnailCache.delete();
 
         GameInterface.delete();
         Renderer.delete();
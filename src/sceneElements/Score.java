@@ -21,6 +21,18 @@ public class Score {
         this.halved = false;
     }
 
+    /**
+     * Creates a score part way through a game, used when a saved game is restored
+     *
+     * @param score  the score so far
+     * @param halved if the score has already been halved
+     */
+    public Score(double score, boolean halved) {
+
+        this.score = score;
+        this.halved = halved;
+    }
+
     // GETTER methods
 
     /**
@@ -33,6 +45,16 @@ public class Score {
         return this.score;
     }
 
+    /**
+     * Check if the score has been halved
+     *
+     * @return true once halveScore has been called
+     */
+    public boolean isHalved() {
+
+        return this.halved;
+    }
+
     // SETTER methods
 
     /**
@@ -3,6 +3,8 @@ package sceneElements;
 import entity.Entity;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
+import stores.ImageStore;
+import stores.TextureAtlas;
 
 /**
  * @author : Dominic Walters
@@ -14,6 +16,9 @@ import javafx.scene.image.ImageView;
 public class SpriteImage extends ImageView {
 
     private Entity entity;
+    // Sprite shown from the texture atlas, null when showing a plain image
+    private ImageStore.Sprite spriteKey;
+    private TextureAtlas atlas;
 
     /**
      * Constructs a sprite image to display
@@ -37,6 +42,16 @@ public class SpriteImage extends ImageView {
         return this.entity;
     }
 
+    /**
+     * Gets the atlas sprite this image shows
+     *
+     * @return the sprite, or null if a plain image is used
+     */
+    public ImageStore.Sprite getSpriteKey() {
+
+        return this.spriteKey;
+    }
+
     /**
      * Sets the entity for this spire image
      *
@@ -46,4 +61,34 @@ public class SpriteImage extends ImageView {
 
         this.entity = entity;
     }
+
+    /**
+     * Sets the atlas sprite to show, only the viewport onto the atlas changes
+     *
+     * @param spriteKey the sprite to show
+     */
+    public void setSpriteKey(ImageStore.Sprite spriteKey) {
+
+        this.spriteKey = spriteKey;
+
+        if (atlas != null && spriteKey != null) {
+            setViewport(atlas.region(spriteKey));
+        }
+    }
+
+    /**
+     * Shows this sprite from the given atlas, does nothing if it already does
+     *
+     * @param atlas the atlas to show the sprite from
+     */
+    public void useAtlas(TextureAtlas atlas) {
+
+        if (spriteKey == null || atlas == null || atlas == this.atlas) {
+            return;
+        }
+
+        this.atlas = atlas;
+        setImage(atlas.getImage());
+        setViewport(atlas.region(spriteKey));
+    }
 }
@@ -0,0 +1,112 @@
+package sorts.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          HeapSort: builds a max heap in the list, then swaps the largest element to the end
+ *          of the unsorted part until the heap is empty.
+ * @date : 19/10/2026
+ */
+public class HeapSort {
+
+    /**
+     * Heap sort, keeping every state for animating
+     *
+     * @param state input list to sort
+     * @return allStates relevant states used for swapping
+     */
+    public static ArrayList<SortableComponent> sort(ArrayList<Integer> state) {
+
+        return SortStep.states(state, steps(state));
+    }
+
+    /**
+     * Heap sort, one step at a time.
+     *
+     * @param state the list to sort, it is not changed
+     * @return the steps of the sort
+     */
+    public static PrimitiveIterator.OfLong steps(List<Integer> state) {
+
+        return generator(SortStep.toArray(state));
+    }
+
+    /**
+     * Steps of the sort over a primitive array, no values are boxed.
+     *
+     * @param values the values to sort, they are not changed
+     * @return the steps of the sort
+     */
+    public static PrimitiveIterator.OfLong steps(int[] values) {
+
+        return generator(values.clone());
+    }
+
+    /**
+     * Sorts an array in place, recording every step in the log
+     *
+     * @param values the values to sort
+     * @param log    the log the steps are appended to
+     */
+    public static void sort(int[] values, SortEventLog log) {
+
+        log.record(generator(values));
+    }
+
+    /**
+     * Creates the step generator, it sorts the given array in place as it is read
+     *
+     * @param values the values to sort
+     * @return the generator
+     */
+    private static SortSteps generator(int[] values) {
+
+        return new RecordedSortSteps(values) {
+
+            @Override
+            protected void run() {
+
+                int length = this.state.length;
+
+                for (int i = length / 2 - 1; i >= 0; i--) {
+                    siftDown(i, length);
+                }
+
+                for (int end = length - 1; end > 0; end--) {
+
+                    exchange(0, end);
+                    siftDown(0, end);
+                }
+            }
+
+            /**
+             * Moves an element down the heap until both its children are smaller
+             *
+             * @param root the index of the element
+             * @param size the number of elements in the heap
+             */
+            private void siftDown(int root, int size) {
+
+                int child;
+
+                while ((child = root * 2 + 1) < size) {
+
+                    if (child + 1 < size && compare(child, child + 1) < 0) {
+                        child++;
+                    }
+
+                    if (compare(root, child) >= 0) {
+                        return;
+                    }
+
+                    exchange(root, child);
+                    root = child;
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,127 @@
+package sorts.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          QuickSort using the middle element as the pivot, so already sorted lists
+ *          do not hit the quadratic worst case.
+ * @date : 19/10/2026
+ */
+public class QuickSort {
+
+    /**
+     * Quick sort, keeping every state for animating
+     *
+     * @param state input list to sort
+     * @return allStates relevant states used for swapping
+     */
+    public static ArrayList<SortableComponent> sort(ArrayList<Integer> state) {
+
+        return SortStep.states(state, steps(state));
+    }
+
+    /**
+     * Quick sort, one step at a time. The pivot is moved to the end of the range, smaller elements
+     * are swapped to the front and the pivot is swapped in between.
+     *
+     * @param state the list to sort, it is not changed
+     * @return the steps of the sort
+     */
+    public static PrimitiveIterator.OfLong steps(List<Integer> state) {
+
+        return generator(SortStep.toArray(state));
+    }
+
+    /**
+     * Steps of the sort over a primitive array, no values are boxed.
+     *
+     * @param values the values to sort, they are not changed
+     * @return the steps of the sort
+     */
+    public static PrimitiveIterator.OfLong steps(int[] values) {
+
+        return generator(values.clone());
+    }
+
+    /**
+     * Sorts an array in place, recording every step in the log
+     *
+     * @param values the values to sort
+     * @param log    the log the steps are appended to
+     */
+    public static void sort(int[] values, SortEventLog log) {
+
+        log.record(generator(values));
+    }
+
+    /**
+     * Creates the step generator, it sorts the given array in place as it is read
+     *
+     * @param values the values to sort
+     * @return the generator
+     */
+    private static SortSteps generator(int[] values) {
+
+        return new RecordedSortSteps(values) {
+
+            @Override
+            protected void run() {
+
+                sort(0, this.state.length - 1);
+            }
+
+            /**
+             * Sorts a range, recursing into the smaller part so the depth stays logarithmic
+             *
+             * @param low  first index of the range
+             * @param high last index of the range
+             */
+            private void sort(int low, int high) {
+
+                while (low < high) {
+
+                    int pivot = partition(low, high);
+
+                    if (pivot - low < high - pivot) {
+
+                        sort(low, pivot - 1);
+                        low = pivot + 1;
+                    } else {
+
+                        sort(pivot + 1, high);
+                        high = pivot - 1;
+                    }
+                }
+            }
+
+            /**
+             * Partitions a range around its middle element
+             *
+             * @param low  first index of the range
+             * @param high last index of the range
+             * @return the final index of the pivot
+             */
+            private int partition(int low, int high) {
+
+                exchange(low + (high - low) / 2, high);
+
+                int store = low;
+
+                for (int i = low; i < high; i++) {
+
+                    if (compare(i, high) < 0) {
+                        exchange(i, store++);
+                    }
+                }
+
+                exchange(store, high);
+
+                return store;
+            }
+        };
+    }
+}
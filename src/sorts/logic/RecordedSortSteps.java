@@ -0,0 +1,110 @@
+package sorts.logic;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Base for sorts that are not easily written as a state machine (recursive or multi-pass sorts).
+ *          The whole sort is run into an event log the first time a step is asked for, and the steps are
+ *          then read back one at a time, in the same format as the other sorts.
+ * @date : 19/10/2026
+ */
+abstract class RecordedSortSteps extends SortSteps {
+
+    private SortEventLog log;
+    private int cursor = 0;
+
+    /**
+     * Sorts the given array in place once the first step is read
+     *
+     * @param state the array to sort
+     */
+    RecordedSortSteps(int[] state) {
+
+        super(state);
+    }
+
+    /**
+     * Runs the whole sort, using compare and exchange so every step is recorded
+     */
+    protected abstract void run();
+
+    @Override
+    protected long advance() {
+
+        if (log == null) {
+
+            log = new SortEventLog(Math.max(1, this.state.length) * 4);
+            run();
+        }
+
+        return cursor < log.size() ? log.get(cursor++) : SortStep.NONE;
+    }
+
+    /**
+     * Compares two elements, recording the comparison
+     *
+     * @param first  one index
+     * @param second the other index
+     * @return negative, zero or positive as the first element is less than, equal to or greater than the second
+     */
+    protected int compare(int first, int second) {
+
+        log.add(SortStep.compare(first, second));
+
+        return Integer.compare(this.state[first], this.state[second]);
+    }
+
+    /**
+     * Swaps two elements, recording the swap
+     *
+     * @param first  one index
+     * @param second the other index
+     */
+    protected void exchange(int first, int second) {
+
+        if (first != second) {
+
+            log.add(SortStep.swap(first, second));
+            swap(first, second);
+        }
+    }
+
+    /**
+     * Moves the elements of a range into a new order using swaps only, at most one swap per element.
+     * Used by sorts that work out where everything goes before moving anything.
+     *
+     * @param from  start of the range
+     * @param order the index each position of the range should take its element from, in the current array
+     */
+    protected void permute(int from, int[] order) {
+
+        int length = order.length;
+        // where each element of the range (by its index before permuting) is now, and which element is at each position
+        int[] position = new int[length];
+        int[] element = new int[length];
+
+        for (int i = 0; i < length; i++) {
+
+            position[i] = i;
+            element[i] = i;
+        }
+
+        for (int i = 0; i < length; i++) {
+
+            int wanted = order[i] - from;
+            int at = position[wanted];
+
+            if (at != i) {
+
+                exchange(from + i, from + at);
+
+                int moved = element[i];
+
+                element[at] = moved;
+                position[moved] = at;
+                element[i] = wanted;
+                position[wanted] = i;
+            }
+        }
+    }
+}
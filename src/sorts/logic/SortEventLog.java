@@ -0,0 +1,125 @@
+package sorts.logic;
+
+import java.util.Arrays;
+import java.util.PrimitiveIterator;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          A growable buffer of packed sort steps (see SortStep), filled by the int[] sorts.
+ *          A whole sort is kept as one long[] rather than a list of states, and the buffer
+ *          can be cleared and reused for the next sort.
+ * @date : 19/10/2026
+ */
+public class SortEventLog {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private long[] events;
+    private int size;
+    private int swaps;
+
+    /**
+     * Creates an empty log
+     */
+    public SortEventLog() {
+
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty log with room for the given number of steps
+     *
+     * @param capacity the starting capacity
+     */
+    public SortEventLog(int capacity) {
+
+        this.events = new long[Math.max(1, capacity)];
+    }
+
+    /**
+     * Appends a step to the log
+     *
+     * @param step the packed step
+     */
+    public void add(long step) {
+
+        if (size == events.length) {
+            events = Arrays.copyOf(events, size * 2);
+        }
+
+        events[size++] = step;
+
+        if (SortStep.isSwap(step)) {
+            swaps++;
+        }
+    }
+
+    /**
+     * Appends every remaining step of a sort
+     *
+     * @param steps the steps to read
+     */
+    public void record(PrimitiveIterator.OfLong steps) {
+
+        while (steps.hasNext()) {
+            add(steps.nextLong());
+        }
+    }
+
+    /**
+     * Empties the log, keeping its capacity
+     */
+    public void clear() {
+
+        size = 0;
+        swaps = 0;
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets a step of the log
+     *
+     * @param i the index of the step
+     * @return the packed step
+     */
+    public long get(int i) {
+
+        if (i < 0 || i >= size) {
+            throw new IndexOutOfBoundsException("Index: " + i + ", Size: " + size);
+        }
+
+        return events[i];
+    }
+
+    /**
+     * Gets the number of steps in the log
+     *
+     * @return the amount of steps
+     */
+    public int size() {
+
+        return size;
+    }
+
+    /**
+     * Gets the number of swaps in the log
+     *
+     * @return the amount of swap steps
+     */
+    public int swaps() {
+
+        return swaps;
+    }
+
+    /**
+     * Gets a copy of the steps in the log
+     *
+     * @return the packed steps, in order
+     */
+    public long[] toArray() {
+
+        return Arrays.copyOf(events, size);
+    }
+}
@@ -0,0 +1,218 @@
+package sorts.logic;
+
+import core.CoreEngine;
+import entity.Unit;
+
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          The logical progress of a unit sorting a blockade, advanced by the engine on every tick.
+ *          Each tick the unit gets a fixed amount of work: a comparison takes one step of it and a swap
+ *          takes TICKS_PER_SWAP steps, so how long a sort takes only depends on the number of ticks.
+ *          The blockade breaks when the sort runs out of steps, whether it is being drawn or not.
+ * @date : 19/10/2026
+ */
+public class SortProgress {
+
+    // Work a unit does per tick, one comparison
+    public static final int DEFAULT_STEPS_PER_TICK = 1;
+    // Work a swap takes, the length of its animation in the sort visualisation (1.54 seconds)
+    public static final int TICKS_PER_SWAP = (int) Math.round(1.54 * CoreEngine.FRAME_RATE);
+
+    private final Unit.Sort sort;
+    private final PrimitiveIterator.OfLong steps;
+    private final int stepsPerTick;
+    private final int ticksPerSwap;
+
+    // Work left on the swap in progress
+    private int swapWorkLeft = 0;
+
+    // Read by the visualisation on the FX thread
+    private volatile long stepsDone = 0;
+    private volatile int swapsDone = 0;
+    private volatile boolean finished = false;
+
+    /**
+     * Creates the progress of a sort at the default speed
+     *
+     * @param sort  the sort the unit uses
+     * @param input the list to sort, it is not changed
+     */
+    public SortProgress(Unit.Sort sort, List<Integer> input) {
+
+        this(sort, steps(sort, input), DEFAULT_STEPS_PER_TICK, TICKS_PER_SWAP);
+    }
+
+    /**
+     * Creates the progress of a sort
+     *
+     * @param sort         the sort the unit uses
+     * @param steps        the steps of the sort
+     * @param stepsPerTick the work done per tick
+     * @param ticksPerSwap the work a swap takes
+     */
+    public SortProgress(Unit.Sort sort, PrimitiveIterator.OfLong steps, int stepsPerTick, int ticksPerSwap) {
+
+        this.sort = sort;
+        this.steps = steps;
+        this.stepsPerTick = Math.max(1, stepsPerTick);
+        this.ticksPerSwap = Math.max(1, ticksPerSwap);
+    }
+
+    /**
+     * Gets the steps of the given sort, from the cache if it has already been run on this list.
+     * Lists longer than SortStepCache.MAX_CACHED_LENGTH are not cached, their steps are generated as they
+     * are read so they are never all held at once.
+     *
+     * @param sort  the sort to run
+     * @param input the list to sort, it is not changed
+     * @return the steps of the sort
+     */
+    public static PrimitiveIterator.OfLong steps(Unit.Sort sort, List<Integer> input) {
+
+        if (input.size() > SortStepCache.MAX_CACHED_LENGTH) {
+            return generate(sort, SortStep.toArray(input));
+        }
+
+        return SortStepCache.iterator(sort, input);
+    }
+
+    /**
+     * Creates the step generator of the given sort
+     *
+     * @param sort   the sort to run
+     * @param values the values to sort, they are not changed
+     * @return the steps of the sort, generated as they are read
+     */
+    static PrimitiveIterator.OfLong generate(Unit.Sort sort, int[] values) {
+
+        switch (sort) {
+            case SELECTION:
+                return SelectionSort.steps(values);
+            case INSERT:
+                return InsertSort.steps(values);
+            case MERGE:
+                return MergeSort.steps(values);
+            case QUICK:
+                return QuickSort.steps(values);
+            case HEAP:
+                return HeapSort.steps(values);
+            case RADIX:
+                return RadixSort.steps(values);
+            default:
+                return BubbleSort.steps(values);
+        }
+    }
+
+    /**
+     * Moves the sort on to where a saved game left it, without spending any ticks
+     *
+     * @param stepsDone    the number of steps that had been started
+     * @param swapWorkLeft the work that was left on the swap in progress
+     */
+    public void skip(long stepsDone, int swapWorkLeft) {
+
+        while (this.stepsDone < stepsDone && steps.hasNext()) {
+
+            if (SortStep.isSwap(steps.nextLong())) {
+                swapsDone++;
+            }
+
+            this.stepsDone++;
+        }
+
+        this.swapWorkLeft = Math.max(0, Math.min(ticksPerSwap - 1, swapWorkLeft));
+    }
+
+    /**
+     * Does one tick of work on the sort
+     *
+     * @return true once the sort has finished
+     */
+    public boolean tick() {
+
+        int work = stepsPerTick;
+
+        while (work > 0 && !finished) {
+
+            if (swapWorkLeft > 0) {
+
+                swapWorkLeft--;
+                work--;
+
+            } else if (steps.hasNext()) {
+
+                long step = steps.nextLong();
+
+                stepsDone++;
+                work--;
+
+                if (SortStep.isSwap(step)) {
+
+                    swapsDone++;
+                    swapWorkLeft = ticksPerSwap - 1;
+                }
+
+            } else {
+                finished = true;
+            }
+        }
+
+        return finished;
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the sort the unit uses
+     *
+     * @return the sort
+     */
+    public Unit.Sort getSort() {
+
+        return this.sort;
+    }
+
+    /**
+     * Gets the number of steps of the sort that have been started
+     *
+     * @return the amount of steps
+     */
+    public long getStepsDone() {
+
+        return this.stepsDone;
+    }
+
+    /**
+     * Gets the number of swaps that have been started
+     *
+     * @return the amount of swaps
+     */
+    public int getSwapsDone() {
+
+        return this.swapsDone;
+    }
+
+    /**
+     * Gets the work left on the swap in progress
+     *
+     * @return the ticks of work, 0 if no swap is in progress
+     */
+    public int getSwapWorkLeft() {
+
+        return this.swapWorkLeft;
+    }
+
+    /**
+     * Check if the sort has finished
+     *
+     * @return true if every step has been done
+     */
+    public boolean isFinished() {
+
+        return this.finished;
+    }
+}
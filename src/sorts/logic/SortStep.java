@@ -0,0 +1,173 @@
+package sorts.logic;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PrimitiveIterator;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          A single step of a sort packed into a long: the two indexes that were looked at and whether they
+ *          were swapped. Sorts hand these out one at a time, so a sort of any size costs a few bytes per step
+ *          instead of a copy of the whole list per state. The state at any point can be rebuilt by applying
+ *          the swaps to the input.
+ * @date : 19/10/2026
+ */
+public final class SortStep {
+
+    // Returned by step generators when the sort has finished
+    public static final long NONE = -1L;
+
+    private SortStep() {
+
+        // To prevent instantiation.
+    }
+
+    /**
+     * Packs a comparison of two indexes
+     *
+     * @param first  the first index compared
+     * @param second the second index compared
+     * @return the packed step
+     */
+    public static long compare(int first, int second) {
+
+        return pack(first, second, false);
+    }
+
+    /**
+     * Packs a swap of two indexes, the lower index always comes first
+     *
+     * @param first  one index swapped
+     * @param second the other index swapped
+     * @return the packed step
+     */
+    public static long swap(int first, int second) {
+
+        return pack(Math.min(first, second), Math.max(first, second), true);
+    }
+
+    /**
+     * Gets the first index of a step
+     *
+     * @param step the packed step
+     * @return the first index
+     */
+    public static int first(long step) {
+
+        return (int) (step >>> 32);
+    }
+
+    /**
+     * Gets the second index of a step
+     *
+     * @param step the packed step
+     * @return the second index
+     */
+    public static int second(long step) {
+
+        return (int) ((step >>> 1) & Integer.MAX_VALUE);
+    }
+
+    /**
+     * Checks if a step swaps its indexes
+     *
+     * @param step the packed step
+     * @return true for a swap, false for a comparison
+     */
+    public static boolean isSwap(long step) {
+
+        return (step & 1) != 0;
+    }
+
+    /**
+     * Applies a step to a list, only swaps change it
+     *
+     * @param step  the packed step
+     * @param state the list to apply the step to
+     */
+    public static void apply(long step, List<Integer> state) {
+
+        if (isSwap(step)) {
+
+            int first = first(step);
+            int second = second(step);
+
+            Integer temp = state.get(first);
+            state.set(first, state.get(second));
+            state.set(second, temp);
+        }
+    }
+
+    /**
+     * Applies a step to an array, only swaps change it
+     *
+     * @param step   the packed step
+     * @param values the array to apply the step to
+     */
+    public static void apply(long step, int[] values) {
+
+        if (isSwap(step)) {
+
+            int first = first(step);
+            int second = second(step);
+
+            int temp = values[first];
+            values[first] = values[second];
+            values[second] = temp;
+        }
+    }
+
+    /**
+     * Unboxes a list into a new array
+     *
+     * @param list the list to copy
+     * @return an array with the same values
+     */
+    public static int[] toArray(List<Integer> list) {
+
+        int[] values = new int[list.size()];
+
+        for (int i = 0; i < values.length; i++) {
+            values[i] = list.get(i);
+        }
+
+        return values;
+    }
+
+    /**
+     * Rebuilds the full state after every step. This keeps a copy of the list per step,
+     * so it is only meant for small lists.
+     *
+     * @param input the list the steps were generated from
+     * @param steps the steps of the sort
+     * @return the state after each step
+     */
+    public static ArrayList<SortableComponent> states(List<Integer> input, PrimitiveIterator.OfLong steps) {
+
+        ArrayList<SortableComponent> allStates = new ArrayList<>();
+        ArrayList<Integer> state = new ArrayList<>(input);
+
+        while (steps.hasNext()) {
+
+            long step = steps.nextLong();
+            apply(step, state);
+            allStates.add(new SortableComponent(new ArrayList<>(state), first(step), second(step), isSwap(step)));
+        }
+
+        return allStates;
+    }
+
+    /**
+     * Packs a step
+     *
+     * @param first  the first index
+     * @param second the second index
+     * @param swap   whether the indexes are swapped
+     * @return the packed step
+     */
+    private static long pack(int first, int second, boolean swap) {
+
+        return ((long) first << 32) | ((long) second << 1) | (swap ? 1 : 0);
+    }
+}
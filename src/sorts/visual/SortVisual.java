@@ -2,29 +2,17 @@ package sorts.visual;
 
 import core.CoreEngine;
 import entity.SortableBlockade;
-import entity.Unit;
-import entity.Unit.Sort;
 import gui.GameInterface;
-import gui.Renderer;
-import javafx.animation.FillTransition;
-import javafx.animation.ParallelTransition;
-import javafx.animation.SequentialTransition;
-import javafx.animation.TranslateTransition;
+import javafx.animation.Interpolator;
 import javafx.application.Platform;
 import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
-import javafx.scene.text.Font;
-import javafx.scene.text.FontWeight;
-import javafx.scene.text.Text;
-import javafx.util.Duration;
-import sorts.logic.BubbleSort;
-import sorts.logic.InsertSort;
-import sorts.logic.SelectionSort;
-import sorts.logic.SortableComponent;
+import sorts.logic.SortProgress;
+import sorts.logic.SortStep;
 import stores.ImageStore;
-import stores.LambdaStore;
 
 import java.util.ArrayList;
+import java.util.PrimitiveIterator;
 
 /**
  * @author : Evgeniy Kim; Contributors - Dominic Walters and Paul Popa
@@ -32,54 +20,98 @@ import java.util.ArrayList;
  *          <p>
  *          The central class for displaying the sort visual. Loosely based on the Model-View-Controller model.
  *          This class contains both: Controller and View, and the Model being individual Sort classes.
- *          However instead of the Controller constantly changing the Model, it does it all in one go:
- *          after a sort is chosen, all sort 'states' which are steps from the beginning to the end where the
- *          list is sorted, are stored with swapped flags where necessary. This class then unwraps that information
- *          in a way that can be easily usable by a visualizer, which is also here.
+ *          After a sort is chosen, its steps are read one at a time: every time a swap animation ends,
+ *          the sort is run up to its next swap, which is then animated. The animation is driven by the
+ *          shared clock of SortVisualPlayer, which asks for the bars to be placed once per frame.
+ *          It only observes the blockade's SortProgress: a swap is not shown before the unit has started
+ *          it, and the blockade breaks on the engine's ticks whether it is shown or not. A visualisation
+ *          only exists while it is on display, on a pane borrowed from SortVisualPool.
  * @date : 19/02/16
  */
 public class SortVisual {
 
-    public int HEIGHT = 260;
-    public int WIDTH = 280;
+    // Swap animation timings, in nanoseconds of the player's clock, a swap lasts as long as it does logically
+    private static final long SWAP = SortProgress.TICKS_PER_SWAP * 1_000_000_000L / CoreEngine.FRAME_RATE;
+    private static final long HIGHLIGHT = 10_000_000L;
+    private static final int MOVES = 9;
+    private static final long MOVE = (SWAP - HIGHLIGHT) / MOVES;
+    private static final long FADE = 300_000_000L;
 
-    public static ArrayList<SequentialTransition> seq = new ArrayList<>();
+    private static final Color BAR = SortVisualPane.BAR;
+    private static final Color SWAPPING = Color.AQUA;
 
     //sorts all the visual block objects
     private ArrayList<SortVisualBar> blocks;
-    //all RELEVANT sort states, swapped and the state before a swap
-    private ArrayList<SortableComponent> sorts;
-    //used to store WHAT is swapped in a state
-    private ArrayList<Tuple> tuples;
+    //the order of the values before sorting
+    private ArrayList<Integer> initial;
+    //the steps of the sort, generated as they are read
+    private PrimitiveIterator.OfLong steps;
     //the physical blockade on the map passed in
     private SortableBlockade block;
+    //the progress of the unit sorting it, the animation follows it
+    private SortProgress progress;
+    //swaps animated so far
+    private int swapsShown = 0;
 
     public static SortVisual rendered = null;
-    private Pane sortPane = null;
-    //the physical unit on the map passed in
-    private Unit unit;
-    //enum to choose sort
-    public Sort sort;
-    //flag for game elements to know whether the sort pane is removable ( done with animating )
-    private boolean remove = false;
+    private SortVisualPane sortPane;
+    //flag for the player to drop this visualisation, once its pane has gone back to the pool
+    private boolean released = false;
+
+    //the swap being animated, the clock time it started and where its bars started
+    private Tuple current = null;
+    private long swapStart = -1;
+    private double oldX;
+    private double oldSecondX;
+    //the last two bars swapped, fading back to their colour
+    private SortVisualBar fadeFirst = null;
+    private SortVisualBar fadeSecond = null;
+    private long fadeStart;
 
     /**
-     * Builds a sort visualiser
+     * Builds a sort visualiser, caught up with the progress of the sort
      *
      * @param block the blockade to perform the sort for
-     * @param unit  the unit that started the sort
+     * @param pane  the pane to draw on
      */
-    public SortVisual(SortableBlockade block, Unit unit) {
+    private SortVisual(SortableBlockade block, SortVisualPane pane) {
 
         block.setSortVisual(this);
-        this.sort = unit.getSort();
         this.block = block;
-        this.unit = unit;
+        this.progress = block.getProgress();
+        this.sortPane = pane;
 
-        highlightBlock();
         start();
     }
 
+    /**
+     * Puts the sort of a blockade on display, making its visualisation if it does not have one.
+     * Nothing is shown if the blockade is not being sorted or all the panes are in use.
+     *
+     * @param block the blockade being sorted
+     */
+    public static void show(SortableBlockade block) {
+
+        SortVisual visual = block.getSortVisual();
+
+        if (visual == null) {
+
+            if (block.getProgress() == null || block.getProgress().isFinished()) {
+                return;
+            }
+
+            SortVisualPane pane = SortVisualPool.Instance().acquire();
+
+            if (pane == null) {
+                return;
+            }
+
+            visual = new SortVisual(block, pane);
+        }
+
+        visual.display(true);
+    }
+
     // GETTER method
 
     /**
@@ -103,419 +135,338 @@ public class SortVisual {
     }
 
     /**
-     * Gets the unit that the sort visual is using
-     *
-     * @return the unit
+     * Orders the bars as the input of the sort, then applies at once every swap the unit
+     * has already finished. The swap in progress is animated from its start.
      */
-    public Unit getUnit() {
+    private void start() {
 
-        return this.unit;
-    }
+        initial = new ArrayList<>(block.getToSortArray());
+        // the same steps the unit is working through, read at the pace of its progress
+        steps = SortProgress.steps(progress.getSort(), initial);
+        blocks = sortPane.arrange(initial);
+
+        int done = progress.getSwapsDone() - 1;
 
-    // SETTER method
+        while (swapsShown < done) {
+
+            Tuple swap = nextSwap();
+
+            if (swap == null) {
+                break;
+            }
+
+            current = swap;
+            beginSwap();
+            completeSwap();
+            current = null;
+            fadeFirst = null;
+            fadeSecond = null;
+            swapsShown++;
+        }
+
+        //the player animates the swaps one after the other from its clock
+        SortVisualPlayer.Instance().play(this);
+    }
 
     /**
-     * Set the unit that the sort visual uses
+     * Runs the sort up to its next swap
+     * returns a tuple of what indexes are to be swapped, shifted by one for the invisible bar
      *
-     * @param unit the unit to set to
+     * @return Tuple to swap next, or null if the sort has finished
      */
-    public void setUnit(Unit unit) {
+    private Tuple nextSwap() {
+
+        while (steps.hasNext()) {
+
+            long step = steps.nextLong();
+
+            if (SortStep.isSwap(step)) {
+                return new Tuple(SortStep.first(step) + 1, SortStep.second(step) + 1);
+            }
+        }
 
-        this.unit = unit;
+        return null;
     }
 
     /**
-     * Decides which sort to use.
-     * Creates the pane, and generates 11 bars, with one invisible using a custom SortVisualBar object.
-     * Then repositions them according to the first state of the sort (initial sort input)
-     * Then repositions the block objects in the same order, but logically within the data structure they are stored in
-     * This allows for the swap to cleanly move them logically AND visually simultaneously.
+     * Places the bars for the given clock time, starting and completing swaps as time passes.
+     * Called by SortVisualPlayer on the FX thread once per frame.
+     *
+     * @param time the player's clock, in nanoseconds
+     * @return true once the sort has finished and the visualisation can be dropped
      */
-    public void start() {
+    boolean advance(long time) {
+
+        // hidden, the pane has gone back to the pool
+        if (released) {
+            return true;
+        }
 
-        tuples = new ArrayList<>();
-        //DECIDING WHICH SORT TO USE
-        // DFS unit -> Set to Bubble Sort
-        if (this.sort == Unit.Sort.BUBBLE) sorts = BubbleSort.sort(block.getToSortArray());
-        // BFS unit -> Set to Selection Sort
-        if (this.sort == Unit.Sort.SELECTION) sorts = SelectionSort.sort(block.getToSortArray());
-        // Astar unit -> Set to Insertion Sort
-        if (this.sort == Unit.Sort.INSERT) sorts = InsertSort.sort(block.getToSortArray());
+        if (swapStart < 0) {
+            swapStart = time;
+        }
+
+        fade(time);
 
-        sortPane = new Pane();//create a pane to store block objects on
-        sortPane.setStyle("-fx-background-color: #838b83;");
-        sortPane.setOpacity(0.0);
-        sortPane.setPrefSize(WIDTH, HEIGHT);
+        while (true) {
 
-        //GENERATING BLOCKS, AND PLACING THEM IN THE CORRECT PLACE VISUALLY
-        blocks = new ArrayList<>();
+            if (current == null) {
 
-        for (double x = 0; x < 11; x++) {
+                // wait for the unit to start the next swap
+                if (swapsShown >= progress.getSwapsDone()) {
 
-            SortVisualBar block = new SortVisualBar(
-                    15.0,
-                    (x * 15.0),
-                    Color.web("#7092BE"),
-                    (int) x - 1 //-1 because extra invis block, so 1 holds 0...etc
-            );
+                    if (progress.isFinished()) {
 
-            if (x == 0) block.setStroke(null);
+                        finish();
+                        return true;
+                    }
 
-            int loc = 40;
+                    swapStart = time;
+                    return false;
+                }
 
-            //loc used to calculate location to decide where to place blocks
-            if (x != 0) {
+                //prepare next swap from the sort
+                current = nextSwap();
 
-                int pos = find(x - 1);
-                loc = 40 + (20 * pos);
+                if (current == null) {
+
+                    finish();
+                    return true;
+                }
+
+                swapsShown++;
+                beginSwap();
             }
 
-            // if 0th block, then hard set it to nearly the edge, invis block
-            if (x == 0) loc = 10;
-
-            //place in location calculated
-            block.relocate(loc, HEIGHT - (x * 15) - 5);
-            block.setOpacity(0.0);
-            //add to pane
-            sortPane.getChildren().add(block);
-            //set custom variable needed for animation
-            block.setUpdateX(block.getLayoutX());
-            //add to global list of blocks
-            blocks.add(block);
-        }
+            long elapsed = time - swapStart;
+
+            if (elapsed < SWAP) {
 
-        //SIMPLE TEXT ON THE LEFT
-        Text tempSign = new Text("TEMP");
-        tempSign.setFill(Color.AQUA);
-        tempSign.setFont(Font.font("Verdana", FontWeight.BOLD, 18));
-        tempSign.setRotate(-90);
-        sortPane.getChildren().add(tempSign);
-        tempSign.relocate(-WIDTH / 15, HEIGHT - 45);
-        tempSign.relocate(-WIDTH / 15, HEIGHT - 45);
-
-        //LOGICALLY ORDERING BLOCKS IN THE DATA STRUCTURE
-        ArrayList<SortVisualBar> blocksTemp = new ArrayList<>();
-        //logical positioning in the data structure, they are ordered visually above,
-        //but now need to be in the corresponding place in the data structure as well
-        blocksTemp.add(blocks.get(0));
-
-        for (int x = 0; x < sorts.get(0).getValue().size(); x++) {
-            blocksTemp.add(blocks.get(sorts.get(0).getValue().get(x) + 1));
+                pose(elapsed);
+                return false;
+            }
+
+            // the clock may have passed more than one swap since the last frame
+            completeSwap();
+            swapStart += SWAP;
+            current = null;
+            fade(time);
         }
+    }
 
-        blocks = blocksTemp;
-        //processes sorts state list, populates the Tuple list
-        prepareTransitions();
-        //play the FIRST swap animation, it will chain
-        swapTwo(tuples.get(0).getFirst(), tuples.get(0).getSecond(), 0);
+    /**
+     * General Pattern:
+     * Take block1, push it to x=0 (edge of screen), replace its old pos with block2, put block 1 in old block2 pos
+     * Records where the two bars of the current swap start from
+     */
+    private void beginSwap() {
+
+        SortVisualBar b1 = blocks.get(current.getFirst());
+        SortVisualBar b2 = blocks.get(current.getSecond());
+
+        oldX = b1.getLayoutX();
+        oldSecondX = b2.getLayoutX();
+
+        // the new swap takes over the colour of its bars
+        if (fadeFirst == b1 || fadeFirst == b2 || fadeSecond == b1 || fadeSecond == b2) {
+
+            fadeFirst.setFill(BAR);
+            fadeSecond.setFill(BAR);
+            fadeFirst = null;
+            fadeSecond = null;
+        }
     }
 
     /**
-     * Used to generate a correct location for a block inside a data structure.
-     * This is done to synchronize the data structure that contains the blocks, with the first sort state.
-     * Giving the correct visual order.
+     * Places the two bars of the current swap.
+     * The first block moves UP LEFT DOWN, then the second UP LEFT DOWN, then the first UP RIGHT DOWN.
      *
-     * @param s the numerical representation of a sort bar
-     * @return x position
+     * @param elapsed the time since the swap started
      */
-    private int find(double s) {
+    private void pose(long elapsed) {
 
-        ArrayList<Integer> state = sorts.get(0).getValue();
+        SortVisualBar b1 = blocks.get(current.getFirst());
+        SortVisualBar b2 = blocks.get(current.getSecond());
 
-        for (int x = 0; x < state.size(); x++) {
+        if (elapsed < HIGHLIGHT) {
 
-            if (state.get(x) == s) {
-                return x;
-            }
+            Color colour = BAR.interpolate(SWAPPING, (double) elapsed / HIGHLIGHT);
+            b1.setFill(colour);
+            b2.setFill(colour);
+            return;
         }
 
-        return -1;
-    }
+        b1.setFill(SWAPPING);
+        b2.setFill(SWAPPING);
+
+        long moving = elapsed - HIGHLIGHT;
+        int move = (int) Math.min(MOVES - 1, moving / MOVE);
+        double f = Interpolator.EASE_BOTH.interpolate(0.0, 1.0, (double) (moving - move * MOVE) / MOVE);
+        double distance = oldSecondX - oldX;
+
+        double x1 = move < 1 ? 0 : move < 7 ? -oldX : distance;
+        double y1 = 0;
+        double x2 = move < 4 ? 0 : -distance;
+        double y2 = 0;
+
+        switch (move) {
+            case 0:
+                y1 = -100 * f;
+                break;
+            case 1:
+                x1 = -oldX * f;
+                y1 = -100;
+                break;
+            case 2:
+                y1 = -100 * (1 - f);
+                break;
+            case 3:
+                y2 = -200 * f;
+                break;
+            case 4:
+                x2 = -distance * f;
+                y2 = -200;
+                break;
+            case 5:
+                y2 = -200 * (1 - f);
+                break;
+            case 6:
+                y1 = -200 * f;
+                break;
+            case 7:
+                x1 = -oldX + oldSecondX * f;
+                y1 = -200;
+                break;
+            default:
+                y1 = -200 * (1 - f);
+                break;
+        }
 
+        b1.setTranslateX(x1);
+        b1.setTranslateY(y1);
+        b2.setTranslateX(x2);
+        b2.setTranslateY(y2);
+    }
 
     /**
-     * Populates the tuple list which dictates how animations play.
-     * Iterates through all the sort states and finds what to swap.
+     * Puts the two bars of the current swap in their new places, visually and in the data structure,
+     * and starts fading them back to their colour
      */
-    private void prepareTransitions() {
+    private void completeSwap() {
 
-        int count = 0;
+        int block1 = current.getFirst();
+        int block2 = current.getSecond();
+        SortVisualBar b1 = blocks.get(block1);
+        SortVisualBar b2 = blocks.get(block2);
 
-        while (count < sorts.size()) {
+        b1.relocate(oldSecondX, b1.getLayoutY());
+        b2.relocate(oldX, b2.getLayoutY());
+        b1.setTranslateX(0);
+        b1.setTranslateY(0);
+        b2.setTranslateX(0);
+        b2.setTranslateY(0);
 
-            Tuple x = findSwapped(sorts.get(count), count);
+        //update the special var x value, for the next time the block is used
+        b1.setUpdateX(oldSecondX);
+        b2.setUpdateX(oldX);
 
-            if (x.getFirst() != -1 && x.getSecond() != -1) {
+        //swap logical position in the data structure as well as visual
+        blocks.set(block1, b2);
+        blocks.set(block2, b1);
 
-                x.setFirst(x.getFirst() + 1);
-                x.setSecond(x.getSecond() + 1);
-                tuples.add(x);
-            }
-
-            count++;
-        }
+        fadeFirst = b1;
+        fadeSecond = b2;
+        fadeStart = swapStart + SWAP;
     }
 
     /**
-     * Finds what needs to be swapped LOGICALLY
-     * returns a tuple of what indexes are to be swapped
+     * Fades the last swapped bars from the highlight back to their colour
      *
-     * @param sortState current state
-     * @param currentID current number of state
-     * @return Tuple which potentially has to be swapped
+     * @param time the player's clock, in nanoseconds
      */
-    private Tuple findSwapped(SortableComponent sortState, int currentID) {
-
-        //flag for no swap
-        int first = -1;
-        int second = -1;
+    private void fade(long time) {
 
-        if (sortState.swapped) {
+        if (fadeFirst == null) {
+            return;
+        }
 
-            SortableComponent previous = sorts.get(currentID - 1);
+        double f = Math.min(1, (double) (time - fadeStart) / FADE);
+        Color colour = SWAPPING.interpolate(BAR, f);
 
-            for (int x = 0; x < sortState.getValue().size(); x++) {
+        fadeFirst.setFill(colour);
+        fadeSecond.setFill(colour);
 
-                //fill first incidence of different values
-                if (first == -1 && previous.getValue().get(x) != sortState.getValue().get(x)) {
-                    first = x; //0 is
-                }
+        if (f >= 1) {
 
-                //second
-                if (previous.getValue().get(x) != sortState.getValue().get(x)) {
-                    second = x;
-                }
-            }
+            fadeFirst = null;
+            fadeSecond = null;
         }
-
-        return new Tuple(first, second);
     }
 
     /**
-     * General Pattern:
-     * Make transition, play it, after it's played make a new one (REQUIRED for nature of JavaFX not updating x)
-     * Take block1, push it to x=0 (edge of screen) , replace its old pos with block2, put block 1 in old block2 pos
-     * USAGE: formatted to use the same corresponding numbers as the Tuples generated.
-     *
-     * @param block1    first block id
-     * @param block2    second block id
-     * @param swapIndex keep track of where you are in all swaps
+     * No more swaps exist, the blockade itself has already been broken by the engine.
+     * Hides the visualisation, which gives its pane back to the pool.
      */
-    private void swapTwo(int block1, int block2, int swapIndex) {
+    private void finish() {
 
-        SortVisualBar b1 = blocks.get(block1);
-        SortVisualBar b2 = blocks.get(block2);
+        if (rendered == this) {
+            display(false);
+        } else {
+            release();
+        }
+    }
 
-        //update possible movements from older transitions (this value is updated after this animation ends)
-        b1.relocate(b1.getUpdateX(), b1.getLayoutY());
-        b2.relocate(b2.getUpdateX(), b2.getLayoutY());
-
-        double oldX = b1.getLayoutX();
-        double oldSecondX = b2.getLayoutX();
-
-        FillTransition col1 = new FillTransition(Duration.millis(10), b1, Color.web("#7092BE"), Color.AQUA);
-        FillTransition col2 = new FillTransition(Duration.millis(10), b2, Color.web("#7092BE"), Color.AQUA);
-        ParallelTransition colx = new ParallelTransition(col1, col2);
-
-        // first block , 3 transitions  UP LEFT DOWN
-        TranslateTransition tty = new TranslateTransition(Duration.seconds(0.17), blocks.get(block1));
-        tty.setFromY(0);
-        tty.setToY(-100);
-
-        TranslateTransition ttx = new TranslateTransition(Duration.seconds(0.17), blocks.get(block1));
-        ttx.setFromX(0);
-        ttx.setToX(-oldX);
-
-        TranslateTransition txx = new TranslateTransition(Duration.seconds(0.17), blocks.get(block1));
-        txx.setFromY(-100);
-        txx.setToY(0);
-
-        //second block, 3 transitions UP <> DOWN
-        TranslateTransition ty = new TranslateTransition(Duration.seconds(0.17), blocks.get(block2));
-        ty.setFromY(0);
-        ty.setToY(-200);
-
-        TranslateTransition tx = new TranslateTransition(Duration.seconds(0.17), blocks.get(block2));
-        tx.setFromX(0);
-        tx.setToX(-(oldSecondX - (oldX))); //always left
-
-        TranslateTransition txt = new TranslateTransition(Duration.seconds(0.17), blocks.get(block2));
-        txt.setFromY(-200);
-        txt.setToY(0);
-
-        //last 3, first block, UP RIGHT DOWN
-        TranslateTransition gy = new TranslateTransition(Duration.seconds(0.17), blocks.get(block1));
-        gy.setFromY(0);
-        gy.setToY(-200);
-
-        TranslateTransition gx = new TranslateTransition(Duration.seconds(0.17), blocks.get(block1));
-        gx.setFromX(-oldX);
-        gx.setToX(oldSecondX - oldX);
-
-        TranslateTransition gyy = new TranslateTransition(Duration.seconds(0.17), blocks.get(block1));
-        gyy.setFromY(-200);
-        gyy.setToY(0);
-
-        SequentialTransition temp = new SequentialTransition(
-                colx,
-                tty,
-                ttx,
-                txx,
-                ty,
-                tx,
-                txt,
-                gy,
-                gx,
-                gyy
-        );
-
-        seq.add(temp);
-        // animations have to be calculated after the previous set is finished,
-        // as to keep the correct coordinates of X values hence onFinished
-        temp.setOnFinished(event -> {
-
-            FillTransition col1x = new FillTransition(
-                    Duration.millis(300),
-                    b1,
-                    Color.AQUA,
-                    Color.web("#7092BE")
-            );
-
-            FillTransition col2x = new FillTransition(
-                    Duration.millis(300),
-                    b2,
-                    Color.AQUA,
-                    Color.web("#7092BE")
-            );
-
-            ParallelTransition colShift = new ParallelTransition(col1x, col2x);
-
-            // colShift is highlighting of bars into teal when they are being swapped
-            colShift.play();
-
-            //SWAPS still exist, more to animate
-            if (swapIndex != tuples.size() - 1) {
-
-                //update the special var x value, for the next time the block is used to update logically
-                b1.setUpdateX(oldSecondX);
-                b2.setUpdateX(oldX);
-
-                //prepare next swap from Tuple list
-                Tuple next = tuples.get(swapIndex + 1);
-
-                //swap logical position in the data structure as well as visual
-                SortVisualBar temp1 = blocks.get(block1);
-                blocks.set(block1, blocks.get(block2));
-                blocks.set(block2, temp1);
-                seq.remove(temp);
-
-                //next transition
-                swapTwo(next.getFirst(), next.getSecond(), swapIndex + 1);
-
-            } else {
-
-                // no more swaps exist, do logic to cleanly remove the pane and its objects
-                remove = true;
-                CoreEngine.Instance().removeEntity(block);
-                unit.setSorting(null);
-                block.setSortVisual(null);
-
-                if (SortVisual.rendered != null && SortVisual.rendered.equals(this)) {
-                    SortVisual.rendered = null;
-                }
+    /**
+     * Gives the pane back to the pool, the visualisation is then dropped by the player
+     */
+    private void release() {
 
-                seq.remove(temp);
-            }
-        });
+        if (!released) {
 
-        temp.play();
+            released = true;
+            block.setSortVisual(null);
+            SortVisualPool.Instance().release(sortPane);
+        }
     }
 
     /**
      * Either displays or undisplays all bars and backgrounds.
+     * Once undisplayed the visualisation is finished with, showing the sort again makes a new one.
      *
      * @param display whether to display or not
      */
     public void display(boolean display) {
 
-        double opacity;
-
         if (display) {
 
-            opacity = 1.0;
             GameInterface.sortVisualisationPane.setStyle("-fx-background-color: #838b83;");
             rendered = this;
+            sortPane.show(true);
 
         } else {
 
-            opacity = 0.0;
             GameInterface.sortVisualisationPane.setStyle("-fx-background-color: transparent;");
-            rendered = null;
-        }
 
-        ArrayList<SortVisualBar> bars = getBlocks();
+            if (rendered == this) {
+                rendered = null;
+            }
 
-        for (SortVisualBar bar : bars) {
-            bar.setOpacity(opacity);
+            release();
         }
-
-        sortPane.setOpacity(opacity);
     }
 
     /**
-     * Highlights the current block the unit is sorting
+     * Highlights a block a unit has started sorting
      * In addition to changing colour in the transition, subtly changes.
+     *
+     * @param block the blockade being sorted
      */
-    public void highlightBlock() {
+    public static void highlightBlock(SortableBlockade block) {
 
         Platform.runLater(() -> {
 
-            Renderer.Instance().remove(block.getSprite());
-            ImageStore.setSpriteProperties(block, ImageStore.sortableBiggerImage);
-            Renderer.Instance().drawInitialEntity(block);
-            block.getSprite().setOnMouseClicked(LambdaStore.Instance().getShowSort());
+            // the sprite stays in place, only the part of the atlas it shows changes
+            block.getSprite().setSpriteKey(ImageStore.Sprite.SORTABLE_BLOCKADE_SORTING);
         });
     }
-
-    /**
-     * Multiple sort blocks can be sorted at the same time. So need equals to distinguish.
-     */
-    @Override
-    public boolean equals(Object o) {
-
-        if (this == o) return true;
-        if (o == null || getClass() != o.getClass()) return false;
-
-        SortVisual that = (SortVisual) o;
-
-        if (HEIGHT != that.HEIGHT) return false;
-        if (WIDTH != that.WIDTH) return false;
-        if (remove != that.remove) return false;
-        if (blocks != null ? !blocks.equals(that.blocks) : that.blocks != null) return false;
-        if (sorts != null ? !sorts.equals(that.sorts) : that.sorts != null) return false;
-        if (tuples != null ? !tuples.equals(that.tuples) : that.tuples != null) return false;
-        if (block != null ? !block.equals(that.block) : that.block != null) return false;
-        if (sortPane != null ? !sortPane.equals(that.sortPane) : that.sortPane != null) return false;
-        return unit != null ? unit.equals(that.unit) : that.unit == null && sort == that.sort;
-    }
-
-    /**
-     * Accompanies equals method
-     */
-    @Override
-    public int hashCode() {
-
-        int result = HEIGHT;
-        result = 31 * result + WIDTH;
-        result = 31 * result + (blocks != null ? blocks.hashCode() : 0);
-        result = 31 * result + (sorts != null ? sorts.hashCode() : 0);
-        result = 31 * result + (tuples != null ? tuples.hashCode() : 0);
-        result = 31 * result + (block != null ? block.hashCode() : 0);
-        result = 31 * result + (sortPane != null ? sortPane.hashCode() : 0);
-        result = 31 * result + (unit != null ? unit.hashCode() : 0);
-        result = 31 * result + (sort != null ? sort.hashCode() : 0);
-        result = 31 * result + (remove ? 1 : 0);
-
-        return result;
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,179 @@
+package sorts.visual;
+
+import core.CoreEngine;
+import javafx.animation.AnimationTimer;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Plays every sort visualisation from one clock. The clock is moved on by the engine on each tick,
+ *          so pausing the engine pauses every sort, and the speed of all sorts is a single value. Once per
+ *          frame, each active visualisation places its bars for the current clock time, so no transition
+ *          objects are made per swap.
+ * @date : 19/10/2026
+ */
+public final class SortVisualPlayer {
+
+    private static final double NANOS_PER_TICK = 1e9 / CoreEngine.FRAME_RATE;
+
+    // Animation time, in nanoseconds, written by the engine thread
+    private final AtomicLong clock;
+    private volatile double speed = 1.0;
+
+    // Visualisations waiting to be picked up by the FX thread, and the ones being played
+    private final Queue<SortVisual> added;
+    private final ArrayList<SortVisual> active;
+
+    private AnimationTimer timer;
+
+    // Instance for singleton.
+    private static SortVisualPlayer instance = null;
+
+    /**
+     * Implements Singleton for this class (Only one can exist)
+     *
+     * @return the player instance
+     */
+    public static synchronized SortVisualPlayer Instance() {
+
+        if (instance == null) {
+            instance = new SortVisualPlayer();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Delete the existing instance of this class, stopping its timer
+     */
+    public static synchronized void delete() {
+
+        if (instance != null) {
+            instance.stop();
+        }
+
+        instance = null;
+    }
+
+    /**
+     * Creates a player with its clock at zero
+     */
+    private SortVisualPlayer() {
+
+        this.clock = new AtomicLong();
+        this.added = new ConcurrentLinkedQueue<>();
+        this.active = new ArrayList<>();
+    }
+
+    /**
+     * Moves the clock on by one engine tick, scaled by the speed.
+     * Called by the engine, which does not tick while paused.
+     */
+    public void tick() {
+
+        clock.addAndGet(Math.round(NANOS_PER_TICK * speed));
+    }
+
+    /**
+     * Adds a visualisation, it starts playing on the next frame. Can be called from any thread.
+     *
+     * @param visual the visualisation to play
+     */
+    public void play(SortVisual visual) {
+
+        added.add(visual);
+    }
+
+    /**
+     * Starts drawing the visualisations, must be called on the FX thread
+     */
+    public void start() {
+
+        if (timer == null) {
+
+            timer = new AnimationTimer() {
+
+                @Override
+                public void handle(long now) {
+
+                    advance();
+                }
+            };
+        }
+
+        timer.start();
+    }
+
+    /**
+     * Stops drawing the visualisations, must be called on the FX thread
+     */
+    public void stop() {
+
+        if (timer != null) {
+            timer.stop();
+        }
+    }
+
+    /**
+     * Places the bars of every active visualisation for the current clock time,
+     * dropping the ones that have finished
+     */
+    private void advance() {
+
+        long time = clock.get();
+        SortVisual visual;
+
+        while ((visual = added.poll()) != null) {
+            active.add(visual);
+        }
+
+        Iterator<SortVisual> iterator = active.iterator();
+
+        while (iterator.hasNext()) {
+
+            if (iterator.next().advance(time)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the current animation time
+     *
+     * @return the clock, in nanoseconds
+     */
+    public long getTime() {
+
+        return clock.get();
+    }
+
+    /**
+     * Gets how fast the sorts are played
+     *
+     * @return the speed, 1 is normal
+     */
+    public double getSpeed() {
+
+        return speed;
+    }
+
+    // SETTER methods
+
+    /**
+     * Sets how fast the sorts are played
+     *
+     * @param speed the speed, 1 is normal, 2 is twice as fast
+     */
+    public void setSpeed(double speed) {
+
+        this.speed = Math.max(0, speed);
+    }
+}
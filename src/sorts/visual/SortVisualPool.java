@@ -0,0 +1,119 @@
+package sorts.visual;
+
+import gui.GameInterface;
+
+import java.util.ArrayDeque;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Keeps the panes sort visualisations are drawn on. A pane is only made when a sort is put on
+ *          display, is handed back when the sort is hidden or finishes, and is reused for the next one.
+ *          Only one sort is on display at a time, the shown one is hidden before another is shown, so
+ *          no more than MAX_PANES are ever made however many blockades are being sorted. The spare covers
+ *          a pane not being given back before the next sort is shown. The other sorts only run as their
+ *          logical progress. Only used on the FX thread.
+ * @date : 19/10/2026
+ */
+public final class SortVisualPool {
+
+    private static final Logger LOG = Logger.getLogger(SortVisualPool.class.getName());
+
+    // Most panes that can exist at once, the one on display (SortVisual.rendered) and a spare
+    public static final int MAX_PANES = 2;
+
+    private final ArrayDeque<SortVisualPane> free;
+    private int made;
+
+    // Instance for singleton.
+    private static SortVisualPool instance = null;
+
+    /**
+     * Implements Singleton for this class (Only one can exist)
+     *
+     * @return the pool instance
+     */
+    public static SortVisualPool Instance() {
+
+        if (instance == null) {
+            instance = new SortVisualPool();
+        }
+
+        return instance;
+    }
+
+    /**
+     * Delete the existing instance of this class, its panes belong to the interface of the last game
+     */
+    public static void delete() {
+
+        instance = null;
+    }
+
+    /**
+     * Creates an empty pool
+     */
+    private SortVisualPool() {
+
+        this.free = new ArrayDeque<>();
+        this.made = 0;
+    }
+
+    /**
+     * Takes a pane from the pool, making one if none are free and the cap has not been reached
+     *
+     * @return a hidden pane, or null if all MAX_PANES are in use
+     */
+    public SortVisualPane acquire() {
+
+        SortVisualPane pane = free.poll();
+
+        if (pane == null && made < MAX_PANES) {
+
+            pane = new SortVisualPane();
+            GameInterface.rightMenuBox.getChildren().add(pane);
+            made++;
+        }
+
+        if (pane == null) {
+            LOG.log(Level.WARNING, "All " + MAX_PANES + " sort panes are in use");
+        }
+
+        return pane;
+    }
+
+    /**
+     * Hides a pane and puts it back in the pool
+     *
+     * @param pane the pane to give back
+     */
+    public void release(SortVisualPane pane) {
+
+        pane.show(false);
+        free.push(pane);
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the number of panes that have been made
+     *
+     * @return the amount of panes
+     */
+    public int getMade() {
+
+        return this.made;
+    }
+
+    /**
+     * Gets the number of panes free to be used
+     *
+     * @return the amount of free panes
+     */
+    public int getFree() {
+
+        return this.free.size();
+    }
+}
@@ -1,285 +1,297 @@
 package stores;
 
 import entity.Entity;
-import gui.Renderer;
 import javafx.scene.image.Image;
 import sceneElements.SpriteImage;
 
-import java.io.File;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.logging.Level;
+import java.util.logging.Logger;
 
 /**
  * @author : Dominic Walters; Contributors - Saif Azmi
  * @version : 23/03/2016;
  *          <p>
- *          This is a static class which creates all the images that are needed in several places.
- *          This is done to save space and time.
+ *          This is a static class which hands out all the images that are needed in several places.
+ *          This is done to save space and time. The pictures themselves are loaded by the ResourceManager.
  * @date : 26/02/16
  */
 public final class ImageStore {
 
-    private static final Renderer renderer = Renderer.Instance();
+    private static final Logger LOG = Logger.getLogger(ImageStore.class.getName());
 
-    // Sprites directory
-    private static final String SEPARATOR = File.separator;
-    private static final String SPRITE_RESOURCES = SEPARATOR + "resources" + SEPARATOR + "sprites" + SEPARATOR;
+    // Number of differently sized atlases kept around, one per recently used zoom level
+    private static final int MAX_CACHED_ATLASES = 8;
 
-    // Sub directories
-    private static final String ENTITIES = "entities" + SEPARATOR;
-    private static final String UNITS = "units" + SEPARATOR;
-    private static final String BLOCKADES = "blockades" + SEPARATOR;
-    private static final String BUTTONS = "buttons" + SEPARATOR;
-    private static final String BACKGROUNDS = "backgrounds" + SEPARATOR;
-    private static final String LABELS = "labels" + SEPARATOR;
+    /**
+     * Sprites drawn on the grid for entities, these are packed into a texture atlas
+     */
+    public enum Sprite {
+
+        DEMON("units/BFS_Idle.png"),
+        DEMON_SELECTED("units/BFS_Selected.png"),
+        DEATH_KNIGHT("units/AStar_Idle.png"),
+        DEATH_KNIGHT_SELECTED("units/AStar_Selected.png"),
+        BANSHEE("units/DFS_Idle.png"),
+        BANSHEE_SELECTED("units/DFS_Selected.png"),
+        UNSORTABLE_BLOCKADE("blockades/UnSortable_Blockade.jpg"),
+        SORTABLE_BLOCKADE("blockades/sortableBlock.png"),
+        SORTABLE_BLOCKADE_SORTING("blockades/sortableBlockSorting.png"),
+        BASE("Base.png");
+
+        private final String path;
+
+        Sprite(String path) {
+
+            this.path = "/resources/sprites/entities/" + path;
+        }
+
+        /**
+         * Gets the class path resource of this sprite
+         *
+         * @return the resource path
+         */
+        public String getPath() {
+
+            return this.path;
+        }
+    }
+
+    /**
+     * Pictures used by the menus and the game interface, loaded by the resource manager.
+     * Main menu pictures come first so they are the first ones the loading threads pick up.
+     */
+    public enum Picture {
+
+        // main menu
+        NEW_GAME("buttons/NewGame_Idle.png"),
+        NEW_GAME_HOVERED("buttons/NewGame_Hover.png"),
+        OPTIONS("buttons/Options_Idle.png"),
+        OPTIONS_HOVERED("buttons/Options_Hover.png"),
+        EXIT("buttons/Quit_Idle.png"),
+        EXIT_HOVERED("buttons/Quit_Hover.png"),
+        MAP_EDITOR("buttons/MapEditor.png", 410, 130, true, true),
+        MAP_EDITOR_HOVERED("buttons/MapEditor_Hover.png", 410, 130, true, true),
+        CUSTOM_GAME("buttons/CustomGame_Idle.png"),
+        CUSTOM_GAME_HOVERED("buttons/CustomGame_Hover.png"),
+        MAIN_MENU_BACKGROUND("backgrounds/MainMenu_Idle.png"),
+        MAIN_MENU_GLOW("backgrounds/MainMenu_Glow.png"),
+
+        // options menu
+        ON("buttons/On_Idle.png", 395, 55, true, true),
+        ON_HOVERED("buttons/On_Hover.png", 395, 55, true, true),
+        OFF("buttons/Off_Idle.png", 395, 55, true, true),
+        OFF_HOVERED("buttons/Off_Hover.png", 395, 55, true, true),
+        SHOW_SEARCH("labels/ShowSearch.png", 395, 183, true, true),
+        SOUND("labels/Sound.png", 395, 55, true, true),
+        TUTORIAL("labels/Tutorial.png", 395, 55, true, true),
+        BLOCKADE("labels/NoStartBlockade.png", 550, 0, true, true),
+        BACK("buttons/Back_Idle.png", 395, 55, true, true),
+        BACK_HOVERED("buttons/Back_Hover.png", 395, 55, true, true),
+        OPTIONS_MENU_BACKGROUND("backgrounds/OptionsMenu.png"),
+
+        // in game pause and end game menus
+        RESUME_GAME("buttons/ResumeGame_Idle.png"),
+        RESUME_GAME_HOVERED("buttons/ResumeGame_Hover.png"),
+        QUIT("buttons/Quit_Idle.png"),
+        QUIT_HOVERED("buttons/Quit_Hover.png"),
+        PAUSE_MENU_BACKGROUND("backgrounds/PauseMenu.png"),
+
+        // game interface, the portraits are shown in the unit description pane
+        DEMON_PORTRAIT("entities/units/BFS_Idle.png"),
+        DEATH_KNIGHT_PORTRAIT("entities/units/AStar_Idle.png"),
+        BANSHEE_PORTRAIT("entities/units/DFS_Idle.png"),
+        UNSORTABLE_BUTTON("entities/blockades/UnSortable_Blockade.jpg", 55, 55, false, true),
+        SORTABLE_BUTTON("entities/blockades/sortableBlock.png", 55, 55, false, true),
+        PANE_BACKGROUND("backgrounds/Pane.png"),
+
+        // map editor
+        SAVE_MAP("buttons/Save.png"),
+        SAVE_MAP_HOVERED("buttons/Save_Hovered.png"),
+        BACK_FROM_EDITOR("buttons/Back-small.png"),
+        BACK_FROM_EDITOR_HOVERED("buttons/Back-small_Hovered.png"),
+        OVERWRITE_YES("buttons/Yes.png"),
+        OVERWRITE_YES_HOVERED("buttons/Yes_Hovered.png"),
+        OVERWRITE_NO("buttons/No.png"),
+        OVERWRITE_NO_HOVERED("buttons/No_Hovered.png"),
+        CLEAR("buttons/Clear.png"),
+        CLEAR_HOVERED("buttons/Clear_Hovered.png"),
+        YES_NO_BACKGROUND("backgrounds/yesNoPane.png");
+
+        private final String path;
+        private final double width;
+        private final double height;
+        private final boolean preserveRatio;
+        private final boolean smooth;
+
+        Picture(String path) {
+
+            this(path, 0, 0, false, false);
+        }
+
+        Picture(String path, double width, double height, boolean preserveRatio, boolean smooth) {
+
+            this.path = "/resources/sprites/" + path;
+            this.width = width;
+            this.height = height;
+            this.preserveRatio = preserveRatio;
+            this.smooth = smooth;
+        }
+    }
+
+    // Encoded sprite files, kept so scaled tiles can be decoded without going back to disk
+    private static final Map<Sprite, byte[]> spriteData = new EnumMap<>(Sprite.class);
+
+    // Atlases by tile size, least recently used first
+    private static final Map<Long, TextureAtlas> atlases = new LinkedHashMap<Long, TextureAtlas>(16, 0.75f, true) {
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, TextureAtlas> eldest) {
+
+            return size() > MAX_CACHED_ATLASES;
+        }
+    };
 
     private ImageStore() {
 
         // To prevent instantiation.
     }
 
-    //unit images
-    public static final Image imageDemon = new Image(
-            SPRITE_RESOURCES + ENTITIES + UNITS + "BFS_Idle.png",
-            renderer.getXSpacing(),
-            renderer.getYSpacing(),
-            true,
-            true
-    );
-
-    public static final Image imageDk = new Image(
-            SPRITE_RESOURCES + ENTITIES + UNITS + "AStar_Idle.png",
-            renderer.getXSpacing(),
-            renderer.getYSpacing(),
-            true,
-            true
-    );
-
-    public static final Image imageBanshee = new Image(
-            SPRITE_RESOURCES + ENTITIES + UNITS + "DFS_Idle.png",
-            renderer.getXSpacing(),
-            renderer.getYSpacing(),
-            true,
-            true
-    );
-
-    public static final Image imagePressedDemon = new Image(
-            SPRITE_RESOURCES + ENTITIES + UNITS + "BFS_Selected.png",
-            renderer.getXSpacing(),
-            renderer.getYSpacing(),
-            true,
-            true
-    );
-
-    public static final Image imagePressedDk = new Image(
-            SPRITE_RESOURCES + ENTITIES + UNITS + "AStar_Selected.png",
-            renderer.getXSpacing(),
-            renderer.getYSpacing(),
-            true,
-            true
-    );
-
-    public static final Image imagePressedBanshee = new Image(
-            SPRITE_RESOURCES + ENTITIES + UNITS + "DFS_Selected.png",
-            renderer.getXSpacing(),
-            renderer.getYSpacing(),
-            true,
-            true
-    );
-
-    //blockade images
-    public static final Image unsortableImage1 = new Image(
-            SPRITE_RESOURCES + ENTITIES + BLOCKADES + "UnSortable_Blockade.jpg",
-            renderer.getXSpacing(),
-            renderer.getYSpacing(),
-            true,
-            true
-    );
-
-    public static final Image sortableImage1 = new Image(
-            SPRITE_RESOURCES + ENTITIES + BLOCKADES + "sortableBlock.png",
-            renderer.getXSpacing(),
-            renderer.getYSpacing(),
-            true,
-            true
-    );
-
-    public static final Image sortableBiggerImage = new Image(
-            SPRITE_RESOURCES + ENTITIES + BLOCKADES + "sortableBlockSorting.png",
-            renderer.getXSpacing(),
-            renderer.getYSpacing(),
-            true,
-            true
-    );
-
-    //base images
-    public static final Image base = new Image(
-            SPRITE_RESOURCES + ENTITIES + "Base.png",
-            renderer.getXSpacing(),
-            renderer.getYSpacing(),
-            true,
-            true
-    );
-
-    //menu images
-    public static final Image newGameImage = new Image(SPRITE_RESOURCES + BUTTONS + "NewGame_Idle.png");
-    public static final Image newGameImageHovered = new Image(SPRITE_RESOURCES + BUTTONS + "NewGame_Hover.png");
-    public static final Image optionsImage = new Image(SPRITE_RESOURCES + BUTTONS + "Options_Idle.png");
-    public static final Image optionsImageHovered = new Image(SPRITE_RESOURCES + BUTTONS + "Options_Hover.png");
-    public static final Image exitImage = new Image(SPRITE_RESOURCES + BUTTONS + "Quit_Idle.png");
-    public static final Image exitImageHovered = new Image(SPRITE_RESOURCES + BUTTONS + "Quit_Hover.png");
-
-    public static final Image unsortableImage2 = new Image(
-            SPRITE_RESOURCES + ENTITIES + BLOCKADES + "UnSortable_Blockade.jpg",
-            55,
-            55,
-            false,
-            true
-    );
-
-    public static final Image sortableImage2 = new Image(
-            SPRITE_RESOURCES + ENTITIES + BLOCKADES + "sortableBlock.png",
-            55,
-            55,
-            false,
-            true
-    );
-
-    //background images
-    public static final Image backgroundMainMenu = new Image(SPRITE_RESOURCES + BACKGROUNDS + "MainMenu_Idle.png");
-    public static final Image backgroundMainMenuGlow = new Image(SPRITE_RESOURCES + BACKGROUNDS + "MainMenu_Glow.png");
-    public static final Image backgroundOptionsMenu = new Image(SPRITE_RESOURCES + BACKGROUNDS + "OptionsMenu.png");
-    public static final Image pauseMenu = new Image(SPRITE_RESOURCES + BACKGROUNDS + "PauseMenu.png");
-    public static final Image paneBackground = new Image(SPRITE_RESOURCES + BACKGROUNDS + "Pane.png");
-    public static final Image yesNoBackground = new Image(SPRITE_RESOURCES + BACKGROUNDS + "yesNoPane.png");
-
-    //options images
-    public static final Image onImage = new Image(
-            SPRITE_RESOURCES + BUTTONS + "On_Idle.png",
-            395,
-            55,
-            true,
-            true
-    );
-
-    public static final Image onImageHovered = new Image(
-            SPRITE_RESOURCES + BUTTONS + "On_Hover.png",
-            395,
-            55,
-            true,
-            true
-    );
-
-    public static final Image offImage = new Image(
-            SPRITE_RESOURCES + BUTTONS + "Off_Idle.png",
-            395,
-            55,
-            true,
-            true
-    );
-
-    public static final Image offImageHovered = new Image(
-            SPRITE_RESOURCES + BUTTONS + "Off_Hover.png",
-            395,
-            55,
-            true,
-            true
-    );
-
-    public static final Image showSearchImage = new Image(
-            SPRITE_RESOURCES + LABELS + "ShowSearch.png",
-            395,
-            183,
-            true,
-            true
-    );
-
-    public static final Image soundImage = new Image(
-            SPRITE_RESOURCES + LABELS + "Sound.png",
-            395,
-            55,
-            true,
-            true
-    );
-
-    public static final Image tutorialImage = new Image(
-            SPRITE_RESOURCES + LABELS + "Tutorial.png",
-            395,
-            55,
-            true,
-            true
-    );
-
-    public static final Image blockadeImage = new Image(
-            SPRITE_RESOURCES + LABELS + "NoStartBlockade.png",
-            550,
-            0,
-            true,
-            true
-    );
-
-    public static final Image backImage = new Image(
-            SPRITE_RESOURCES + BUTTONS + "Back_Idle.png",
-            395,
-            55,
-            true,
-            true
-    );
-
-    public static final Image backImageHovered = new Image(
-            SPRITE_RESOURCES + BUTTONS + "Back_Hover.png",
-            395,
-            55,
-            true,
-            true
-    );
-
-    //in game pause menu
-    public static final Image backGameImage = new Image(SPRITE_RESOURCES + BUTTONS + "ResumeGame_Idle.png");
-    public static final Image backGameImageHovered = new Image(SPRITE_RESOURCES + BUTTONS + "ResumeGame_Hover.png");
-    public static final Image backMainImage = new Image(SPRITE_RESOURCES + BUTTONS + "Quit_Idle.png");
-    public static final Image backMainImageHovered = new Image(SPRITE_RESOURCES + BUTTONS + "Quit_Hover.png");
-
-    // map editor related
-    public static final Image mapEditorImage = new Image(
-            SPRITE_RESOURCES + BUTTONS + "MapEditor.png",
-            410,
-            130,
-            true,
-            true
-    );
-
-    public static final Image mapEditorImageHovered = new Image(
-            SPRITE_RESOURCES + BUTTONS + "MapEditor_Hover.png",
-            410,
-            130,
-            true,
-            true
-    );
-
-    public static final Image saveMapImage = new Image(SPRITE_RESOURCES + BUTTONS + "Save.png");
-    public static final Image saveMapImageHovered = new Image(SPRITE_RESOURCES + BUTTONS + "Save_Hovered.png");
-    public static final Image backFromEditor = new Image(SPRITE_RESOURCES + BUTTONS + "Back-small.png");
-    public static final Image backFromEditorHovered = new Image(SPRITE_RESOURCES + BUTTONS + "Back-small_Hovered.png");
-    public static final Image overwriteYes = new Image(SPRITE_RESOURCES + BUTTONS + "Yes.png");
-    public static final Image overwriteYesHovered = new Image(SPRITE_RESOURCES + BUTTONS + "Yes_Hovered.png");
-    public static final Image overwriteNo = new Image(SPRITE_RESOURCES + BUTTONS + "No.png");
-    public static final Image overwriteNoHovered = new Image(SPRITE_RESOURCES + BUTTONS + "No_Hovered.png");
-    public static final Image clear = new Image(SPRITE_RESOURCES + BUTTONS + "Clear.png");
-    public static final Image clearHovered = new Image(SPRITE_RESOURCES + BUTTONS + "Clear_Hovered.png");
-    public static final Image customGameImage = new Image(SPRITE_RESOURCES + BUTTONS + "CustomGame_Idle.png");
-    public static final Image customGameImageHover = new Image(SPRITE_RESOURCES + BUTTONS + "CustomGame_Hover.png");
+    /**
+     * Gets a picture, waiting for it only if the resource manager has not finished loading it
+     *
+     * @param picture the picture
+     * @return the loaded image
+     */
+    public static Image image(Picture picture) {
+
+        return load(picture).join();
+    }
 
     /**
-     * Sets the sprite property of an entity
+     * Starts loading a picture on the resource manager, or gets the load already started
      *
-     * @param entity the entity to set for
-     * @param image  the image to use
+     * @param picture the picture
+     * @return a future for the loaded image
+     */
+    static CompletableFuture<Image> load(Picture picture) {
+
+        return ResourceManager.Instance().image(
+                picture.path,
+                picture.width,
+                picture.height,
+                picture.preserveRatio,
+                picture.smooth
+        );
+    }
+
+    /**
+     * Gets the atlas of all entity sprites at the given tile size, building it on first use
+     *
+     * @param tileWidth  width of a tile in pixels
+     * @param tileHeight height of a tile in pixels
+     * @return the texture atlas
+     */
+    public static synchronized TextureAtlas atlas(int tileWidth, int tileHeight) {
+
+        tileWidth = Math.max(1, tileWidth);
+        tileHeight = Math.max(1, tileHeight);
+
+        long key = ((long) tileWidth << 32) | tileHeight;
+        TextureAtlas atlas = atlases.get(key);
+
+        if (atlas == null) {
+
+            Map<Sprite, Image> tiles = new EnumMap<>(Sprite.class);
+
+            for (Sprite sprite : Sprite.values()) {
+
+                byte[] data = spriteData(sprite);
+
+                if (data != null) {
+                    tiles.put(sprite, new Image(new ByteArrayInputStream(data), tileWidth, tileHeight, false, true));
+                }
+            }
+
+            atlas = new TextureAtlas(tiles, tileWidth, tileHeight);
+            atlases.put(key, atlas);
+        }
+
+        return atlas;
+    }
+
+    /**
+     * Gets the encoded file of a sprite, reading it from the resources the first time
+     *
+     * @param sprite the sprite
+     * @return the bytes of the image file, or null if it could not be read
      */
-    public static void setSpriteProperties(Entity entity, Image image) {
-        SpriteImage spriteImage = new SpriteImage(image, entity);
-        spriteImage.setFitWidth(renderer.getXSpacing());
-        spriteImage.setFitHeight(renderer.getYSpacing());
+    static synchronized byte[] spriteData(Sprite sprite) {
+
+        byte[] data = spriteData.get(sprite);
+
+        if (data == null) {
+
+            try (InputStream in = ImageStore.class.getResourceAsStream(sprite.getPath())) {
+
+                if (in == null) {
+
+                    LOG.log(Level.SEVERE, "Missing sprite " + sprite.getPath());
+                    return null;
+                }
+
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int read;
+
+                while ((read = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, read);
+                }
+
+                data = out.toByteArray();
+                spriteData.put(sprite, data);
+
+            } catch (IOException e) {
+                LOG.log(Level.SEVERE, e.toString(), e);
+            }
+        }
+
+        return data;
+    }
+
+    /**
+     * Creates a sprite image showing the given entity sprite.
+     * It has no image until a renderer hands it the atlas for its tile size.
+     *
+     * @param sprite the sprite to show
+     * @param entity the entity the sprite belongs to
+     * @return the sprite image
+     */
+    public static SpriteImage createSprite(Sprite sprite, Entity entity) {
+
+        SpriteImage spriteImage = new SpriteImage(null, entity);
+        spriteImage.setSpriteKey(sprite);
         spriteImage.setPreserveRatio(false);
         spriteImage.setSmooth(true);
-        entity.setSprite(spriteImage);
+
+        return spriteImage;
+    }
+
+    /**
+     * Sets the sprite property of an entity
+     *
+     * @param entity the entity to set for
+     * @param sprite the sprite to use
+     */
+    public static void setSpriteProperties(Entity entity, Sprite sprite) {
+
+        entity.setSprite(createSprite(sprite, entity));
     }
 }
@@ -0,0 +1,107 @@
+package stores;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelWriter;
+import javafx.scene.image.WritableImage;
+
+import java.util.Map;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          All entity sprites packed into a single image, every sprite scaled to the same tile size.
+ *          Sprite images show a sub-rectangle of the atlas through their viewport, so all entities
+ *          share one texture and nothing has to be re-scaled until the tile size changes.
+ * @date : 19/10/2026
+ */
+public final class TextureAtlas {
+
+    private final WritableImage image;
+    private final int tileWidth;
+    private final int tileHeight;
+    private final Rectangle2D[] regions;
+
+    /**
+     * Packs the given tiles into a grid. Every tile is expected to already be tileWidth x tileHeight.
+     *
+     * @param tiles      the scaled image of each sprite
+     * @param tileWidth  width of a tile in pixels
+     * @param tileHeight height of a tile in pixels
+     */
+    TextureAtlas(Map<ImageStore.Sprite, Image> tiles, int tileWidth, int tileHeight) {
+
+        ImageStore.Sprite[] sprites = ImageStore.Sprite.values();
+
+        int columns = (int) Math.ceil(Math.sqrt(sprites.length));
+        int rows = (sprites.length + columns - 1) / columns;
+
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.image = new WritableImage(columns * tileWidth, rows * tileHeight);
+        this.regions = new Rectangle2D[sprites.length];
+
+        PixelWriter writer = image.getPixelWriter();
+
+        for (ImageStore.Sprite sprite : sprites) {
+
+            int x = (sprite.ordinal() % columns) * tileWidth;
+            int y = (sprite.ordinal() / columns) * tileHeight;
+            regions[sprite.ordinal()] = new Rectangle2D(x, y, tileWidth, tileHeight);
+
+            Image tile = tiles.get(sprite);
+
+            // a sprite that failed to load is left as an empty (transparent) tile
+            if (tile != null && !tile.isError() && tile.getPixelReader() != null) {
+
+                int width = Math.min(tileWidth, (int) tile.getWidth());
+                int height = Math.min(tileHeight, (int) tile.getHeight());
+
+                writer.setPixels(x, y, width, height, tile.getPixelReader(), 0, 0);
+            }
+        }
+    }
+
+    // GETTER methods
+
+    /**
+     * Gets the packed image
+     *
+     * @return the atlas image
+     */
+    public Image getImage() {
+
+        return this.image;
+    }
+
+    /**
+     * Gets the width of each tile
+     *
+     * @return the tile width in pixels
+     */
+    public int getTileWidth() {
+
+        return this.tileWidth;
+    }
+
+    /**
+     * Gets the height of each tile
+     *
+     * @return the tile height in pixels
+     */
+    public int getTileHeight() {
+
+        return this.tileHeight;
+    }
+
+    /**
+     * Gets the part of the atlas holding a sprite
+     *
+     * @param sprite the sprite to look up
+     * @return the rectangle to use as an image view's viewport
+     */
+    public Rectangle2D region(ImageStore.Sprite sprite) {
+
+        return this.regions[sprite.ordinal()];
+    }
+}
@@ -0,0 +1,218 @@
+package stores;
+
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.Image;
+import maps.AtomicFile;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Thumbnails of the saved map images shown by the map chooser. Each is scaled down once, when the
+ *          map is saved or first viewed, and kept on disk under the name of its image and the image's last
+ *          modified time, so a map saved again gets a new thumbnail. Thumbnails are loaded on background
+ *          threads and only when asked for, so opening the chooser never waits for them.
+ * @date : 19/10/2026
+ */
+public final class ThumbnailCache {
+
+    private static final Logger LOG = Logger.getLogger(ThumbnailCache.class.getName());
+
+    private static final String SEPARATOR = File.separator;
+    private static final String EXTENSION = ".png";
+
+    private final File directory;
+    private final ExecutorService executor;
+    // Thumbnails by the path of their image
+    private final Map<String, Thumbnail> thumbnails;
+
+    // Instance for singleton.
+    private static ThumbnailCache instance = null;
+
+    /**
+     * Implements Singleton for this class (Only one can exist).
+     *
+     * @return the thumbnail cache instance
+     */
+    public static synchronized ThumbnailCache Instance() {
+
+        if (instance == null) {
+
+            String dir = System.getProperty("user.home");
+            instance = new ThumbnailCache(new File(dir + SEPARATOR + "bestRTS" + SEPARATOR + "thumbnail"));
+        }
+
+        return instance;
+    }
+
+    /**
+     * Delete the existing instance of this class
+     */
+    public static synchronized void delete() {
+
+        if (instance != null) {
+            instance.executor.shutdownNow();
+        }
+
+        instance = null;
+    }
+
+    /**
+     * Creates a cache keeping its thumbnails in the given directory, loading on daemon threads
+     *
+     * @param directory where the thumbnails are stored
+     */
+    private ThumbnailCache(File directory) {
+
+        this.directory = directory;
+        this.thumbnails = new ConcurrentHashMap<>();
+        this.executor = Executors.newFixedThreadPool(2, runnable -> {
+
+            Thread thread = new Thread(runnable, "Thumbnail loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Gets the thumbnail of a saved map image, scaled to the height the chooser shows it at.
+     * The future is shared until the image changes.
+     *
+     * @param image the png of the map
+     * @return a future for the thumbnail, holding null if the image could not be read
+     */
+    public CompletableFuture<Image> thumbnail(File image) {
+
+        long modified = image.lastModified();
+
+        return thumbnails.compute(image.getAbsolutePath(), (path, old) ->
+                old != null && old.modified == modified ?
+                        old :
+                        new Thumbnail(modified, CompletableFuture.supplyAsync(() -> load(image, modified), executor))
+        ).image;
+    }
+
+    /**
+     * Loads a thumbnail from disk, making it from the image first if there is none for this version of it
+     *
+     * @param image    the png of the map
+     * @param modified the last modified time of the image
+     * @return the thumbnail, or null if the image could not be read
+     */
+    private Image load(File image, long modified) {
+
+        File cached = cacheFile(image, modified);
+
+        if (cached.exists()) {
+
+            Image thumbnail = new Image(cached.toURI().toString());
+
+            if (!thumbnail.isError()) {
+                return thumbnail;
+            }
+        }
+
+        Image thumbnail = new Image(image.toURI().toString(), 0, ResourceManager.THUMBNAIL_HEIGHT, true, true);
+
+        if (thumbnail.isError()) {
+
+            LOG.log(Level.WARNING, "Could not read map image " + image);
+            return null;
+        }
+
+        try {
+
+            if (directory.isDirectory() || directory.mkdirs()) {
+
+                BufferedImage scaled = SwingFXUtils.fromFXImage(thumbnail, null);
+                AtomicFile.write(cached, out -> ImageIO.write(scaled, "png", out));
+                removeStale(image, cached);
+            }
+
+        } catch (IOException e) {
+            LOG.log(Level.SEVERE, e.toString(), e);
+        }
+
+        return thumbnail;
+    }
+
+    /**
+     * Deletes the thumbnails made for older versions of an image
+     *
+     * @param image   the png of the map
+     * @param current the thumbnail of its current version
+     */
+    private void removeStale(File image, File current) {
+
+        String prefix = baseName(image) + "-";
+        File[] files = directory.listFiles();
+
+        if (files == null) {
+            return;
+        }
+
+        for (File file : files) {
+
+            String name = file.getName();
+
+            if (!file.equals(current) && name.startsWith(prefix) && name.endsWith(EXTENSION) &&
+                    name.substring(prefix.length(), name.length() - EXTENSION.length()).matches("\\d+")) {
+
+                if (!file.delete()) {
+                    LOG.log(Level.WARNING, "Could not delete old thumbnail " + file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the file the thumbnail of a version of an image is kept in
+     *
+     * @param image    the png of the map
+     * @param modified the last modified time of the image
+     * @return the thumbnail file
+     */
+    private File cacheFile(File image, long modified) {
+
+        return new File(directory, baseName(image) + "-" + modified + EXTENSION);
+    }
+
+    /**
+     * Gets the name of an image without its extension
+     *
+     * @param image the png of the map
+     * @return the name of the map
+     */
+    private static String baseName(File image) {
+
+        String name = image.getName();
+
+        return name.endsWith(EXTENSION) ? name.substring(0, name.length() - EXTENSION.length()) : name;
+    }
+
+    /**
+     * A thumbnail and the version of the image it was made from
+     */
+    private static final class Thumbnail {
+
+        private final long modified;
+        private final CompletableFuture<Image> image;
+
+        private Thumbnail(long modified, CompletableFuture<Image> image) {
+
+            this.modified = modified;
+            this.image = image;
+        }
+    }
+}
@@ -0,0 +1,223 @@
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          The harness shared by the benchmarks. Each measurement is warmed up, then timed over several runs,
+ *          printed as a row and kept. Once a suite has finished its results are written as JSON to
+ *          results/Suite.json, or to the directory given as the first argument, so the files of two versions
+ *          of the game can be compared.
+ * @date : 19/10/2026
+ */
+final class Bench {
+
+    static final int WARMUP = 3;
+    static final int RUNS = 5;
+
+    private final String suite;
+    private final List<String> results;
+
+    /**
+     * Starts a suite of benchmarks, the game's logging is turned down so it is not timed as well
+     *
+     * @param suite the name of the suite, the name of its JSON file
+     */
+    Bench(String suite) {
+
+        this.suite = suite;
+        this.results = new ArrayList<>();
+
+        Logger.getLogger("").setLevel(Level.WARNING);
+    }
+
+    /**
+     * Gets parameters of a benchmark in the order they are given
+     *
+     * @param namesAndValues each name followed by its value
+     * @return the parameters
+     */
+    static Map<String, Object> params(Object... namesAndValues) {
+
+        Map<String, Object> params = new LinkedHashMap<>();
+
+        for (int i = 0; i + 1 < namesAndValues.length; i += 2) {
+            params.put(namesAndValues[i].toString(), namesAndValues[i + 1]);
+        }
+
+        return params;
+    }
+
+    /**
+     * Times a task after warming it up
+     *
+     * @param name   the name of the benchmark
+     * @param params the parameters it was run with
+     * @param task   the task to time
+     * @return the mean time of a run in milliseconds
+     * @throws Exception if the task fails
+     */
+    double time(String name, Map<String, Object> params, Task task) throws Exception {
+
+        return time(name, params, () -> null, state -> task.run());
+    }
+
+    /**
+     * Times a task after warming it up, giving each run a fresh state that is made outside the timing
+     *
+     * @param name   the name of the benchmark
+     * @param params the parameters it was run with
+     * @param setup  makes the state of a run
+     * @param task   the task to time
+     * @param <T>    the type of the state
+     * @return the mean time of a run in milliseconds
+     * @throws Exception if the setup or the task fails
+     */
+    <T> double time(String name, Map<String, Object> params, Setup<T> setup, Run<T> task) throws Exception {
+
+        for (int i = 0; i < WARMUP; i++) {
+            task.run(setup.create());
+        }
+
+        long total = 0;
+        long min = Long.MAX_VALUE;
+
+        for (int i = 0; i < RUNS; i++) {
+
+            T state = setup.create();
+            long start = System.nanoTime();
+            task.run(state);
+            long elapsed = System.nanoTime() - start;
+
+            total += elapsed;
+            min = Math.min(min, elapsed);
+        }
+
+        double mean = total / 1e6 / RUNS;
+        record(name, params, mean, min / 1e6);
+
+        return mean;
+    }
+
+    /**
+     * Keeps and prints a result timed by the benchmark itself
+     *
+     * @param name   the name of the benchmark
+     * @param params the parameters it was run with
+     * @param mean   the mean time of a run in milliseconds
+     * @param min    the fastest run in milliseconds
+     */
+    void record(String name, Map<String, Object> params, double mean, double min) {
+
+        if (results.isEmpty()) {
+            System.out.printf("%-24s %-40s %12s %12s%n", "Benchmark", "Parameters", "Mean (ms)", "Min (ms)");
+        }
+
+        StringBuilder shown = new StringBuilder();
+
+        for (Map.Entry<String, Object> param : params.entrySet()) {
+            shown.append(shown.length() > 0 ? " " : "").append(param.getKey()).append('=').append(param.getValue());
+        }
+
+        System.out.printf("%-24s %-40s %12.3f %12.3f%n", name, shown, mean, min);
+        keep(name, params, params("runs", RUNS, "meanMs", mean, "minMs", min));
+    }
+
+    /**
+     * Keeps a result for the JSON file without printing it, for benchmarks that measure more than time
+     *
+     * @param name    the name of the benchmark
+     * @param params  the parameters it was run with
+     * @param metrics what was measured
+     */
+    void keep(String name, Map<String, Object> params, Map<String, Object> metrics) {
+
+        results.add("    {\"benchmark\": \"" + name + "\", \"params\": " + json(params) + ", " +
+                json(metrics).substring(1));
+    }
+
+    /**
+     * Writes names and values as a JSON object
+     *
+     * @param values the names and values
+     * @return the object
+     */
+    private static String json(Map<String, Object> values) {
+
+        StringBuilder json = new StringBuilder("{");
+
+        for (Map.Entry<String, Object> entry : values.entrySet()) {
+
+            if (json.length() > 1) {
+                json.append(", ");
+            }
+
+            Object value = entry.getValue();
+            json.append('"').append(entry.getKey()).append("\": ");
+
+            if (value instanceof Double || value instanceof Float) {
+                json.append(String.format(Locale.ROOT, "%.4f", ((Number) value).doubleValue()));
+            } else if (value instanceof Number) {
+                json.append(value);
+            } else {
+                json.append('"').append(value).append('"');
+            }
+        }
+
+        return json.append('}').toString();
+    }
+
+    /**
+     * Writes the results of the suite as JSON
+     *
+     * @param args the arguments of the benchmark, the first is the directory to write to
+     * @throws IOException if the file cannot be written
+     */
+    void write(String[] args) throws IOException {
+
+        File dir = new File(args.length > 0 ? args[0] : "results");
+
+        if (!dir.isDirectory() && !dir.mkdirs()) {
+            throw new IOException("Could not create " + dir);
+        }
+
+        File file = new File(dir, suite + ".json");
+
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+
+            out.write("{\n  \"suite\": \"" + suite + "\",\n");
+            out.write("  \"java\": \"" + System.getProperty("java.version") + "\",\n");
+            out.write("  \"results\": [\n");
+            out.write(String.join(",\n", results));
+            out.write("\n  ]\n}\n");
+        }
+
+        System.out.println("Results written to " + file);
+    }
+
+    interface Task {
+
+        void run() throws Exception;
+    }
+
+    interface Setup<T> {
+
+        T create() throws Exception;
+    }
+
+    interface Run<T> {
+
+        void run(T state) throws Exception;
+    }
+}
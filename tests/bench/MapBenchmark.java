@@ -0,0 +1,78 @@
+import maps.MapData;
+import maps.MapFormat;
+import maps.MapGenerator;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * @version : 19/10/2026;
+ *          <p>
+ *          Times reading a generated 1000x1000 map as a legacy text map and as a version 2 binary map,
+ *          writing the binary map and memory mapping it from a file, and generating a 1024x1024 map. Run with ./run_benchmarks after compiling.
+ * @date : 19/10/2026
+ */
+public class MapBenchmark {
+
+    private static final int SIZE = 1000;
+
+    public static void main(String[] args) throws Exception {
+
+        Random random = new Random(42);
+        StringBuilder text = new StringBuilder(SIZE * SIZE * 2);
+        MapData map = new MapData(SIZE, SIZE);
+
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+
+                boolean blocked = random.nextInt(4) == 0;
+                text.append(blocked ? '1' : '0').append(x == SIZE - 1 ? '\n' : ' ');
+                map.set(x, y, blocked ? MapData.BLOCKADE : MapData.EMPTY);
+            }
+        }
+
+        byte[] legacy = text.toString().getBytes("US-ASCII");
+        byte[] binary = write(map);
+        Bench bench = new Bench("MapBenchmark");
+
+        bench.time("Legacy read", Bench.params("size", SIZE, "bytes", legacy.length),
+                () -> MapFormat.read(new ByteArrayInputStream(legacy)));
+        bench.time("Binary read", Bench.params("size", SIZE, "bytes", binary.length),
+                () -> MapFormat.read(new ByteArrayInputStream(binary)));
+        bench.time("Binary write", Bench.params("size", SIZE, "bytes", binary.length), () -> write(map));
+
+        File file = File.createTempFile("benchmark", ".map");
+        file.deleteOnExit();
+
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(binary);
+        }
+
+        bench.time("Mapped open", Bench.params("size", SIZE, "bytes", binary.length), () -> MapFormat.load(file, false));
+        bench.time("Mapped verify", Bench.params("size", SIZE, "bytes", binary.length), () -> MapFormat.load(file));
+
+        MapGenerator generator = new MapGenerator(42);
+        bench.time("Generate", Bench.params("size", 1024), () -> generator.generate(1024, 1024));
+
+        bench.write(args);
+    }
+
+    /**
+     * Writes a map to memory
+     *
+     * @param map the map to write
+     * @return the bytes of the version 2 file
+     * @throws IOException never for memory streams
+     */
+    private static byte[] write(MapData map) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MapFormat.write(map, out);
+
+        return out.toByteArray();
+    }
+}
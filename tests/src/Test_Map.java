@@ -0,0 +1,393 @@
+import graph.GraphNode;
+import maps.AtomicFile;
+import maps.Brush;
+import maps.EditHistory;
+import maps.MapAnalyser;
+import maps.MapCatalog;
+import maps.MapData;
+import maps.MapFormat;
+import maps.MapFormatException;
+import maps.MapGenerator;
+import maps.MapGrid;
+import maps.MapStats;
+import maps.MappedMap;
+import maps.Reachability;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Random;
+
+/**
+ * Tests of reading and writing map files
+ */
+
+public class Test_Map {
+
+    private MapData randomMap(int width, int height, long seed) {
+        Random random = new Random(seed);
+        MapData map = new MapData(width, height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                map.set(x, y, (byte) random.nextInt(MapData.CELL_TYPES));
+            }
+        }
+        map.getSpawns().add(new GraphNode(0, 0));
+        map.getBaseCandidates().add(new GraphNode(width - 1, height - 1));
+        return map;
+    }
+
+    private byte[] write(MapData map) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        MapFormat.write(map, out);
+        return out.toByteArray();
+    }
+
+    /**
+     * Testing function of writing then reading a version 2 map
+     * Check noisy maps (packed) and mostly empty maps (run length encoded) come back the same
+     */
+    @Test()
+    public void binaryRoundTrip() throws IOException {
+        MapData noisy = randomMap(37, 23, 1);
+        Assert.assertEquals(MapFormat.read(new ByteArrayInputStream(write(noisy))), noisy);
+
+        MapData sparse = new MapData(300, 200);
+        sparse.set(150, 100, MapData.SORTABLE_BLOCKADE);
+        byte[] sparseFile = write(sparse);
+        Assert.assertEquals(MapFormat.read(new ByteArrayInputStream(sparseFile)), sparse);
+        Assert.assertTrue(sparseFile.length < 64);
+    }
+
+    /**
+     * Testing function of the checksum
+     * Check a changed byte is detected
+     */
+    @Test(expectedExceptions = IOException.class)
+    public void binaryCorrupted() throws IOException {
+        byte[] file = write(randomMap(20, 20, 2));
+        file[file.length / 2] ^= 1;
+        MapFormat.read(new ByteArrayInputStream(file));
+    }
+
+    /**
+     * Testing function of the checksum
+     * Check a short file claiming a huge map is rejected before the map is made
+     */
+    @Test(expectedExceptions = MapFormatException.class)
+    public void binaryHugeHeader() throws IOException {
+        byte[] file = {'B', 'A', 'M', 'P', 2, (byte) 0x84, (byte) 0xEA, 0x02, (byte) 0x84, (byte) 0xEA, 0x02, 3, 0, 0, 0};
+        MapFormat.read(new ByteArrayInputStream(file));
+    }
+
+    /**
+     * Testing function of reading a legacy text map
+     * Check its cells and size, and that the preset maps all load
+     */
+    @Test()
+    public void legacyMap() throws IOException {
+        String text = "0 1 0\n1 0 0\n0 0 1";
+        MapData map = MapFormat.read(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+
+        Assert.assertEquals(map.getWidth(), 3);
+        Assert.assertEquals(map.getHeight(), 3);
+        Assert.assertEquals(map.get(1, 0), MapData.BLOCKADE);
+        Assert.assertEquals(map.get(0, 1), MapData.BLOCKADE);
+        Assert.assertEquals(map.get(2, 2), MapData.BLOCKADE);
+        Assert.assertEquals(map.get(1, 1), MapData.EMPTY);
+
+        for (int i = 0; i < 3; i++) {
+            try (InputStream in = Test_Map.class.getResourceAsStream("/resources/maps/" + i + ".bmap")) {
+                MapData preset = MapFormat.read(in);
+                Assert.assertEquals(preset.getWidth(), 20);
+                Assert.assertEquals(preset.getHeight(), 20);
+            }
+        }
+    }
+
+    private MapFormatException legacyError(String text) throws IOException {
+        try {
+            MapFormat.read(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+        } catch (MapFormatException e) {
+            return e;
+        }
+        Assert.fail("No error for " + text);
+        return null;
+    }
+
+    /**
+     * Testing function of the errors for invalid legacy maps
+     * Check uneven rows and unknown characters are found at the right line and column
+     */
+    @Test()
+    public void legacyMapErrors() throws IOException {
+        MapFormatException shortRow = legacyError("0 1 0\n1 0\n0 0 1");
+        Assert.assertEquals(shortRow.getLine(), 2);
+        Assert.assertEquals(shortRow.getColumn(), 4);
+
+        MapFormatException longRow = legacyError("0 1 0\r\n1 0 0 1\r\n");
+        Assert.assertEquals(longRow.getLine(), 2);
+        Assert.assertEquals(longRow.getColumn(), 7);
+
+        MapFormatException badCell = legacyError("0 1 0\n1 2 0\n");
+        Assert.assertEquals(badCell.getLine(), 2);
+        Assert.assertEquals(badCell.getColumn(), 3);
+    }
+
+    private MapGrid load(MapData map) throws IOException {
+        File file = File.createTempFile("map", ".map");
+        file.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(write(map));
+        }
+        MapGrid loaded = MapFormat.load(file);
+        Assert.assertTrue(loaded instanceof MappedMap);
+        return loaded;
+    }
+
+    /**
+     * Testing function of memory mapped maps
+     * Check packed and run length encoded files give the same cells as the map written
+     */
+    @Test()
+    public void mappedMap() throws IOException {
+        MapData noisy = randomMap(41, 17, 3);
+        MapData sparse = new MapData(500, 400);
+        sparse.set(0, 0, MapData.BLOCKADE);
+        sparse.set(250, 200, MapData.SORTABLE_BLOCKADE);
+        sparse.set(499, 399, MapData.BLOCKADE);
+
+        for (MapData map : new MapData[]{noisy, sparse}) {
+            MapGrid mapped = load(map);
+            Assert.assertEquals(((MappedMap) mapped).toMapData(), map);
+            Assert.assertEquals(mapped.getBaseCandidates(), map.getBaseCandidates());
+        }
+
+        Assert.assertEquals(load(sparse).get(250, 200), MapData.SORTABLE_BLOCKADE);
+        Assert.assertEquals(load(sparse).get(251, 200), MapData.EMPTY);
+    }
+
+    /**
+     * Testing function of verifying memory mapped maps
+     * Check a bad checksum is only found when the map is verified
+     */
+    @Test()
+    public void mappedMapVerify() throws IOException {
+        MapData noisy = randomMap(41, 17, 6);
+        byte[] bytes = write(noisy);
+        bytes[bytes.length - 1] ^= 1;
+        File file = File.createTempFile("map", ".map");
+        file.deleteOnExit();
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(bytes);
+        }
+
+        Assert.assertEquals(((MappedMap) MapFormat.load(file, false)).toMapData(), noisy);
+        try {
+            MapFormat.load(file);
+            Assert.fail("A bad checksum was not found");
+        } catch (MapFormatException e) {
+            Assert.assertEquals(e.getMessage(), "Map checksum mismatch");
+        }
+    }
+
+    /**
+     * Testing function of replacing a file in one step
+     * Check a save replaces the map, and a failed save leaves the old map and no temporary files behind
+     */
+    @Test()
+    public void atomicSave() throws IOException {
+        File dir = Files.createTempDirectory("maps").toFile();
+        File file = new File(dir, "saved.map");
+        MapData first = randomMap(20, 20, 4);
+        MapData second = randomMap(20, 20, 5);
+
+        AtomicFile.write(file, out -> MapFormat.write(first, out));
+        AtomicFile.write(file, out -> MapFormat.write(second, out));
+        Assert.assertEquals(((MappedMap) MapFormat.load(file)).toMapData(), second);
+
+        try {
+            AtomicFile.write(file, out -> {
+                out.write(new byte[100]);
+                throw new IOException("Disk full");
+            });
+            Assert.fail("Save should fail");
+        } catch (IOException e) {
+            Assert.assertEquals(e.getMessage(), "Disk full");
+        }
+
+        Assert.assertEquals(((MappedMap) MapFormat.load(file)).toMapData(), second);
+        Assert.assertEquals(dir.list().length, 1);
+        file.delete();
+        dir.delete();
+    }
+
+    /**
+     * Testing function of the map stats
+     * Check blockades are counted and cells behind a wall are unreachable, unless the wall can be sorted
+     */
+    @Test()
+    public void mapStats() throws IOException {
+        String text = "0 0 1 0\n0 0 1 0\n0 0 1 0";
+        MapData map = MapFormat.read(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+
+        MapStats walled = MapAnalyser.analyse(map);
+        Assert.assertEquals(walled.getBlockades(), 3);
+        Assert.assertEquals(walled.getEmpty(), 9);
+        Assert.assertEquals(walled.getReachable(), 6);
+        Assert.assertFalse(walled.isFullyReachable());
+
+        map.set(2, 1, MapData.SORTABLE_BLOCKADE);
+        MapStats gated = MapAnalyser.analyse(map);
+        Assert.assertEquals(gated.getReachable(), 6);
+        Assert.assertEquals(gated.getReachableBySorting(), 9);
+        Assert.assertTrue(gated.isFullyReachable());
+        Assert.assertNotEquals(gated.getHash(), walled.getHash());
+
+        MapData crowded = new MapData(40, 40);
+        crowded.set(20, 20, MapData.SORTABLE_BLOCKADE);
+        for (int y = 0; y < 40; y++) {
+            for (int x = 0; x < 40; x++) {
+                crowded.getSpawns().add(new GraphNode(x, y));
+            }
+        }
+        MapStats spawns = MapAnalyser.analyse(crowded);
+        Assert.assertEquals(spawns.getReachable(), 1599);
+        Assert.assertEquals(spawns.getReachableBySorting(), 1599);
+    }
+
+    /**
+     * Testing function of the map catalog
+     * Check maps are indexed, the catalog is read back from its file and deleted maps are dropped
+     */
+    @Test()
+    public void mapCatalog() throws IOException {
+        File dir = Files.createTempDirectory("catalog").toFile();
+        File catalogFile = new File(dir, "catalog.tsv");
+        File mapFile = new File(dir, "first.map");
+        MapData map = randomMap(20, 20, 6);
+
+        AtomicFile.write(mapFile, out -> MapFormat.write(map, out));
+        MapCatalog catalog = new MapCatalog(dir, catalogFile);
+        Assert.assertTrue(catalog.refresh());
+        Assert.assertFalse(catalog.refresh());
+        Assert.assertEquals(catalog.find("first.map").getStats(), MapAnalyser.analyse(map));
+
+        MapCatalog reopened = new MapCatalog(dir, catalogFile);
+        Assert.assertEquals(reopened.find("first.map").getStats(), MapAnalyser.analyse(map));
+        Assert.assertFalse(reopened.refresh());
+
+        Assert.assertTrue(mapFile.delete());
+        Assert.assertTrue(reopened.refresh());
+        Assert.assertTrue(reopened.getEntries().isEmpty());
+        catalogFile.delete();
+        dir.delete();
+    }
+
+    /**
+     * Testing function of finding where the base can go
+     * Check distances from the spawn, and that a base is only valid if units can reach the ring around it
+     */
+    @Test()
+    public void reachability() throws IOException {
+        String text = "0 0 1 0 0\n0 0 1 0 0\n1 1 1 0 0\n0 0 0 0 0\n0 0 0 0 0";
+        MapData map = MapFormat.read(new ByteArrayInputStream(text.getBytes(StandardCharsets.US_ASCII)));
+        Reachability reachability = new Reachability(map);
+
+        Assert.assertEquals(reachability.getDistance(1, 1), 2);
+        Assert.assertEquals(reachability.getDistance(4, 4), -1);
+
+        Assert.assertEquals(reachability.getBaseDistance(1, 1), 2);
+        Assert.assertEquals(reachability.getBaseDistance(2, 2), 4);
+        Assert.assertEquals(reachability.getBaseDistance(3, 0), 3);
+        Assert.assertFalse(reachability.isValidBase(3, 3));
+        Assert.assertFalse(reachability.isValidBase(4, 4));
+
+        map.set(2, 1, MapData.SORTABLE_BLOCKADE);
+        Assert.assertTrue(new Reachability(map).isValidBase(4, 4));
+        Assert.assertEquals(new Reachability(map).countValidBases(), 25);
+    }
+
+    /**
+     * Testing function of the map generator
+     * Check the same seed gives the same map, and every empty cell can be reached from the spawn point
+     */
+    @Test()
+    public void generatedMap() {
+        Assert.assertEquals(new MapGenerator(7).generate(64, 48), new MapGenerator(7).generate(64, 48));
+        Assert.assertNotEquals(new MapGenerator(7).generate(64, 48), new MapGenerator(8).generate(64, 48));
+
+        for (long seed = 0; seed < 20; seed++) {
+            MapData map = new MapGenerator(seed).generate(20 + (int) seed * 7, 20);
+            MapStats stats = MapAnalyser.analyse(map);
+            Assert.assertEquals(map.get(0, 0), MapData.EMPTY);
+            Assert.assertEquals(stats.getReachable(), stats.getEmpty());
+            Assert.assertTrue(stats.getBlockades() > 0);
+        }
+    }
+
+    /**
+     * Testing function of the map editor's brushes and edit history
+     * Check each brush covers the right cells, the spawn point is never painted, undo/redo round trip
+     * and a new edit after an undo forgets the redo
+     */
+    @Test()
+    public void editHistory() {
+        MapData map = new MapData(10, 10);
+        map.getSpawns().add(new GraphNode(0, 0));
+
+        int change = EditHistory.change(99, MapData.SORTABLE_BLOCKADE, MapData.BLOCKADE);
+        Assert.assertEquals(EditHistory.cell(change), 99);
+        Assert.assertEquals(EditHistory.before(change), MapData.SORTABLE_BLOCKADE);
+        Assert.assertEquals(EditHistory.after(change), MapData.BLOCKADE);
+
+        Assert.assertEquals(Brush.RECTANGLE.paint(map, 0, 0, 3, 2, MapData.BLOCKADE).length, 11);
+        Assert.assertEquals(Brush.LINE.paint(map, 1, 1, 8, 4, MapData.BLOCKADE).length, 8);
+        Assert.assertEquals(Brush.PENCIL.paint(map, 5, 5, 0, 0, MapData.BLOCKADE).length, 0);
+
+        EditHistory history = new EditHistory();
+        int[] wall = Brush.LINE.paint(map, 4, 0, 4, 9, MapData.BLOCKADE);
+        apply(map, wall);
+        history.record(wall);
+        Assert.assertEquals(Brush.FILL.paint(map, 0, 0, 0, 0, MapData.SORTABLE_BLOCKADE).length, 39);
+        Assert.assertEquals(Brush.FILL.paint(map, 0, 0, 9, 9, MapData.SORTABLE_BLOCKADE).length, 50);
+
+        apply(map, history.undo());
+        Assert.assertEquals(MapAnalyser.analyse(map).getBlockades(), 0);
+        Assert.assertTrue(history.canRedo());
+        Assert.assertNull(history.undo());
+
+        apply(map, history.redo());
+        Assert.assertEquals(MapAnalyser.analyse(map).getBlockades(), 10);
+
+        apply(map, history.undo());
+        history.record(new int[0]);
+        Assert.assertTrue(history.canRedo());
+
+        int[] dot = Brush.PENCIL.paint(map, 0, 0, 9, 9, MapData.BLOCKADE);
+        Assert.assertEquals(dot.length, 1);
+        apply(map, dot);
+        history.record(dot);
+        Assert.assertTrue(history.canUndo());
+        Assert.assertFalse(history.canRedo());
+        Assert.assertEquals(MapAnalyser.analyse(map).getBlockades(), 1);
+    }
+
+    /**
+     * Applies packed changes to a map, as the map editor does to its graph
+     */
+    private static void apply(MapData map, int[] edit) {
+        for (int change : edit) {
+            int cell = EditHistory.cell(change);
+            map.set(cell % map.getWidth(), cell / map.getWidth(), EditHistory.after(change));
+        }
+    }
+
+}
@@ -1,12 +1,23 @@
+import entity.Unit;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import sorts.logic.BubbleSort;
+import sorts.logic.HeapSort;
 import sorts.logic.InsertSort;
+import sorts.logic.MergeSort;
+import sorts.logic.QuickSort;
+import sorts.logic.RadixSort;
 import sorts.logic.SelectionSort;
+import sorts.logic.SortEventLog;
+import sorts.logic.SortProgress;
+import sorts.logic.SortStep;
+import sorts.logic.SortStepCache;
 import sorts.logic.SortableComponent;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.PrimitiveIterator;
 
 /**
  * Created by decklol on 19/02/16.
@@ -102,4 +113,187 @@ public class Test_Sort {
 
     }
 
+    /**
+     * Replays the steps of a sort on a copy of its input
+     * Check the copy ends up sorted, the input is untouched and swaps are always in order
+     *
+     * @param input the list that was sorted
+     * @param steps the steps generated for it
+     * @return passed true if the replay sorted the copy, false otherwise
+     */
+    private boolean stepsTest(ArrayList<Integer> input, PrimitiveIterator.OfLong steps) {
+        ArrayList<Integer> before = new ArrayList<>(input);
+        ArrayList<Integer> state = new ArrayList<>(input);
+
+        while (steps.hasNext()) {
+            long step = steps.nextLong();
+            if (SortStep.isSwap(step) && SortStep.first(step) >= SortStep.second(step)) {
+                return false;
+            }
+            SortStep.apply(step, state);
+        }
+
+        if (!input.equals(before)) {
+            return false;
+        }
+
+        for (int i = 0; i < state.size(); i++) {
+            if (state.get(i) != i) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Testing function of the lazily generated steps of every sort
+     * Check replaying the steps sorts the list without changing the input
+     */
+    @Test()
+    public void sortSteps() {
+        for (int testAmount = 10; testAmount > 0; testAmount--) {
+            ArrayList<Integer> list = createList(100);
+
+            Assert.assertTrue(stepsTest(list, BubbleSort.steps(list)));
+            Assert.assertTrue(stepsTest(list, SelectionSort.steps(list)));
+            Assert.assertTrue(stepsTest(list, InsertSort.steps(list)));
+            Assert.assertTrue(stepsTest(list, MergeSort.steps(list)));
+            Assert.assertTrue(stepsTest(list, QuickSort.steps(list)));
+            Assert.assertTrue(stepsTest(list, HeapSort.steps(list)));
+            Assert.assertTrue(stepsTest(list, RadixSort.steps(list)));
+        }
+
+        // a sorted list needs no swaps
+        ArrayList<Integer> sorted = createList(0);
+        for (int i = 0; i < 5; i++) {
+            sorted.add(i);
+        }
+        Assert.assertTrue(stepsTest(sorted, InsertSort.steps(sorted)));
+    }
+
+    /**
+     * Testing function of the packing of a sort step
+     * Check the indexes and swap flag survive packing, swaps put the lower index first
+     */
+    @Test()
+    public void sortStepPacking() {
+        long compare = SortStep.compare(7, 3);
+        long swap = SortStep.swap(9, 2);
+
+        Assert.assertEquals(SortStep.first(compare), 7);
+        Assert.assertEquals(SortStep.second(compare), 3);
+        Assert.assertFalse(SortStep.isSwap(compare));
+        Assert.assertEquals(SortStep.first(swap), 2);
+        Assert.assertEquals(SortStep.second(swap), 9);
+        Assert.assertTrue(SortStep.isSwap(swap));
+    }
+
+    /**
+     * Testing function of the int array sorts and their event log
+     * Check the array is sorted in place and replaying the log on the input gives the same result
+     */
+    @Test()
+    public void sortEventLog() {
+        SortEventLog log = new SortEventLog(4);
+
+        for (int testAmount = 10; testAmount > 0; testAmount--) {
+            int[] input = SortStep.toArray(createList(100));
+
+            for (int sort = 0; sort < 7; sort++) {
+                int[] values = input.clone();
+                int[] replay = input.clone();
+                int swaps = 0;
+
+                log.clear();
+                if (sort == 0) BubbleSort.sort(values, log);
+                if (sort == 1) SelectionSort.sort(values, log);
+                if (sort == 2) InsertSort.sort(values, log);
+                if (sort == 3) MergeSort.sort(values, log);
+                if (sort == 4) QuickSort.sort(values, log);
+                if (sort == 5) HeapSort.sort(values, log);
+                if (sort == 6) RadixSort.sort(values, log);
+
+                for (int i = 0; i < log.size(); i++) {
+                    SortStep.apply(log.get(i), replay);
+                    if (SortStep.isSwap(log.get(i))) {
+                        swaps++;
+                    }
+                }
+
+                for (int i = 0; i < values.length; i++) {
+                    Assert.assertEquals(values[i], i);
+                }
+                Assert.assertEquals(replay, values);
+                Assert.assertEquals(log.swaps(), swaps);
+            }
+        }
+    }
+
+    /**
+     * Testing function of the radix sort with negative and repeated values
+     * Check the result matches a library sort
+     */
+    @Test()
+    public void radixSortNegative() {
+        int[] values = {5, -3, 0, Integer.MIN_VALUE, 5, Integer.MAX_VALUE, -3, 17};
+        int[] expected = values.clone();
+        Arrays.sort(expected);
+
+        RadixSort.sort(values, new SortEventLog());
+
+        Assert.assertEquals(values, expected);
+    }
+
+    /**
+     * Testing function of the sort progress advanced on engine ticks
+     * Check a comparison takes one step of work, a swap takes its full cost and the sort finishes on time
+     */
+    @Test()
+    public void sortProgress() {
+        ArrayList<Integer> list = createList(10);
+        SortEventLog log = new SortEventLog();
+        BubbleSort.sort(SortStep.toArray(list), log);
+
+        int ticksPerSwap = 3;
+        int work = log.size() - log.swaps() + log.swaps() * ticksPerSwap;
+        SortProgress progress = new SortProgress(Unit.Sort.BUBBLE, BubbleSort.steps(list), 2, ticksPerSwap);
+
+        int ticks = 0;
+        while (!progress.tick()) {
+            ticks++;
+        }
+
+        // the sort is reported finished by the first tick with work left over
+        Assert.assertEquals(ticks, work / 2);
+        Assert.assertEquals(progress.getStepsDone(), log.size());
+        Assert.assertEquals(progress.getSwapsDone(), log.swaps());
+        Assert.assertTrue(progress.tick());
+    }
+
+    /**
+     * Testing function of the sort step cache
+     * Check cached steps match a fresh run, the same list is served from the cache and prewarming fills it
+     */
+    @Test()
+    public void sortStepCache() {
+        SortStepCache.clear();
+        ArrayList<Integer> list = createList(10);
+
+        SortEventLog log = new SortEventLog();
+        QuickSort.sort(SortStep.toArray(list), log);
+
+        long[] first = SortStepCache.steps(Unit.Sort.QUICK, list);
+        Assert.assertEquals(first, log.toArray());
+        Assert.assertSame(SortStepCache.steps(Unit.Sort.QUICK, new ArrayList<>(list)), first);
+
+        SortStepCache.prewarm(list).join();
+        Assert.assertEquals(SortStepCache.size(), Unit.Sort.values().length);
+
+        ArrayList<Integer> longList = createList(SortStepCache.MAX_CACHED_LENGTH + 1);
+        SortProgress.steps(Unit.Sort.QUICK, longList);
+        SortStepCache.prewarm(longList).join();
+        Assert.assertEquals(SortStepCache.size(), Unit.Sort.values().length);
+    }
+
 }
@@ -1,11 +1,22 @@
+import core.CoreEngine;
+import core.GameRandom;
+import core.GameSnapshot;
+import core.Replay;
+import entity.Base;
 import entity.Blockade;
+import entity.SortableBlockade;
 import entity.Unit;
 import graph.Graph;
 import graph.GraphNode;
+import maps.MapData;
 import org.testng.Assert;
 import org.testng.annotations.Test;
 import sceneElements.SpriteImage;
+import sorts.logic.SortProgress;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -350,5 +361,131 @@ public class Test_Unit extends Test_Logic {
 
         Assert.assertEquals(passed, true);
     }
-}
 
+    /**
+     * Testing function of saving and loading a game in progress
+     * Check a restored game is the same as the one saved, down to the unit's sort of a blockade
+     */
+    @Test()
+    public void gameSnapshot() throws IOException {
+        CoreEngine engine = new CoreEngine();
+        Graph engineGraph = engine.getGraph();
+        GraphNode goal = engineGraph.nodeAt(15, 15);
+        goal.setBase(new Base(9999, "Base", goal, null));
+
+        Blockade wall = new Blockade(1, "Blockade", engineGraph.nodeAt(5, 5), null);
+        wall.getPosition().setBlockade(wall);
+        SortableBlockade sortable = new SortableBlockade(2, "Sortable Blockade", engineGraph.nodeAt(1, 0), null,
+                new ArrayList<>(Arrays.asList(3, 1, 4, 0, 2)));
+        sortable.getPosition().setBlockade(sortable);
+        engine.getBlockades().addAll(Arrays.asList(wall, sortable));
+
+        Unit unit = new Unit(4, "Demon", engineGraph.nodeAt(0, 0), null, Unit.Search.BFS, Unit.Sort.QUICK, engineGraph, goal);
+        sortable.setProgress(new SortProgress(Unit.Sort.QUICK, sortable.getToSortArray()));
+        for (int i = 0; i < 100; i++) {
+            sortable.getProgress().tick();
+        }
+        unit.setSorting(sortable);
+        unit.setMove(engineGraph.nodeAt(0, 1), 12, false);
+        engine.getUnits().add(unit);
+
+        ByteArrayOutputStream saved = new ByteArrayOutputStream();
+        GameSnapshot.capture(engine).write(saved);
+
+        CoreEngine restored = new CoreEngine();
+        GameSnapshot.read(new ByteArrayInputStream(saved.toByteArray())).restore(restored);
+        ByteArrayOutputStream again = new ByteArrayOutputStream();
+        GameSnapshot.capture(restored).write(again);
+        CoreEngine.delete();
+
+        Assert.assertEquals(again.toByteArray(), saved.toByteArray());
+        Unit restoredUnit = restored.getUnits().get(0);
+        Assert.assertSame(restoredUnit.getSorting(), restored.getBlockades().get(1));
+        Assert.assertEquals(restoredUnit.getSorting().getProgress().getStepsDone(), sortable.getProgress().getStepsDone());
+        Assert.assertEquals(restoredUnit.getRoute(), unit.getRoute());
+        Assert.assertEquals(restoredUnit.getMoveTicks(), 12);
+        Assert.assertNotNull(restored.getGraph().nodeAt(15, 15).getBase());
+
+        byte[] corrupt = saved.toByteArray();
+        corrupt[corrupt.length / 2] ^= 1;
+        try {
+            GameSnapshot.read(new ByteArrayInputStream(corrupt));
+            Assert.fail("Corrupt snapshot was read");
+        } catch (IOException e) {
+            Assert.assertNotNull(e.getMessage());
+        }
+    }
+
+    /**
+     * Testing function of replaying a recorded game
+     * Check a game played on a headless engine plays again the same, tick for tick, after being saved
+     */
+    @Test()
+    public void replay() throws IOException {
+        GameRandom.reset(42);
+        CoreEngine engine = new CoreEngine(true);
+        Replay.Recorder recorder = new Replay.Recorder(42);
+        engine.setRecorder(recorder);
+        engine.newGame();
+
+        MapData map = new MapData(20, 20);
+        for (int y = 2; y < 12; y++) {
+            map.set(6, y, MapData.BLOCKADE);
+        }
+        map.set(6, 12, MapData.SORTABLE_BLOCKADE);
+        map.getSpawns().add(new GraphNode(0, 0));
+
+        engine.placeBase(map, 15, 15);
+        engine.startSpawner(3);
+        while (engine.getTick() < 3000 && !engine.isOver()) {
+            if (engine.getTick() == 200) {
+                engine.placeBlockade(3, 3, false);
+            } else if (engine.getTick() == 400) {
+                engine.placeBlockade(10, 4, true);
+            }
+            engine.step();
+        }
+        CoreEngine.delete();
+
+        ByteArrayOutputStream saved = new ByteArrayOutputStream();
+        recorder.toReplay().write(saved);
+        Replay replay = Replay.read(new ByteArrayInputStream(saved.toByteArray()));
+        Replay.Result first = replay.play();
+        Replay.Result second = replay.play();
+        CoreEngine.delete();
+
+        Assert.assertEquals(replay.getInputCount(), 4);
+        Assert.assertEquals(first.getDivergedAt(), -1);
+        Assert.assertEquals(first.getTicks(), replay.getTicks());
+        Assert.assertEquals(second.getDivergedAt(), -1);
+        Assert.assertEquals(second.getTicks(), first.getTicks());
+    }
+
+    /**
+     * Testing function of reading a damaged replay
+     * Check counts larger than the file end it early instead of being allocated
+     */
+    @Test()
+    public void replayHugeCounts() {
+        byte[] header = {'B', 'A', 'R', 'P', 1, 0, 0, 0, 0, 0, 0, 0, 42};
+        byte[] huge = {(byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+
+        ByteArrayOutputStream hugeMap = new ByteArrayOutputStream();
+        hugeMap.write(header, 0, header.length);
+        hugeMap.write(huge, 0, huge.length);
+
+        ByteArrayOutputStream hugeHashes = new ByteArrayOutputStream();
+        hugeHashes.write(header, 0, header.length);
+        hugeHashes.write(new byte[2], 0, 2);
+        hugeHashes.write(huge, 0, huge.length);
+
+        for (ByteArrayOutputStream file : Arrays.asList(hugeMap, hugeHashes)) {
+            try {
+                Replay.read(new ByteArrayInputStream(file.toByteArray()));
+                Assert.fail("A damaged replay was read");
+            } catch (IOException e) {
+                Assert.assertEquals(e.getMessage(), "Replay is cut short");
+            }
+        }
+    }
+}